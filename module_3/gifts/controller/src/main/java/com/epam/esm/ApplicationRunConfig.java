@@ -18,6 +18,6 @@ public class ApplicationRunConfig implements ApplicationRunner {
 
 	@Override
 	public void run(ApplicationArguments args) throws Exception {
-		dataGenerator.generateData();
+		dataGenerator.startGeneration();
 	}
 }
@@ -1,5 +1,9 @@
 package com.epam.esm.controller;
 
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.PagedResourcesAssembler;
@@ -20,10 +24,15 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.epam.esm.controller.assembler.CertificateViewAssembler;
+import com.epam.esm.controller.assembler.CursorPageAssembler;
 import com.epam.esm.controller.converter.CertificateViewConverter;
+import com.epam.esm.controller.export.NdjsonWriter;
 import com.epam.esm.controller.view.CertificateView;
 import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.service.CertificateService;
+import com.epam.esm.service.ServiceConstant;
 
 /**
  * Controller for working with certificates.
@@ -36,16 +45,21 @@ public class CertificateController {
 	private final CertificateService certificateService;
 	private final CertificateViewConverter certificateConverter;
 	private final PagedResourcesAssembler<CertificateDto> pagedResourcesAssembler;
+	private final CursorPageAssembler cursorPageAssembler;
 	private final CertificateViewAssembler certificateViewAssembler;
+	private final NdjsonWriter ndjsonWriter;
 
 	@Autowired
 	public CertificateController(CertificateService certificateService, CertificateViewConverter certificateConverter,
 			PagedResourcesAssembler<CertificateDto> pagedResourcesAssembler,
-			CertificateViewAssembler certificateViewAssembler) {
+			CertificateViewAssembler certificateViewAssembler, CursorPageAssembler cursorPageAssembler,
+			NdjsonWriter ndjsonWriter) {
 		this.certificateService = certificateService;
 		this.certificateConverter = certificateConverter;
 		this.pagedResourcesAssembler = pagedResourcesAssembler;
 		this.certificateViewAssembler = certificateViewAssembler;
+		this.cursorPageAssembler = cursorPageAssembler;
+		this.ndjsonWriter = ndjsonWriter;
 	}
 
 	/**
@@ -84,12 +98,47 @@ public class CertificateController {
 	 */
 	@GetMapping
 	public ResponseEntity<PagedModel<CertificateView>> readAll(@RequestParam MultiValueMap<String, String> params) {
-		Page<CertificateDto> certificatePage = certificateService.readAll(params);
-		PagedModel<CertificateView> page = pagedResourcesAssembler.toModel(certificatePage, certificateViewAssembler);
+		Page<CertificateDto> certificatePage = certificateService.readAll(ReadQueryDto.of(params));
+		PagedModel<CertificateView> page = HateoasUtil.addCountStrategy(
+				pagedResourcesAssembler.toModel(certificatePage, certificateViewAssembler), certificatePage);
 		return new ResponseEntity<>(page, HttpStatus.OK);
 
 	}
 
+	/**
+	 * Reads certificates page by page using keyset pagination. The page is defined
+	 * by the opaque cursor from the {@code cursor} parameter, empty cursor means
+	 * the first page.
+	 * 
+	 * @param params the parameters which define the choice of certificates and
+	 *               their ordering
+	 * @return certificates which meet passed parameters with links to the first,
+	 *         next and previous pages
+	 */
+	@GetMapping(params = ServiceConstant.CURSOR)
+	public ResponseEntity<PagedModel<CertificateView>> readAllByCursor(
+			@RequestParam MultiValueMap<String, String> params) {
+		CursorPageDto<CertificateDto> certificatePage = certificateService.readAllByCursor(ReadQueryDto.of(params));
+		PagedModel<CertificateView> page = cursorPageAssembler.toModel(certificatePage, certificateViewAssembler);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+
+	/**
+	 * Exports all certificates which meet the passed parameters as
+	 * newline-delimited JSON streamed by one query without pagination.
+	 * 
+	 * @param params   the parameters which define the choice of certificates and
+	 *                 their ordering
+	 * @param response the response to which certificates are written
+	 * @throws IOException if the response can not be written
+	 */
+	@GetMapping("/export")
+	public void exportAll(@RequestParam MultiValueMap<String, String> params, HttpServletResponse response)
+			throws IOException {
+		ReadQueryDto query = ReadQueryDto.of(params);
+		ndjsonWriter.<CertificateDto>write(response, consumer -> certificateService.exportAll(query, consumer));
+	}
+
 	/**
 	 * Updates certificate fields with passed id using not {@code null} fields of
 	 * the passed certificate entity.
@@ -5,18 +5,28 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.PagedModel;
+
+import com.epam.esm.controller.view.CountedPageMetadata;
 import com.epam.esm.controller.view.CertificateView;
+import com.epam.esm.controller.view.OrderBatchResultView;
 import com.epam.esm.controller.view.OrderCertificateView;
 import com.epam.esm.controller.view.OrderDataView;
 import com.epam.esm.controller.view.OrderView;
 import com.epam.esm.controller.view.TagView;
 import com.epam.esm.controller.view.UserView;
+import com.epam.esm.dto.CountedPageDto;
 
 /**
  * Contains methods for adding HATEOAS links to the entities in response
  *
  */
 public class HateoasUtil {
+	private static final String EXACT_COUNT_STRATEGY = "exact";
+	private static final String CACHED_COUNT_STRATEGY = "cached";
 
 	private HateoasUtil() {
 
@@ -60,6 +70,19 @@ public class HateoasUtil {
 		}
 	}
 
+	/**
+	 * Adds link to the created order to the passed result of the order batch. If
+	 * the order of passed result is not created does nothing.
+	 * 
+	 * @param resultView the result of the order batch to which link should be
+	 *                   added
+	 */
+	public static void addLinksToOrderBatchResult(OrderBatchResultView resultView) {
+		if (resultView.getId() != null) {
+			resultView.add(linkTo(OrderController.class).slash(resultView.getId()).withSelfRel());
+		}
+	}
+
 	/**
 	 * Adds link to the order with passed id. If passed order data entity is
 	 * {@code null} does nothing.
@@ -95,4 +118,27 @@ public class HateoasUtil {
 			tagView.add(linkTo(methodOn(TagController.class).readById(tagView.getId())).withSelfRel());
 		}
 	}
+
+	/**
+	 * Adds the name of the strategy used for the calculation of the total amount
+	 * of entities to the metadata of the passed paged model. Removes the link to
+	 * the last page if the total amount is not exact. If passed page does not
+	 * contain count strategy returns passed paged model.
+	 * 
+	 * @param pagedModel the paged model to which count strategy should be added
+	 * @param page       the page from which paged model was built
+	 * @return paged model with count strategy in its metadata
+	 */
+	public static <T> PagedModel<T> addCountStrategy(PagedModel<T> pagedModel, Page<?> page) {
+		if (!(page instanceof CountedPageDto) || pagedModel.getMetadata() == null) {
+			return pagedModel;
+		}
+		String countStrategy = ((CountedPageDto<?>) page).getCountStrategy();
+		Links links = pagedModel.getLinks();
+		if (!EXACT_COUNT_STRATEGY.equals(countStrategy) && !CACHED_COUNT_STRATEGY.equals(countStrategy)) {
+			links = links.without(IanaLinkRelations.LAST);
+		}
+		return PagedModel.of(pagedModel.getContent(), new CountedPageMetadata(pagedModel.getMetadata(), countStrategy),
+				links);
+	}
 }
@@ -1,5 +1,11 @@
 package com.epam.esm.controller;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.PagedResourcesAssembler;
@@ -17,13 +23,20 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.epam.esm.controller.converter.OrderViewConverter;
+import com.epam.esm.controller.converter.OrderBatchResultViewConverter;
+import com.epam.esm.controller.assembler.CursorPageAssembler;
 import com.epam.esm.controller.assembler.OrderViewAssembler;
 import com.epam.esm.controller.converter.OrderDataViewConverter;
+import com.epam.esm.controller.export.NdjsonWriter;
+import com.epam.esm.controller.view.OrderBatchResultView;
 import com.epam.esm.controller.view.OrderDataView;
 import com.epam.esm.controller.view.OrderView;
+import com.epam.esm.dto.CursorPageDto;
 import com.epam.esm.dto.OrderDataDto;
 import com.epam.esm.dto.OrderDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.service.OrderService;
+import com.epam.esm.service.ServiceConstant;
 
 /**
  * Controller for working with orders.
@@ -37,17 +50,24 @@ public class OrderController {
 	private final OrderViewConverter orderConverter;
 	private final OrderDataViewConverter orderDataConverter;
 	private final PagedResourcesAssembler<OrderDto> pagedResourcesAssembler;
+	private final CursorPageAssembler cursorPageAssembler;
 	private final OrderViewAssembler orderViewAssembler;
+	private final NdjsonWriter ndjsonWriter;
+	private final OrderBatchResultViewConverter orderBatchResultConverter;
 
 	@Autowired
 	public OrderController(OrderService orderService, OrderViewConverter orderConverter,
 			OrderDataViewConverter orderDataConverter, PagedResourcesAssembler<OrderDto> pagedResourcesAssembler,
-			OrderViewAssembler orderViewAssembler) {
+			OrderViewAssembler orderViewAssembler, CursorPageAssembler cursorPageAssembler,
+			NdjsonWriter ndjsonWriter, OrderBatchResultViewConverter orderBatchResultConverter) {
 		this.orderService = orderService;
 		this.orderConverter = orderConverter;
 		this.orderDataConverter = orderDataConverter;
 		this.pagedResourcesAssembler = pagedResourcesAssembler;
 		this.orderViewAssembler = orderViewAssembler;
+		this.cursorPageAssembler = cursorPageAssembler;
+		this.ndjsonWriter = ndjsonWriter;
+		this.orderBatchResultConverter = orderBatchResultConverter;
 	}
 
 	/**
@@ -72,11 +92,40 @@ public class OrderController {
 	 */
 	@GetMapping
 	public ResponseEntity<PagedModel<OrderView>> readAll(@RequestParam MultiValueMap<String, String> params) {
-		Page<OrderDto> orderPage = orderService.readAll(params);
-		PagedModel<OrderView> page = pagedResourcesAssembler.toModel(orderPage, orderViewAssembler);
+		Page<OrderDto> orderPage = orderService.readAll(ReadQueryDto.of(params));
+		PagedModel<OrderView> page = HateoasUtil.addCountStrategy(
+				pagedResourcesAssembler.toModel(orderPage, orderViewAssembler), orderPage);
 		return new ResponseEntity<>(page, HttpStatus.OK);
 	}
 
+	/**
+	 * Reads orders page by page using keyset pagination. The page is defined by
+	 * the opaque cursor from the {@code cursor} parameter, empty cursor means the
+	 * first page.
+	 * 
+	 * @param params the parameters which define the choice of orders
+	 * @return orders which meet passed parameters with links to the first, next
+	 *         and previous pages
+	 */
+	@GetMapping(params = ServiceConstant.CURSOR)
+	public ResponseEntity<PagedModel<OrderView>> readAllByCursor(@RequestParam MultiValueMap<String, String> params) {
+		CursorPageDto<OrderDto> orderPage = orderService.readAllByCursor(ReadQueryDto.of(params));
+		PagedModel<OrderView> page = cursorPageAssembler.toModel(orderPage, orderViewAssembler);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+
+	/**
+	 * Exports all orders as newline-delimited JSON streamed by one query without
+	 * pagination. The users and certificates of the orders contain only ids.
+	 * 
+	 * @param response the response to which orders are written
+	 * @throws IOException if the response can not be written
+	 */
+	@GetMapping("/export")
+	public void exportAll(HttpServletResponse response) throws IOException {
+		ndjsonWriter.<OrderDto>write(response, orderService::exportAll);
+	}
+
 	/**
 	 * Reads all orders for the specified user according to the passed parameters.
 	 * 
@@ -88,8 +137,27 @@ public class OrderController {
 	@GetMapping("/users/{userId}")
 	public ResponseEntity<PagedModel<OrderView>> readByUserId(@PathVariable long userId,
 			@RequestParam MultiValueMap<String, String> params) {
-		Page<OrderDto> orderPage = orderService.readAllByUserId(userId, params);
-		PagedModel<OrderView> page = pagedResourcesAssembler.toModel(orderPage, orderViewAssembler);
+		Page<OrderDto> orderPage = orderService.readAllByUserId(userId, ReadQueryDto.of(params));
+		PagedModel<OrderView> page = HateoasUtil.addCountStrategy(
+				pagedResourcesAssembler.toModel(orderPage, orderViewAssembler), orderPage);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+
+	/**
+	 * Reads orders for the specified user page by page using keyset pagination.
+	 * The page is defined by the opaque cursor from the {@code cursor} parameter,
+	 * empty cursor means the first page.
+	 * 
+	 * @param userId id of the user whose orders should be read
+	 * @param params the parameters which define the choice of orders
+	 * @return orders for specified user with links to the first, next and previous
+	 *         pages
+	 */
+	@GetMapping(value = "/users/{userId}", params = ServiceConstant.CURSOR)
+	public ResponseEntity<PagedModel<OrderView>> readByUserIdAndCursor(@PathVariable long userId,
+			@RequestParam MultiValueMap<String, String> params) {
+		CursorPageDto<OrderDto> orderPage = orderService.readAllByUserIdAndCursor(userId, ReadQueryDto.of(params));
+		PagedModel<OrderView> page = cursorPageAssembler.toModel(orderPage, orderViewAssembler);
 		return new ResponseEntity<>(page, HttpStatus.OK);
 	}
 
@@ -122,4 +190,28 @@ public class OrderController {
 		HateoasUtil.addLinksToOrder(createdOrderView);
 		return createdOrderView;
 	}
+
+	/**
+	 * Creates and saves passed orders of any users. Invalid orders are reported
+	 * in the result and do not prevent other orders from being saved.
+	 * 
+	 * @param orderViews the orders to be saved
+	 * @return the results of the passed orders in the same order, which contain
+	 *         either the id of the created order or its errors
+	 */
+	@PostMapping("/batch")
+	public List<OrderBatchResultView> createBatch(@RequestBody List<OrderView> orderViews) {
+		List<OrderDto> orderDtos = new ArrayList<>();
+		if (orderViews != null) {
+			orderViews.forEach(orderView -> orderDtos
+					.add(orderView != null ? orderConverter.convertToDto(orderView) : null));
+		}
+		List<OrderBatchResultView> resultViews = new ArrayList<>(orderDtos.size());
+		orderService.createOrderBatch(orderDtos).forEach(resultDto -> {
+			OrderBatchResultView resultView = orderBatchResultConverter.convertToView(resultDto);
+			HateoasUtil.addLinksToOrderBatchResult(resultView);
+			resultViews.add(resultView);
+		});
+		return resultViews;
+	}
 }
@@ -17,10 +17,14 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.epam.esm.controller.assembler.CursorPageAssembler;
 import com.epam.esm.controller.assembler.TagViewAssembler;
 import com.epam.esm.controller.converter.TagViewConverter;
 import com.epam.esm.controller.view.TagView;
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.TagDto;
+import com.epam.esm.service.ServiceConstant;
 import com.epam.esm.service.TagService;
 
 /**
@@ -30,19 +34,22 @@ import com.epam.esm.service.TagService;
 @RestController
 @RequestMapping("/api/v1/tags")
 public class TagController {
+	private static final String DELETED_CERTIFICATES_HEADER = "X-Deleted-Certificates";
 
 	private final TagService tagService;
 	private final TagViewConverter tagConverter;
 	private final PagedResourcesAssembler<TagDto> pagedResourcesAssembler;
+	private final CursorPageAssembler cursorPageAssembler;
 	private final TagViewAssembler tagViewAssembler;
 
 	@Autowired
 	public TagController(TagService tagService, TagViewConverter tagConverter, TagViewAssembler tagViewAssembler,
-			PagedResourcesAssembler<TagDto> pagedResourcesAssembler) {
+			PagedResourcesAssembler<TagDto> pagedResourcesAssembler, CursorPageAssembler cursorPageAssembler) {
 		this.tagService = tagService;
 		this.tagConverter = tagConverter;
 		this.pagedResourcesAssembler = pagedResourcesAssembler;
 		this.tagViewAssembler = tagViewAssembler;
+		this.cursorPageAssembler = cursorPageAssembler;
 	}
 
 	/**
@@ -80,19 +87,39 @@ public class TagController {
 	 */
 	@GetMapping
 	public ResponseEntity<PagedModel<TagView>> readAll(@RequestParam MultiValueMap<String, String> params) {
-		Page<TagDto> tagPage = tagService.readAll(params);
-		PagedModel<TagView> page = pagedResourcesAssembler.toModel(tagPage, tagViewAssembler);
+		Page<TagDto> tagPage = tagService.readAll(ReadQueryDto.of(params));
+		PagedModel<TagView> page = HateoasUtil.addCountStrategy(
+				pagedResourcesAssembler.toModel(tagPage, tagViewAssembler), tagPage);
 		return new ResponseEntity<>(page, HttpStatus.OK);
 	}
 
 	/**
-	 * Deletes tag with passed id.
+	 * Reads tags page by page using keyset pagination. The page is defined by
+	 * the opaque cursor from the {@code cursor} parameter, empty cursor means the
+	 * first page.
+	 * 
+	 * @param params the parameters which define the choice of tags
+	 * @return tags which meet passed parameters with links to the first, next
+	 *         and previous pages
+	 */
+	@GetMapping(params = ServiceConstant.CURSOR)
+	public ResponseEntity<PagedModel<TagView>> readAllByCursor(@RequestParam MultiValueMap<String, String> params) {
+		CursorPageDto<TagDto> tagPage = tagService.readAllByCursor(ReadQueryDto.of(params));
+		PagedModel<TagView> page = cursorPageAssembler.toModel(tagPage, tagViewAssembler);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+
+	/**
+	 * Deletes tag with passed id together with its certificates.
 	 * 
 	 * @param tagId the id of tag to be deleted
+	 * @return empty response with the number of deleted certificates in
+	 *         {@code X-Deleted-Certificates} header
 	 */
 	@DeleteMapping("/{id}")
-	@ResponseStatus(HttpStatus.NO_CONTENT)
-	public void delete(@PathVariable long id) {
-		tagService.delete(id);
+	public ResponseEntity<Void> delete(@PathVariable long id) {
+		int deletedCertificatesAmount = tagService.delete(id);
+		return ResponseEntity.noContent().header(DELETED_CERTIFICATES_HEADER, String.valueOf(deletedCertificatesAmount))
+				.build();
 	}
 }
@@ -14,9 +14,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.epam.esm.controller.assembler.CursorPageAssembler;
 import com.epam.esm.controller.assembler.UserViewAssembler;
 import com.epam.esm.controller.view.UserView;
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.UserDto;
+import com.epam.esm.service.ServiceConstant;
 import com.epam.esm.service.UserService;
 
 /**
@@ -29,14 +33,16 @@ public class UserController {
 
 	private final UserService userService;
 	private final PagedResourcesAssembler<UserDto> pagedResourcesAssembler;
+	private final CursorPageAssembler cursorPageAssembler;
 	private final UserViewAssembler userViewAssembler;
 
 	@Autowired
 	public UserController(UserService userService, UserViewAssembler userViewAssembler,
-			PagedResourcesAssembler<UserDto> pagedResourcesAssembler) {
+			PagedResourcesAssembler<UserDto> pagedResourcesAssembler, CursorPageAssembler cursorPageAssembler) {
 		this.userService = userService;
 		this.pagedResourcesAssembler = pagedResourcesAssembler;
 		this.userViewAssembler = userViewAssembler;
+		this.cursorPageAssembler = cursorPageAssembler;
 	}
 
 	/**
@@ -61,8 +67,25 @@ public class UserController {
 	 */
 	@GetMapping
 	public ResponseEntity<PagedModel<UserView>> readAll(@RequestParam MultiValueMap<String, String> params) {
-		Page<UserDto> userPage = userService.readAll(params);
-		PagedModel<UserView> page = pagedResourcesAssembler.toModel(userPage, userViewAssembler);
+		Page<UserDto> userPage = userService.readAll(ReadQueryDto.of(params));
+		PagedModel<UserView> page = HateoasUtil.addCountStrategy(
+				pagedResourcesAssembler.toModel(userPage, userViewAssembler), userPage);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+
+	/**
+	 * Reads users page by page using keyset pagination. The page is defined by
+	 * the opaque cursor from the {@code cursor} parameter, empty cursor means the
+	 * first page.
+	 * 
+	 * @param params the parameters which define the choice of users
+	 * @return users which meet passed parameters with links to the first, next
+	 *         and previous pages
+	 */
+	@GetMapping(params = ServiceConstant.CURSOR)
+	public ResponseEntity<PagedModel<UserView>> readAllByCursor(@RequestParam MultiValueMap<String, String> params) {
+		CursorPageDto<UserDto> userPage = userService.readAllByCursor(ReadQueryDto.of(params));
+		PagedModel<UserView> page = cursorPageAssembler.toModel(userPage, userViewAssembler);
 		return new ResponseEntity<>(page, HttpStatus.OK);
 	}
 }
@@ -0,0 +1,51 @@
+package com.epam.esm.controller.assembler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.service.ServiceConstant;
+
+/**
+ * Converts pages of the keyset pagination to {@code PagedModel} with first,
+ * next and previous links which contain cursors of the corresponding pages.
+ *
+ */
+@Component
+public class CursorPageAssembler {
+
+	public CursorPageAssembler() {
+
+	}
+
+	public <T, V extends RepresentationModel<?>> PagedModel<V> toModel(CursorPageDto<T> cursorPage,
+			RepresentationModelAssembler<T, V> assembler) {
+		List<V> views = new ArrayList<>(cursorPage.getContent().size());
+		cursorPage.getContent().forEach(entity -> views.add(assembler.toModel(entity)));
+
+		List<Link> links = new ArrayList<>();
+		links.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+		links.add(obtainCursorLink(null, IanaLinkRelations.FIRST.value()));
+		if (cursorPage.getPreviousCursor() != null) {
+			links.add(obtainCursorLink(cursorPage.getPreviousCursor(), IanaLinkRelations.PREV.value()));
+		}
+		if (cursorPage.getNextCursor() != null) {
+			links.add(obtainCursorLink(cursorPage.getNextCursor(), IanaLinkRelations.NEXT.value()));
+		}
+		return PagedModel.of(views, (PagedModel.PageMetadata) null, links);
+	}
+
+	private static Link obtainCursorLink(String cursor, String relation) {
+		String href = ServletUriComponentsBuilder.fromCurrentRequest()
+				.replaceQueryParam(ServiceConstant.CURSOR, cursor == null ? "" : cursor).toUriString();
+		return Link.of(href).withRel(relation);
+	}
+}
@@ -1,33 +1,50 @@
 package com.epam.esm.controller.converter;
 
-import org.modelmapper.Converter;
-import org.modelmapper.AbstractConverter;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.controller.view.CertificateView;
 import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.service.converter.ConverterUtil;
 
 @Component
 public class CertificateViewConverter {
-	private ModelMapper modelMapper;
-	private Converter<String, String> spaceRemover = new AbstractConverter<String, String>() {
-		protected String convert(String source) {
-			return source == null ? null : source.trim().replaceAll("\\s+", " ");
-		}
-	};
+	private final TagViewConverter tagViewConverter;
 
-	public CertificateViewConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.addConverter(spaceRemover);
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+	@Autowired
+	public CertificateViewConverter(TagViewConverter tagViewConverter) {
+		this.tagViewConverter = tagViewConverter;
 	}
 
 	public CertificateDto convertToDto(CertificateView certificateView) {
-		return modelMapper.map(certificateView, CertificateDto.class);
+		if (certificateView == null) {
+			return null;
+		}
+		CertificateDto certificateDto = new CertificateDto();
+		certificateDto.setId(certificateView.getId());
+		certificateDto.setName(ConverterUtil.removeExtraSpaces(certificateView.getName()));
+		certificateDto.setDescription(ConverterUtil.removeExtraSpaces(certificateView.getDescription()));
+		certificateDto.setPrice(certificateView.getPrice());
+		certificateDto.setDuration(certificateView.getDuration());
+		certificateDto.setCreateDate(certificateView.getCreateDate());
+		certificateDto.setLastUpdateDate(certificateView.getLastUpdateDate());
+		certificateDto.setTags(ConverterUtil.convertList(certificateView.getTags(), tagViewConverter::convertToDto));
+		return certificateDto;
 	}
 
 	public CertificateView convertToView(CertificateDto certificateDto) {
-		return modelMapper.map(certificateDto, CertificateView.class);
+		if (certificateDto == null) {
+			return null;
+		}
+		CertificateView certificateView = new CertificateView();
+		certificateView.setId(certificateDto.getId());
+		certificateView.setName(ConverterUtil.removeExtraSpaces(certificateDto.getName()));
+		certificateView.setDescription(ConverterUtil.removeExtraSpaces(certificateDto.getDescription()));
+		certificateView.setPrice(certificateDto.getPrice());
+		certificateView.setDuration(certificateDto.getDuration());
+		certificateView.setCreateDate(certificateDto.getCreateDate());
+		certificateView.setLastUpdateDate(certificateDto.getLastUpdateDate());
+		certificateView.setTags(ConverterUtil.convertList(certificateDto.getTags(), tagViewConverter::convertToView));
+		return certificateView;
 	}
 }
@@ -0,0 +1,55 @@
+package com.epam.esm.controller.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.epam.esm.controller.view.OrderBatchResultView;
+import com.epam.esm.dto.OrderBatchResultDto;
+
+/**
+ * 
+ * Converts the results of the order batch to the views. The errors of the
+ * rejected orders are localized the same way as the errors of the failed
+ * requests.
+ *
+ */
+@Component
+public class OrderBatchResultViewConverter {
+	private static final String KEY_PREFIX = "exception.";
+
+	private final MessageSource messageSource;
+
+	@Autowired
+	public OrderBatchResultViewConverter(MessageSource messageSource) {
+		this.messageSource = messageSource;
+	}
+
+	public OrderBatchResultView convertToView(OrderBatchResultDto resultDto) {
+		OrderBatchResultView resultView = new OrderBatchResultView();
+		resultView.setIndex(resultDto.getIndex());
+		resultView.setId(resultDto.getOrderId());
+		if (resultDto.getGeneralErrorCode() != null) {
+			String errorCode = resultDto.getGeneralErrorCode().getCode();
+			resultView.setErrorCode(errorCode);
+			resultView.setErrorMessage(obtainMessage(errorCode, resultDto.getInvalidResource()));
+			if (resultDto.getErrors() != null) {
+				List<String> causedErrors = new ArrayList<>();
+				resultDto.getErrors().forEach((causeCode, invalidResource) -> causedErrors
+						.add(obtainMessage(causeCode.getCode(), invalidResource)));
+				resultView.setCausedErrors(causedErrors);
+			}
+		}
+		return resultView;
+	}
+
+	private String obtainMessage(String errorCode, String invalidResource) {
+		Locale locale = LocaleContextHolder.getLocale();
+		return messageSource.getMessage(KEY_PREFIX + errorCode, new Object[] { invalidResource }, locale);
+	}
+}
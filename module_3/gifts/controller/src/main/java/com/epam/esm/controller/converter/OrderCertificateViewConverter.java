@@ -1,6 +1,6 @@
 package com.epam.esm.controller.converter;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.controller.view.OrderCertificateView;
@@ -8,18 +8,32 @@ import com.epam.esm.dto.OrderCertificateDto;
 
 @Component
 public class OrderCertificateViewConverter {
-	private ModelMapper modelMapper;
+	private final CertificateViewConverter certificateViewConverter;
 
-	public OrderCertificateViewConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+	@Autowired
+	public OrderCertificateViewConverter(CertificateViewConverter certificateViewConverter) {
+		this.certificateViewConverter = certificateViewConverter;
 	}
 
 	public OrderCertificateDto convertToDto(OrderCertificateView orderCertificateView) {
-		return modelMapper.map(orderCertificateView, OrderCertificateDto.class);
+		if (orderCertificateView == null) {
+			return null;
+		}
+		OrderCertificateDto orderCertificateDto = new OrderCertificateDto();
+		orderCertificateDto
+				.setCertificate(certificateViewConverter.convertToDto(orderCertificateView.getCertificate()));
+		orderCertificateDto.setCertificateAmount(orderCertificateView.getCertificateAmount());
+		return orderCertificateDto;
 	}
 
 	public OrderCertificateView convertToView(OrderCertificateDto orderCertificateDto) {
-		return modelMapper.map(orderCertificateDto, OrderCertificateView.class);
+		if (orderCertificateDto == null) {
+			return null;
+		}
+		OrderCertificateView orderCertificateView = new OrderCertificateView();
+		orderCertificateView
+				.setCertificate(certificateViewConverter.convertToView(orderCertificateDto.getCertificate()));
+		orderCertificateView.setCertificateAmount(orderCertificateDto.getCertificateAmount());
+		return orderCertificateView;
 	}
 }
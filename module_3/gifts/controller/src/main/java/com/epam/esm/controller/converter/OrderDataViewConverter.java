@@ -1,6 +1,5 @@
 package com.epam.esm.controller.converter;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.controller.view.OrderDataView;
@@ -8,18 +7,27 @@ import com.epam.esm.dto.OrderDataDto;
 
 @Component
 public class OrderDataViewConverter {
-	private final ModelMapper modelMapper;
-
 	public OrderDataViewConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+
 	}
 
 	public OrderDataDto convertToDto(OrderDataView orderView) {
-		return modelMapper.map(orderView, OrderDataDto.class);
+		if (orderView == null) {
+			return null;
+		}
+		OrderDataDto orderDataDto = new OrderDataDto();
+		orderDataDto.setCost(orderView.getCost());
+		orderDataDto.setDate(orderView.getDate());
+		return orderDataDto;
 	}
 
 	public OrderDataView convertToView(OrderDataDto orderDataDto) {
-		return modelMapper.map(orderDataDto, OrderDataView.class);
+		if (orderDataDto == null) {
+			return null;
+		}
+		OrderDataView orderDataView = new OrderDataView();
+		orderDataView.setCost(orderDataDto.getCost());
+		orderDataView.setDate(orderDataDto.getDate());
+		return orderDataView;
 	}
 }
@@ -1,25 +1,49 @@
 package com.epam.esm.controller.converter;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.controller.view.OrderView;
 import com.epam.esm.dto.OrderDto;
+import com.epam.esm.service.converter.ConverterUtil;
 
 @Component
 public class OrderViewConverter {
-	private final ModelMapper modelMapper;
+	private final UserViewConverter userViewConverter;
+	private final OrderCertificateViewConverter orderCertificateViewConverter;
 
-	public OrderViewConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+	@Autowired
+	public OrderViewConverter(UserViewConverter userViewConverter,
+			OrderCertificateViewConverter orderCertificateViewConverter) {
+		this.userViewConverter = userViewConverter;
+		this.orderCertificateViewConverter = orderCertificateViewConverter;
 	}
 
 	public OrderDto convertToDto(OrderView orderView) {
-		return modelMapper.map(orderView, OrderDto.class);
+		if (orderView == null) {
+			return null;
+		}
+		OrderDto orderDto = new OrderDto();
+		orderDto.setId(orderView.getId());
+		orderDto.setCost(orderView.getCost());
+		orderDto.setDate(orderView.getDate());
+		orderDto.setUser(userViewConverter.convertToDto(orderView.getUser()));
+		orderDto.setCertificates(
+				ConverterUtil.convertList(orderView.getCertificates(), orderCertificateViewConverter::convertToDto));
+		return orderDto;
 	}
 
 	public OrderView convertToView(OrderDto orderDto) {
-		return modelMapper.map(orderDto, OrderView.class);
+		if (orderDto == null) {
+			return null;
+		}
+		OrderView orderView = new OrderView();
+		orderView.setId(orderDto.getId());
+		orderView.setCost(orderDto.getCost());
+		orderView.setDate(orderDto.getDate());
+		orderView.setUser(userViewConverter.convertToView(orderDto.getUser()));
+		orderView.setCertificates(
+				ConverterUtil.convertList(orderDto.getCertificates(), orderCertificateViewConverter::convertToView));
+		return orderView;
 	}
 }
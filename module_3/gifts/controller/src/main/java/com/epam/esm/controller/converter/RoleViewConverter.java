@@ -1,33 +1,34 @@
 package com.epam.esm.controller.converter;
 
-import org.modelmapper.AbstractConverter;
-import org.modelmapper.Converter;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.controller.view.RoleView;
 import com.epam.esm.dto.RoleDto;
+import com.epam.esm.service.converter.ConverterUtil;
 
 @Component
 public class RoleViewConverter {
-	private final ModelMapper modelMapper;
-	private Converter<String, String> spaceRemover = new AbstractConverter<String, String>() {
-		protected String convert(String source) {
-			return source == null ? null : source.trim().replaceAll("\\s+", " ");
-		}
-	};
-
 	public RoleViewConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.addConverter(spaceRemover);
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+
 	}
 
 	public RoleDto convertToDto(RoleView roleView) {
-		return modelMapper.map(roleView, RoleDto.class);
+		if (roleView == null) {
+			return null;
+		}
+		RoleDto roleDto = new RoleDto();
+		roleDto.setId(roleView.getId());
+		roleDto.setName(ConverterUtil.removeExtraSpaces(roleView.getName()));
+		return roleDto;
 	}
 
 	public RoleView convertToView(RoleDto roleDto) {
-		return modelMapper.map(roleDto, RoleView.class);
+		if (roleDto == null) {
+			return null;
+		}
+		RoleView roleView = new RoleView();
+		roleView.setId(roleDto.getId());
+		roleView.setName(ConverterUtil.removeExtraSpaces(roleDto.getName()));
+		return roleView;
 	}
 }
@@ -1,33 +1,34 @@
 package com.epam.esm.controller.converter;
 
-import org.modelmapper.AbstractConverter;
-import org.modelmapper.Converter;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.controller.view.TagView;
 import com.epam.esm.dto.TagDto;
+import com.epam.esm.service.converter.ConverterUtil;
 
 @Component
 public class TagViewConverter {
-	private final ModelMapper modelMapper;
-	private Converter<String, String> spaceRemover = new AbstractConverter<String, String>() {
-		protected String convert(String source) {
-			return source == null ? null : source.trim().replaceAll("\\s+", " ");
-		}
-	};
-
 	public TagViewConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.addConverter(spaceRemover);
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+
 	}
 
 	public TagDto convertToDto(TagView tagView) {
-		return modelMapper.map(tagView, TagDto.class);
+		if (tagView == null) {
+			return null;
+		}
+		TagDto tagDto = new TagDto();
+		tagDto.setId(tagView.getId());
+		tagDto.setName(ConverterUtil.removeExtraSpaces(tagView.getName()));
+		return tagDto;
 	}
 
 	public TagView convertToView(TagDto tagDto) {
-		return modelMapper.map(tagDto, TagView.class);
+		if (tagDto == null) {
+			return null;
+		}
+		TagView tagView = new TagView();
+		tagView.setId(tagDto.getId());
+		tagView.setName(ConverterUtil.removeExtraSpaces(tagDto.getName()));
+		return tagView;
 	}
 }
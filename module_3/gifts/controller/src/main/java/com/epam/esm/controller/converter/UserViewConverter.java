@@ -1,33 +1,40 @@
 package com.epam.esm.controller.converter;
 
-import org.modelmapper.AbstractConverter;
-import org.modelmapper.Converter;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.controller.view.UserView;
 import com.epam.esm.dto.UserDto;
+import com.epam.esm.service.converter.ConverterUtil;
 
 @Component
 public class UserViewConverter {
-	private final ModelMapper modelMapper;
-	private Converter<String, String> spaceRemover = new AbstractConverter<String, String>() {
-		protected String convert(String source) {
-			return source == null ? null : source.trim().replaceAll("\\s+", " ");
-		}
-	};
+	private final RoleViewConverter roleViewConverter;
 
-	public UserViewConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.addConverter(spaceRemover);
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+	@Autowired
+	public UserViewConverter(RoleViewConverter roleViewConverter) {
+		this.roleViewConverter = roleViewConverter;
 	}
 
 	public UserDto convertToDto(UserView userView) {
-		return modelMapper.map(userView, UserDto.class);
+		if (userView == null) {
+			return null;
+		}
+		UserDto userDto = new UserDto();
+		userDto.setId(userView.getId());
+		userDto.setLogin(ConverterUtil.removeExtraSpaces(userView.getLogin()));
+		userDto.setRole(roleViewConverter.convertToDto(userView.getRole()));
+		return userDto;
 	}
 
 	public UserView convertToView(UserDto userDto) {
-		return modelMapper.map(userDto, UserView.class);
+		if (userDto == null) {
+			return null;
+		}
+		UserView userView = new UserView();
+		userView.setId(userDto.getId());
+		userView.setLogin(ConverterUtil.removeExtraSpaces(userDto.getLogin()));
+		userView.setRole(roleViewConverter.convertToView(userDto.getRole()));
+		return userView;
 	}
 }
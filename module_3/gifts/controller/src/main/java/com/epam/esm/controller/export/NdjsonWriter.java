@@ -0,0 +1,96 @@
+package com.epam.esm.controller.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ *
+ * Writes entities to the response as newline-delimited JSON, one entity per
+ * line, while they are read. Fields with {@code null} values are omitted. The
+ * response is started only when the first entity is written, so exceptions
+ * thrown before it are handled as usual.
+ *
+ */
+@Component
+public class NdjsonWriter {
+	public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+	private static final char LINE_SEPARATOR = '\n';
+	private static final int FLUSH_INTERVAL = 1000;
+
+	private final ObjectWriter objectWriter;
+
+	@Autowired
+	public NdjsonWriter(ObjectMapper objectMapper) {
+		this.objectWriter = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL).writer()
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+
+	/**
+	 * Writes all entities which are passed by the exporter to the consumer.
+	 *
+	 * @param response the response to which entities are written
+	 * @param exporter the reader of the entities which passes them to the
+	 *                 consumer
+	 * @throws IOException if the response can not be written
+	 */
+	public <T> void write(HttpServletResponse response, Consumer<Consumer<T>> exporter) throws IOException {
+		LineWriter<T> lineWriter = new LineWriter<>(response);
+		try {
+			exporter.accept(lineWriter);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		lineWriter.finish();
+	}
+
+	private class LineWriter<T> implements Consumer<T> {
+		private final HttpServletResponse response;
+		private JsonGenerator generator;
+		private long amount;
+
+		LineWriter(HttpServletResponse response) {
+			this.response = response;
+		}
+
+		@Override
+		public void accept(T entity) {
+			try {
+				if (generator == null) {
+					start();
+				}
+				objectWriter.writeValue(generator, entity);
+				generator.writeRaw(LINE_SEPARATOR);
+				if (++amount % FLUSH_INTERVAL == 0) {
+					generator.flush();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		void finish() throws IOException {
+			if (generator == null) {
+				start();
+			}
+			generator.close();
+		}
+
+		private void start() throws IOException {
+			response.setContentType(NDJSON_MEDIA_TYPE);
+			generator = objectWriter.getFactory().createGenerator(response.getOutputStream());
+			generator.setRootValueSeparator(null);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.epam.esm.controller.filter;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.epam.esm.service.util.ClientSession;
+
+/**
+ *
+ * Identifies the client session of the request by {@code X-Session-Id} header
+ * or by the remote address if the header is absent, and binds it for the time
+ * of the request processing.
+ *
+ */
+@Component
+public class ClientSessionFilter extends OncePerRequestFilter {
+	private static final String SESSION_HEADER = "X-Session-Id";
+
+	private final ClientSession clientSession;
+
+	@Autowired
+	public ClientSessionFilter(ClientSession clientSession) {
+		this.clientSession = clientSession;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String sessionKey = request.getHeader(SESSION_HEADER);
+		clientSession.bind(sessionKey != null && !sessionKey.isBlank() ? sessionKey : request.getRemoteAddr());
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			clientSession.unbind();
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.epam.esm.controller.view;
+
+import org.springframework.hateoas.PagedModel;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 
+ * Page metadata which contains the name of the strategy used for the
+ * calculation of {@code totalElements}. Only {@code exact} and {@code cached}
+ * strategies provide the exact total amount, {@code estimated} strategy provides
+ * the approximate one and {@code none} strategy only guarantees the existence of
+ * the next page.
+ *
+ */
+public class CountedPageMetadata extends PagedModel.PageMetadata {
+	private final String countStrategy;
+
+	public CountedPageMetadata(PagedModel.PageMetadata metadata, String countStrategy) {
+		super(metadata.getSize(), metadata.getNumber(), metadata.getTotalElements(), metadata.getTotalPages());
+		this.countStrategy = countStrategy;
+	}
+
+	@JsonProperty
+	public String getCountStrategy() {
+		return countStrategy;
+	}
+}
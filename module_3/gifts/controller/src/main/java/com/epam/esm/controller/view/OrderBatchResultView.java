@@ -0,0 +1,18 @@
+package com.epam.esm.controller.view;
+
+import java.util.List;
+
+import org.springframework.hateoas.RepresentationModel;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class OrderBatchResultView extends RepresentationModel<OrderBatchResultView> {
+	private int index;
+	private Long id;
+	private String errorMessage;
+	private String errorCode;
+	private List<String> causedErrors;
+}
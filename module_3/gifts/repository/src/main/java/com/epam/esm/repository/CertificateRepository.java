@@ -1,12 +1,21 @@
 package com.epam.esm.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.util.MultiValueMap;
 
+import com.epam.esm.repository.exception.DuplicatedKeyException;
 import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.CertificatePriceModel;
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.KeysetCursor;
 
 /**
  * 
@@ -60,6 +69,33 @@ public interface CertificateRepository extends GeneralRepository<CertificateMode
 	 */
 	Page<CertificateModel> findAll(MultiValueMap<String, String> params, int offset, int limit);
 
+	/**
+	 * Reads all certificates according to the passed parameters and calculates
+	 * their total amount using the passed strategy.
+	 * 
+	 * @param params        the parameters which define the choice of certificates
+	 *                      and their ordering
+	 * @param offset        start position for certificates reading
+	 * @param limit         amount of certificates to be read
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @return certificates which meet passed parameters
+	 */
+	Page<CertificateModel> findAll(MultiValueMap<String, String> params, int offset, int limit,
+			CountStrategy countStrategy);
+
+	/**
+	 * Reads certificates located after the passed cursor according to the passed
+	 * parameters.
+	 * 
+	 * @param params the parameters which define the choice of certificates and
+	 *               their ordering
+	 * @param cursor the position from which reading starts, {@code null} for the
+	 *               first page
+	 * @param limit  amount of certificates to be read
+	 * @return certificates which meet passed parameters
+	 */
+	Slice<CertificateModel> findAll(MultiValueMap<String, String> params, KeysetCursor cursor, int limit);
+
 	/**
 	 * Deletes certificate with passed id.
 	 * 
@@ -68,6 +104,17 @@ public interface CertificateRepository extends GeneralRepository<CertificateMode
 	 */
 	int delete(long id);
 
+	/**
+	 * Deletes the next chunk of not deleted certificates with passed tag.
+	 * 
+	 * @param tagId   the id of the tag whose certificates should be deleted
+	 * @param afterId the id after which the chunk starts, {@code 0} for the first
+	 *                chunk
+	 * @return the ids of the deleted certificates in ascending order or empty list
+	 *         if there are no certificates left
+	 */
+	List<Long> deleteByTagId(long tagId, long afterId);
+
 	/**
 	 * Checks whether certificate with passed id exists.
 	 * 
@@ -77,11 +124,54 @@ public interface CertificateRepository extends GeneralRepository<CertificateMode
 	 */
 	boolean certificateExistsById(long certificateId);
 
+	/**
+	 * Finds which of the passed ids belong to existing not deleted certificates.
+	 * All ids are checked by one query.
+	 * 
+	 * @param certificateIds the ids of the certificates to be checked
+	 * @return ids of existing certificates among the passed ones
+	 */
+	Set<Long> findExistingIds(Collection<Long> certificateIds);
+
+	/**
+	 * Reads the id, the price and the deletion flag of the certificates with
+	 * passed ids by one query. Deleted certificates are read too, so the caller
+	 * decides how to treat them.
+	 * 
+	 * @param certificateIds the ids of the certificates to be read
+	 * @return found certificates mapped by their ids
+	 */
+	Map<Long, CertificatePriceModel> findAllByIds(Collection<Long> certificateIds);
+
+	/**
+	 * Reads the certificates with passed ids together with their tags by one
+	 * query. Deleted certificates are read too, so the caller decides how to treat
+	 * them.
+	 * 
+	 * @param certificateIds the ids of the certificates to be read
+	 * @return found certificates mapped by their ids
+	 */
+	Map<Long, CertificateModel> findAllByIdsWithTags(Collection<Long> certificateIds);
+
 	/**
 	 * Saves the passed certificates.
 	 * 
 	 * @param certificateModels the certificates to be saved
 	 * @return saved certificates
+	 * @throws DuplicatedKeyException if the names of the certificates are already
+	 *                                taken by not deleted certificates or
+	 *                                repeated
 	 */
 	List<CertificateModel> saveCertificates(List<CertificateModel> certificateModels);
+
+	/**
+	 * Reads all certificates which meet the passed parameters together with their
+	 * tags by one forward-only query and passes them to the consumer one by one.
+	 * 
+	 * @param params   the parameters which define the choice of certificates and
+	 *                 their ordering
+	 * @param consumer the consumer of the read certificates
+	 * @return amount of the read certificates
+	 */
+	long streamAll(MultiValueMap<String, String> params, Consumer<CertificateModel> consumer);
 }
@@ -3,6 +3,10 @@ package com.epam.esm.repository;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.KeysetCursor;
 
 /**
  * 
@@ -35,4 +39,25 @@ public interface GeneralRepository<T> {
 	 * @return entities which meet passed parameters
 	 */
 	Page<T> findAll(int offset, int limit);
+
+	/**
+	 * Reads all entities according to the passed parameters and calculates their
+	 * total amount using the passed strategy.
+	 * 
+	 * @param offset        start position for entities reading
+	 * @param limit         amount of entities to be read
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @return entities which meet passed parameters
+	 */
+	Page<T> findAll(int offset, int limit, CountStrategy countStrategy);
+
+	/**
+	 * Reads entities located after the passed cursor ordered by id.
+	 * 
+	 * @param cursor the position from which reading starts, {@code null} for the
+	 *               first page
+	 * @param limit  amount of entities to be read
+	 * @return entities which meet passed parameters
+	 */
+	Slice<T> findAll(KeysetCursor cursor, int limit);
 }
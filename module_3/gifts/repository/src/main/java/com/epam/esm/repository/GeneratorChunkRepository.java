@@ -0,0 +1,29 @@
+package com.epam.esm.repository;
+
+import java.util.Set;
+
+/**
+ * 
+ * Contains methods for working with the markers of the committed chunks of the
+ * generated data.
+ *
+ */
+public interface GeneratorChunkRepository {
+	/**
+	 * Reads the numbers of the committed chunks of the passed generation stage.
+	 * 
+	 * @param stage the name of the generation stage
+	 * @return numbers of the committed chunks
+	 */
+	Set<Integer> findCompletedChunks(String stage);
+
+	/**
+	 * Marks the chunk of the passed generation stage as committed. The marker is
+	 * written in the transaction of the chunk, so it is committed only together
+	 * with the generated data.
+	 * 
+	 * @param stage       the name of the generation stage
+	 * @param chunkNumber the number of the chunk
+	 */
+	void saveCompletedChunk(String stage, int chunkNumber);
+}
@@ -1,9 +1,15 @@
 package com.epam.esm.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.KeysetCursor;
+import com.epam.esm.repository.model.OrderDataModel;
 import com.epam.esm.repository.model.OrderModel;
 
 /**
@@ -12,6 +18,15 @@ import com.epam.esm.repository.model.OrderModel;
  *
  */
 public interface OrderRepository extends GeneralRepository<OrderModel> {
+	/**
+	 * Reads the id, the cost, the date and the user id of the order with passed id
+	 * without loading the order entity.
+	 * 
+	 * @param orderId the id of the order to be read
+	 * @return information about the order with passed id
+	 */
+	Optional<OrderDataModel> findOrderDataById(long orderId);
+
 	/**
 	 * Reads all orders for the specified user according to the passed parameters.
 	 * 
@@ -22,6 +37,30 @@ public interface OrderRepository extends GeneralRepository<OrderModel> {
 	 */
 	Page<OrderModel> readAllByUserId(long userId, int offset, int limit);
 
+	/**
+	 * Reads all orders for the specified user according to the passed parameters
+	 * and calculates their total amount using the passed strategy.
+	 * 
+	 * @param userId        id of the user whose orders should be read
+	 * @param offset        start position for orders reading
+	 * @param limit         amount of orders to be read
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @return orders which meet passed parameters
+	 */
+	Page<OrderModel> readAllByUserId(long userId, int offset, int limit, CountStrategy countStrategy);
+
+	/**
+	 * Reads orders for the specified user located after the passed cursor ordered
+	 * by id.
+	 * 
+	 * @param userId id of the user whose orders should be read
+	 * @param cursor the position from which reading starts, {@code null} for the
+	 *               first page
+	 * @param limit  amount of orders to be read
+	 * @return orders which meet passed parameters
+	 */
+	Slice<OrderModel> readAllByUserId(long userId, KeysetCursor cursor, int limit);
+
 	/**
 	 * Saves the passed orders.
 	 * 
@@ -30,4 +69,13 @@ public interface OrderRepository extends GeneralRepository<OrderModel> {
 	 */
 	List<OrderModel> saveOrders(List<OrderModel> ordersToSave);
 
+	/**
+	 * Reads all orders together with the ids and amounts of their certificates by
+	 * one forward-only query and passes them to the consumer one by one.
+	 * 
+	 * @param consumer the consumer of the read orders
+	 * @return amount of the read orders
+	 */
+	long streamAll(Consumer<OrderModel> consumer);
+
 }
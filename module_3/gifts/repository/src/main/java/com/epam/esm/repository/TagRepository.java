@@ -1,8 +1,11 @@
 package com.epam.esm.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import com.epam.esm.repository.exception.DuplicatedKeyException;
 import com.epam.esm.repository.model.TagModel;
 
 /**
@@ -66,6 +69,17 @@ public interface TagRepository extends GeneralRepository<TagModel> {
 	 * 
 	 * @param tagModels the tags to be saved
 	 * @return saved tags
+	 * @throws DuplicatedKeyException if the names of the tags are already taken
+	 *                                or repeated
 	 */
 	List<TagModel> saveTags(List<TagModel> tagModels);
+
+	/**
+	 * Obtains the ids of the tags with the passed names. Missing tags are saved
+	 * and deleted ones are restored.
+	 * 
+	 * @param tagNames the names of the tags
+	 * @return ids of the tags by their names in lower case
+	 */
+	Map<String, Long> saveOrRestoreByNames(Collection<String> tagNames);
 }
@@ -1,8 +1,11 @@
 package com.epam.esm.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import com.epam.esm.repository.exception.DuplicatedKeyException;
 import com.epam.esm.repository.model.UserModel;
 
 /**
@@ -28,6 +31,15 @@ public interface UserRepository extends GeneralRepository<UserModel> {
 	 */
 	boolean userExistsById(long userId);
 
+	/**
+	 * Finds which of the passed ids belong to existing users. All ids are checked
+	 * by one query.
+	 * 
+	 * @param userIds the ids of the users to be checked
+	 * @return ids of existing users among the passed ones
+	 */
+	Set<Long> findExistingIds(Collection<Long> userIds);
+
 	/**
 	 * Checks whether user with passed login exists.
 	 * 
@@ -42,6 +54,8 @@ public interface UserRepository extends GeneralRepository<UserModel> {
 	 * 
 	 * @param userModels the users to be saved
 	 * @return saved users
+	 * @throws DuplicatedKeyException if the logins of the users are already taken
+	 *                                or repeated
 	 */
 	List<UserModel> saveUsers(List<UserModel> userModels);
 }
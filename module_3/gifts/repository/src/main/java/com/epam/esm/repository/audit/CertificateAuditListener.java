@@ -1,23 +1,35 @@
 package com.epam.esm.repository.audit;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 
 import com.epam.esm.repository.model.CertificateModel;
 
+/**
+ *
+ * Sets the audit dates of the certificates. The dates are truncated to the
+ * microseconds stored by the database, so the certificates read back from it
+ * are equal to the saved ones.
+ *
+ */
 public class CertificateAuditListener {
 	@PrePersist
 	public void onPrePersist(CertificateModel certificateModel) {
-		LocalDateTime now = LocalDateTime.now();
-		certificateModel.setCreateDate(now);
-		certificateModel.setLastUpdateDate(now);
+		if (certificateModel.getCreateDate() == null) {
+			LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+			certificateModel.setCreateDate(now);
+			certificateModel.setLastUpdateDate(now);
+		} else if (certificateModel.getLastUpdateDate() == null) {
+			certificateModel.setLastUpdateDate(certificateModel.getCreateDate());
+		}
 		certificateModel.setDeleted(false);
 	}
 
 	@PreUpdate
 	public void onPreUpdate(CertificateModel certificateModel) {
-		certificateModel.setLastUpdateDate(LocalDateTime.now());
+		certificateModel.setLastUpdateDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
 	}
 }
@@ -1,12 +1,15 @@
 package com.epam.esm.repository.audit;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import javax.persistence.PrePersist;
 import com.epam.esm.repository.model.OrderModel;
 
 public class OrderAuditListener {
 	@PrePersist
 	public void onPrePersist(OrderModel orderModel) {
-		orderModel.setDate(LocalDateTime.now());
+		if (orderModel.getDate() == null) {
+			orderModel.setDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+		}
 	}
 }
@@ -0,0 +1,246 @@
+package com.epam.esm.repository.bulk;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.event.spi.EventSource;
+import org.springframework.stereotype.Component;
+
+import com.epam.esm.repository.model.EntityConstant;
+
+/**
+ *
+ * Writes rows by multi-row {@code INSERT ... VALUES (...), (...)} statements
+ * on the connection of the current transaction. Entities with identity ids are
+ * not batched by Hibernate, so every persisted entity costs a separate
+ * statement. Here one statement inserts up to {@value #ROWS_PER_STATEMENT} rows
+ * and the generated ids are read back from its generated keys in the order of
+ * the inserted rows, which is guaranteed by MySQL and H2 for the single
+ * multi-row insert. As the rows bypass Hibernate, the second-level and query
+ * cache regions of the written tables are invalidated the same way as after a
+ * bulk update.
+ *
+ */
+@Component
+public class BulkInserter {
+	public static final int ROWS_PER_STATEMENT = 1000;
+
+	private static final String INSERT_INTO = "INSERT INTO ";
+	private static final String ON_DUPLICATE_KEY_UPDATE = " ON DUPLICATE KEY UPDATE ";
+	private static final String SELECT_FROM_VALUES = " SELECT * FROM (VALUES ";
+	private static final String ROW_ALIAS = "inserted_row";
+	private static final String WHERE_NOT_EXISTS = " WHERE NOT EXISTS (SELECT 1 FROM ";
+	private static final String WHERE_LOWER = " WHERE LOWER(";
+	private static final String EQUALS_LOWER = ") = LOWER(";
+	private static final String MYSQL = "MySQL";
+	private static final String VALUES = " VALUES ";
+	private static final String COLUMN_DELIMITER = ", ";
+	private static final String OPENING_BRACKET = "(";
+	private static final String CLOSING_BRACKET = ")";
+	private static final String PLACEHOLDER = "?";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public BulkInserter() {
+
+	}
+
+	/**
+	 * Splits the passed entities into the chunks which are inserted by one
+	 * statement.
+	 *
+	 * @param entities the entities to be split
+	 * @return consecutive chunks of the passed entities
+	 */
+	public static <T> List<List<T>> partition(List<T> entities) {
+		if (entities == null || entities.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<List<T>> chunks = new ArrayList<>((entities.size() - 1) / ROWS_PER_STATEMENT + 1);
+		for (int i = 0; i < entities.size(); i += ROWS_PER_STATEMENT) {
+			chunks.add(entities.subList(i, Math.min(i + ROWS_PER_STATEMENT, entities.size())));
+		}
+		return chunks;
+	}
+
+	/**
+	 * Inserts the passed entities and sets the generated ids to them. Pending
+	 * changes of the persistence context are flushed before, so inserted rows may
+	 * reference entities persisted in the same transaction.
+	 *
+	 * @param table           the name of the table
+	 * @param columns         the names of the inserted columns except id
+	 * @param entities        the entities to be inserted
+	 * @param valuesExtractor the extractor of the column values of the entity in
+	 *                        the order of the passed columns
+	 * @param idSetter        the setter of the generated id to the entity
+	 */
+	public <T> void insert(String table, List<String> columns, List<T> entities, Function<T, Object[]> valuesExtractor,
+			BiConsumer<T, Long> idSetter) {
+		entityManager.flush();
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			for (List<T> chunk : partition(entities)) {
+				List<Object[]> rows = new ArrayList<>(chunk.size());
+				chunk.forEach(entity -> rows.add(valuesExtractor.apply(entity)));
+				List<Long> ids = execute(connection, table, columns, rows, true);
+				if (ids.size() != chunk.size()) {
+					throw new SQLException("Generated keys amount " + ids.size()
+							+ " does not match inserted rows amount " + chunk.size() + " for table " + table);
+				}
+				for (int i = 0; i < chunk.size(); i++) {
+					idSetter.accept(chunk.get(i), ids.get(i));
+				}
+			}
+		});
+		invalidateCaches(table);
+	}
+
+	/**
+	 * Inserts the passed rows without generated keys, for example the rows of the
+	 * join tables.
+	 *
+	 * @param table   the name of the table
+	 * @param columns the names of the inserted columns
+	 * @param rows    the column values of the rows in the order of the passed
+	 *                columns
+	 */
+	public void insert(String table, List<String> columns, List<Object[]> rows) {
+		entityManager.flush();
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			for (List<Object[]> chunk : partition(rows)) {
+				execute(connection, table, columns, chunk, false);
+			}
+		});
+		invalidateCaches(table);
+	}
+
+	/**
+	 * Inserts the passed rows skipping the ones whose key is already taken, so
+	 * concurrent transactions inserting the same rows do not fail on the unique
+	 * constraint. The keys are compared ignoring case. MySQL skips such rows by
+	 * {@code INSERT ... ON DUPLICATE KEY UPDATE id = id}, which leaves the
+	 * existing row untouched and, unlike {@code INSERT IGNORE}, does not turn
+	 * other errors into warnings. It compares the keys by the case-insensitive
+	 * collation of the column. Other databases, for example H2 whose unique
+	 * constraints are case-sensitive, insert only the rows for which no row with
+	 * the same key in lower case exists.
+	 *
+	 * @param table     the name of the table
+	 * @param columns   the names of the inserted columns
+	 * @param keyColumn the name of the column with the unique constraint
+	 * @param rows      the column values of the rows in the order of the passed
+	 *                  columns
+	 */
+	public void insertIgnoringDuplicates(String table, List<String> columns, String keyColumn, List<Object[]> rows) {
+		entityManager.flush();
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			boolean mysql = MYSQL.equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+			for (List<Object[]> chunk : partition(rows)) {
+				String sql = mysql
+						? obtainInsertSql(INSERT_INTO, table, columns, "", chunk.size()) + ON_DUPLICATE_KEY_UPDATE
+								+ EntityConstant.ID + " = " + EntityConstant.ID
+						: obtainInsertMissingSql(table, columns, keyColumn, chunk.size());
+				execute(connection, sql, chunk, false);
+			}
+		});
+		invalidateCaches(table);
+	}
+
+	private void invalidateCaches(String table) {
+		EventSource session = entityManager.unwrap(EventSource.class);
+		session.getActionQueue().addAction(new BulkOperationCleanupAction(session, Set.of(table)));
+	}
+
+	private static List<Long> execute(Connection connection, String table, List<String> columns, List<Object[]> rows,
+			boolean generatedKeys) throws SQLException {
+		return execute(connection, obtainInsertSql(INSERT_INTO, table, columns, "", rows.size()), rows, generatedKeys);
+	}
+
+	private static List<Long> execute(Connection connection, String sql, List<Object[]> rows, boolean generatedKeys)
+			throws SQLException {
+		List<Long> ids = new ArrayList<>(rows.size());
+		try (PreparedStatement statement = generatedKeys
+				? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+				: connection.prepareStatement(sql)) {
+			int parameterIndex = 1;
+			for (Object[] row : rows) {
+				for (Object value : row) {
+					bindValue(statement, parameterIndex++, value);
+				}
+			}
+			statement.executeUpdate();
+			if (generatedKeys) {
+				try (ResultSet keys = statement.getGeneratedKeys()) {
+					while (keys.next()) {
+						ids.add(keys.getLong(1));
+					}
+				}
+			}
+		}
+		return ids;
+	}
+
+	private static String obtainInsertSql(String insertClause, String table, List<String> columns, String keyClause,
+			int rowsAmount) {
+		String placeholders = OPENING_BRACKET
+				+ String.join(COLUMN_DELIMITER, Collections.nCopies(columns.size(), PLACEHOLDER)) + CLOSING_BRACKET;
+		StringBuilder sql = new StringBuilder(insertClause).append(table).append(' ').append(OPENING_BRACKET)
+				.append(String.join(COLUMN_DELIMITER, columns)).append(CLOSING_BRACKET).append(keyClause)
+				.append(VALUES);
+		for (int i = 0; i < rowsAmount; i++) {
+			if (i > 0) {
+				sql.append(COLUMN_DELIMITER);
+			}
+			sql.append(placeholders);
+		}
+		return sql.toString();
+	}
+
+	private static String obtainInsertMissingSql(String table, List<String> columns, String keyColumn,
+			int rowsAmount) {
+		String placeholders = OPENING_BRACKET
+				+ String.join(COLUMN_DELIMITER, Collections.nCopies(columns.size(), PLACEHOLDER)) + CLOSING_BRACKET;
+		StringBuilder sql = new StringBuilder(INSERT_INTO).append(table).append(' ').append(OPENING_BRACKET)
+				.append(String.join(COLUMN_DELIMITER, columns)).append(CLOSING_BRACKET).append(SELECT_FROM_VALUES);
+		for (int i = 0; i < rowsAmount; i++) {
+			if (i > 0) {
+				sql.append(COLUMN_DELIMITER);
+			}
+			sql.append(placeholders);
+		}
+		return sql.append(CLOSING_BRACKET).append(' ').append(ROW_ALIAS).append(' ').append(OPENING_BRACKET)
+				.append(String.join(COLUMN_DELIMITER, columns)).append(CLOSING_BRACKET).append(WHERE_NOT_EXISTS)
+				.append(table).append(WHERE_LOWER).append(table).append('.').append(keyColumn).append(EQUALS_LOWER)
+				.append(ROW_ALIAS).append('.').append(keyColumn).append(CLOSING_BRACKET).append(CLOSING_BRACKET)
+				.toString();
+	}
+
+	private static void bindValue(PreparedStatement statement, int parameterIndex, Object value)
+			throws SQLException {
+		if (value == null) {
+			statement.setNull(parameterIndex, Types.NULL);
+		} else if (value instanceof LocalDateTime) {
+			statement.setTimestamp(parameterIndex, Timestamp.valueOf((LocalDateTime) value));
+		} else {
+			statement.setObject(parameterIndex, value);
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.epam.esm.repository.cache;
+
+import java.util.List;
+
+/**
+ * Contains names of the second-level cache regions which are configured in
+ * {@code ehcache.xml}
+ *
+ */
+public class CacheRegion {
+	public static final String TAG = "tag";
+	public static final String TAG_BY_NAME = "tag-by-name";
+	public static final String ROLE = "role";
+	public static final String ROLE_BY_NAME = "role-by-name";
+	public static final String USER = "user";
+	public static final String USER_BY_LOGIN = "user-by-login";
+	public static final String CERTIFICATE_TAGS = "certificate-tags";
+
+	public static final List<String> ALL = List.of(TAG, TAG_BY_NAME, ROLE, ROLE_BY_NAME, USER, USER_BY_LOGIN,
+			CERTIFICATE_TAGS);
+
+	private CacheRegion() {
+
+	}
+}
@@ -0,0 +1,89 @@
+package com.epam.esm.repository.cache;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ *
+ * Publishes hit ratio and amount of entries of every second-level and query
+ * cache region as {@code cache.region.hit.ratio} and {@code cache.region.size}
+ * metrics tagged by the region name. Both metrics are taken from the
+ * statistics of the regions, so they are available only if
+ * {@code hibernate.generate_statistics} property is enabled. It is disabled by
+ * default, because the statistics are collected on every session.
+ *
+ */
+@Component
+public class CacheRegionMetrics implements MeterBinder {
+	private static final String HIT_RATIO_METRIC_NAME = "cache.region.hit.ratio";
+	private static final String SIZE_METRIC_NAME = "cache.region.size";
+	private static final String REGION_TAG = "region";
+	private static final double NO_STATISTICS = -1;
+
+	private final SessionFactoryImplementor sessionFactory;
+
+	@Autowired
+	public CacheRegionMetrics(EntityManagerFactory entityManagerFactory) {
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+	}
+
+	/**
+	 * Calculates the ratio of the cache hits to all cache lookups in the passed
+	 * region.
+	 *
+	 * @param region the name of the cache region
+	 * @return hit ratio or {@code -1} if there are no statistics for the region
+	 */
+	public double obtainHitRatio(String region) {
+		Statistics statistics = sessionFactory.getStatistics();
+		if (!statistics.isStatisticsEnabled()) {
+			return NO_STATISTICS;
+		}
+		CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+		if (regionStatistics == null) {
+			return NO_STATISTICS;
+		}
+		long lookups = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+		return lookups == 0 ? 0 : (double) regionStatistics.getHitCount() / lookups;
+	}
+
+	/**
+	 * Obtains the amount of entries which are kept in memory by the passed region
+	 * as it is reported by the cache provider. The entries are never iterated.
+	 *
+	 * @param region the name of the cache region
+	 * @return amount of entries or {@code -1} if there are no statistics for the
+	 *         region or the provider does not report its size
+	 */
+	public double obtainSize(String region) {
+		Statistics statistics = sessionFactory.getStatistics();
+		if (!statistics.isStatisticsEnabled()) {
+			return NO_STATISTICS;
+		}
+		CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+		if (regionStatistics == null) {
+			return NO_STATISTICS;
+		}
+		long size = regionStatistics.getElementCountInMemory();
+		return size == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? NO_STATISTICS : size;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (String region : CacheRegion.ALL) {
+			Gauge.builder(HIT_RATIO_METRIC_NAME, this, metrics -> metrics.obtainHitRatio(region))
+					.tag(REGION_TAG, region).register(registry);
+			Gauge.builder(SIZE_METRIC_NAME, this, metrics -> metrics.obtainSize(region)).tag(REGION_TAG, region)
+					.register(registry);
+		}
+	}
+}
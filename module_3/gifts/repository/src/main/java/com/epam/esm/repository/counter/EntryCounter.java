@@ -0,0 +1,202 @@
+package com.epam.esm.repository.counter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Table;
+import javax.persistence.TypedQuery;
+
+import org.hibernate.Session;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.CountedPage;
+import com.epam.esm.repository.query_builder.QueryBuilderUtil;
+
+/**
+ *
+ * Reads pages of entities and calculates their total amount according to the
+ * requested {@code CountStrategy}. Keeps cached total amounts which are
+ * invalidated on every write operation.
+ *
+ */
+@Component
+public class EntryCounter {
+	private static final int MAX_CACHED_COUNTS = 1000;
+	private static final String MYSQL = "MySQL";
+	private static final String H2 = "H2";
+	private static final String MYSQL_ESTIMATE_QUERY = "SELECT TABLE_ROWS FROM information_schema.TABLES "
+			+ "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+	private static final String H2_ESTIMATE_QUERY = "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES "
+			+ "WHERE UPPER(TABLE_NAME) = UPPER(?)";
+	private static final long UNKNOWN_ESTIMATE = -1;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final Map<String, Long> cachedCounts = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+
+	public EntryCounter() {
+
+	}
+
+	/**
+	 * Builds the normalized signature of the filter which is used as a key of
+	 * the cached total amount. The order of the filters and of their values does
+	 * not affect the signature.
+	 *
+	 * @param entityClass the class of the counted entities
+	 * @param filters     the filters applied to the counted entities
+	 * @return the signature of the passed filter
+	 */
+	public static String obtainSignature(Class<?> entityClass, Map<String, List<String>> filters) {
+		Map<String, List<String>> normalizedFilters = new TreeMap<>();
+		filters.forEach((key, values) -> {
+			if (values != null) {
+				List<String> sortedValues = new ArrayList<>(values);
+				sortedValues.sort(null);
+				normalizedFilters.put(key, sortedValues);
+			}
+		});
+		return entityClass.getSimpleName() + normalizedFilters;
+	}
+
+	/**
+	 * Reads the page with passed number and calculates the total amount of
+	 * entities according to the passed strategy. The page query is always
+	 * limited with {@code limit + 1} rows, so the total amount of the last page
+	 * is derived from its content without count query and is reported as exact.
+	 * The table statistics describe the whole table, so they are used as the
+	 * estimated amount only for the page query without predicates. The estimate
+	 * of the filtered query or the unavailable estimate is replaced with the
+	 * cached count.
+	 *
+	 * @param pageQuery     the query which reads entities in the stable order
+	 * @param pageNumber    the number of the page to be read
+	 * @param limit         amount of entities on the page
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @param signature     the normalized signature of the filter
+	 * @param tableClass    the class of the counted entities if the page query
+	 *                      reads all rows of their table without any predicate,
+	 *                      {@code null} otherwise
+	 * @param exactCounter  the count query with the same predicates as the page
+	 *                      query
+	 * @return page of entities with the strategy used for its total amount
+	 */
+	public <T> CountedPage<T> obtainPage(TypedQuery<T> pageQuery, int pageNumber, int limit,
+			CountStrategy countStrategy, String signature, Class<?> tableClass, LongSupplier exactCounter) {
+		int startIndex = QueryBuilderUtil.retrieveStartIndex(pageNumber, limit);
+		pageQuery.setFirstResult(startIndex);
+		pageQuery.setMaxResults(limit + 1);
+		List<T> entities = pageQuery.getResultList();
+		boolean hasNext = entities.size() > limit;
+		List<T> content = hasNext ? new ArrayList<>(entities.subList(0, limit)) : entities;
+		long knownAmount = startIndex + content.size();
+
+		CountStrategy usedStrategy = countStrategy;
+		long totalAmount;
+		if (!hasNext && (!content.isEmpty() || startIndex == 0)) {
+			usedStrategy = CountStrategy.EXACT;
+			totalAmount = knownAmount;
+		} else {
+			switch (countStrategy) {
+			case CACHED:
+				totalAmount = obtainCachedCount(signature, exactCounter);
+				break;
+			case ESTIMATED:
+				long estimatedAmount = tableClass == null ? UNKNOWN_ESTIMATE : estimateRowsAmount(tableClass);
+				if (estimatedAmount == UNKNOWN_ESTIMATE) {
+					usedStrategy = CountStrategy.CACHED;
+					totalAmount = obtainCachedCount(signature, exactCounter);
+				} else {
+					totalAmount = Math.max(estimatedAmount, knownAmount + 1);
+				}
+				break;
+			case NONE:
+				totalAmount = hasNext ? knownAmount + 1 : knownAmount;
+				break;
+			default:
+				totalAmount = exactCounter.getAsLong();
+			}
+		}
+		return new CountedPage<>(content, PageRequest.of(pageNumber, limit), totalAmount, usedStrategy);
+	}
+
+	/**
+	 * Invalidates all cached total amounts. If the transaction is active the
+	 * total amounts are invalidated once more after its completion, so the count
+	 * which was calculated concurrently before commit is not kept.
+	 */
+	public void invalidate() {
+		clearCachedCounts();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					clearCachedCounts();
+				}
+			});
+		}
+	}
+
+	private void clearCachedCounts() {
+		generation.incrementAndGet();
+		cachedCounts.clear();
+	}
+
+	private long obtainCachedCount(String signature, LongSupplier exactCounter) {
+		Long cachedCount = cachedCounts.get(signature);
+		if (cachedCount != null) {
+			return cachedCount;
+		}
+		long countGeneration = generation.get();
+		long count = exactCounter.getAsLong();
+		if (countGeneration == generation.get()) {
+			if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+				cachedCounts.clear();
+			}
+			cachedCounts.put(signature, count);
+		}
+		return count;
+	}
+
+	private long estimateRowsAmount(Class<?> entityClass) {
+		Table table = entityClass.getAnnotation(Table.class);
+		if (table == null) {
+			return UNKNOWN_ESTIMATE;
+		}
+		return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+			String productName = connection.getMetaData().getDatabaseProductName();
+			String estimateQuery;
+			if (MYSQL.equalsIgnoreCase(productName)) {
+				estimateQuery = MYSQL_ESTIMATE_QUERY;
+			} else if (H2.equalsIgnoreCase(productName)) {
+				estimateQuery = H2_ESTIMATE_QUERY;
+			} else {
+				return UNKNOWN_ESTIMATE;
+			}
+			try (PreparedStatement statement = connection.prepareStatement(estimateQuery)) {
+				statement.setString(1, table.name());
+				try (ResultSet resultSet = statement.executeQuery()) {
+					return resultSet.next() ? resultSet.getLong(1) : UNKNOWN_ESTIMATE;
+				}
+			} catch (SQLException e) {
+				return UNKNOWN_ESTIMATE;
+			}
+		});
+	}
+}
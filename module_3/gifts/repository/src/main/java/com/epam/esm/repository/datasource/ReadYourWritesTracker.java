@@ -0,0 +1,89 @@
+package com.epam.esm.repository.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ * Keeps the client sessions which have recently written data. Reads of such
+ * session are routed to the primary database until the replicas are expected
+ * to catch up, so the session always reads its own writes. The session is
+ * bound to the thread which serves its request.
+ *
+ */
+@Component
+public class ReadYourWritesTracker {
+	private static final int MAX_TRACKED_SESSIONS = 10000;
+	private static final ThreadLocal<String> CURRENT_SESSION = new ThreadLocal<>();
+
+	private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+	@Value("${datasource.replica.stickiness-ms:5000}")
+	private long stickinessMillis;
+
+	public ReadYourWritesTracker() {
+
+	}
+
+	/**
+	 * Binds the passed session to the current thread.
+	 *
+	 * @param sessionKey the key of the client session
+	 */
+	public void bindSession(String sessionKey) {
+		CURRENT_SESSION.set(sessionKey);
+	}
+
+	/**
+	 * Unbinds the session from the current thread.
+	 */
+	public void unbindSession() {
+		CURRENT_SESSION.remove();
+	}
+
+	/**
+	 * Marks that the session of the current thread has written data. Does nothing
+	 * if no session is bound. It is called by
+	 * {@link ReadYourWritesTransactionManager} after every committed write.
+	 */
+	public void markWritten() {
+		String sessionKey = CURRENT_SESSION.get();
+		if (sessionKey == null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if (stickyUntil.size() >= MAX_TRACKED_SESSIONS) {
+			stickyUntil.values().removeIf(until -> until < now);
+			if (stickyUntil.size() >= MAX_TRACKED_SESSIONS) {
+				stickyUntil.clear();
+			}
+		}
+		stickyUntil.put(sessionKey, now + stickinessMillis);
+	}
+
+	/**
+	 * Checks whether the session of the current thread has written data recently
+	 * and must read from the primary database.
+	 *
+	 * @return {@code true} if the reads of the current session must be routed to
+	 *         the primary database
+	 */
+	public boolean isSticky() {
+		String sessionKey = CURRENT_SESSION.get();
+		if (sessionKey == null) {
+			return false;
+		}
+		Long until = stickyUntil.get(sessionKey);
+		if (until == null) {
+			return false;
+		}
+		if (until < System.currentTimeMillis()) {
+			stickyUntil.remove(sessionKey, until);
+			return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,39 @@
+package com.epam.esm.repository.datasource;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ *
+ * Marks the client session as written after every committed transaction which
+ * is not read-only, so the following reads of the session are routed to the
+ * primary database by {@link ReplicaRoutingDataSource}. The mark is set for
+ * the writes of all repositories, including the bulk and the update queries
+ * which bypass the persistence context.
+ *
+ */
+public class ReadYourWritesTransactionManager extends JpaTransactionManager {
+	private static final long serialVersionUID = 1L;
+
+	private final transient ReadYourWritesTracker readYourWritesTracker;
+
+	public ReadYourWritesTransactionManager(ReadYourWritesTracker readYourWritesTracker) {
+		this.readYourWritesTracker = readYourWritesTracker;
+	}
+
+	@Override
+	protected void prepareSynchronization(DefaultTransactionStatus status, TransactionDefinition definition) {
+		super.prepareSynchronization(status, definition);
+		if (status.isNewSynchronization() && status.isNewTransaction() && !definition.isReadOnly()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					readYourWritesTracker.markWritten();
+				}
+			});
+		}
+	}
+}
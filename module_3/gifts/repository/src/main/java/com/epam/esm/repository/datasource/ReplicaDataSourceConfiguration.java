@@ -0,0 +1,100 @@
+package com.epam.esm.repository.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ *
+ * Replaces the single data source with the one which routes read-only
+ * transactions to the replicas configured by {@code datasource.replica.urls}
+ * property and all other work to the primary database configured by
+ * {@code spring.datasource} properties. The transaction manager marks the
+ * sessions which have written data, so their reads stay on the primary
+ * database. The configuration is applied only if it is enabled by
+ * {@code datasource.replica.enabled} property.
+ *
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+	private static final String REPLICA_POOL_NAME = "replica-pool-";
+
+	@Value("${datasource.replica.urls}")
+	private String[] replicaUrls;
+
+	@Value("${datasource.replica.username:${spring.datasource.username:}}")
+	private String replicaUsername;
+
+	@Value("${datasource.replica.password:${spring.datasource.password:}}")
+	private String replicaPassword;
+
+	@Value("${datasource.replica.maximum-pool-size:10}")
+	private int replicaMaximumPoolSize;
+
+	@Value("${datasource.replica.max-lag-seconds:5}")
+	private long maxLagSeconds;
+
+	@Value("${datasource.replica.lag-query:SHOW REPLICA STATUS}")
+	private String lagQuery;
+
+	@Value("${datasource.replica.lag-column:Seconds_Behind_Source}")
+	private String lagColumn;
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+		return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+			ReadYourWritesTracker readYourWritesTracker) {
+		List<DataSource> replicas = new ArrayList<>(replicaUrls.length);
+		for (int i = 0; i < replicaUrls.length; i++) {
+			HikariDataSource replica = new HikariDataSource();
+			replica.setPoolName(REPLICA_POOL_NAME + i);
+			replica.setJdbcUrl(replicaUrls[i].trim());
+			replica.setUsername(replicaUsername);
+			replica.setPassword(replicaPassword);
+			replica.setMaximumPoolSize(replicaMaximumPoolSize);
+			replica.setReadOnly(true);
+			replicas.add(replica);
+		}
+		ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas,
+				readYourWritesTracker);
+		routingDataSource.setMaxLagSeconds(maxLagSeconds);
+		routingDataSource.setLagQuery(lagQuery, lagColumn);
+		return routingDataSource;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+
+	@Bean
+	public PlatformTransactionManager transactionManager(ReadYourWritesTracker readYourWritesTracker,
+			ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+		ReadYourWritesTransactionManager transactionManager = new ReadYourWritesTransactionManager(
+				readYourWritesTracker);
+		transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+		return transactionManager;
+	}
+}
@@ -0,0 +1,31 @@
+package com.epam.esm.repository.datasource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ * Checks the replication lag of the replicas every
+ * {@code datasource.replica.lag-check-interval-ms} in the background, so the
+ * routing of the read-only transactions never runs the lag query on the
+ * request thread. The probe is applied only if the replicas are enabled by
+ * {@code datasource.replica.enabled} property.
+ *
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaLagProbe {
+	private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+	@Autowired
+	public ReplicaLagProbe(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		this.replicaRoutingDataSource = replicaRoutingDataSource;
+	}
+
+	@Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+	public void checkReplicaLags() {
+		replicaRoutingDataSource.checkReplicaLags();
+	}
+}
@@ -0,0 +1,159 @@
+package com.epam.esm.repository.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ *
+ * Routes connections of the read-only transactions to the replicas in turn
+ * and all other connections to the primary database. A replica is skipped if
+ * its replication lag exceeds the tolerated one or can not be obtained. The
+ * lag is checked by the configured query in the background by
+ * {@link ReplicaLagProbe}, the routing only reads the last checked lags, so
+ * no request waits for the replicas. Until the first check all reads are
+ * routed to the primary database. Reads of the sessions which have recently written data are routed
+ * to the primary database, see {@link ReadYourWritesTracker}.
+ *
+ * The connection must be obtained after the transaction is marked as
+ * read-only, so the routing data source should be wrapped into
+ * {@code LazyConnectionDataSourceProxy}.
+ *
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+	public static final String PRIMARY = "primary";
+	private static final String REPLICA_PREFIX = "replica-";
+	private static final long UNKNOWN_LAG = Long.MAX_VALUE;
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	private final Map<String, DataSource> replicas = new LinkedHashMap<>();
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final Map<String, Long> replicaLags = new ConcurrentHashMap<>();
+	private final AtomicInteger nextReplica = new AtomicInteger();
+	private long maxLagSeconds;
+	private String lagQuery;
+	private String lagColumn;
+
+	public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+			ReadYourWritesTracker readYourWritesTracker) {
+		this.readYourWritesTracker = readYourWritesTracker;
+		Map<Object, Object> targetDataSources = new HashMap<>();
+		targetDataSources.put(PRIMARY, primary);
+		for (int i = 0; i < replicas.size(); i++) {
+			this.replicas.put(REPLICA_PREFIX + i, replicas.get(i));
+		}
+		targetDataSources.putAll(this.replicas);
+		setTargetDataSources(targetDataSources);
+		setDefaultTargetDataSource(primary);
+	}
+
+	public void setMaxLagSeconds(long maxLagSeconds) {
+		this.maxLagSeconds = maxLagSeconds;
+	}
+
+	/**
+	 * Sets the query which reads the replication lag in seconds from the replica.
+	 * If the query is not set, the lag of the replicas is not checked.
+	 *
+	 * @param lagQuery  the query which reads the replication lag
+	 * @param lagColumn the label of the column with the lag in seconds
+	 */
+	public void setLagQuery(String lagQuery, String lagColumn) {
+		this.lagQuery = lagQuery;
+		this.lagColumn = lagColumn;
+	}
+
+	/**
+	 * Obtains the last checked replication lag of the replicas.
+	 *
+	 * @return lag in seconds by the replica key, {@code Long.MAX_VALUE} if the lag
+	 *         is unknown
+	 */
+	public Map<String, Long> getReplicaLags() {
+		return Map.copyOf(replicaLags);
+	}
+
+	/**
+	 * Reads the replication lag of every replica by the configured query and
+	 * keeps it for the routing. Does nothing if the query is not set.
+	 */
+	public void checkReplicaLags() {
+		if (lagQuery != null && !lagQuery.isBlank()) {
+			replicas.forEach((key, replica) -> replicaLags.put(key, readLag(key, replica)));
+		}
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || readYourWritesTracker.isSticky()) {
+			return PRIMARY;
+		}
+		List<String> availableReplicas = obtainAvailableReplicas();
+		if (availableReplicas.isEmpty()) {
+			return PRIMARY;
+		}
+		return availableReplicas.get(Math.floorMod(nextReplica.getAndIncrement(), availableReplicas.size()));
+	}
+
+	/**
+	 * Closes the pools of the replicas. The pool which fails to close does not
+	 * prevent closing of the others. The primary data source is closed as a
+	 * separate bean.
+	 */
+	public void close() {
+		replicas.forEach((key, replica) -> {
+			if (replica instanceof AutoCloseable) {
+				try {
+					((AutoCloseable) replica).close();
+				} catch (Exception e) {
+					LOGGER.warn("Replica {} can not be closed", key, e);
+				}
+			}
+		});
+	}
+
+	private List<String> obtainAvailableReplicas() {
+		if (lagQuery == null || lagQuery.isBlank()) {
+			return new ArrayList<>(replicas.keySet());
+		}
+		List<String> availableReplicas = new ArrayList<>(replicas.size());
+		for (String key : replicas.keySet()) {
+			if (replicaLags.getOrDefault(key, UNKNOWN_LAG) <= maxLagSeconds) {
+				availableReplicas.add(key);
+			}
+		}
+		return availableReplicas;
+	}
+
+	private long readLag(String key, DataSource replica) {
+		try (Connection connection = replica.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet lag = statement.executeQuery(lagQuery)) {
+			if (lag.next()) {
+				long seconds = lag.getLong(lagColumn);
+				if (!lag.wasNull()) {
+					return seconds;
+				}
+			}
+			LOGGER.warn("Replica {} does not replicate, its reads are routed to the primary", key);
+		} catch (SQLException e) {
+			LOGGER.warn("Replication lag of replica {} can not be read, its reads are routed to the primary", key, e);
+		}
+		return UNKNOWN_LAG;
+	}
+}
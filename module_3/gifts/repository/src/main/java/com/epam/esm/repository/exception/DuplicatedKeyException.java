@@ -0,0 +1,71 @@
+package com.epam.esm.repository.exception;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.dao.DuplicateKeyException;
+
+/**
+ *
+ * Thrown when the saved entities violate the unique constraint on their
+ * natural key. Contains the keys which are already taken by the existing
+ * entities or repeated among the saved ones, so all collided entities are
+ * reported at once.
+ *
+ */
+public class DuplicatedKeyException extends DuplicateKeyException {
+	private static final long serialVersionUID = 1L;
+
+	private final List<String> duplicatedKeys;
+
+	public DuplicatedKeyException(List<String> duplicatedKeys, Throwable cause) {
+		super("Duplicated keys: " + duplicatedKeys, cause);
+		this.duplicatedKeys = List.copyOf(duplicatedKeys);
+	}
+
+	public List<String> getDuplicatedKeys() {
+		return duplicatedKeys;
+	}
+
+	/**
+	 * Checks whether the passed exception is caused by the violation of the
+	 * integrity constraint in the database.
+	 *
+	 * @param exception the exception to be checked
+	 * @return {@code true} if the exception is caused by the constraint violation
+	 */
+	public static boolean isConstraintViolation(Throwable exception) {
+		for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLIntegrityConstraintViolationException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the keys of the saved entities which are taken by the existing
+	 * entities or repeated among the saved ones. The keys are compared in lower
+	 * case.
+	 *
+	 * @param keys      the keys of the saved entities
+	 * @param takenKeys the keys of the existing entities in lower case
+	 * @return duplicated keys in the order of the saved entities
+	 */
+	public static List<String> findDuplicatedKeys(Collection<String> keys, Set<String> takenKeys) {
+		Set<String> savedKeys = new HashSet<>();
+		Set<String> duplicatedKeys = new LinkedHashSet<>();
+		for (String key : keys) {
+			String normalizedKey = key.toLowerCase();
+			if (takenKeys.contains(normalizedKey) || !savedKeys.add(normalizedKey)) {
+				duplicatedKeys.add(key);
+			}
+		}
+		return new ArrayList<>(duplicatedKeys);
+	}
+}
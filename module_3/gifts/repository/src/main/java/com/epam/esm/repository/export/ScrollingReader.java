@@ -0,0 +1,105 @@
+package com.epam.esm.repository.export;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ * Reads the rows of the query by the forward-only cursor and passes them to the
+ * consumer one by one, so the amount of read rows does not affect the used
+ * memory. The rows of one entity joined with its children must be adjacent and
+ * contain the id of the entity in the first column. The persistence context is
+ * cleared after every chunk of {@code export.chunk-size} entities.
+ *
+ * The rows are fetched from the database by {@code export.fetch-size} rows. For
+ * MySQL it should be {@code Integer.MIN_VALUE}, otherwise the driver reads the
+ * whole result set into memory.
+ *
+ */
+@Component
+public class ScrollingReader {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${export.fetch-size:1000}")
+	private int fetchSize;
+
+	@Value("${export.chunk-size:1000}")
+	private int chunkSize;
+
+	public ScrollingReader() {
+
+	}
+
+	/**
+	 * Reads the rows of the passed query and groups the adjacent rows of the same
+	 * entity.
+	 *
+	 * @param query           the query of the rows of the entities joined with
+	 *                        their children
+	 * @param entityMapper    the mapper of the first row of the entity to the
+	 *                        entity
+	 * @param joinedRowMapper the mapper of every row of the entity to its child
+	 *                        which is added to the entity
+	 * @param consumer        the consumer of the read entities
+	 * @return amount of the read entities
+	 */
+	public <T> long read(TypedQuery<Object[]> query, Function<Object[], T> entityMapper,
+			BiConsumer<T, Object[]> joinedRowMapper, Consumer<T> consumer) {
+		long amount = 0;
+		Query<?> hibernateQuery = query.unwrap(Query.class);
+		hibernateQuery.setFetchSize(fetchSize);
+		hibernateQuery.setReadOnly(true);
+		try (ScrollableResults rows = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY)) {
+			Object entityId = null;
+			T entity = null;
+			while (rows.next()) {
+				Object[] row = obtainRow(rows);
+				if (entity == null || !entityId.equals(row[0])) {
+					if (entity != null) {
+						consumer.accept(entity);
+						clearChunk(++amount);
+					}
+					entityId = row[0];
+					entity = entityMapper.apply(row);
+				}
+				joinedRowMapper.accept(entity, row);
+			}
+			if (entity != null) {
+				consumer.accept(entity);
+				amount++;
+			}
+		}
+		return amount;
+	}
+
+	/**
+	 * Obtains the columns of the current row. Hibernate returns the row of the
+	 * query selecting an array, for example the multiselect criteria query, as
+	 * the only element of the wrapping array.
+	 */
+	private static Object[] obtainRow(ScrollableResults rows) {
+		Object[] row = rows.get();
+		if (row.length == 1 && row[0] instanceof Object[]) {
+			return (Object[]) row[0];
+		}
+		return row;
+	}
+
+	private void clearChunk(long amount) {
+		if (amount % chunkSize == 0) {
+			entityManager.clear();
+		}
+	}
+}
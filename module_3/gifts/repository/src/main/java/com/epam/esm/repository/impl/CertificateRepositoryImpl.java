@@ -1,17 +1,28 @@
 package com.epam.esm.repository.impl;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.persistence.EntityManager;
-import javax.persistence.NoResultException;
+import javax.persistence.FlushModeType;
+import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -22,24 +33,41 @@ import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.repository.CertificateRepository;
+import com.epam.esm.repository.audit.CertificateAuditListener;
+import com.epam.esm.repository.bulk.BulkInserter;
+import com.epam.esm.repository.counter.EntryCounter;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
+import com.epam.esm.repository.export.ScrollingReader;
+import com.epam.esm.repository.index.CertificateIndexRefresher;
+import com.epam.esm.repository.index.CertificateRelevanceIndex;
+import com.epam.esm.repository.index.CertificateSearchIndex;
+import com.epam.esm.repository.index.IdBitmap;
+import com.epam.esm.repository.index.TagCertificateIndex;
 import com.epam.esm.repository.model.CertificateModel;
 import com.epam.esm.repository.model.CertificateModel_;
+import com.epam.esm.repository.model.CertificatePriceModel;
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.CountedPage;
 import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.repository.model.TagModel_;
 import com.epam.esm.repository.query_builder.CertificateQueryBuilder;
 import com.epam.esm.repository.query_builder.QueryBuilderUtil;
+import com.epam.esm.repository.query_builder.QueryPlanCache;
 
 /**
  * 
@@ -52,18 +80,45 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	private static final List<String> UPDATABLE_FIELDS = Arrays.asList(EntityConstant.CERTIFICATE_DESCRIPTION,
 			EntityConstant.CERTIFICATE_DURATION, EntityConstant.CERTIFICATE_PRICE, EntityConstant.NAME,
 			EntityConstant.CERTIFICATE_TAGS);
+	private static final String CERTIFICATE_TABLE = "gift_certificates";
+	private static final List<String> CERTIFICATE_COLUMNS = Arrays.asList(EntityConstant.NAME,
+			EntityConstant.CERTIFICATE_DESCRIPTION, EntityConstant.CERTIFICATE_PRICE,
+			EntityConstant.CERTIFICATE_DURATION, EntityConstant.CERTIFICATE_CREATE_DATE,
+			EntityConstant.CERTIFICATE_LAST_UPDATE_DATE_COLUMN, EntityConstant.IS_DELETED);
+	private static final String TAGS_CERTIFICATES_TABLE = "tags_certificates";
+	private static final List<String> TAGS_CERTIFICATES_COLUMNS = Arrays.asList(EntityConstant.CERTIFICATE_ID,
+			EntityConstant.TAG_ID);
+	private static final CertificateAuditListener AUDIT_LISTENER = new CertificateAuditListener();
+	private static final int SEARCH_CHUNK_SIZE = BulkInserter.ROWS_PER_STATEMENT;
 
 	@PersistenceContext
 	private EntityManager entityManager;
 
-	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
-	private int batchSize;
+	@Value("${certificate.delete-chunk-size:1000}")
+	private int deleteChunkSize;
 
 	private final CertificateQueryBuilder certificateQueryBuilder;
+	private final EntryCounter entryCounter;
+	private final TagCertificateIndex tagCertificateIndex;
+	private final CertificateSearchIndex certificateSearchIndex;
+	private final CertificateRelevanceIndex certificateRelevanceIndex;
+	private final BulkInserter bulkInserter;
+	private final ScrollingReader scrollingReader;
+	private final CertificateIndexRefresher certificateIndexRefresher;
 
 	@Autowired
-	public CertificateRepositoryImpl(CertificateQueryBuilder certificateQueryBuilder) {
+	public CertificateRepositoryImpl(CertificateQueryBuilder certificateQueryBuilder, EntryCounter entryCounter,
+			TagCertificateIndex tagCertificateIndex, CertificateSearchIndex certificateSearchIndex,
+			CertificateRelevanceIndex certificateRelevanceIndex, BulkInserter bulkInserter,
+			ScrollingReader scrollingReader, CertificateIndexRefresher certificateIndexRefresher) {
 		this.certificateQueryBuilder = certificateQueryBuilder;
+		this.entryCounter = entryCounter;
+		this.tagCertificateIndex = tagCertificateIndex;
+		this.certificateSearchIndex = certificateSearchIndex;
+		this.certificateRelevanceIndex = certificateRelevanceIndex;
+		this.bulkInserter = bulkInserter;
+		this.scrollingReader = scrollingReader;
+		this.certificateIndexRefresher = certificateIndexRefresher;
 	}
 
 	/**
@@ -71,10 +126,20 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	 * 
 	 * @param certificateModel the certificate to be saved
 	 * @return saved certificate
+	 * @throws DuplicatedKeyException if the name of the certificate is already
+	 *                                taken by not deleted certificate
 	 */
 	@Override
 	public CertificateModel save(CertificateModel certificateModel) {
-		entityManager.persist(certificateModel);
+		entryCounter.invalidate();
+		try {
+			entityManager.persist(certificateModel);
+		} catch (PersistenceException e) {
+			throw translateDuplicatedNames(e, List.of(certificateModel));
+		}
+		tagCertificateIndex.index(List.of(certificateModel));
+		certificateSearchIndex.index(List.of(certificateModel));
+		certificateRelevanceIndex.index(List.of(certificateModel));
 		return certificateModel;
 	}
 
@@ -83,38 +148,90 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	 * 
 	 * @param certificateModels the certificates to be saved
 	 * @return saved certificates
+	 * @throws DuplicatedKeyException if the names of the certificates are already
+	 *                                taken by not deleted certificates or
+	 *                                repeated
 	 */
 	@Override
 	@Transactional
 	public List<CertificateModel> saveCertificates(List<CertificateModel> certificateModels) {
-		int i = 0;
+		entryCounter.invalidate();
+		List<CertificateModel> certificatesToInsert = new ArrayList<>();
 		if (certificateModels != null) {
 			for (CertificateModel certificateModel : certificateModels) {
-				entityManager.persist(certificateModel);
-				++i;
-				if (i > 0 && i % batchSize == 0) {
-					entityManager.flush();
-					entityManager.clear();
+				if (certificateModel.getId() == null) {
+					AUDIT_LISTENER.onPrePersist(certificateModel);
+					certificatesToInsert.add(certificateModel);
 				}
 			}
 		}
+		for (List<CertificateModel> chunk : BulkInserter.partition(certificatesToInsert)) {
+			try {
+				bulkInserter.insert(CERTIFICATE_TABLE, CERTIFICATE_COLUMNS, chunk,
+						certificateModel -> new Object[] { certificateModel.getName(),
+								certificateModel.getDescription(), certificateModel.getPrice(),
+								certificateModel.getDuration(), certificateModel.getCreateDate(),
+								certificateModel.getLastUpdateDate(), certificateModel.isDeleted() },
+						CertificateModel::setId);
+			} catch (PersistenceException e) {
+				throw translateDuplicatedNames(e, certificatesToInsert);
+			}
+			bulkInserter.insert(TAGS_CERTIFICATES_TABLE, TAGS_CERTIFICATES_COLUMNS, obtainTagLinks(chunk));
+		}
+		tagCertificateIndex.index(certificateModels);
+		certificateSearchIndex.index(certificateModels);
+		certificateRelevanceIndex.index(certificateModels);
 		return certificateModels;
 	}
 
+	private RuntimeException translateDuplicatedNames(PersistenceException exception,
+			List<CertificateModel> certificateModels) {
+		if (!DuplicatedKeyException.isConstraintViolation(exception)) {
+			return exception;
+		}
+		List<String> certificateNames = new ArrayList<>();
+		Set<String> lowerCaseNames = new HashSet<>();
+		for (CertificateModel certificateModel : certificateModels) {
+			if (certificateModel.getId() == null) {
+				certificateNames.add(certificateModel.getName());
+				lowerCaseNames.add(certificateModel.getName().toLowerCase());
+			}
+		}
+		TypedQuery<CertificateModel> takenCertificateQuery = certificateQueryBuilder
+				.obtainReadByNamesQuery(entityManager, lowerCaseNames);
+		takenCertificateQuery.setFlushMode(FlushModeType.COMMIT);
+		takenCertificateQuery.setLockMode(LockModeType.PESSIMISTIC_READ);
+		Set<String> takenNames = new HashSet<>();
+		takenCertificateQuery.getResultList()
+				.forEach(certificateModel -> takenNames.add(certificateModel.getName().toLowerCase()));
+		List<String> duplicatedNames = DuplicatedKeyException.findDuplicatedKeys(certificateNames, takenNames);
+		return duplicatedNames.isEmpty() ? exception : new DuplicatedKeyException(duplicatedNames, exception);
+	}
+
+	private static List<Object[]> obtainTagLinks(List<CertificateModel> certificateModels) {
+		List<Object[]> tagLinks = new ArrayList<>();
+		for (CertificateModel certificateModel : certificateModels) {
+			if (certificateModel.getTags() != null) {
+				for (TagModel tagModel : certificateModel.getTags()) {
+					tagLinks.add(new Object[] { certificateModel.getId(), tagModel.getId() });
+				}
+			}
+		}
+		return tagLinks;
+	}
+
 	/**
-	 * Reads certificate with passed id.
+	 * Reads not deleted certificate with passed id together with its tags by one
+	 * tuple query. The read certificate is not managed by the persistence
+	 * context, its changes are not saved.
 	 * 
 	 * @param certificateId the id of the certificate to be read
 	 * @return certificate with passed id
 	 */
 	@Override
 	public Optional<CertificateModel> findById(long certificateId) {
-		try {
-			return Optional
-					.of(certificateQueryBuilder.obtainReadByIdQuery(entityManager, certificateId).getSingleResult());
-		} catch (NoResultException e) {
-			return Optional.empty();
-		}
+		return findAllWithTagsByIds(List.of(certificateId)).stream()
+				.filter(certificateModel -> !certificateModel.isDeleted()).findFirst();
 	}
 
 	/**
@@ -126,12 +243,61 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	 */
 	@Override
 	public boolean certificateExistsById(long certificateId) {
-		try {
-			certificateQueryBuilder.obtainReadByIdQuery(entityManager, certificateId).getSingleResult();
-		} catch (NoResultException e) {
-			return false;
+		return !certificateQueryBuilder.obtainIdByIdQuery(entityManager, certificateId).setMaxResults(1)
+				.getResultList().isEmpty();
+	}
+
+	/**
+	 * Finds which of the passed ids belong to existing not deleted certificates.
+	 * All ids are checked by one query.
+	 * 
+	 * @param certificateIds the ids of the certificates to be checked
+	 * @return ids of existing certificates among the passed ones
+	 */
+	@Override
+	public Set<Long> findExistingIds(Collection<Long> certificateIds) {
+		if (certificateIds == null || certificateIds.isEmpty()) {
+			return new HashSet<>();
+		}
+		return new HashSet<>(certificateQueryBuilder
+				.obtainExistingIdsQuery(entityManager, new HashSet<>(certificateIds)).getResultList());
+	}
+
+	/**
+	 * Reads the id, the price and the deletion flag of the certificates with
+	 * passed ids by one query. Deleted certificates are read too, so the caller
+	 * decides how to treat them.
+	 * 
+	 * @param certificateIds the ids of the certificates to be read
+	 * @return found certificates mapped by their ids
+	 */
+	@Override
+	public Map<Long, CertificatePriceModel> findAllByIds(Collection<Long> certificateIds) {
+		Map<Long, CertificatePriceModel> certificates = new HashMap<>();
+		if (certificateIds != null && !certificateIds.isEmpty()) {
+			certificateQueryBuilder.obtainReadPricesByIdsQuery(entityManager, new HashSet<>(certificateIds))
+					.getResultList().forEach(certificate -> certificates.put(certificate.getId(), certificate));
+		}
+		return certificates;
+	}
+
+	/**
+	 * Reads the certificates with passed ids together with their tags by one
+	 * query. Deleted certificates are read too, so the caller decides how to treat
+	 * them. The read certificates stay managed, so the order which refers to them
+	 * is saved without reading them again.
+	 * 
+	 * @param certificateIds the ids of the certificates to be read
+	 * @return found certificates mapped by their ids
+	 */
+	@Override
+	public Map<Long, CertificateModel> findAllByIdsWithTags(Collection<Long> certificateIds) {
+		Map<Long, CertificateModel> certificates = new HashMap<>();
+		if (certificateIds != null && !certificateIds.isEmpty()) {
+			certificateQueryBuilder.obtainReadByIdsWithTagsQuery(entityManager, new ArrayList<>(certificateIds))
+					.getResultList().forEach(certificate -> certificates.put(certificate.getId(), certificate));
 		}
-		return true;
+		return certificates;
 	}
 
 	/**
@@ -142,12 +308,11 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	 */
 	@Override
 	public Optional<CertificateModel> findByName(String certificateName) {
-		try {
-			return Optional.of(
-					certificateQueryBuilder.obtainReadByNameQuery(entityManager, certificateName).getSingleResult());
-		} catch (NoResultException e) {
-			return Optional.empty();
-		}
+		TypedQuery<CertificateModel> certificateQuery = certificateQueryBuilder.obtainReadByNameQuery(entityManager,
+				certificateName);
+		certificateQuery.setHint(EntityConstant.FETCH_GRAPH_HINT,
+				entityManager.getEntityGraph(EntityConstant.CERTIFICATE_TAGS_GRAPH));
+		return certificateQuery.getResultList().stream().findFirst();
 	}
 
 	/**
@@ -159,12 +324,8 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	 */
 	@Override
 	public boolean certificateExistsByName(String certificateName) {
-		try {
-			certificateQueryBuilder.obtainReadByNameQuery(entityManager, certificateName).getSingleResult();
-		} catch (NoResultException e) {
-			return false;
-		}
-		return true;
+		return !certificateQueryBuilder.obtainIdByNameQuery(entityManager, certificateName).setMaxResults(1)
+				.getResultList().isEmpty();
 	}
 
 	/**
@@ -178,29 +339,346 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	 */
 	@Override
 	public Page<CertificateModel> findAll(MultiValueMap<String, String> params, int pageNumber, int limit) {
+		return findAll(params, pageNumber, limit, CountStrategy.EXACT);
+	}
+
+	/**
+	 * Reads all certificates according to the passed parameters and calculates
+	 * their total amount using the passed strategy. At first reads only the ids
+	 * of the page, then reads certificates with these ids together with their
+	 * tags by one query. If certificates are sorted by relevance, the most
+	 * relevant to the searched text certificates are selected among the ids of
+	 * all matched certificates and the total amount is always exact. If the
+	 * search is narrowed by the search index, the page is selected among the ids
+	 * of the matched certificates and the total amount is exact too.
+	 * 
+	 * @param params        the parameters which define the choice of certificates
+	 *                      and their ordering
+	 * @param pageNumber    start position for certificates reading
+	 * @param limit         amount of certificates to be read
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @return certificates which meet passed parameters
+	 */
+	@Override
+	public Page<CertificateModel> findAll(MultiValueMap<String, String> params, int pageNumber, int limit,
+			CountStrategy countStrategy) {
+		List<Long> tagIds = findTagIds(params);
+		if (isServedByTagIndex(params, tagIds)) {
+			return findAllByTagIndex(params, tagIds, pageNumber, limit);
+		}
+		Map<String, Object> filterParameters = certificateQueryBuilder.obtainFilterParameters(params, tagIds);
+		Optional<List<Long>> matchedIds = findMatchedIds(params, filterParameters);
+		List<String> sortConditions = params.get(EntityConstant.ORDER_BY);
+		if (sortConditions != null && sortConditions.contains(EntityConstant.CERTIFICATE_RELEVANCE)) {
+			return findAllByRelevance(params, filterParameters, matchedIds, pageNumber, limit);
+		}
+		if (matchedIds.isPresent()) {
+			int startIndex = QueryBuilderUtil.retrieveStartIndex(pageNumber, limit);
+			Optional<List<Long>> firstIds = sortConditions == null
+					? Optional.of(matchedIds.get().subList(0, Math.min(startIndex + limit, matchedIds.get().size())))
+					: selectFirstIds(matchedIds.get(), startIndex + limit,
+							chunkIds -> certificateQueryBuilder.obtainIdsQuery(entityManager, params,
+									certificateQueryBuilder.obtainParametersWithCandidates(filterParameters, chunkIds),
+									true));
+			if (firstIds.isPresent()) {
+				List<Long> pageIds = startIndex < firstIds.get().size()
+						? firstIds.get().subList(startIndex, firstIds.get().size())
+						: new ArrayList<>();
+				return new CountedPage<>(findAllWithTagsByIds(pageIds), PageRequest.of(pageNumber, limit),
+						matchedIds.get().size(), CountStrategy.EXACT);
+			}
+		}
+
+		TypedQuery<Long> idQuery = certificateQueryBuilder.obtainIdsQuery(entityManager, params, filterParameters,
+				true);
+
+		Map<String, List<String>> filters = new HashMap<>();
+		filters.put(EntityConstant.TAG, params.get(EntityConstant.TAG));
+		if (params.containsKey(EntityConstant.SEARCH)) {
+			filters.put(EntityConstant.SEARCH, List.of(params.getFirst(EntityConstant.SEARCH)));
+		}
+		CountedPage<Long> idPage = entryCounter.obtainPage(idQuery, pageNumber, limit, countStrategy,
+				EntryCounter.obtainSignature(CertificateModel.class, filters), null,
+				() -> certificateQueryBuilder.obtainCountQuery(entityManager, filterParameters).getSingleResult());
+
+		return new CountedPage<>(findAllWithTagsByIds(idPage.getContent()), idPage.getPageable(),
+				idPage.getTotalElements(), idPage.getCountStrategy());
+	}
+
+	/**
+	 * Reads certificates located after the passed cursor according to the passed
+	 * parameters. Certificates are ordered by the passed sort parameters with id
+	 * as the last tie-breaker, so the seek predicate always points to the unique
+	 * position. At first reads only the ids of the page, then reads certificates
+	 * with these ids together with their tags by one query.
+	 * 
+	 * @param params the parameters which define the choice of certificates and
+	 *               their ordering
+	 * @param cursor the position from which reading starts, {@code null} for the
+	 *               first page
+	 * @param limit  amount of certificates to be read
+	 * @return certificates which meet passed parameters
+	 */
+	@Override
+	public Slice<CertificateModel> findAll(MultiValueMap<String, String> params, KeysetCursor cursor, int limit) {
+		Map<String, Object> filterParameters = certificateQueryBuilder.obtainFilterParameters(params,
+				findTagIds(params));
+		Optional<List<Long>> firstIds = findMatchedIds(params, filterParameters)
+				.flatMap(matchedIds -> selectFirstIds(matchedIds, limit + 1,
+						chunkIds -> obtainKeysetIdsQuery(params, cursor,
+								certificateQueryBuilder.obtainParametersWithCandidates(filterParameters, chunkIds))));
+		List<Long> ids = firstIds.orElseGet(() -> obtainKeysetIdsQuery(params, cursor, filterParameters)
+				.setMaxResults(limit + 1).getResultList());
+		Slice<Long> idSlice = QueryBuilderUtil.obtainKeysetSlice(ids, limit, cursor);
+
+		return new SliceImpl<>(findAllWithTagsByIds(idSlice.getContent()), idSlice.getPageable(),
+				idSlice.hasNext());
+	}
+
+	private TypedQuery<Long> obtainKeysetIdsQuery(MultiValueMap<String, String> params, KeysetCursor cursor,
+			Map<String, Object> filterParameters) {
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+		Root<CertificateModel> certificateRoot = idCriteria.from(CertificateModel.class);
+		idCriteria.select(certificateRoot.get(CertificateModel_.id));
+
+		List<Order> sortOrders = certificateQueryBuilder.obtainOrders(params, criteriaBuilder, certificateRoot);
+		List<Predicate> predicates = new ArrayList<>(Arrays.asList(certificateQueryBuilder
+				.obtainPredicates(filterParameters, criteriaBuilder, idCriteria, certificateRoot)));
+		if (cursor != null) {
+			predicates.add(QueryBuilderUtil.obtainKeysetPredicate(criteriaBuilder, sortOrders,
+					certificateRoot.get(CertificateModel_.id), cursor));
+		}
+		idCriteria.where(predicates.toArray(new Predicate[0]));
+		idCriteria.orderBy(QueryBuilderUtil.obtainKeysetOrders(criteriaBuilder, sortOrders,
+				certificateRoot.get(CertificateModel_.id), cursor));
 
-		CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
-		Root<CertificateModel> counterRoot = counterCriteria.from(CertificateModel.class);
-		counterCriteria.select(criteriaBuilder.count(counterRoot));
-		counterCriteria.where(certificateQueryBuilder.obtainPredicates(params, criteriaBuilder, counterRoot));
-		long totalEntriesAmount = entityManager.createQuery(counterCriteria).getSingleResult();
+		return QueryPlanCache.bindParameters(entityManager.createQuery(idCriteria), filterParameters);
+	}
 
-		CriteriaQuery<CertificateModel> certificateCriteria = criteriaBuilder.createQuery(CertificateModel.class);
-		Root<CertificateModel> certificateRoot = certificateCriteria.from(CertificateModel.class);
-		certificateCriteria.select(certificateRoot);
-		certificateCriteria.where(certificateQueryBuilder.obtainPredicates(params, criteriaBuilder, certificateRoot));
-		certificateCriteria.orderBy(certificateQueryBuilder.obtainOrders(params, criteriaBuilder, certificateRoot));
+	/**
+	 * Reads all certificates which meet the passed parameters together with their
+	 * tags by one forward-only query and passes them to the consumer one by one.
+	 * The read certificates are not managed by the persistence context. Sorting
+	 * by relevance is not supported, such certificates are ordered by id. If the
+	 * search is narrowed by the search index, the matched certificates are read
+	 * by chunks of ids in id order.
+	 * 
+	 * @param params   the parameters which define the choice of certificates and
+	 *                 their ordering
+	 * @param consumer the consumer of the read certificates
+	 * @return amount of the read certificates
+	 */
+	@Override
+	public long streamAll(MultiValueMap<String, String> params, Consumer<CertificateModel> consumer) {
+		Map<String, Object> filterParameters = certificateQueryBuilder.obtainFilterParameters(params,
+				findTagIds(params));
+		Optional<List<Long>> matchedIds = findMatchedIds(params, filterParameters);
+		if (matchedIds.isPresent()
+				&& (!params.containsKey(EntityConstant.ORDER_BY) || matchedIds.get().size() <= SEARCH_CHUNK_SIZE)) {
+			long amount = 0;
+			for (List<Long> chunkIds : BulkInserter.partition(matchedIds.get())) {
+				amount += scrollingReader.read(certificateQueryBuilder.obtainExportQuery(entityManager, params,
+						certificateQueryBuilder.obtainParametersWithCandidates(filterParameters, chunkIds)),
+						CertificateRepositoryImpl::mapExportedCertificate, CertificateRepositoryImpl::addExportedTag,
+						consumer);
+			}
+			return amount;
+		}
+		return scrollingReader.read(certificateQueryBuilder.obtainExportQuery(entityManager, params, filterParameters),
+				CertificateRepositoryImpl::mapExportedCertificate, CertificateRepositoryImpl::addExportedTag, consumer);
+	}
 
-		TypedQuery<CertificateModel> typedQuery = entityManager.createQuery(certificateCriteria);
-		typedQuery.setFirstResult(QueryBuilderUtil.retrieveStartIndex(pageNumber, limit));
-		typedQuery.setMaxResults(limit);
-		List<CertificateModel> certificates = typedQuery.getResultList();
+	private static CertificateModel mapExportedCertificate(Object[] row) {
+		CertificateModel certificateModel = new CertificateModel();
+		certificateModel.setId((Long) row[0]);
+		certificateModel.setName((String) row[1]);
+		certificateModel.setDescription((String) row[2]);
+		certificateModel.setPrice((BigDecimal) row[3]);
+		certificateModel.setDuration((Integer) row[4]);
+		certificateModel.setCreateDate((LocalDateTime) row[5]);
+		certificateModel.setLastUpdateDate((LocalDateTime) row[6]);
+		certificateModel.setTags(new ArrayList<>());
+		return certificateModel;
+	}
+
+	private static void addExportedTag(CertificateModel certificateModel, Object[] row) {
+		if (row[7] != null) {
+			TagModel tagModel = new TagModel();
+			tagModel.setId((Long) row[7]);
+			tagModel.setName((String) row[8]);
+			certificateModel.getTags().add(tagModel);
+		}
+	}
+
+	private CountedPage<CertificateModel> findAllByRelevance(MultiValueMap<String, String> params,
+			Map<String, Object> filterParameters, Optional<List<Long>> matchedIds, int pageNumber, int limit) {
+		List<Long> certificateIds = matchedIds.orElseGet(() -> certificateQueryBuilder
+				.obtainIdsQuery(entityManager, params, filterParameters, false).getResultList());
+
+		int startIndex = QueryBuilderUtil.retrieveStartIndex(pageNumber, limit);
+		List<Long> mostRelevantIds = certificateRelevanceIndex.findMostRelevantIds(certificateIds,
+				params.getFirst(EntityConstant.SEARCH), startIndex + limit);
+		List<Long> pageIds = startIndex < mostRelevantIds.size()
+				? mostRelevantIds.subList(startIndex, mostRelevantIds.size())
+				: new ArrayList<>();
+		return new CountedPage<>(findAllWithTagsByIds(pageIds), PageRequest.of(pageNumber, limit),
+				certificateIds.size(), CountStrategy.EXACT);
+	}
+
+	private boolean isServedByTagIndex(MultiValueMap<String, String> params, List<Long> tagIds) {
+		return tagCertificateIndex.isAvailable() && !tagIds.isEmpty()
+				&& tagIds.size() >= certificateQueryBuilder.obtainTagNames(params).size()
+				&& !params.containsKey(EntityConstant.SEARCH) && !params.containsKey(EntityConstant.ORDER_BY);
+	}
+
+	/**
+	 * Reads the page of certificates with all of the passed tags. The ids up to
+	 * the indexed one are taken from the tag index and the newer ids, which may
+	 * be created by other nodes since the last refresh of the index, are read
+	 * from the database by the tag semi-join restricted to them.
+	 */
+	private CountedPage<CertificateModel> findAllByTagIndex(MultiValueMap<String, String> params, List<Long> tagIds,
+			int pageNumber, int limit) {
+		long indexedId = tagCertificateIndex.obtainIndexedId();
+		IdBitmap certificateIds = tagCertificateIndex.findCertificateIds(tagIds);
+		long indexedAmount = certificateIds.rank(indexedId);
+		int startIndex = QueryBuilderUtil.retrieveStartIndex(pageNumber, limit);
+		List<Long> pageIds = new ArrayList<>(certificateIds.select(startIndex, limit, indexedId));
+
+		Map<String, Object> newerParameters = certificateQueryBuilder.obtainParametersAfterId(
+				certificateQueryBuilder.obtainFilterParameters(params, tagIds), indexedId);
+		long newerAmount = certificateQueryBuilder.obtainCountQuery(entityManager, newerParameters).getSingleResult();
+		if (newerAmount > 0 && pageIds.size() < limit) {
+			TypedQuery<Long> newerIdQuery = certificateQueryBuilder.obtainIdsQuery(entityManager, params,
+					newerParameters, true);
+			newerIdQuery.setFirstResult((int) Math.max(0, startIndex - indexedAmount));
+			newerIdQuery.setMaxResults(limit - pageIds.size());
+			pageIds.addAll(newerIdQuery.getResultList());
+		}
+		return new CountedPage<>(findAllWithTagsByIds(pageIds), PageRequest.of(pageNumber, limit),
+				indexedAmount + newerAmount, CountStrategy.EXACT);
+	}
+
+	private List<Long> findTagIds(MultiValueMap<String, String> params) {
+		Set<String> tagNames = certificateQueryBuilder.obtainTagNames(params);
+		return tagNames.isEmpty() ? new ArrayList<>()
+				: certificateQueryBuilder.obtainTagIdsByNamesQuery(entityManager, tagNames).getResultList();
+	}
+
+	/**
+	 * Finds the ids of all certificates which meet the filter with the help of
+	 * the search index. The candidates of the index are verified by the database
+	 * in chunks of ids in id order. The certificates with ids greater than the
+	 * indexed one and the certificates changed since the last refresh of the
+	 * index are searched by the database, so the certificates which the index
+	 * has not seen yet are never missed.
+	 */
+	private Optional<List<Long>> findMatchedIds(MultiValueMap<String, String> params,
+			Map<String, Object> filterParameters) {
+		LocalDateTime refreshedDate = certificateIndexRefresher.obtainRefreshedDate();
+		long indexedId = certificateSearchIndex.obtainIndexedId();
+		Optional<List<Long>> candidateIds = refreshedDate != null && params.containsKey(EntityConstant.SEARCH)
+				? certificateSearchIndex.findCandidateIds(params.getFirst(EntityConstant.SEARCH), indexedId)
+				: Optional.empty();
+		if (!candidateIds.isPresent()) {
+			return Optional.empty();
+		}
+		Set<Long> matchedIds = new TreeSet<>();
+		for (List<Long> chunkIds : BulkInserter.partition(candidateIds.get())) {
+			matchedIds.addAll(certificateQueryBuilder.obtainIdsQuery(entityManager, params,
+					certificateQueryBuilder.obtainParametersWithCandidates(filterParameters, chunkIds), false)
+					.getResultList());
+		}
+		matchedIds.addAll(certificateQueryBuilder.obtainIdsQuery(entityManager, params,
+				certificateQueryBuilder.obtainParametersChangedAfter(filterParameters, indexedId, refreshedDate),
+				false).getResultList());
+		return Optional.of(new ArrayList<>(matchedIds));
+	}
+
+	/**
+	 * Selects the passed amount of the first ids among the passed ones in the
+	 * order of the passed query. The ids are ordered by the database in chunks
+	 * and only the first ids of every chunk take part in the next round, so one
+	 * query never orders more than one chunk.
+	 *
+	 * @return the first ids in order or empty {@code Optional} if the amount is
+	 *         too large to be selected by chunks
+	 */
+	private Optional<List<Long>> selectFirstIds(List<Long> ids, int amount,
+			Function<List<Long>, TypedQuery<Long>> orderedIdsQuery) {
+		List<Long> remainingIds = ids;
+		while (remainingIds.size() > SEARCH_CHUNK_SIZE) {
+			if (amount > SEARCH_CHUNK_SIZE / 2) {
+				return Optional.empty();
+			}
+			List<Long> firstIds = new ArrayList<>();
+			for (List<Long> chunkIds : BulkInserter.partition(remainingIds)) {
+				firstIds.addAll(orderedIdsQuery.apply(chunkIds).setMaxResults(amount).getResultList());
+			}
+			remainingIds = firstIds;
+		}
+		return Optional.of(remainingIds.isEmpty() ? remainingIds
+				: orderedIdsQuery.apply(remainingIds).setMaxResults(amount).getResultList());
+	}
 
-		Pageable pageable = PageRequest.of(pageNumber, limit);
-		Page<CertificateModel> pageModel = new PageImpl<>(certificates, pageable, totalEntriesAmount);
+	private List<CertificateModel> findAllWithTagsByIds(List<Long> certificateIds) {
+		List<CertificateModel> certificates = new ArrayList<>(certificateIds.size());
+		if (!certificateIds.isEmpty()) {
+			Map<Long, CertificateModel> certificatesById = new HashMap<>();
+			for (Object[] row : certificateQueryBuilder.obtainReadRowsByIdsQuery(entityManager, certificateIds)
+					.getResultList()) {
+				addReadTag(certificatesById.computeIfAbsent((Long) row[0], id -> mapReadCertificate(row, 0)), row, 0);
+			}
+			certificateIds.forEach(certificateId -> {
+				if (certificatesById.containsKey(certificateId)) {
+					certificates.add(certificatesById.get(certificateId));
+				}
+			});
+		}
+		return certificates;
+	}
 
-		return pageModel;
+	/**
+	 * Maps the certificate fields of the row selected by
+	 * {@link CertificateQueryBuilder#obtainReadSelections} starting at the passed
+	 * position to the certificate which is not managed by the persistence context.
+	 * 
+	 * @param row    the selected row
+	 * @param offset the position of the first certificate field
+	 * @return certificate without tags
+	 */
+	static CertificateModel mapReadCertificate(Object[] row, int offset) {
+		CertificateModel certificateModel = new CertificateModel();
+		certificateModel.setId((Long) row[offset]);
+		certificateModel.setName((String) row[offset + 1]);
+		certificateModel.setDescription((String) row[offset + 2]);
+		certificateModel.setPrice((BigDecimal) row[offset + 3]);
+		certificateModel.setDuration((Integer) row[offset + 4]);
+		certificateModel.setCreateDate((LocalDateTime) row[offset + 5]);
+		certificateModel.setLastUpdateDate((LocalDateTime) row[offset + 6]);
+		certificateModel.setDeleted((Boolean) row[offset + 7]);
+		certificateModel.setTags(new ArrayList<>());
+		return certificateModel;
+	}
+
+	/**
+	 * Adds the tag of the row selected by
+	 * {@link CertificateQueryBuilder#obtainReadSelections} starting at the passed
+	 * position to the passed certificate if the row contains a tag.
+	 * 
+	 * @param certificateModel the certificate of the row
+	 * @param row              the selected row
+	 * @param offset           the position of the first certificate field
+	 */
+	static void addReadTag(CertificateModel certificateModel, Object[] row, int offset) {
+		if (row[offset + 8] != null) {
+			TagModel tagModel = new TagModel();
+			tagModel.setId((Long) row[offset + 8]);
+			tagModel.setName((String) row[offset + 9]);
+			tagModel.setDeleted((Boolean) row[offset + 10]);
+			certificateModel.getTags().add(tagModel);
+		}
 	}
 
 	/**
@@ -214,9 +692,15 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	@Override
 	@Transactional
 	public CertificateModel updateCertificate(CertificateModel certificateModel) {
+		entryCounter.invalidate();
 		CertificateModel existedCertificate = entityManager.find(CertificateModel.class, certificateModel.getId());
 		setNotNullFields(existedCertificate, certificateModel);
-		return entityManager.merge(existedCertificate);
+		CertificateModel updatedCertificate = entityManager.merge(existedCertificate);
+		Hibernate.initialize(updatedCertificate.getTags());
+		tagCertificateIndex.index(List.of(updatedCertificate));
+		certificateSearchIndex.index(List.of(updatedCertificate));
+		certificateRelevanceIndex.index(List.of(updatedCertificate));
+		return updatedCertificate;
 	}
 
 	private void setNotNullFields(CertificateModel existedCertificate, CertificateModel certificateWithUpdatedFields) {
@@ -266,12 +750,58 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	@Override
 	@Transactional
 	public int delete(long certificateId) {
+		entryCounter.invalidate();
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 		CriteriaUpdate<CertificateModel> certificateCriteria = criteriaBuilder
 				.createCriteriaUpdate(CertificateModel.class);
 		Root<CertificateModel> certificateRoot = certificateCriteria.from(CertificateModel.class);
 		certificateCriteria.set(CertificateModel_.isDeleted, true);
+		certificateCriteria.set(CertificateModel_.lastUpdateDate, LocalDateTime.now());
 		certificateCriteria.where(criteriaBuilder.equal(certificateRoot.get(CertificateModel_.id), certificateId));
+		tagCertificateIndex.remove(certificateId);
+		certificateSearchIndex.remove(certificateId);
+		certificateRelevanceIndex.remove(certificateId);
+		return entityManager.createQuery(certificateCriteria).executeUpdate();
+	}
+
+	/**
+	 * Deletes the next chunk of not deleted certificates with passed tag. The
+	 * chunk consists of up to {@code certificate.delete-chunk-size} ids greater
+	 * than the passed one read from the tag side, so the update locks a bounded
+	 * amount of rows and no certificate is loaded into the persistence context.
+	 * The certificates are removed from the indexes after the commit of the
+	 * current transaction, so the caller should commit every chunk in its own
+	 * transaction.
+	 * 
+	 * @param tagId   the id of the tag whose certificates should be deleted
+	 * @param afterId the id after which the chunk starts, {@code 0} for the first
+	 *                chunk
+	 * @return the ids of the deleted certificates in ascending order or empty list
+	 *         if there are no certificates left
+	 */
+	@Override
+	@Transactional
+	public List<Long> deleteByTagId(long tagId, long afterId) {
+		List<Long> chunkIds = certificateQueryBuilder.obtainIdsByTagQuery(entityManager, tagId, afterId)
+				.setMaxResults(deleteChunkSize).getResultList();
+		if (!chunkIds.isEmpty()) {
+			entryCounter.invalidate();
+			deleteAll(chunkIds);
+			tagCertificateIndex.removeAll(chunkIds);
+			certificateSearchIndex.removeAll(chunkIds);
+			certificateRelevanceIndex.removeAll(chunkIds);
+		}
+		return chunkIds;
+	}
+
+	private int deleteAll(List<Long> certificateIds) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<CertificateModel> certificateCriteria = criteriaBuilder
+				.createCriteriaUpdate(CertificateModel.class);
+		Root<CertificateModel> certificateRoot = certificateCriteria.from(CertificateModel.class);
+		certificateCriteria.set(CertificateModel_.isDeleted, true);
+		certificateCriteria.set(CertificateModel_.lastUpdateDate, LocalDateTime.now());
+		certificateCriteria.where(certificateRoot.get(CertificateModel_.id).in(certificateIds));
 		return entityManager.createQuery(certificateCriteria).executeUpdate();
 	}
 
@@ -284,27 +814,33 @@ public class CertificateRepositoryImpl implements CertificateRepository {
 	 */
 	@Override
 	public Page<CertificateModel> findAll(int pageNumber, int limit) {
-		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-
-		CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
-		Root<CertificateModel> counterRoot = counterCriteria.from(CertificateModel.class);
-		counterCriteria.select(criteriaBuilder.count(counterRoot));
-		counterCriteria.where(criteriaBuilder.equal(counterRoot.get(CertificateModel_.isDeleted), false));
-		long totalEntriesAmount = entityManager.createQuery(counterCriteria).getSingleResult();
-
-		CriteriaQuery<CertificateModel> certificateCriteria = criteriaBuilder.createQuery(CertificateModel.class);
-		Root<CertificateModel> certificateRoot = certificateCriteria.from(CertificateModel.class);
-		certificateCriteria.select(certificateRoot);
-		certificateCriteria.where(criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted), false));
-
-		TypedQuery<CertificateModel> typedQuery = entityManager.createQuery(certificateCriteria);
-		typedQuery.setFirstResult(QueryBuilderUtil.retrieveStartIndex(pageNumber, limit));
-		typedQuery.setMaxResults(limit);
-		List<CertificateModel> certificates = typedQuery.getResultList();
+		return findAll(pageNumber, limit, CountStrategy.EXACT);
+	}
 
-		Pageable pageable = PageRequest.of(pageNumber, limit);
-		Page<CertificateModel> pageModel = new PageImpl<>(certificates, pageable, totalEntriesAmount);
+	/**
+	 * Reads all certificates and calculates their total amount using the passed
+	 * strategy.
+	 * 
+	 * @param pageNumber    start position for certificates reading
+	 * @param limit         amount of certificates to be read
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @return certificates which meet passed parameters
+	 */
+	@Override
+	public Page<CertificateModel> findAll(int pageNumber, int limit, CountStrategy countStrategy) {
+		return findAll(new LinkedMultiValueMap<>(), pageNumber, limit, countStrategy);
+	}
 
-		return pageModel;
+	/**
+	 * Reads certificates located after the passed cursor ordered by id.
+	 * 
+	 * @param cursor the position from which reading starts, {@code null} for the
+	 *               first page
+	 * @param limit  amount of certificates to be read
+	 * @return certificates which meet passed parameters
+	 */
+	@Override
+	public Slice<CertificateModel> findAll(KeysetCursor cursor, int limit) {
+		return findAll(new LinkedMultiValueMap<>(), cursor, limit);
 	}
 }
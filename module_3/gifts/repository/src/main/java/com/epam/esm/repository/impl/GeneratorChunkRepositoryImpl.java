@@ -0,0 +1,65 @@
+package com.epam.esm.repository.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+
+import org.springframework.stereotype.Repository;
+
+import com.epam.esm.repository.GeneratorChunkRepository;
+import com.epam.esm.repository.model.GeneratorChunkId;
+import com.epam.esm.repository.model.GeneratorChunkId_;
+import com.epam.esm.repository.model.GeneratorChunkModel;
+import com.epam.esm.repository.model.GeneratorChunkModel_;
+
+/**
+ * 
+ * Contains methods implementation for working with {@code GeneratorChunkModel}
+ * entity.
+ *
+ */
+@Repository
+public class GeneratorChunkRepositoryImpl implements GeneratorChunkRepository {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public GeneratorChunkRepositoryImpl() {
+
+	}
+
+	/**
+	 * Reads the numbers of the committed chunks of the passed generation stage.
+	 * 
+	 * @param stage the name of the generation stage
+	 * @return numbers of the committed chunks
+	 */
+	@Override
+	public Set<Integer> findCompletedChunks(String stage) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Integer> chunkCriteria = criteriaBuilder.createQuery(Integer.class);
+		Root<GeneratorChunkModel> chunkRoot = chunkCriteria.from(GeneratorChunkModel.class);
+		Path<GeneratorChunkId> chunkId = chunkRoot.get(GeneratorChunkModel_.generatorChunkId);
+		chunkCriteria.select(chunkId.get(GeneratorChunkId_.chunkNumber));
+		chunkCriteria.where(criteriaBuilder.equal(chunkId.get(GeneratorChunkId_.stage), stage));
+		return new HashSet<>(entityManager.createQuery(chunkCriteria).getResultList());
+	}
+
+	/**
+	 * Marks the chunk of the passed generation stage as committed. The marker is
+	 * written in the transaction of the chunk, so it is committed only together
+	 * with the generated data.
+	 * 
+	 * @param stage       the name of the generation stage
+	 * @param chunkNumber the number of the chunk
+	 */
+	@Override
+	public void saveCompletedChunk(String stage, int chunkNumber) {
+		entityManager.persist(new GeneratorChunkModel(new GeneratorChunkId(stage, chunkNumber)));
+	}
+}
@@ -1,11 +1,15 @@
 package com.epam.esm.repository.impl;
 
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.Consumer;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
@@ -16,26 +20,43 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 import javax.transaction.Transactional;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.repository.OrderRepository;
+import com.epam.esm.repository.audit.OrderAuditListener;
+import com.epam.esm.repository.bulk.BulkInserter;
+import com.epam.esm.repository.counter.EntryCounter;
+import com.epam.esm.repository.export.ScrollingReader;
 import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.CertificateModel_;
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.CountedPage;
+import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
+import com.epam.esm.repository.model.OrderCertificateId;
+import com.epam.esm.repository.model.OrderCertificateId_;
 import com.epam.esm.repository.model.OrderCertificateModel;
+import com.epam.esm.repository.model.OrderCertificateModel_;
+import com.epam.esm.repository.model.OrderDataModel;
 import com.epam.esm.repository.model.OrderModel;
 import com.epam.esm.repository.model.OrderModel_;
-import com.epam.esm.repository.model.PageModel;
+import com.epam.esm.repository.model.RoleModel;
+import com.epam.esm.repository.model.RoleModel_;
+import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.repository.model.UserModel;
 import com.epam.esm.repository.model.UserModel_;
+import com.epam.esm.repository.query_builder.CertificateQueryBuilder;
 import com.epam.esm.repository.query_builder.QueryBuilderUtil;
 
 /**
@@ -46,18 +67,32 @@ import com.epam.esm.repository.query_builder.QueryBuilderUtil;
  */
 @Repository
 public class OrderRepositoryImpl implements OrderRepository {
+	private static final String ORDER_TABLE = "orders";
+	private static final List<String> ORDER_COLUMNS = Arrays.asList(EntityConstant.ORDER_COST,
+			EntityConstant.ORDER_DATE, EntityConstant.USER_ID);
+	private static final String ORDERS_CERTIFICATES_TABLE = "orders_certificates";
+	private static final List<String> ORDERS_CERTIFICATES_COLUMNS = Arrays.asList(EntityConstant.ORDER_ID,
+			EntityConstant.CERTIFICATE_ID, EntityConstant.CERTIFICATE_AMOUNT_COLUMN);
+	private static final OrderAuditListener AUDIT_LISTENER = new OrderAuditListener();
+	private static final int LINE_CERTIFICATE_OFFSET = 2;
 	@PersistenceContext
 	private EntityManager entityManager;
 
-	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
-	private int batchSize;
-
-	public OrderRepositoryImpl() {
+	private final EntryCounter entryCounter;
+	private final BulkInserter bulkInserter;
+	private final ScrollingReader scrollingReader;
 
+	@Autowired
+	public OrderRepositoryImpl(EntryCounter entryCounter, BulkInserter bulkInserter, ScrollingReader scrollingReader) {
+		this.entryCounter = entryCounter;
+		this.bulkInserter = bulkInserter;
+		this.scrollingReader = scrollingReader;
 	}
 
 	/**
-	 * Saves the passed order.
+	 * Saves the passed order. The user and the certificates of the order are
+	 * attached by references, so they are not read again if they are already
+	 * loaded.
 	 * 
 	 * @param orderModel the order to be saved
 	 * @return saved order
@@ -65,13 +100,15 @@ public class OrderRepositoryImpl implements OrderRepository {
 	@Override
 	@Transactional
 	public OrderModel save(OrderModel orderModel) {
+		entryCounter.invalidate();
 		prepareOrderModelToSave(orderModel);
 		entityManager.persist(orderModel);
 		return orderModel;
 	}
 
 	/**
-	 * Saves the passed orders.
+	 * Saves the passed orders. The user and the certificates of the orders are
+	 * attached by references, so they are not read to save the orders.
 	 * 
 	 * @param ordersToSave the orders to be saved
 	 * @return saved orders
@@ -79,44 +116,101 @@ public class OrderRepositoryImpl implements OrderRepository {
 	@Override
 	@Transactional
 	public List<OrderModel> saveOrders(List<OrderModel> ordersToSave) {
-		int i = 0;
+		entryCounter.invalidate();
+		List<OrderModel> ordersToInsert = new ArrayList<>();
 		if (ordersToSave != null) {
 			for (OrderModel orderModel : ordersToSave) {
-				prepareOrderModelToSave(orderModel);
-				entityManager.persist(orderModel);
-				++i;
-				if (i > 0 && i % batchSize == 0) {
-					entityManager.flush();
-					entityManager.clear();
+				if (orderModel.getId() == null) {
+					AUDIT_LISTENER.onPrePersist(orderModel);
+					ordersToInsert.add(orderModel);
 				}
 			}
 		}
+		attachOrderReferences(ordersToInsert);
+		for (List<OrderModel> chunk : BulkInserter.partition(ordersToInsert)) {
+			bulkInserter.insert(ORDER_TABLE, ORDER_COLUMNS, chunk,
+					orderModel -> new Object[] { orderModel.getCost(), orderModel.getDate(),
+							orderModel.getUser().getId() },
+					OrderModel::setId);
+			bulkInserter.insert(ORDERS_CERTIFICATES_TABLE, ORDERS_CERTIFICATES_COLUMNS, obtainCertificateLinks(chunk));
+		}
 		return ordersToSave;
 	}
 
+	private void attachOrderReferences(List<OrderModel> orderModels) {
+		for (OrderModel orderModel : orderModels) {
+			orderModel.setUser(entityManager.getReference(UserModel.class, orderModel.getUser().getId()));
+			if (orderModel.getCertificates() != null) {
+				for (OrderCertificateModel orderCertificate : orderModel.getCertificates()) {
+					orderCertificate.setCertificate(entityManager.getReference(CertificateModel.class,
+							orderCertificate.getCertificate().getId()));
+					orderCertificate.setOrder(orderModel);
+				}
+			}
+		}
+	}
+
+	private static List<Object[]> obtainCertificateLinks(List<OrderModel> orderModels) {
+		List<Object[]> certificateLinks = new ArrayList<>();
+		for (OrderModel orderModel : orderModels) {
+			if (orderModel.getCertificates() != null) {
+				for (OrderCertificateModel orderCertificate : orderModel.getCertificates()) {
+					OrderCertificateId orderCertificateId = new OrderCertificateId();
+					orderCertificateId.setOrderId(orderModel.getId());
+					orderCertificateId.setCertificateId(orderCertificate.getCertificate().getId());
+					orderCertificate.setOrderCertificateId(orderCertificateId);
+					certificateLinks.add(new Object[] { orderModel.getId(), orderCertificate.getCertificate().getId(),
+							orderCertificate.getCertificateAmount() });
+				}
+			}
+		}
+		return certificateLinks;
+	}
+
 	private void prepareOrderModelToSave(OrderModel orderModel) {
 		List<OrderCertificateModel> orderCertificateModels = orderModel.getCertificates();
 		if (orderCertificateModels != null && !orderCertificateModels.isEmpty()) {
 			for (OrderCertificateModel orderCertificate : orderCertificateModels) {
-				CertificateModel certificateModel = entityManager.find(CertificateModel.class,
+				CertificateModel certificateModel = entityManager.getReference(CertificateModel.class,
 						orderCertificate.getCertificate().getId());
 				orderCertificate.setCertificate(certificateModel);
 				orderCertificate.setOrder(orderModel);
 			}
 		}
-		UserModel userModel = entityManager.find(UserModel.class, orderModel.getUser().getId());
+		UserModel userModel = entityManager.getReference(UserModel.class, orderModel.getUser().getId());
 		orderModel.setUser(userModel);
 	}
 
 	/**
-	 * Reads order with passed id.
+	 * Reads order with passed id together with its user and certificates by
+	 * tuple queries. The read order is not managed by the persistence context.
 	 * 
 	 * @param orderId the id of the order to be read
 	 * @return order with passed id
 	 */
 	@Override
 	public Optional<OrderModel> findById(long orderId) {
-		return Optional.ofNullable(entityManager.find(OrderModel.class, orderId));
+		return findAllByIds(List.of(orderId)).stream().findFirst();
+	}
+
+	/**
+	 * Reads the id, the cost, the date and the user id of the order with passed id
+	 * by one projection query. The order entity is not loaded into the
+	 * persistence context.
+	 * 
+	 * @param orderId the id of the order to be read
+	 * @return information about the order with passed id
+	 */
+	@Override
+	public Optional<OrderDataModel> findOrderDataById(long orderId) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<OrderDataModel> orderCriteria = criteriaBuilder.createQuery(OrderDataModel.class);
+		Root<OrderModel> orderRoot = orderCriteria.from(OrderModel.class);
+		orderCriteria.select(criteriaBuilder.construct(OrderDataModel.class, orderRoot.get(OrderModel_.id),
+				orderRoot.get(OrderModel_.cost), orderRoot.get(OrderModel_.date),
+				orderRoot.get(OrderModel_.user).get(UserModel_.id)));
+		orderCriteria.where(criteriaBuilder.equal(orderRoot.get(OrderModel_.id), orderId));
+		return entityManager.createQuery(orderCriteria).getResultList().stream().findFirst();
 	}
 
 	/**
@@ -128,26 +222,37 @@ public class OrderRepositoryImpl implements OrderRepository {
 	 */
 	@Override
 	public Page<OrderModel> findAll(int pageNumber, int limit) {
-		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-
-		CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
-		Root<OrderModel> counterRoot = counterCriteria.from(OrderModel.class);
-		counterCriteria.select(criteriaBuilder.count(counterRoot));
-		long totalEntriesAmount = entityManager.createQuery(counterCriteria).getSingleResult();
-
-		CriteriaQuery<OrderModel> orderCriteria = criteriaBuilder.createQuery(OrderModel.class);
-		Root<OrderModel> orderRoot = orderCriteria.from(OrderModel.class);
-		orderCriteria.select(orderRoot);
+		return findAll(pageNumber, limit, CountStrategy.EXACT);
+	}
 
-		TypedQuery<OrderModel> typedQuery = entityManager.createQuery(orderCriteria);
-		typedQuery.setFirstResult(QueryBuilderUtil.retrieveStartIndex(pageNumber, limit));
-		typedQuery.setMaxResults(limit);
-		List<OrderModel> orders = typedQuery.getResultList();
+	/**
+	 * Reads all orders according to the passed parameters and calculates their
+	 * total amount using the passed strategy.
+	 * 
+	 * @param pageNumber    start position for orders reading
+	 * @param limit         amount of orders to be read
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @return orders which meet passed parameters
+	 */
+	@Override
+	public Page<OrderModel> findAll(int pageNumber, int limit, CountStrategy countStrategy) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 
-		Pageable pageable = PageRequest.of(pageNumber, limit);
-		Page<OrderModel> pageModel = new PageImpl<>(orders, pageable, totalEntriesAmount);
+		CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+		Root<OrderModel> orderRoot = idCriteria.from(OrderModel.class);
+		idCriteria.select(orderRoot.get(OrderModel_.id));
+		idCriteria.orderBy(criteriaBuilder.asc(orderRoot.get(OrderModel_.id)));
+		TypedQuery<Long> idQuery = entityManager.createQuery(idCriteria);
 
-		return pageModel;
+		CountedPage<Long> idPage = entryCounter.obtainPage(idQuery, pageNumber, limit, countStrategy,
+				EntryCounter.obtainSignature(OrderModel.class, new HashMap<>()), OrderModel.class, () -> {
+					CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
+					Root<OrderModel> counterRoot = counterCriteria.from(OrderModel.class);
+					counterCriteria.select(criteriaBuilder.count(counterRoot));
+					return entityManager.createQuery(counterCriteria).getSingleResult();
+				});
+		return new CountedPage<>(findAllByIds(idPage.getContent()), idPage.getPageable(),
+				idPage.getTotalElements(), idPage.getCountStrategy());
 	}
 
 	/**
@@ -160,29 +265,232 @@ public class OrderRepositoryImpl implements OrderRepository {
 	 */
 	@Override
 	public Page<OrderModel> readAllByUserId(long userId, int pageNumber, int limit) {
+		return readAllByUserId(userId, pageNumber, limit, CountStrategy.EXACT);
+	}
+
+	/**
+	 * Reads all orders for the specified user according to the passed parameters
+	 * and calculates their total amount using the passed strategy.
+	 * 
+	 * @param userId        id of the user whose orders should be read
+	 * @param pageNumber    start position for orders reading
+	 * @param limit         amount of orders to be read
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @return orders which meet passed parameters
+	 */
+	@Override
+	public Page<OrderModel> readAllByUserId(long userId, int pageNumber, int limit, CountStrategy countStrategy) {
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 
-		CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
-		Root<OrderModel> counterRoot = counterCriteria.from(OrderModel.class);
-		counterCriteria.select(criteriaBuilder.count(counterRoot));
-		counterCriteria.where(
-				criteriaBuilder.equal(counterRoot.join(OrderModel_.user, JoinType.INNER).get(UserModel_.id), userId));
-		long totalEntriesAmount = entityManager.createQuery(counterCriteria).getSingleResult();
+		CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+		Root<OrderModel> orderRoot = idCriteria.from(OrderModel.class);
+		idCriteria.select(orderRoot.get(OrderModel_.id));
+		Join<OrderModel, UserModel> join = orderRoot.join(OrderModel_.user, JoinType.INNER);
+		idCriteria.where(criteriaBuilder.equal(join.get(UserModel_.id), userId));
+		idCriteria.orderBy(criteriaBuilder.asc(orderRoot.get(OrderModel_.id)));
+		TypedQuery<Long> idQuery = entityManager.createQuery(idCriteria);
 
-		CriteriaQuery<OrderModel> orderCriteria = criteriaBuilder.createQuery(OrderModel.class);
-		Root<OrderModel> orderRoot = orderCriteria.from(OrderModel.class);
-		orderCriteria.select(orderRoot);
+		Map<String, List<String>> filters = new HashMap<>();
+		filters.put(EntityConstant.USER, List.of(String.valueOf(userId)));
+		CountedPage<Long> idPage = entryCounter.obtainPage(idQuery, pageNumber, limit, countStrategy,
+				EntryCounter.obtainSignature(OrderModel.class, filters), null, () -> {
+					CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
+					Root<OrderModel> counterRoot = counterCriteria.from(OrderModel.class);
+					counterCriteria.select(criteriaBuilder.count(counterRoot));
+					counterCriteria.where(criteriaBuilder
+							.equal(counterRoot.join(OrderModel_.user, JoinType.INNER).get(UserModel_.id), userId));
+					return entityManager.createQuery(counterCriteria).getSingleResult();
+				});
+		return new CountedPage<>(findAllByIds(idPage.getContent()), idPage.getPageable(),
+				idPage.getTotalElements(), idPage.getCountStrategy());
+	}
+
+	/**
+	 * Reads orders located after the passed cursor ordered by id.
+	 * 
+	 * @param cursor the position from which reading starts, {@code null} for the
+	 *               first page
+	 * @param limit  amount of orders to be read
+	 * @return orders which meet passed parameters
+	 */
+	@Override
+	public Slice<OrderModel> findAll(KeysetCursor cursor, int limit) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+		Root<OrderModel> orderRoot = idCriteria.from(OrderModel.class);
+		idCriteria.select(orderRoot.get(OrderModel_.id));
+		if (cursor != null) {
+			idCriteria.where(QueryBuilderUtil.obtainKeysetPredicate(criteriaBuilder, new ArrayList<>(),
+					orderRoot.get(OrderModel_.id), cursor));
+		}
+		idCriteria.orderBy(QueryBuilderUtil.obtainKeysetOrders(criteriaBuilder, new ArrayList<>(),
+				orderRoot.get(OrderModel_.id), cursor));
+
+		TypedQuery<Long> idQuery = entityManager.createQuery(idCriteria);
+		idQuery.setMaxResults(limit + 1);
+		Slice<Long> idSlice = QueryBuilderUtil.obtainKeysetSlice(idQuery.getResultList(), limit, cursor);
+		return new SliceImpl<>(findAllByIds(idSlice.getContent()), idSlice.getPageable(), idSlice.hasNext());
+	}
+
+	/**
+	 * Reads orders for the specified user located after the passed cursor ordered
+	 * by id.
+	 * 
+	 * @param userId id of the user whose orders should be read
+	 * @param cursor the position from which reading starts, {@code null} for the
+	 *               first page
+	 * @param limit  amount of orders to be read
+	 * @return orders which meet passed parameters
+	 */
+	@Override
+	public Slice<OrderModel> readAllByUserId(long userId, KeysetCursor cursor, int limit) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+		Root<OrderModel> orderRoot = idCriteria.from(OrderModel.class);
+		idCriteria.select(orderRoot.get(OrderModel_.id));
+
+		List<Predicate> predicates = new ArrayList<>();
 		Join<OrderModel, UserModel> join = orderRoot.join(OrderModel_.user, JoinType.INNER);
-		orderCriteria.where(criteriaBuilder.equal(join.get(UserModel_.id), userId));
+		predicates.add(criteriaBuilder.equal(join.get(UserModel_.id), userId));
+		if (cursor != null) {
+			predicates.add(QueryBuilderUtil.obtainKeysetPredicate(criteriaBuilder, new ArrayList<>(),
+					orderRoot.get(OrderModel_.id), cursor));
+		}
+		idCriteria.where(predicates.toArray(new Predicate[0]));
+		idCriteria.orderBy(QueryBuilderUtil.obtainKeysetOrders(criteriaBuilder, new ArrayList<>(),
+				orderRoot.get(OrderModel_.id), cursor));
+
+		TypedQuery<Long> idQuery = entityManager.createQuery(idCriteria);
+		idQuery.setMaxResults(limit + 1);
+		Slice<Long> idSlice = QueryBuilderUtil.obtainKeysetSlice(idQuery.getResultList(), limit, cursor);
+		return new SliceImpl<>(findAllByIds(idSlice.getContent()), idSlice.getPageable(), idSlice.hasNext());
+	}
 
-		TypedQuery<OrderModel> typedQuery = entityManager.createQuery(orderCriteria);
-		typedQuery.setFirstResult(QueryBuilderUtil.retrieveStartIndex(pageNumber, limit));
-		typedQuery.setMaxResults(limit);
-		List<OrderModel> orders = typedQuery.getResultList();
+	private List<OrderModel> findAllByIds(List<Long> orderIds) {
+		List<OrderModel> orders = new ArrayList<>(orderIds.size());
+		if (!orderIds.isEmpty()) {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<Object[]> orderCriteria = criteriaBuilder.createQuery(Object[].class);
+			Root<OrderModel> orderRoot = orderCriteria.from(OrderModel.class);
+			Join<OrderModel, UserModel> userJoin = orderRoot.join(OrderModel_.user, JoinType.INNER);
+			Join<UserModel, RoleModel> roleJoin = userJoin.join(UserModel_.role, JoinType.INNER);
+			orderCriteria.multiselect(orderRoot.get(OrderModel_.id), orderRoot.get(OrderModel_.cost),
+					orderRoot.get(OrderModel_.date), userJoin.get(UserModel_.id), userJoin.get(UserModel_.login),
+					roleJoin.get(RoleModel_.id), roleJoin.get(RoleModel_.name));
+			orderCriteria.where(orderRoot.get(OrderModel_.id).in(orderIds));
 
-		Pageable pageable = PageRequest.of(pageNumber, limit);
-		Page<OrderModel> pageModel = new PageImpl<>(orders, pageable, totalEntriesAmount);
+			Map<Long, OrderModel> ordersById = new HashMap<>();
+			for (Object[] row : entityManager.createQuery(orderCriteria).getResultList()) {
+				ordersById.put((Long) row[0], mapReadOrder(row));
+			}
+			if (!ordersById.isEmpty()) {
+				addReadCertificates(ordersById);
+			}
+			orderIds.forEach(orderId -> {
+				if (ordersById.containsKey(orderId)) {
+					orders.add(ordersById.get(orderId));
+				}
+			});
+		}
+		return orders;
+	}
 
-		return pageModel;
+	private void addReadCertificates(Map<Long, OrderModel> ordersById) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object[]> lineCriteria = criteriaBuilder.createQuery(Object[].class);
+		Root<OrderCertificateModel> lineRoot = lineCriteria.from(OrderCertificateModel.class);
+		Join<OrderCertificateModel, CertificateModel> certificateJoin = lineRoot
+				.join(OrderCertificateModel_.certificate, JoinType.INNER);
+		Join<CertificateModel, TagModel> tagJoin = certificateJoin.join(CertificateModel_.tags, JoinType.LEFT);
+		Path<OrderCertificateId> lineId = lineRoot.get(OrderCertificateModel_.orderCertificateId);
+		List<Selection<?>> selections = new ArrayList<>();
+		selections.add(lineId.get(OrderCertificateId_.orderId));
+		selections.add(lineRoot.get(OrderCertificateModel_.certificateAmount));
+		selections.addAll(CertificateQueryBuilder.obtainReadSelections(certificateJoin, tagJoin));
+		lineCriteria.multiselect(selections);
+		lineCriteria.where(lineId.get(OrderCertificateId_.orderId).in(ordersById.keySet()));
+
+		Map<OrderCertificateId, OrderCertificateModel> linesById = new HashMap<>();
+		for (Object[] row : entityManager.createQuery(lineCriteria).getResultList()) {
+			OrderCertificateId orderCertificateId = new OrderCertificateId();
+			orderCertificateId.setOrderId((Long) row[0]);
+			orderCertificateId.setCertificateId((Long) row[LINE_CERTIFICATE_OFFSET]);
+			OrderCertificateModel orderCertificateModel = linesById.computeIfAbsent(orderCertificateId, key -> {
+				OrderCertificateModel line = new OrderCertificateModel();
+				line.setOrderCertificateId(key);
+				line.setCertificateAmount((Integer) row[1]);
+				line.setCertificate(CertificateRepositoryImpl.mapReadCertificate(row, LINE_CERTIFICATE_OFFSET));
+				ordersById.get(key.getOrderId()).getCertificates().add(line);
+				return line;
+			});
+			CertificateRepositoryImpl.addReadTag(orderCertificateModel.getCertificate(), row, LINE_CERTIFICATE_OFFSET);
+		}
+	}
+
+	private static OrderModel mapReadOrder(Object[] row) {
+		OrderModel orderModel = new OrderModel();
+		orderModel.setId((Long) row[0]);
+		orderModel.setCost((BigDecimal) row[1]);
+		orderModel.setDate((LocalDateTime) row[2]);
+		RoleModel roleModel = new RoleModel();
+		roleModel.setId((Long) row[5]);
+		roleModel.setName((String) row[6]);
+		UserModel userModel = new UserModel();
+		userModel.setId((Long) row[3]);
+		userModel.setLogin((String) row[4]);
+		userModel.setRole(roleModel);
+		orderModel.setUser(userModel);
+		orderModel.setCertificates(new ArrayList<>());
+		return orderModel;
+	}
+
+	/**
+	 * Reads all orders ordered by id together with the ids and amounts of their
+	 * certificates by one forward-only query and passes them to the consumer one
+	 * by one. The read orders are not managed by the persistence context, their
+	 * users and certificates contain only ids.
+	 * 
+	 * @param consumer the consumer of the read orders
+	 * @return amount of the read orders
+	 */
+	@Override
+	public long streamAll(Consumer<OrderModel> consumer) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object[]> exportCriteria = criteriaBuilder.createQuery(Object[].class);
+		Root<OrderModel> orderRoot = exportCriteria.from(OrderModel.class);
+		Join<OrderModel, OrderCertificateModel> certificateJoin = orderRoot.join(OrderModel_.certificates,
+				JoinType.LEFT);
+		Path<OrderCertificateId> orderCertificateId = certificateJoin.get(OrderCertificateModel_.orderCertificateId);
+		exportCriteria.multiselect(orderRoot.get(OrderModel_.id), orderRoot.get(OrderModel_.cost),
+				orderRoot.get(OrderModel_.date), orderRoot.get(OrderModel_.user).get(UserModel_.id),
+				orderCertificateId.get(OrderCertificateId_.certificateId),
+				certificateJoin.get(OrderCertificateModel_.certificateAmount));
+		exportCriteria.orderBy(criteriaBuilder.asc(orderRoot.get(OrderModel_.id)));
+
+		return scrollingReader.read(entityManager.createQuery(exportCriteria), OrderRepositoryImpl::mapExportedOrder,
+				OrderRepositoryImpl::addExportedCertificate, consumer);
+	}
+
+	private static OrderModel mapExportedOrder(Object[] row) {
+		OrderModel orderModel = new OrderModel();
+		orderModel.setId((Long) row[0]);
+		orderModel.setCost((BigDecimal) row[1]);
+		orderModel.setDate((LocalDateTime) row[2]);
+		UserModel userModel = new UserModel();
+		userModel.setId((Long) row[3]);
+		orderModel.setUser(userModel);
+		orderModel.setCertificates(new ArrayList<>());
+		return orderModel;
+	}
+
+	private static void addExportedCertificate(OrderModel orderModel, Object[] row) {
+		if (row[4] != null) {
+			CertificateModel certificateModel = new CertificateModel();
+			certificateModel.setId((Long) row[4]);
+			OrderCertificateModel orderCertificateModel = new OrderCertificateModel();
+			orderCertificateModel.setCertificate(certificateModel);
+			orderCertificateModel.setCertificateAmount((Integer) row[5]);
+			orderModel.getCertificates().add(orderCertificateModel);
+		}
 	}
 }
@@ -19,9 +19,11 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.repository.RoleRepository;
+import com.epam.esm.repository.cache.CacheRegion;
 import com.epam.esm.repository.model.EntityConstant;
 import com.epam.esm.repository.model.RoleModel;
 import com.epam.esm.repository.model.RoleModel_;
+import com.epam.esm.repository.query_builder.QueryBuilderUtil;
 
 /**
  * 
@@ -53,7 +55,9 @@ public class RoleRepositoryImpl implements RoleRepository {
 		roleCriteria.where(
 				criteriaBuilder.equal(criteriaBuilder.lower(roleRoot.get(RoleModel_.name)), roleName.toLowerCase()));
 		try {
-			return Optional.of(entityManager.createQuery(roleCriteria).getSingleResult());
+			TypedQuery<RoleModel> roleQuery = QueryBuilderUtil.cacheResults(entityManager.createQuery(roleCriteria),
+					CacheRegion.ROLE_BY_NAME);
+			return Optional.of(roleQuery.getSingleResult());
 		} catch (NoResultException e) {
 			return Optional.empty();
 		}
@@ -1,12 +1,23 @@
 package com.epam.esm.repository.impl;
 
 import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -16,16 +27,20 @@ import javax.persistence.criteria.Root;
 import javax.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.repository.TagRepository;
+import com.epam.esm.repository.audit.TagAuditListener;
+import com.epam.esm.repository.bulk.BulkInserter;
+import com.epam.esm.repository.counter.EntryCounter;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
+import com.epam.esm.repository.index.TagNameDictionary;
+import com.epam.esm.repository.model.CountStrategy;
 import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.repository.model.TagModel_;
 import com.epam.esm.repository.query_builder.QueryBuilderUtil;
@@ -39,6 +54,9 @@ import com.epam.esm.repository.query_builder.TagQueryBuilder;
  */
 @Repository
 public class TagRepositoryImpl implements TagRepository {
+	private static final String TAG_TABLE = "tags";
+	private static final List<String> TAG_COLUMNS = Arrays.asList(EntityConstant.NAME, EntityConstant.IS_DELETED);
+	private static final TagAuditListener AUDIT_LISTENER = new TagAuditListener();
 	private static final String FIND_POPULAR_TAG_BY_MOST_PROFITABLE_USER = "SELECT tags.id, tags.name, tags.is_deleted, SUM(certificate_amount) AS tags_amount "
 			+ "FROM tags INNER JOIN tags_certificates ON tags.id = tags_certificates.tag_id "
 			+ "INNER JOIN gift_certificates ON tags_certificates.certificate_id = gift_certificates.id "
@@ -51,14 +69,18 @@ public class TagRepositoryImpl implements TagRepository {
 	@PersistenceContext
 	private EntityManager entityManager;
 
-	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
-	private int batchSize;
-
 	private final TagQueryBuilder tagQueryBuilder;
+	private final EntryCounter entryCounter;
+	private final BulkInserter bulkInserter;
+	private final TagNameDictionary tagNameDictionary;
 
 	@Autowired
-	public TagRepositoryImpl(TagQueryBuilder tagQueryBuilder) {
+	public TagRepositoryImpl(TagQueryBuilder tagQueryBuilder, EntryCounter entryCounter, BulkInserter bulkInserter,
+			TagNameDictionary tagNameDictionary) {
 		this.tagQueryBuilder = tagQueryBuilder;
+		this.entryCounter = entryCounter;
+		this.bulkInserter = bulkInserter;
+		this.tagNameDictionary = tagNameDictionary;
 	}
 
 	/**
@@ -66,11 +88,17 @@ public class TagRepositoryImpl implements TagRepository {
 	 * 
 	 * @param tagModel the tag to be saved
 	 * @return saved tag
+	 * @throws DuplicatedKeyException if the name of the tag is already taken
 	 */
 	@Override
 	@Transactional
 	public TagModel save(TagModel tagModel) {
-		entityManager.persist(tagModel);
+		entryCounter.invalidate();
+		try {
+			entityManager.persist(tagModel);
+		} catch (PersistenceException e) {
+			throw translateDuplicatedNames(e, List.of(tagModel));
+		}
 		return tagModel;
 	}
 
@@ -79,24 +107,130 @@ public class TagRepositoryImpl implements TagRepository {
 	 * 
 	 * @param tagModels the tags to be saved
 	 * @return saved tags
+	 * @throws DuplicatedKeyException if the names of the tags are already taken
+	 *                                or repeated
 	 */
 	@Override
 	@Transactional
 	public List<TagModel> saveTags(List<TagModel> tagModels) {
-		int i = 0;
+		entryCounter.invalidate();
+		List<TagModel> tagsToInsert = new ArrayList<>();
 		if (tagModels != null) {
 			for (TagModel tagModel : tagModels) {
-				entityManager.persist(tagModel);
-				++i;
-				if (i > 0 && i % batchSize == 0) {
-					entityManager.flush();
-					entityManager.clear();
+				if (tagModel.getId() == null) {
+					AUDIT_LISTENER.onPrePersist(tagModel);
+					tagsToInsert.add(tagModel);
 				}
 			}
 		}
+		try {
+			bulkInserter.insert(TAG_TABLE, TAG_COLUMNS, tagsToInsert,
+					tagModel -> new Object[] { tagModel.getName(), tagModel.isDeleted() }, TagModel::setId);
+		} catch (PersistenceException e) {
+			throw translateDuplicatedNames(e, tagsToInsert);
+		}
 		return tagModels;
 	}
 
+	private RuntimeException translateDuplicatedNames(PersistenceException exception, List<TagModel> tagModels) {
+		if (!DuplicatedKeyException.isConstraintViolation(exception)) {
+			return exception;
+		}
+		List<String> tagNames = new ArrayList<>();
+		Set<String> lowerCaseNames = new HashSet<>();
+		for (TagModel tagModel : tagModels) {
+			if (tagModel.getId() == null) {
+				tagNames.add(tagModel.getName());
+				lowerCaseNames.add(tagModel.getName().toLowerCase());
+			}
+		}
+		TypedQuery<TagModel> takenTagQuery = tagQueryBuilder.obtainReadByNamesQuery(entityManager, lowerCaseNames);
+		takenTagQuery.setFlushMode(FlushModeType.COMMIT);
+		takenTagQuery.setLockMode(LockModeType.PESSIMISTIC_READ);
+		Set<String> takenNames = new HashSet<>();
+		takenTagQuery.getResultList().forEach(tagModel -> takenNames.add(tagModel.getName().toLowerCase()));
+		List<String> duplicatedNames = DuplicatedKeyException.findDuplicatedKeys(tagNames, takenNames);
+		return duplicatedNames.isEmpty() ? exception : new DuplicatedKeyException(duplicatedNames, exception);
+	}
+
+	/**
+	 * Obtains the ids of the tags with the passed names by a constant number of
+	 * statements. The tags known by the node-local dictionary are not read, but
+	 * they are restored by one update in case they were deleted by another node
+	 * since they were added to the dictionary. Other tags are read by one query,
+	 * missing ones are inserted by one statement which skips the tags inserted by
+	 * concurrent transactions and deleted ones are restored by one update. The
+	 * inserted tags are read again by the locking read, which also sees the tags
+	 * committed by concurrent transactions after the start of the current one.
+	 * 
+	 * @param tagNames the names of the tags
+	 * @return ids of the tags by their names in lower case
+	 */
+	@Override
+	@Transactional
+	public Map<String, Long> saveOrRestoreByNames(Collection<String> tagNames) {
+		Map<String, String> namesByKey = new LinkedHashMap<>();
+		if (tagNames != null) {
+			tagNames.forEach(tagName -> namesByKey.putIfAbsent(tagName.toLowerCase(), tagName));
+		}
+		Map<String, Long> tagIds = tagNameDictionary.findIds(namesByKey.keySet());
+		restoreAll(new ArrayList<>(tagIds.values()));
+		namesByKey.keySet().removeAll(tagIds.keySet());
+		if (namesByKey.isEmpty()) {
+			return tagIds;
+		}
+
+		Map<String, Long> resolvedIds = new HashMap<>();
+		List<TagModel> deletedTags = new ArrayList<>();
+		collectTags(QueryBuilderUtil.readOnly(tagQueryBuilder.obtainReadByNamesQuery(entityManager,
+				namesByKey.keySet())).getResultList(), resolvedIds, deletedTags);
+		namesByKey.keySet().removeAll(resolvedIds.keySet());
+		if (!namesByKey.isEmpty()) {
+			entryCounter.invalidate();
+			List<Object[]> missingTags = new ArrayList<>(namesByKey.size());
+			namesByKey.values().forEach(tagName -> missingTags.add(new Object[] { tagName, false }));
+			bulkInserter.insertIgnoringDuplicates(TAG_TABLE, TAG_COLUMNS, EntityConstant.NAME, missingTags);
+			TypedQuery<TagModel> insertedTagQuery = tagQueryBuilder.obtainReadByNamesQuery(entityManager,
+					namesByKey.keySet());
+			insertedTagQuery.setLockMode(LockModeType.PESSIMISTIC_READ);
+			collectTags(insertedTagQuery.getResultList(), resolvedIds, deletedTags);
+		}
+		if (!deletedTags.isEmpty()) {
+			List<Long> deletedIds = new ArrayList<>(deletedTags.size());
+			deletedTags.forEach(tagModel -> deletedIds.add(tagModel.getId()));
+			restoreAll(deletedIds);
+			deletedTags.forEach(tagModel -> tagModel.setDeleted(false));
+		}
+		tagNameDictionary.addAll(resolvedIds);
+		tagIds.putAll(resolvedIds);
+		return tagIds;
+	}
+
+	private static void collectTags(List<TagModel> tagModels, Map<String, Long> tagIds, List<TagModel> deletedTags) {
+		for (TagModel tagModel : tagModels) {
+			tagIds.put(tagModel.getName().toLowerCase(), tagModel.getId());
+			if (tagModel.isDeleted()) {
+				deletedTags.add(tagModel);
+			}
+		}
+	}
+
+	private void restoreAll(List<Long> tagIds) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		int restoredAmount = 0;
+		for (List<Long> chunk : BulkInserter.partition(tagIds)) {
+			CriteriaUpdate<TagModel> tagCriteria = criteriaBuilder.createCriteriaUpdate(TagModel.class);
+			Root<TagModel> tagRoot = tagCriteria.from(TagModel.class);
+			tagCriteria.set(TagModel_.isDeleted, false);
+			tagCriteria.where(tagRoot.get(TagModel_.id).in(chunk),
+					criteriaBuilder.equal(tagRoot.get(TagModel_.isDeleted), true));
+			restoredAmount += entityManager.createQuery(tagCriteria).executeUpdate();
+		}
+		if (restoredAmount > 0) {
+			entryCounter.invalidate();
+		}
+	}
+
 	/**
 	 * Reads tag with passed id.
 	 * 
@@ -171,27 +305,67 @@ public class TagRepositoryImpl implements TagRepository {
 	 */
 	@Override
 	public Page<TagModel> findAll(int pageNumber, int limit) {
-		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		return findAll(pageNumber, limit, CountStrategy.EXACT);
+	}
 
-		CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
-		Root<TagModel> counterRoot = counterCriteria.from(TagModel.class);
-		counterCriteria.select(criteriaBuilder.count(counterRoot));
-		counterCriteria.where(criteriaBuilder.equal(counterRoot.get(TagModel_.isDeleted), false));
-		long totalEntriesAmount = entityManager.createQuery(counterCriteria).getSingleResult();
+	/**
+	 * Reads all tags according to the passed parameters and calculates their
+	 * total amount using the passed strategy.
+	 * 
+	 * @param pageNumber    start position for tags reading
+	 * @param limit         amount of tags to be read
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @return tags which meet passed parameters
+	 */
+	@Override
+	public Page<TagModel> findAll(int pageNumber, int limit, CountStrategy countStrategy) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 
 		CriteriaQuery<TagModel> tagCriteria = criteriaBuilder.createQuery(TagModel.class);
 		Root<TagModel> tagRoot = tagCriteria.from(TagModel.class);
 		tagCriteria.select(tagRoot);
 		tagCriteria.where(criteriaBuilder.equal(tagRoot.get(TagModel_.isDeleted), false));
+		tagCriteria.orderBy(criteriaBuilder.asc(tagRoot.get(TagModel_.id)));
 		TypedQuery<TagModel> typedQuery = entityManager.createQuery(tagCriteria);
-		typedQuery.setFirstResult(QueryBuilderUtil.retrieveStartIndex(pageNumber, limit));
-		typedQuery.setMaxResults(limit);
-		List<TagModel> tags = typedQuery.getResultList();
 
-		Pageable pageable = PageRequest.of(pageNumber, limit);
-		Page<TagModel> pageModel = new PageImpl<>(tags, pageable, totalEntriesAmount);
+		return entryCounter.obtainPage(typedQuery, pageNumber, limit, countStrategy,
+				EntryCounter.obtainSignature(TagModel.class, new HashMap<>()), null, () -> {
+					CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
+					Root<TagModel> counterRoot = counterCriteria.from(TagModel.class);
+					counterCriteria.select(criteriaBuilder.count(counterRoot));
+					counterCriteria.where(criteriaBuilder.equal(counterRoot.get(TagModel_.isDeleted), false));
+					return entityManager.createQuery(counterCriteria).getSingleResult();
+				});
+	}
+
+	/**
+	 * Reads tags located after the passed cursor ordered by id.
+	 * 
+	 * @param cursor the position from which reading starts, {@code null} for the
+	 *               first page
+	 * @param limit  amount of tags to be read
+	 * @return tags which meet passed parameters
+	 */
+	@Override
+	public Slice<TagModel> findAll(KeysetCursor cursor, int limit) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<TagModel> tagCriteria = criteriaBuilder.createQuery(TagModel.class);
+		Root<TagModel> tagRoot = tagCriteria.from(TagModel.class);
+		tagCriteria.select(tagRoot);
 
-		return pageModel;
+		List<Predicate> predicates = new ArrayList<>();
+		predicates.add(criteriaBuilder.equal(tagRoot.get(TagModel_.isDeleted), false));
+		if (cursor != null) {
+			predicates.add(QueryBuilderUtil.obtainKeysetPredicate(criteriaBuilder, new ArrayList<>(),
+					tagRoot.get(TagModel_.id), cursor));
+		}
+		tagCriteria.where(predicates.toArray(new Predicate[0]));
+		tagCriteria.orderBy(QueryBuilderUtil.obtainKeysetOrders(criteriaBuilder, new ArrayList<>(),
+				tagRoot.get(TagModel_.id), cursor));
+
+		TypedQuery<TagModel> typedQuery = entityManager.createQuery(tagCriteria);
+		typedQuery.setMaxResults(limit + 1);
+		return QueryBuilderUtil.obtainKeysetSlice(typedQuery.getResultList(), limit, cursor);
 	}
 
 	/**
@@ -202,6 +376,8 @@ public class TagRepositoryImpl implements TagRepository {
 	 */
 	@Override
 	public int delete(long tagId) {
+		entryCounter.invalidate();
+		tagNameDictionary.remove(tagId);
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 		CriteriaUpdate<TagModel> tagCriteria = criteriaBuilder.createCriteriaUpdate(TagModel.class);
 		Root<TagModel> tagRoot = tagCriteria.from(TagModel.class);
@@ -218,6 +394,7 @@ public class TagRepositoryImpl implements TagRepository {
 	 */
 	@Override
 	public int restore(long tagId) {
+		entryCounter.invalidate();
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 		CriteriaUpdate<TagModel> tagCriteria = criteriaBuilder.createCriteriaUpdate(TagModel.class);
 		Root<TagModel> tagRoot = tagCriteria.from(TagModel.class);
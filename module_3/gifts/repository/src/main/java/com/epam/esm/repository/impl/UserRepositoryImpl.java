@@ -1,12 +1,21 @@
 package com.epam.esm.repository.impl;
 
 import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -16,17 +25,19 @@ import javax.persistence.criteria.Root;
 import javax.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.repository.UserRepository;
+import com.epam.esm.repository.bulk.BulkInserter;
+import com.epam.esm.repository.counter.EntryCounter;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
+import com.epam.esm.repository.model.CountStrategy;
 import com.epam.esm.repository.model.RoleModel;
 import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.repository.model.UserModel;
 import com.epam.esm.repository.model.UserModel_;
 import com.epam.esm.repository.query_builder.QueryBuilderUtil;
@@ -40,17 +51,22 @@ import com.epam.esm.repository.query_builder.UserQueryBuilder;
  */
 @Repository
 public class UserRepositoryImpl implements UserRepository {
+	private static final String USER_TABLE = "users";
+	private static final List<String> USER_COLUMNS = Arrays.asList(EntityConstant.USER_LOGIN,
+			EntityConstant.ROLE_ID);
 	@PersistenceContext
 	private EntityManager entityManager;
 
-	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
-	private int batchSize;
-
 	private final UserQueryBuilder userQueryBuilder;
+	private final EntryCounter entryCounter;
+	private final BulkInserter bulkInserter;
 
 	@Autowired
-	public UserRepositoryImpl(UserQueryBuilder userQueryBuilder) {
+	public UserRepositoryImpl(UserQueryBuilder userQueryBuilder, EntryCounter entryCounter,
+			BulkInserter bulkInserter) {
 		this.userQueryBuilder = userQueryBuilder;
+		this.entryCounter = entryCounter;
+		this.bulkInserter = bulkInserter;
 	}
 
 	/**
@@ -58,11 +74,17 @@ public class UserRepositoryImpl implements UserRepository {
 	 * 
 	 * @param userModel the user to be saved
 	 * @return saved user
+	 * @throws DuplicatedKeyException if the login of the user is already taken
 	 */
 	@Override
 	@Transactional
 	public UserModel save(UserModel userModel) {
-		entityManager.persist(userModel);
+		entryCounter.invalidate();
+		try {
+			entityManager.persist(userModel);
+		} catch (PersistenceException e) {
+			throw translateDuplicatedLogins(e, List.of(userModel));
+		}
 		return userModel;
 	}
 
@@ -71,24 +93,51 @@ public class UserRepositoryImpl implements UserRepository {
 	 * 
 	 * @param userModels the users to be saved
 	 * @return saved users
+	 * @throws DuplicatedKeyException if the logins of the users are already taken
+	 *                                or repeated
 	 */
 	@Override
 	@Transactional
 	public List<UserModel> saveUsers(List<UserModel> userModels) {
-		int i = 0;
+		entryCounter.invalidate();
+		List<UserModel> usersToInsert = new ArrayList<>();
 		if (userModels != null) {
 			for (UserModel userModel : userModels) {
-				entityManager.persist(userModel);
-				++i;
-				if (i > 0 && i % batchSize == 0) {
-					entityManager.flush();
-					entityManager.clear();
+				if (userModel.getId() == null) {
+					usersToInsert.add(userModel);
 				}
 			}
 		}
+		try {
+			bulkInserter.insert(USER_TABLE, USER_COLUMNS, usersToInsert,
+					userModel -> new Object[] { userModel.getLogin(), userModel.getRole().getId() }, UserModel::setId);
+		} catch (PersistenceException e) {
+			throw translateDuplicatedLogins(e, usersToInsert);
+		}
 		return userModels;
 	}
 
+	private RuntimeException translateDuplicatedLogins(PersistenceException exception, List<UserModel> userModels) {
+		if (!DuplicatedKeyException.isConstraintViolation(exception)) {
+			return exception;
+		}
+		List<String> logins = new ArrayList<>();
+		Set<String> lowerCaseLogins = new HashSet<>();
+		for (UserModel userModel : userModels) {
+			if (userModel.getId() == null) {
+				logins.add(userModel.getLogin());
+				lowerCaseLogins.add(userModel.getLogin().toLowerCase());
+			}
+		}
+		TypedQuery<UserModel> takenUserQuery = userQueryBuilder.obtainReadByLoginsQuery(entityManager, lowerCaseLogins);
+		takenUserQuery.setFlushMode(FlushModeType.COMMIT);
+		takenUserQuery.setLockMode(LockModeType.PESSIMISTIC_READ);
+		Set<String> takenLogins = new HashSet<>();
+		takenUserQuery.getResultList().forEach(userModel -> takenLogins.add(userModel.getLogin().toLowerCase()));
+		List<String> duplicatedLogins = DuplicatedKeyException.findDuplicatedKeys(logins, takenLogins);
+		return duplicatedLogins.isEmpty() ? exception : new DuplicatedKeyException(duplicatedLogins, exception);
+	}
+
 	/**
 	 * Reads user with passed id.
 	 * 
@@ -113,6 +162,22 @@ public class UserRepositoryImpl implements UserRepository {
 		return userModel != null;
 	}
 
+	/**
+	 * Finds which of the passed ids belong to existing users. All ids are checked
+	 * by one query.
+	 * 
+	 * @param userIds the ids of the users to be checked
+	 * @return ids of existing users among the passed ones
+	 */
+	@Override
+	public Set<Long> findExistingIds(Collection<Long> userIds) {
+		if (userIds == null || userIds.isEmpty()) {
+			return new HashSet<>();
+		}
+		return new HashSet<>(
+				userQueryBuilder.obtainExistingIdsQuery(entityManager, new HashSet<>(userIds)).getResultList());
+	}
+
 	/**
 	 * Reads user with passed login.
 	 * 
@@ -154,24 +219,60 @@ public class UserRepositoryImpl implements UserRepository {
 	 */
 	@Override
 	public Page<UserModel> findAll(int pageNumber, int limit) {
-		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		return findAll(pageNumber, limit, CountStrategy.EXACT);
+	}
 
-		CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
-		Root<UserModel> counterRoot = counterCriteria.from(UserModel.class);
-		counterCriteria.select(criteriaBuilder.count(counterRoot));
-		long totalEntriesAmount = entityManager.createQuery(counterCriteria).getSingleResult();
+	/**
+	 * Reads all users according to passed parameters and calculates their total
+	 * amount using the passed strategy.
+	 * 
+	 * @param pageNumber    start position for users reading
+	 * @param limit         amount of users to be read
+	 * @param countStrategy the strategy of the total amount calculation
+	 * @return users which meet passed parameters
+	 */
+	@Override
+	public Page<UserModel> findAll(int pageNumber, int limit, CountStrategy countStrategy) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 
 		CriteriaQuery<UserModel> userCriteria = criteriaBuilder.createQuery(UserModel.class);
 		Root<UserModel> userRoot = userCriteria.from(UserModel.class);
 		userCriteria.select(userRoot);
+		userCriteria.orderBy(criteriaBuilder.asc(userRoot.get(UserModel_.id)));
 		TypedQuery<UserModel> typedQuery = entityManager.createQuery(userCriteria);
-		typedQuery.setFirstResult(QueryBuilderUtil.retrieveStartIndex(pageNumber, limit));
-		typedQuery.setMaxResults(limit);
-		List<UserModel> users = typedQuery.getResultList();
 
-		Pageable pageable = PageRequest.of(pageNumber, limit);
-		Page<UserModel> pageModel = new PageImpl<>(users, pageable, totalEntriesAmount);
+		return entryCounter.obtainPage(typedQuery, pageNumber, limit, countStrategy,
+				EntryCounter.obtainSignature(UserModel.class, new HashMap<>()), UserModel.class, () -> {
+					CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
+					Root<UserModel> counterRoot = counterCriteria.from(UserModel.class);
+					counterCriteria.select(criteriaBuilder.count(counterRoot));
+					return entityManager.createQuery(counterCriteria).getSingleResult();
+				});
+	}
 
-		return pageModel;
+	/**
+	 * Reads users located after the passed cursor ordered by id.
+	 * 
+	 * @param cursor the position from which reading starts, {@code null} for the
+	 *               first page
+	 * @param limit  amount of users to be read
+	 * @return users which meet passed parameters
+	 */
+	@Override
+	public Slice<UserModel> findAll(KeysetCursor cursor, int limit) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<UserModel> userCriteria = criteriaBuilder.createQuery(UserModel.class);
+		Root<UserModel> userRoot = userCriteria.from(UserModel.class);
+		userCriteria.select(userRoot);
+		if (cursor != null) {
+			userCriteria.where(QueryBuilderUtil.obtainKeysetPredicate(criteriaBuilder, new ArrayList<>(),
+					userRoot.get(UserModel_.id), cursor));
+		}
+		userCriteria.orderBy(QueryBuilderUtil.obtainKeysetOrders(criteriaBuilder, new ArrayList<>(),
+				userRoot.get(UserModel_.id), cursor));
+
+		TypedQuery<UserModel> typedQuery = entityManager.createQuery(userCriteria);
+		typedQuery.setMaxResults(limit + 1);
+		return QueryBuilderUtil.obtainKeysetSlice(typedQuery.getResultList(), limit, cursor);
 	}
 }
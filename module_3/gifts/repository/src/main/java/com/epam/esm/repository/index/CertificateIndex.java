@@ -0,0 +1,52 @@
+package com.epam.esm.repository.index;
+
+import java.util.List;
+
+import com.epam.esm.repository.model.CertificateModel;
+
+/**
+ *
+ * In-memory index of not deleted certificates which is built and refreshed
+ * from the database by {@link CertificateIndexRefresher}. The index covers all
+ * certificates with ids up to its indexed id, the certificates with greater ids
+ * are read from the database.
+ *
+ */
+interface CertificateIndex {
+	/**
+	 * Checks whether the index is enabled.
+	 *
+	 * @return {@code true} if the index is enabled and {@code false} otherwise
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Starts building the new content of the index. The current content is still
+	 * used until the build is completed.
+	 */
+	void beginBuild();
+
+	/**
+	 * Adds the passed not deleted certificate to the content being built.
+	 *
+	 * @param certificateModel the certificate together with its tags
+	 */
+	void load(CertificateModel certificateModel);
+
+	/**
+	 * Replaces the current content of the index with the built one.
+	 *
+	 * @param indexedId the greatest id of the loaded certificates
+	 */
+	void completeBuild(long indexedId);
+
+	/**
+	 * Replaces the passed certificates in the current content of the index,
+	 * deleted certificates are removed from it.
+	 *
+	 * @param certificateModels the changed certificates together with their tags
+	 * @param indexedId         the id up to which the index covers all
+	 *                          certificates after the replacement
+	 */
+	void refresh(List<CertificateModel> certificateModels, long indexedId);
+}
@@ -0,0 +1,168 @@
+package com.epam.esm.repository.index;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.esm.repository.export.ScrollingReader;
+import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.TagModel;
+import com.epam.esm.repository.query_builder.CertificateQueryBuilder;
+
+/**
+ *
+ * Builds the in-memory certificate indexes at startup and keeps them in line
+ * with the database, so the changes made by other nodes are taken into
+ * account. Every {@code certificate.index.refresh-ms} the certificates with
+ * ids greater than the indexed one and the certificates changed since the
+ * previous refresh are read and replaced in the indexes. The previous refresh
+ * date is moved back by {@code certificate.index.refresh-margin-ms}, so the
+ * changes committed later than they were dated and the clock skew of the nodes
+ * are covered. The changes committed later than the margin are corrected by
+ * the full rebuild every {@code certificate.index.rebuild-ms}. The rows are
+ * streamed by the forward-only cursor from the primary database, so neither
+ * the amount of certificates nor the replication lag affects the refresh.
+ *
+ */
+@Component
+public class CertificateIndexRefresher {
+	private static final int REFRESH_CHUNK_SIZE = 1000;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${certificate.index.refresh-margin-ms:60000}")
+	private long refreshMarginMillis;
+
+	private final List<CertificateIndex> indexes;
+	private final CertificateQueryBuilder certificateQueryBuilder;
+	private final ScrollingReader scrollingReader;
+	private final TransactionTemplate transactionTemplate;
+	private long indexedId;
+	private volatile LocalDateTime refreshedDate;
+
+	@Autowired
+	public CertificateIndexRefresher(TagCertificateIndex tagCertificateIndex,
+			CertificateSearchIndex certificateSearchIndex, CertificateRelevanceIndex certificateRelevanceIndex,
+			CertificateQueryBuilder certificateQueryBuilder, ScrollingReader scrollingReader,
+			TransactionTemplate transactionTemplate) {
+		this.indexes = List.of(tagCertificateIndex, certificateSearchIndex, certificateRelevanceIndex);
+		this.certificateQueryBuilder = certificateQueryBuilder;
+		this.scrollingReader = scrollingReader;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	/**
+	 * Obtains the date since which the changes of certificates may be not
+	 * reflected in the indexes yet. The certificates changed since it must be
+	 * read from the database together with the certificates with ids greater than
+	 * the indexed one.
+	 *
+	 * @return the date of the last refresh moved back by the margin or
+	 *         {@code null} if the indexes are not built
+	 */
+	public LocalDateTime obtainRefreshedDate() {
+		return refreshedDate;
+	}
+
+	/**
+	 * Builds all enabled indexes from not deleted certificates. The indexes keep
+	 * serving their previous content until the build is completed.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${certificate.index.rebuild-ms:3600000}",
+			fixedDelayString = "${certificate.index.rebuild-ms:3600000}")
+	public synchronized void rebuild() {
+		List<CertificateIndex> enabledIndexes = obtainEnabledIndexes();
+		if (enabledIndexes.isEmpty()) {
+			return;
+		}
+		LocalDateTime buildDate = LocalDateTime.now().minus(refreshMarginMillis, ChronoUnit.MILLIS);
+		AtomicLong lastId = new AtomicLong();
+		enabledIndexes.forEach(CertificateIndex::beginBuild);
+		transactionTemplate.executeWithoutResult(status -> scrollingReader.read(
+				certificateQueryBuilder.obtainIndexedQuery(entityManager, null, null),
+				CertificateIndexRefresher::mapIndexedCertificate, CertificateIndexRefresher::addIndexedTag,
+				certificateModel -> {
+					enabledIndexes.forEach(index -> index.load(certificateModel));
+					lastId.set(certificateModel.getId());
+				}));
+		enabledIndexes.forEach(index -> index.completeBuild(lastId.get()));
+		indexedId = lastId.get();
+		refreshedDate = buildDate;
+	}
+
+	/**
+	 * Replaces the certificates created or changed since the previous refresh in
+	 * all enabled indexes. Deleted certificates are removed from the indexes.
+	 */
+	@Scheduled(initialDelayString = "${certificate.index.refresh-ms:10000}",
+			fixedDelayString = "${certificate.index.refresh-ms:10000}")
+	public synchronized void refresh() {
+		List<CertificateIndex> enabledIndexes = obtainEnabledIndexes();
+		if (enabledIndexes.isEmpty() || refreshedDate == null) {
+			return;
+		}
+		LocalDateTime refreshDate = LocalDateTime.now().minus(refreshMarginMillis, ChronoUnit.MILLIS);
+		List<CertificateModel> changedCertificates = new ArrayList<>(REFRESH_CHUNK_SIZE);
+		transactionTemplate.executeWithoutResult(status -> {
+			scrollingReader.read(certificateQueryBuilder.obtainIndexedQuery(entityManager, indexedId, refreshedDate),
+					CertificateIndexRefresher::mapIndexedCertificate, CertificateIndexRefresher::addIndexedTag,
+					certificateModel -> {
+						changedCertificates.add(certificateModel);
+						if (changedCertificates.size() == REFRESH_CHUNK_SIZE) {
+							refresh(enabledIndexes, changedCertificates);
+						}
+					});
+			refresh(enabledIndexes, changedCertificates);
+		});
+		refreshedDate = refreshDate;
+	}
+
+	private void refresh(List<CertificateIndex> enabledIndexes, List<CertificateModel> changedCertificates) {
+		if (changedCertificates.isEmpty()) {
+			return;
+		}
+		indexedId = Math.max(indexedId, changedCertificates.get(changedCertificates.size() - 1).getId());
+		List<CertificateModel> refreshedCertificates = new ArrayList<>(changedCertificates);
+		enabledIndexes.forEach(index -> index.refresh(refreshedCertificates, indexedId));
+		changedCertificates.clear();
+	}
+
+	private List<CertificateIndex> obtainEnabledIndexes() {
+		return indexes.stream().filter(CertificateIndex::isEnabled).collect(Collectors.toList());
+	}
+
+	private static CertificateModel mapIndexedCertificate(Object[] row) {
+		CertificateModel certificateModel = new CertificateModel();
+		certificateModel.setId((Long) row[0]);
+		certificateModel.setName((String) row[1]);
+		certificateModel.setDescription((String) row[2]);
+		certificateModel.setDeleted((Boolean) row[3]);
+		certificateModel.setTags(new ArrayList<>());
+		return certificateModel;
+	}
+
+	private static void addIndexedTag(CertificateModel certificateModel, Object[] row) {
+		if (row[4] != null) {
+			TagModel tagModel = new TagModel();
+			tagModel.setId((Long) row[4]);
+			tagModel.setName((String) row[5]);
+			certificateModel.getTags().add(tagModel);
+		}
+	}
+}
@@ -0,0 +1,296 @@
+package com.epam.esm.repository.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.esm.repository.model.CertificateModel;
+
+/**
+ *
+ * In-memory inverted index of the words of names, descriptions and tag names
+ * of not deleted certificates which ranks certificates by BM25 relevance to the
+ * searched text. Only the requested amount of the most relevant certificates
+ * is selected by the bounded heap, so the whole match set is never sorted. The
+ * index is built and refreshed by {@link CertificateIndexRefresher}, the
+ * changes of this node are applied right after the commit of the write
+ * operation. It is used only if it is enabled by
+ * {@code certificate.relevance-index.enabled} property.
+ *
+ */
+@Component
+public class CertificateRelevanceIndex implements CertificateIndex {
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final String WORD_DELIMITER = "[^\\p{L}\\p{N}]+";
+	private static final Comparator<ScoredCertificate> RELEVANCE_ORDER = Comparator
+			.comparingDouble(ScoredCertificate::getScore).reversed().thenComparingLong(ScoredCertificate::getId);
+
+	@Value("${certificate.relevance-index.enabled:false}")
+	private boolean enabled;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Terms terms = new Terms();
+	private Terms builtTerms;
+	private volatile boolean built;
+
+	public CertificateRelevanceIndex() {
+
+	}
+
+	/**
+	 * Checks whether the index is enabled and is built, so it can be used for the
+	 * ranking.
+	 *
+	 * @return {@code true} if the index can be used and {@code false} otherwise
+	 */
+	public boolean isAvailable() {
+		return enabled && built;
+	}
+
+	/**
+	 * Selects the passed amount of the most relevant to the searched text
+	 * certificates among the passed ones. Certificates with equal relevance are
+	 * ordered by id.
+	 *
+	 * @param certificateIds the ids of the certificates to be ranked
+	 * @param search         the searched text
+	 * @param amount         the amount of certificates to be selected
+	 * @return the ids of the most relevant certificates starting with the most
+	 *         relevant one
+	 */
+	public List<Long> findMostRelevantIds(Collection<Long> certificateIds, String search, int amount) {
+		Set<String> searchWords = new HashSet<>(obtainWords(List.of(search == null ? "" : search)));
+		PriorityQueue<ScoredCertificate> heap = new PriorityQueue<>(RELEVANCE_ORDER.reversed());
+		lock.readLock().lock();
+		try {
+			double averageLength = terms.lengthsByCertificate.isEmpty() ? 0
+					: (double) terms.totalLength / terms.lengthsByCertificate.size();
+			for (Long certificateId : certificateIds) {
+				double score = 0;
+				for (String word : searchWords) {
+					score += terms.score(word, certificateId, averageLength);
+				}
+				heap.add(new ScoredCertificate(certificateId, score));
+				if (heap.size() > amount) {
+					heap.poll();
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		List<ScoredCertificate> mostRelevant = new ArrayList<>(heap);
+		mostRelevant.sort(RELEVANCE_ORDER);
+		List<Long> mostRelevantIds = new ArrayList<>(mostRelevant.size());
+		mostRelevant.forEach(scoredCertificate -> mostRelevantIds.add(scoredCertificate.getId()));
+		return mostRelevantIds;
+	}
+
+	/**
+	 * Replaces the words of the passed certificates in the index after the commit
+	 * of the current transaction. Deleted certificates are removed from the
+	 * index.
+	 *
+	 * @param certificateModels the saved or updated certificates
+	 */
+	public void index(List<CertificateModel> certificateModels) {
+		if (!enabled || certificateModels == null) {
+			return;
+		}
+		Map<Long, List<String>> wordsByCertificate = obtainWordsByCertificate(certificateModels);
+		runAfterCommit(() -> wordsByCertificate.forEach(this::replace));
+	}
+
+	/**
+	 * Removes the certificate with passed id from the index after the commit of
+	 * the current transaction.
+	 *
+	 * @param certificateId the id of the deleted certificate
+	 */
+	public void remove(long certificateId) {
+		if (enabled) {
+			runAfterCommit(() -> replace(certificateId, Collections.emptyList()));
+		}
+	}
+
+	/**
+	 * Removes the certificates with passed ids from the index after the commit of
+	 * the current transaction.
+	 *
+	 * @param certificateIds the ids of the deleted certificates
+	 */
+	public void removeAll(Collection<Long> certificateIds) {
+		if (enabled && !certificateIds.isEmpty()) {
+			runAfterCommit(() -> certificateIds.forEach(id -> replace(id, Collections.emptyList())));
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void beginBuild() {
+		builtTerms = new Terms();
+	}
+
+	@Override
+	public void load(CertificateModel certificateModel) {
+		builtTerms.add(certificateModel.getId(), obtainWords(certificateModel));
+	}
+
+	@Override
+	public void completeBuild(long indexedId) {
+		lock.writeLock().lock();
+		try {
+			terms = builtTerms;
+			builtTerms = null;
+			built = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void refresh(List<CertificateModel> certificateModels, long indexedId) {
+		obtainWordsByCertificate(certificateModels).forEach(this::replace);
+	}
+
+	private void replace(long certificateId, List<String> words) {
+		lock.writeLock().lock();
+		try {
+			if (built) {
+				terms.remove(certificateId);
+				terms.add(certificateId, words);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static Map<Long, List<String>> obtainWordsByCertificate(List<CertificateModel> certificateModels) {
+		Map<Long, List<String>> wordsByCertificate = new HashMap<>();
+		for (CertificateModel certificateModel : certificateModels) {
+			wordsByCertificate.put(certificateModel.getId(),
+					certificateModel.isDeleted() ? Collections.emptyList() : obtainWords(certificateModel));
+		}
+		return wordsByCertificate;
+	}
+
+	private static List<String> obtainWords(CertificateModel certificateModel) {
+		List<String> texts = new ArrayList<>();
+		texts.add(certificateModel.getName());
+		texts.add(certificateModel.getDescription());
+		if (certificateModel.getTags() != null) {
+			certificateModel.getTags().forEach(tagModel -> texts.add(tagModel.getName()));
+		}
+		return obtainWords(texts);
+	}
+
+	private static List<String> obtainWords(List<String> texts) {
+		List<String> words = new ArrayList<>();
+		for (String text : texts) {
+			if (text != null) {
+				for (String word : text.toLowerCase().split(WORD_DELIMITER)) {
+					if (!word.isEmpty()) {
+						words.add(word);
+					}
+				}
+			}
+		}
+		return words;
+	}
+
+	private void runAfterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+	private static class Terms {
+		private final Map<String, Map<Long, Integer>> frequenciesByWord = new HashMap<>();
+		private final Map<Long, Map<String, Integer>> frequenciesByCertificate = new HashMap<>();
+		private final Map<Long, Integer> lengthsByCertificate = new HashMap<>();
+		private long totalLength;
+
+		private double score(String word, long certificateId, double averageLength) {
+			Map<Long, Integer> frequencies = frequenciesByWord.get(word);
+			if (frequencies == null || !frequencies.containsKey(certificateId)) {
+				return 0;
+			}
+			double certificatesAmount = lengthsByCertificate.size();
+			double inverseFrequency = Math
+					.log(1 + (certificatesAmount - frequencies.size() + 0.5) / (frequencies.size() + 0.5));
+			double frequency = frequencies.get(certificateId);
+			double lengthRatio = lengthsByCertificate.get(certificateId) / averageLength;
+			return inverseFrequency * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthRatio));
+		}
+
+		private void remove(long certificateId) {
+			Map<String, Integer> oldFrequencies = frequenciesByCertificate.remove(certificateId);
+			if (oldFrequencies != null) {
+				oldFrequencies.keySet().forEach(word -> {
+					Map<Long, Integer> frequencies = frequenciesByWord.get(word);
+					frequencies.remove(certificateId);
+					if (frequencies.isEmpty()) {
+						frequenciesByWord.remove(word);
+					}
+				});
+				totalLength -= lengthsByCertificate.remove(certificateId);
+			}
+		}
+
+		private void add(long certificateId, List<String> words) {
+			if (words.isEmpty()) {
+				return;
+			}
+			Map<String, Integer> frequencies = new HashMap<>();
+			words.forEach(word -> frequencies.merge(word, 1, Integer::sum));
+			frequencies.forEach((word, frequency) -> frequenciesByWord.computeIfAbsent(word, key -> new HashMap<>())
+					.put(certificateId, frequency));
+			frequenciesByCertificate.put(certificateId, frequencies);
+			lengthsByCertificate.put(certificateId, words.size());
+			totalLength += words.size();
+		}
+	}
+
+	private static class ScoredCertificate {
+		private final long id;
+		private final double score;
+
+		private ScoredCertificate(long id, double score) {
+			this.id = id;
+			this.score = score;
+		}
+
+		private long getId() {
+			return id;
+		}
+
+		private double getScore() {
+			return score;
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package com.epam.esm.repository.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.esm.repository.model.CertificateModel;
+
+/**
+ *
+ * In-memory trigram index of the names and descriptions of not deleted
+ * certificates. Keeps a compressed bitmap of certificate ids per trigram, so
+ * the candidates for the substring search are found by the intersection of the
+ * bitmaps of all trigrams of the searched text starting with the smallest one.
+ * Candidates are a superset of the certificates with ids up to
+ * {@link #obtainIndexedId()} matched by the {@code LIKE} search, which is still
+ * applied to them. The index is built and refreshed by
+ * {@link CertificateIndexRefresher}, the changes of this node are applied right
+ * after the commit of the write operation. It is used only if it is enabled by
+ * {@code certificate.search-index.enabled} property.
+ *
+ */
+@Component
+public class CertificateSearchIndex implements CertificateIndex {
+	private static final int GRAM_LENGTH = 3;
+	private static final String LIKE_SPECIAL_CHARACTERS = "%_\\";
+
+	@Value("${certificate.search-index.enabled:false}")
+	private boolean enabled;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Map<String, IdBitmap> certificatesByGram = new HashMap<>();
+	private Map<String, IdBitmap> builtCertificatesByGram;
+	private volatile long indexedId;
+	private volatile boolean built;
+
+	public CertificateSearchIndex() {
+
+	}
+
+	/**
+	 * Checks whether the index is enabled and is built, so it can be used for the
+	 * search.
+	 *
+	 * @return {@code true} if the index can be used and {@code false} otherwise
+	 */
+	public boolean isAvailable() {
+		return enabled && built;
+	}
+
+	/**
+	 * Obtains the id up to which the index covers all certificates. It must be
+	 * obtained before the candidates are found, so the found candidates are
+	 * complete up to it.
+	 *
+	 * @return the greatest covered id
+	 */
+	public long obtainIndexedId() {
+		return indexedId;
+	}
+
+	/**
+	 * Finds ids of the certificates with ids up to the passed one which name or
+	 * description may contain the passed text. The empty list means only that
+	 * none of the indexed certificates matches, the certificates with greater ids
+	 * and the certificates changed since the last refresh of the index must still
+	 * be searched by the caller.
+	 *
+	 * @param search the searched text
+	 * @param maxId  the greatest id of the candidates
+	 * @return ids of the candidates in ascending order or empty {@code Optional}
+	 *         if the index can not narrow the search: it is not available, the
+	 *         text is shorter than trigram or contains {@code LIKE} special
+	 *         characters
+	 */
+	public Optional<List<Long>> findCandidateIds(String search, long maxId) {
+		if (!isAvailable() || search == null || search.length() < GRAM_LENGTH
+				|| StringUtils.containsAny(search, LIKE_SPECIAL_CHARACTERS)) {
+			return Optional.empty();
+		}
+		IdBitmap candidateIds = null;
+		lock.readLock().lock();
+		try {
+			List<IdBitmap> gramCertificateIds = new ArrayList<>();
+			for (String gram : obtainGrams(search)) {
+				IdBitmap certificateIds = certificatesByGram.get(gram);
+				if (certificateIds == null) {
+					return Optional.of(new ArrayList<>());
+				}
+				gramCertificateIds.add(certificateIds);
+			}
+			gramCertificateIds.sort(Comparator.comparingLong(IdBitmap::cardinality));
+			for (IdBitmap certificateIds : gramCertificateIds) {
+				candidateIds = candidateIds == null ? certificateIds.copy() : candidateIds.and(certificateIds);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return Optional.of(candidateIds.select(0, (int) Math.min(candidateIds.rank(maxId), Integer.MAX_VALUE), maxId));
+	}
+
+	/**
+	 * Replaces the name and description of the passed certificates in the index
+	 * after the commit of the current transaction. Deleted certificates are
+	 * removed from the index.
+	 *
+	 * @param certificateModels the saved or updated certificates
+	 */
+	public void index(List<CertificateModel> certificateModels) {
+		if (!enabled || certificateModels == null) {
+			return;
+		}
+		Map<Long, Set<String>> gramsByCertificate = obtainGrams(certificateModels);
+		runAfterCommit(() -> replace(gramsByCertificate));
+	}
+
+	/**
+	 * Removes the certificate with passed id from the index after the commit of
+	 * the current transaction.
+	 *
+	 * @param certificateId the id of the deleted certificate
+	 */
+	public void remove(long certificateId) {
+		removeAll(List.of(certificateId));
+	}
+
+	/**
+	 * Removes the certificates with passed ids from the index after the commit of
+	 * the current transaction. Every bitmap is changed once for all the
+	 * certificates.
+	 *
+	 * @param certificateIds the ids of the deleted certificates
+	 */
+	public void removeAll(Collection<Long> certificateIds) {
+		if (enabled && !certificateIds.isEmpty()) {
+			IdBitmap removedIds = new IdBitmap();
+			certificateIds.forEach(removedIds::add);
+			runAfterCommit(() -> clear(removedIds));
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void beginBuild() {
+		builtCertificatesByGram = new HashMap<>();
+	}
+
+	@Override
+	public void load(CertificateModel certificateModel) {
+		for (String gram : obtainGrams(certificateModel.getName(), certificateModel.getDescription())) {
+			builtCertificatesByGram.computeIfAbsent(gram, key -> new IdBitmap()).add(certificateModel.getId());
+		}
+	}
+
+	@Override
+	public void completeBuild(long indexedId) {
+		lock.writeLock().lock();
+		try {
+			certificatesByGram = builtCertificatesByGram;
+			builtCertificatesByGram = null;
+			this.indexedId = indexedId;
+			built = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void refresh(List<CertificateModel> certificateModels, long indexedId) {
+		lock.writeLock().lock();
+		try {
+			replace(obtainGrams(certificateModels));
+			this.indexedId = Math.max(this.indexedId, indexedId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void clear(IdBitmap removedIds) {
+		lock.writeLock().lock();
+		try {
+			certificatesByGram.values().forEach(certificateIds -> certificateIds.andNot(removedIds));
+			certificatesByGram.values().removeIf(certificateIds -> certificateIds.cardinality() == 0);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void replace(Map<Long, Set<String>> gramsByCertificate) {
+		IdBitmap replacedIds = new IdBitmap();
+		gramsByCertificate.keySet().forEach(replacedIds::add);
+		lock.writeLock().lock();
+		try {
+			clear(replacedIds);
+			gramsByCertificate.forEach((certificateId, grams) -> grams.forEach(gram -> certificatesByGram
+					.computeIfAbsent(gram, key -> new IdBitmap()).add(certificateId)));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static Map<Long, Set<String>> obtainGrams(List<CertificateModel> certificateModels) {
+		Map<Long, Set<String>> gramsByCertificate = new HashMap<>();
+		for (CertificateModel certificateModel : certificateModels) {
+			gramsByCertificate.put(certificateModel.getId(), certificateModel.isDeleted() ? new HashSet<>()
+					: obtainGrams(certificateModel.getName(), certificateModel.getDescription()));
+		}
+		return gramsByCertificate;
+	}
+
+	private static Set<String> obtainGrams(String... texts) {
+		Set<String> grams = new HashSet<>();
+		for (String text : texts) {
+			if (text != null) {
+				String lowerCaseText = text.toLowerCase();
+				for (int i = 0; i + GRAM_LENGTH <= lowerCaseText.length(); i++) {
+					grams.add(lowerCaseText.substring(i, i + GRAM_LENGTH));
+				}
+			}
+		}
+		return grams;
+	}
+
+	private void runAfterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+}
@@ -0,0 +1,349 @@
+package com.epam.esm.repository.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ *
+ * Compressed bitmap of not negative ids in the layout of Roaring bitmaps. The
+ * id is split into the high part which selects the container and the low 16
+ * bits which are kept in it. The container keeps the sorted array of the low
+ * parts while it has not more than 4096 of them and turns into the plain bitmap
+ * of 65536 bits when it grows further, so a sparse id takes two bytes and a
+ * dense id takes one bit. The bitmap is not thread-safe.
+ *
+ */
+public final class IdBitmap {
+	private static final int LOW_BITS = 16;
+	private static final int LOW_MASK = 0xFFFF;
+	private static final int MAX_ARRAY_SIZE = 4096;
+	private static final int BITMAP_WORDS = 1024;
+	private static final int WORD_SHIFT = 6;
+
+	private final TreeMap<Long, Container> containers = new TreeMap<>();
+
+	public IdBitmap() {
+
+	}
+
+	/**
+	 * Adds the passed id to the bitmap.
+	 *
+	 * @param id the id to be added
+	 */
+	public void add(long id) {
+		containers.computeIfAbsent(id >>> LOW_BITS, key -> new Container()).add((int) (id & LOW_MASK));
+	}
+
+	/**
+	 * Removes the passed id from the bitmap.
+	 *
+	 * @param id the id to be removed
+	 */
+	public void remove(long id) {
+		Container container = containers.get(id >>> LOW_BITS);
+		if (container != null) {
+			container.remove((int) (id & LOW_MASK));
+			if (container.cardinality == 0) {
+				containers.remove(id >>> LOW_BITS);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the bitmap contains the passed id.
+	 *
+	 * @param id the id to be checked
+	 * @return {@code true} if the bitmap contains the id and {@code false}
+	 *         otherwise
+	 */
+	public boolean contains(long id) {
+		Container container = containers.get(id >>> LOW_BITS);
+		return container != null && container.contains((int) (id & LOW_MASK));
+	}
+
+	/**
+	 * Removes the ids of the passed bitmap from this bitmap.
+	 *
+	 * @param removedIds the ids to be removed
+	 */
+	public void andNot(IdBitmap removedIds) {
+		Iterator<Map.Entry<Long, Container>> iterator = containers.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Long, Container> entry = iterator.next();
+			Container removedContainer = removedIds.containers.get(entry.getKey());
+			if (removedContainer != null) {
+				entry.getValue().andNot(removedContainer);
+				if (entry.getValue().cardinality == 0) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Intersects this bitmap with the passed one.
+	 *
+	 * @param other the bitmap to be intersected with
+	 * @return new bitmap of the ids contained in both bitmaps
+	 */
+	public IdBitmap and(IdBitmap other) {
+		IdBitmap intersection = new IdBitmap();
+		containers.forEach((key, container) -> {
+			Container otherContainer = other.containers.get(key);
+			if (otherContainer != null) {
+				Container common = container.and(otherContainer);
+				if (common.cardinality > 0) {
+					intersection.containers.put(key, common);
+				}
+			}
+		});
+		return intersection;
+	}
+
+	/**
+	 * Copies the bitmap.
+	 *
+	 * @return new bitmap with the same ids
+	 */
+	public IdBitmap copy() {
+		IdBitmap copy = new IdBitmap();
+		containers.forEach((key, container) -> copy.containers.put(key, container.copy()));
+		return copy;
+	}
+
+	/**
+	 * Counts the ids of the bitmap.
+	 *
+	 * @return amount of the ids
+	 */
+	public long cardinality() {
+		long cardinality = 0;
+		for (Container container : containers.values()) {
+			cardinality += container.cardinality;
+		}
+		return cardinality;
+	}
+
+	/**
+	 * Counts the ids of the bitmap which are not greater than the passed one.
+	 *
+	 * @param maxId the greatest counted id
+	 * @return amount of the counted ids
+	 */
+	public long rank(long maxId) {
+		long rank = 0;
+		for (Map.Entry<Long, Container> entry : containers.headMap(maxId >>> LOW_BITS, true).entrySet()) {
+			rank += entry.getKey() < maxId >>> LOW_BITS ? entry.getValue().cardinality
+					: entry.getValue().rank((int) (maxId & LOW_MASK));
+		}
+		return rank;
+	}
+
+	/**
+	 * Selects the ids of the bitmap which are not greater than the passed one in
+	 * ascending order, skipping the passed amount of the first of them.
+	 *
+	 * @param skipped the amount of the skipped ids
+	 * @param limit   the greatest amount of the selected ids
+	 * @param maxId   the greatest selected id
+	 * @return ids in ascending order
+	 */
+	public List<Long> select(long skipped, int limit, long maxId) {
+		List<Long> ids = new ArrayList<>(limit);
+		long toSkip = skipped;
+		for (Map.Entry<Long, Container> entry : containers.headMap(maxId >>> LOW_BITS, true).entrySet()) {
+			Container container = entry.getValue();
+			if (toSkip >= container.cardinality && entry.getKey() < maxId >>> LOW_BITS) {
+				toSkip -= container.cardinality;
+				continue;
+			}
+			long high = entry.getKey() << LOW_BITS;
+			int value = container.next(0);
+			while (value >= 0 && ids.size() < limit) {
+				long id = high | value;
+				if (id > maxId) {
+					return ids;
+				}
+				if (toSkip > 0) {
+					--toSkip;
+				} else {
+					ids.add(id);
+				}
+				value = container.next(value + 1);
+			}
+			if (ids.size() == limit) {
+				break;
+			}
+		}
+		return ids;
+	}
+
+	private static class Container {
+		private char[] values = new char[4];
+		private long[] words;
+		private int cardinality;
+
+		private boolean contains(int value) {
+			return words != null ? (words[value >>> WORD_SHIFT] & 1L << value) != 0
+					: Arrays.binarySearch(values, 0, cardinality, (char) value) >= 0;
+		}
+
+		private void add(int value) {
+			if (words != null) {
+				if ((words[value >>> WORD_SHIFT] & 1L << value) == 0) {
+					words[value >>> WORD_SHIFT] |= 1L << value;
+					++cardinality;
+				}
+				return;
+			}
+			int position = Arrays.binarySearch(values, 0, cardinality, (char) value);
+			if (position >= 0) {
+				return;
+			}
+			if (cardinality == MAX_ARRAY_SIZE) {
+				toBitmap();
+				add(value);
+				return;
+			}
+			position = -position - 1;
+			if (cardinality == values.length) {
+				values = Arrays.copyOf(values, Math.min(cardinality * 2, MAX_ARRAY_SIZE));
+			}
+			System.arraycopy(values, position, values, position + 1, cardinality - position);
+			values[position] = (char) value;
+			++cardinality;
+		}
+
+		private void remove(int value) {
+			if (words != null) {
+				if ((words[value >>> WORD_SHIFT] & 1L << value) != 0) {
+					words[value >>> WORD_SHIFT] &= ~(1L << value);
+					--cardinality;
+					if (cardinality <= MAX_ARRAY_SIZE) {
+						toArray();
+					}
+				}
+				return;
+			}
+			int position = Arrays.binarySearch(values, 0, cardinality, (char) value);
+			if (position >= 0) {
+				System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+				--cardinality;
+			}
+		}
+
+		private void andNot(Container removed) {
+			if (words != null && removed.words != null) {
+				cardinality = 0;
+				for (int i = 0; i < BITMAP_WORDS; i++) {
+					words[i] &= ~removed.words[i];
+					cardinality += Long.bitCount(words[i]);
+				}
+				if (cardinality <= MAX_ARRAY_SIZE) {
+					toArray();
+				}
+				return;
+			}
+			Container kept = new Container();
+			for (int value = next(0); value >= 0; value = next(value + 1)) {
+				if (!removed.contains(value)) {
+					kept.add(value);
+				}
+			}
+			values = kept.values;
+			words = kept.words;
+			cardinality = kept.cardinality;
+		}
+
+		private Container and(Container other) {
+			Container common = new Container();
+			if (words != null && other.words != null) {
+				common.words = new long[BITMAP_WORDS];
+				for (int i = 0; i < BITMAP_WORDS; i++) {
+					common.words[i] = words[i] & other.words[i];
+					common.cardinality += Long.bitCount(common.words[i]);
+				}
+				if (common.cardinality <= MAX_ARRAY_SIZE) {
+					common.toArray();
+				}
+				return common;
+			}
+			Container smaller = words == null ? this : other;
+			Container larger = smaller == this ? other : this;
+			for (int i = 0; i < smaller.cardinality; i++) {
+				if (larger.contains(smaller.values[i])) {
+					common.add(smaller.values[i]);
+				}
+			}
+			return common;
+		}
+
+		private Container copy() {
+			Container copy = new Container();
+			copy.values = values == null ? null : values.clone();
+			copy.words = words == null ? null : words.clone();
+			copy.cardinality = cardinality;
+			return copy;
+		}
+
+		private int rank(int maxValue) {
+			if (words == null) {
+				int position = Arrays.binarySearch(values, 0, cardinality, (char) maxValue);
+				return position >= 0 ? position + 1 : -position - 1;
+			}
+			int rank = 0;
+			int lastWord = maxValue >>> WORD_SHIFT;
+			for (int i = 0; i < lastWord; i++) {
+				rank += Long.bitCount(words[i]);
+			}
+			long mask = maxValue % Long.SIZE == Long.SIZE - 1 ? -1L : (1L << (maxValue % Long.SIZE + 1)) - 1;
+			return rank + Long.bitCount(words[lastWord] & mask);
+		}
+
+		private int next(int fromValue) {
+			if (fromValue > LOW_MASK) {
+				return -1;
+			}
+			if (words == null) {
+				int position = Arrays.binarySearch(values, 0, cardinality, (char) fromValue);
+				position = position >= 0 ? position : -position - 1;
+				return position < cardinality ? values[position] : -1;
+			}
+			int wordIndex = fromValue >>> WORD_SHIFT;
+			long word = words[wordIndex] & -1L << fromValue;
+			while (word == 0) {
+				if (++wordIndex == BITMAP_WORDS) {
+					return -1;
+				}
+				word = words[wordIndex];
+			}
+			return wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word);
+		}
+
+		private void toBitmap() {
+			words = new long[BITMAP_WORDS];
+			for (int i = 0; i < cardinality; i++) {
+				words[values[i] >>> WORD_SHIFT] |= 1L << values[i];
+			}
+			values = null;
+		}
+
+		private void toArray() {
+			values = new char[Math.max(cardinality, 1)];
+			int size = 0;
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				long word = words[i];
+				while (word != 0) {
+					values[size++] = (char) (i * Long.SIZE + Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+				}
+			}
+			words = null;
+		}
+	}
+}
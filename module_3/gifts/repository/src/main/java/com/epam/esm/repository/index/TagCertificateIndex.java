@@ -0,0 +1,226 @@
+package com.epam.esm.repository.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.TagModel;
+
+/**
+ *
+ * In-memory index of the tag membership of not deleted certificates. Keeps a
+ * compressed bitmap of certificate ids per tag id, so the certificates having
+ * all of the passed tags are found by the intersection of bitmaps. The index
+ * is built by streaming the memberships from the database and is refreshed
+ * periodically by {@link CertificateIndexRefresher}, so the changes made by
+ * other nodes are taken into account after the refresh. The changes of this
+ * node are applied right after the commit of the write operation. The index
+ * covers the certificates with ids up to {@link #obtainIndexedId()}, the newer
+ * ones are read from the database. It is used only if it is enabled by
+ * {@code certificate.tag-index.enabled} property, otherwise tag filtering is
+ * done by the database.
+ *
+ */
+@Component
+public class TagCertificateIndex implements CertificateIndex {
+	@Value("${certificate.tag-index.enabled:false}")
+	private boolean enabled;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Map<Long, IdBitmap> certificatesByTag = new HashMap<>();
+	private Map<Long, IdBitmap> builtCertificatesByTag;
+	private volatile long indexedId;
+	private volatile boolean built;
+
+	public TagCertificateIndex() {
+
+	}
+
+	/**
+	 * Checks whether the index is enabled and is built, so it can be used instead
+	 * of the database.
+	 *
+	 * @return {@code true} if the index can be used and {@code false} otherwise
+	 */
+	public boolean isAvailable() {
+		return enabled && built;
+	}
+
+	/**
+	 * Obtains the id up to which the index covers all certificates. It must be
+	 * obtained before the ids of the certificates are found, so the found ids
+	 * are complete up to it.
+	 *
+	 * @return the greatest covered id
+	 */
+	public long obtainIndexedId() {
+		return indexedId;
+	}
+
+	/**
+	 * Finds ids of the certificates which have all of the passed tags. The found
+	 * ids may include certificates with ids greater than the indexed id, they
+	 * should be skipped by the caller.
+	 *
+	 * @param tagIds the ids of the tags
+	 * @return bitmap of the ids of the found certificates
+	 */
+	public IdBitmap findCertificateIds(Collection<Long> tagIds) {
+		IdBitmap certificateIds = null;
+		lock.readLock().lock();
+		try {
+			for (Long tagId : tagIds) {
+				IdBitmap tagCertificateIds = certificatesByTag.get(tagId);
+				if (tagCertificateIds == null) {
+					return new IdBitmap();
+				}
+				certificateIds = certificateIds == null ? tagCertificateIds.copy()
+						: certificateIds.and(tagCertificateIds);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return certificateIds != null ? certificateIds : new IdBitmap();
+	}
+
+	/**
+	 * Replaces the tags of the passed certificates in the index after the commit
+	 * of the current transaction. Deleted certificates are removed from the
+	 * index.
+	 *
+	 * @param certificateModels the saved or updated certificates
+	 */
+	public void index(List<CertificateModel> certificateModels) {
+		if (!enabled || certificateModels == null) {
+			return;
+		}
+		Map<Long, List<Long>> tagIdsByCertificate = obtainTagIds(certificateModels);
+		runAfterCommit(() -> replace(tagIdsByCertificate));
+	}
+
+	/**
+	 * Removes the certificate with passed id from the index after the commit of
+	 * the current transaction.
+	 *
+	 * @param certificateId the id of the deleted certificate
+	 */
+	public void remove(long certificateId) {
+		removeAll(List.of(certificateId));
+	}
+
+	/**
+	 * Removes the certificates with passed ids from the index after the commit of
+	 * the current transaction.
+	 *
+	 * @param certificateIds the ids of the deleted certificates
+	 */
+	public void removeAll(Collection<Long> certificateIds) {
+		if (enabled && !certificateIds.isEmpty()) {
+			IdBitmap removedIds = new IdBitmap();
+			certificateIds.forEach(removedIds::add);
+			runAfterCommit(() -> clear(removedIds));
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void beginBuild() {
+		builtCertificatesByTag = new HashMap<>();
+	}
+
+	@Override
+	public void load(CertificateModel certificateModel) {
+		for (TagModel tagModel : certificateModel.getTags()) {
+			builtCertificatesByTag.computeIfAbsent(tagModel.getId(), id -> new IdBitmap())
+					.add(certificateModel.getId());
+		}
+	}
+
+	@Override
+	public void completeBuild(long indexedId) {
+		lock.writeLock().lock();
+		try {
+			certificatesByTag = builtCertificatesByTag;
+			builtCertificatesByTag = null;
+			this.indexedId = indexedId;
+			built = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void refresh(List<CertificateModel> certificateModels, long indexedId) {
+		lock.writeLock().lock();
+		try {
+			replace(obtainTagIds(certificateModels));
+			this.indexedId = Math.max(this.indexedId, indexedId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void clear(IdBitmap removedIds) {
+		lock.writeLock().lock();
+		try {
+			certificatesByTag.values().forEach(certificateIds -> certificateIds.andNot(removedIds));
+			certificatesByTag.values().removeIf(certificateIds -> certificateIds.cardinality() == 0);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void replace(Map<Long, List<Long>> tagIdsByCertificate) {
+		IdBitmap replacedIds = new IdBitmap();
+		tagIdsByCertificate.keySet().forEach(replacedIds::add);
+		lock.writeLock().lock();
+		try {
+			clear(replacedIds);
+			tagIdsByCertificate.forEach((certificateId, tagIds) -> tagIds.forEach(tagId -> certificatesByTag
+					.computeIfAbsent(tagId, id -> new IdBitmap()).add(certificateId)));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static Map<Long, List<Long>> obtainTagIds(List<CertificateModel> certificateModels) {
+		Map<Long, List<Long>> tagIdsByCertificate = new HashMap<>();
+		for (CertificateModel certificateModel : certificateModels) {
+			List<Long> tagIds = new ArrayList<>();
+			if (!certificateModel.isDeleted() && certificateModel.getTags() != null) {
+				for (TagModel tagModel : certificateModel.getTags()) {
+					tagIds.add(tagModel.getId());
+				}
+			}
+			tagIdsByCertificate.put(certificateModel.getId(), tagIds);
+		}
+		return tagIdsByCertificate;
+	}
+
+	private void runAfterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+}
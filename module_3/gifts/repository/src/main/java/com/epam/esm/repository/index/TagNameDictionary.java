@@ -0,0 +1,123 @@
+package com.epam.esm.repository.index;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ *
+ * Node-local dictionary of the ids of not deleted tags by their names in lower
+ * case, so the tags of the saved certificates which were already resolved are
+ * not looked up in the database. The tags are added only after the commit of
+ * the write operation and removed when they are deleted. Tags deleted by other
+ * nodes stay in the dictionary until their entries expire after
+ * {@code tag.name-dictionary.ttl-ms}. The dictionary is used only if it is
+ * enabled by {@code tag.name-dictionary.enabled} property.
+ *
+ */
+@Component
+public class TagNameDictionary {
+	private static final int MAX_NAMES = 10000;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	@Value("${tag.name-dictionary.enabled:false}")
+	private boolean enabled;
+
+	@Value("${tag.name-dictionary.ttl-ms:60000}")
+	private long ttlMillis;
+
+	public TagNameDictionary() {
+
+	}
+
+	/**
+	 * Finds the ids of the tags with the passed names among the known ones.
+	 *
+	 * @param tagNames the names of the tags in lower case
+	 * @return ids of the known tags by their names, names of unknown tags are
+	 *         absent
+	 */
+	public Map<String, Long> findIds(Collection<String> tagNames) {
+		Map<String, Long> tagIds = new HashMap<>();
+		if (!enabled) {
+			return tagIds;
+		}
+		long now = System.currentTimeMillis();
+		for (String tagName : tagNames) {
+			Entry entry = entries.get(tagName);
+			if (entry != null) {
+				if (entry.expiresAt < now) {
+					entries.remove(tagName, entry);
+				} else {
+					tagIds.put(tagName, entry.id);
+				}
+			}
+		}
+		return tagIds;
+	}
+
+	/**
+	 * Adds the passed tags to the dictionary after the commit of the current
+	 * transaction.
+	 *
+	 * @param tagIds the ids of not deleted tags by their names in lower case
+	 */
+	public void addAll(Map<String, Long> tagIds) {
+		if (enabled && !tagIds.isEmpty()) {
+			Map<String, Long> addedIds = Map.copyOf(tagIds);
+			runAfterCommit(() -> put(addedIds));
+		}
+	}
+
+	/**
+	 * Removes the tag with passed id from the dictionary at once and once again
+	 * after the commit of the current transaction, so concurrent transactions do
+	 * not return it in between.
+	 *
+	 * @param tagId the id of the deleted tag
+	 */
+	public void remove(long tagId) {
+		if (enabled) {
+			entries.values().removeIf(entry -> entry.id == tagId);
+			runAfterCommit(() -> entries.values().removeIf(entry -> entry.id == tagId));
+		}
+	}
+
+	private void put(Map<String, Long> tagIds) {
+		if (entries.size() + tagIds.size() > MAX_NAMES) {
+			entries.clear();
+		}
+		long expiresAt = System.currentTimeMillis() + ttlMillis;
+		tagIds.forEach((tagName, tagId) -> entries.put(tagName, new Entry(tagId, expiresAt)));
+	}
+
+	private void runAfterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+	private static final class Entry {
+		private final long id;
+		private final long expiresAt;
+
+		private Entry(long id, long expiresAt) {
+			this.id = id;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -2,6 +2,7 @@ package com.epam.esm.repository.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.persistence.Column;
@@ -14,16 +15,25 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.epam.esm.repository.audit.CertificateAuditListener;
+import com.epam.esm.repository.cache.CacheRegion;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 @Data
 @Entity
 @Table(name = "gift_certificates")
 @EntityListeners(CertificateAuditListener.class)
+@NamedEntityGraph(name = EntityConstant.CERTIFICATE_TAGS_GRAPH, attributeNodes = @NamedAttributeNode(EntityConstant.CERTIFICATE_TAGS))
 public class CertificateModel {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -43,7 +53,20 @@ public class CertificateModel {
 	private LocalDateTime lastUpdateDate;
 	@Column(name = "is_deleted", nullable = false)
 	private boolean isDeleted;
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany(fetch = FetchType.LAZY)
+	@BatchSize(size = EntityConstant.CERTIFICATE_TAGS_BATCH_SIZE)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegion.CERTIFICATE_TAGS)
 	@JoinTable(name = "tags_certificates", joinColumns = @JoinColumn(name = "certificate_id", referencedColumnName = "id"), inverseJoinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"))
 	List<TagModel> tags;
+
+	/**
+	 * Compares the tags as a list. A persistent bag of a managed certificate is equal only to itself, so without it
+	 * a managed certificate is never equal to its detached copy read by the repository.
+	 *
+	 * @return the tags copied to a plain list
+	 */
+	@EqualsAndHashCode.Include(replaces = "tags")
+	private List<TagModel> tagsAsList() {
+		return tags == null ? null : new ArrayList<>(tags);
+	}
 }
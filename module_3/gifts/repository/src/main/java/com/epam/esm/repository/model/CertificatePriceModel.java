@@ -0,0 +1,23 @@
+package com.epam.esm.repository.model;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ *
+ * Contains the lightweight projection of the certificate which is enough to
+ * check its existence and to calculate the cost of the order: the id, the price
+ * and the deletion flag.
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificatePriceModel {
+	private Long id;
+	private BigDecimal price;
+	private boolean isDeleted;
+}
@@ -0,0 +1,31 @@
+package com.epam.esm.repository.model;
+
+/**
+ *
+ * Defines the way of calculation of the total amount of entities for the paged
+ * reading.
+ *
+ */
+public enum CountStrategy {
+	/**
+	 * The total amount is calculated by the separate count query with the same
+	 * predicates as the page query.
+	 */
+	EXACT,
+	/**
+	 * The total amount is calculated by the count query once per filter and is
+	 * reused until any write operation.
+	 */
+	CACHED,
+	/**
+	 * The total amount is taken from the table statistics of the database. The
+	 * statistics describe the whole table, so for the filtered reading the cached
+	 * count is used instead.
+	 */
+	ESTIMATED,
+	/**
+	 * The total amount is not calculated, it is only known whether the next page
+	 * exists.
+	 */
+	NONE
+}
@@ -0,0 +1,29 @@
+package com.epam.esm.repository.model;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ *
+ * Page which knows the strategy used for the calculation of its total amount of
+ * entities. The total amount is exact only for {@link CountStrategy#EXACT}
+ * strategy, otherwise it is approximate or only guarantees the existence of the
+ * next page.
+ *
+ */
+public class CountedPage<T> extends PageImpl<T> {
+	private static final long serialVersionUID = 1L;
+
+	private final CountStrategy countStrategy;
+
+	public CountedPage(List<T> content, Pageable pageable, long total, CountStrategy countStrategy) {
+		super(content, pageable, total);
+		this.countStrategy = countStrategy;
+	}
+
+	public CountStrategy getCountStrategy() {
+		return countStrategy;
+	}
+}
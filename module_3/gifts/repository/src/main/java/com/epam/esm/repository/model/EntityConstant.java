@@ -19,20 +19,32 @@ public class EntityConstant {
 	public static final String CERTIFICATE_PRICE = "price";
 	public static final String CERTIFICATE_DURATION = "duration";
 	public static final String CERTIFICATE_CREATE_DATE = "create_date";
+	public static final String CERTIFICATE_CREATE_DATE_FIELD = "createDate";
 	public static final String CERTIFICATE_LAST_UPDATE_DATE = "lastUpdateDate";
+	public static final String CERTIFICATE_LAST_UPDATE_DATE_COLUMN = "last_update_date";
 	public static final String CERTIFICATE_TAGS = "tags";
 	public static final String CERTIFICATE_AMOUNT = "certificateAmount";
+	public static final String CERTIFICATE_RELEVANCE = "relevance";
+	public static final String CERTIFICATE_TAGS_GRAPH = "certificate-tags";
+	public static final int CERTIFICATE_TAGS_BATCH_SIZE = 100;
 
 	public static final String CERTIFICATE_ID = "certificate_id";
 	public static final String TAG_ID = "tag_id";
 	public static final String ORDER_ID = "order_id";
 	public static final String USER_ID = "user_id";
+	public static final String USER_LOGIN = "login";
+	public static final String ROLE_ID = "role_id";
+	public static final String ORDER_COST = "cost";
+	public static final String ORDER_DATE = "date";
+	public static final String CERTIFICATE_AMOUNT_COLUMN = "certificate_amount";
 
 	public static final String ORDER_CERTIFICATES = "certificates";
 	public static final String ORDER = "order";
 
 	public static final char DESC_SIGN = '-';
 
+	public static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+
 	private EntityConstant() {
 
 	}
@@ -0,0 +1,23 @@
+package com.epam.esm.repository.model;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class GeneratorChunkId implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Column(nullable = false, length = 25)
+	private String stage;
+	@Column(name = "chunk_number", nullable = false)
+	private Integer chunkNumber;
+}
@@ -0,0 +1,25 @@
+package com.epam.esm.repository.model;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ *
+ * Marks the chunk of the generated data which is committed, so the generation
+ * is resumed from the chunks which are not committed yet.
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "generator_chunks")
+public class GeneratorChunkModel {
+	@EmbeddedId
+	private GeneratorChunkId generatorChunkId;
+}
@@ -0,0 +1,24 @@
+package com.epam.esm.repository.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ *
+ * Contains the position from which the next page of the keyset (seek)
+ * pagination starts: the values of the sort keys and the id of the boundary
+ * entity and the direction of reading.
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetCursor {
+	private List<String> sortValues = new ArrayList<>();
+	private long id;
+	private boolean backward;
+}
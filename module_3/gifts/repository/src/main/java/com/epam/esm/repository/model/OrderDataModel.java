@@ -0,0 +1,24 @@
+package com.epam.esm.repository.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ *
+ * Contains the lightweight projection of the order which is enough to show its
+ * information to the owner: the id, the cost, the date and the id of the user.
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDataModel {
+	private Long id;
+	private BigDecimal cost;
+	private LocalDateTime date;
+	private Long userId;
+}
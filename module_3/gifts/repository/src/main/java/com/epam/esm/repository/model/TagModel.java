@@ -2,6 +2,7 @@ package com.epam.esm.repository.model;
 
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
@@ -12,11 +13,17 @@ import javax.persistence.Id;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.epam.esm.repository.audit.TagAuditListener;
+import com.epam.esm.repository.cache.CacheRegion;
 
 import lombok.Data;
 
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegion.TAG)
 @Entity
 @Table(name = "tags")
 @EntityListeners(TagAuditListener.class)
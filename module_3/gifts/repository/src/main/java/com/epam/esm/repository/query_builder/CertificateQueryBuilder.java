@@ -1,93 +1,555 @@
 package com.epam.esm.repository.query_builder;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Order;
+import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.criteria.Subquery;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.repository.model.CertificateModel;
 import com.epam.esm.repository.model.CertificateModel_;
+import com.epam.esm.repository.model.CertificatePriceModel;
 import com.epam.esm.repository.model.EntityConstant;
 import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.repository.model.TagModel_;
 
 @Component
 public class CertificateQueryBuilder {
+	public static final int READ_COLUMNS_AMOUNT = 11;
 	private static final String PROCENT = "%";
+	private static final String TAG_IDS_PARAMETER = "tagIds";
+	private static final String TAG_AMOUNT_PARAMETER = "tagAmount";
+	private static final String CANDIDATE_IDS_PARAMETER = "candidateIds";
+	private static final String NOTHING_MATCHED = "nothingMatched";
+	private static final String IDS_PARAMETER = "ids";
+	private static final String NAMES_PARAMETER = "names";
+	private static final String TAG_ID_PARAMETER = "tagId";
+	private static final String LAST_ID_PARAMETER = "lastId";
+	private static final String CHANGED_SINCE_PARAMETER = "changedSince";
+	private static final String AFTER_ID_PARAMETER = "afterId";
+	private static final String READ_BY_NAME_SHAPE = "CertificateModel.readByName";
+	private static final String READ_ID_BY_ID_SHAPE = "CertificateModel.readIdById";
+	private static final String READ_ID_BY_NAME_SHAPE = "CertificateModel.readIdByName";
+	private static final String READ_PRICES_BY_IDS_SHAPE = "CertificateModel.readPricesByIds";
+	private static final String READ_EXISTING_IDS_SHAPE = "CertificateModel.readExistingIds";
+	private static final String READ_BY_NAMES_SHAPE = "CertificateModel.readByNames";
+	private static final String READ_IDS_BY_TAG_SHAPE = "CertificateModel.readIdsByTag";
+	private static final String IDS_SHAPE = "CertificateModel.readIds";
+	private static final String COUNT_SHAPE = "CertificateModel.count";
+	private static final String EXPORT_SHAPE = "CertificateModel.export";
+	private static final String INDEXED_SHAPE = "CertificateModel.indexed";
 
-	public CertificateQueryBuilder() {
+	private final QueryPlanCache queryPlanCache;
 
+	@Autowired
+	public CertificateQueryBuilder(QueryPlanCache queryPlanCache) {
+		this.queryPlanCache = queryPlanCache;
 	}
 
-	public TypedQuery<CertificateModel> obtainReadByIdQuery(EntityManager entityManager, long tagId) {
+	public TypedQuery<CertificateModel> obtainReadByNameQuery(EntityManager entityManager, String certificateName) {
+		return queryPlanCache.obtainQuery(entityManager, READ_BY_NAME_SHAPE, CertificateModel.class,
+				() -> obtainReadCriteria(entityManager, CertificateModel.class, true),
+				obtainNameParameters(certificateName));
+	}
+
+	public TypedQuery<Long> obtainIdByIdQuery(EntityManager entityManager, long certificateId) {
+		return queryPlanCache.obtainQuery(entityManager, READ_ID_BY_ID_SHAPE, Long.class,
+				() -> obtainReadCriteria(entityManager, Long.class, false), obtainIdParameters(certificateId));
+	}
+
+	public TypedQuery<Long> obtainIdByNameQuery(EntityManager entityManager, String certificateName) {
+		return queryPlanCache.obtainQuery(entityManager, READ_ID_BY_NAME_SHAPE, Long.class,
+				() -> obtainReadCriteria(entityManager, Long.class, true), obtainNameParameters(certificateName));
+	}
+
+	private static Map<String, Object> obtainIdParameters(long certificateId) {
+		return Map.of(EntityConstant.ID, certificateId, EntityConstant.IS_DELETED, false);
+	}
+
+	private static Map<String, Object> obtainNameParameters(String certificateName) {
+		return Map.of(EntityConstant.NAME, certificateName.toLowerCase(), EntityConstant.IS_DELETED, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> CriteriaQuery<T> obtainReadCriteria(EntityManager entityManager, Class<T> resultClass,
+			boolean byName) {
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-		CriteriaQuery<CertificateModel> certificateCriteria = criteriaBuilder.createQuery(CertificateModel.class);
+		CriteriaQuery<T> certificateCriteria = criteriaBuilder.createQuery(resultClass);
 		Root<CertificateModel> certificateRoot = certificateCriteria.from(CertificateModel.class);
-		certificateCriteria.select(certificateRoot);
+		if (Long.class.equals(resultClass)) {
+			certificateCriteria.select((Selection<T>) certificateRoot.get(CertificateModel_.id));
+		} else {
+			certificateCriteria.select((Selection<T>) certificateRoot);
+		}
 
-		Predicate isDeletedPredicate = criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted), false);
-		Predicate idPredicate = criteriaBuilder.equal(certificateRoot.get(CertificateModel_.id), tagId);
-		certificateCriteria.where(isDeletedPredicate, idPredicate);
+		Predicate isDeletedPredicate = criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted),
+				criteriaBuilder.parameter(Boolean.class, EntityConstant.IS_DELETED));
+		Predicate keyPredicate = byName
+				? criteriaBuilder.equal(criteriaBuilder.lower(certificateRoot.get(CertificateModel_.name)),
+						criteriaBuilder.parameter(String.class, EntityConstant.NAME))
+				: criteriaBuilder.equal(certificateRoot.get(CertificateModel_.id),
+						criteriaBuilder.parameter(Long.class, EntityConstant.ID));
+		certificateCriteria.where(isDeletedPredicate, keyPredicate);
+		return certificateCriteria;
+	}
 
-		return entityManager.createQuery(certificateCriteria);
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public TypedQuery<CertificatePriceModel> obtainReadPricesByIdsQuery(EntityManager entityManager,
+			Collection<Long> ids) {
+		return queryPlanCache.obtainQuery(entityManager, READ_PRICES_BY_IDS_SHAPE, CertificatePriceModel.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<CertificatePriceModel> priceCriteria = criteriaBuilder
+					.createQuery(CertificatePriceModel.class);
+			Root<CertificateModel> certificateRoot = priceCriteria.from(CertificateModel.class);
+			priceCriteria.select(criteriaBuilder.construct(CertificatePriceModel.class,
+					certificateRoot.get(CertificateModel_.id), certificateRoot.get(CertificateModel_.price),
+					certificateRoot.get(CertificateModel_.isDeleted)));
+			priceCriteria.where(certificateRoot.get(CertificateModel_.id)
+					.in((Expression) criteriaBuilder.parameter(Collection.class, IDS_PARAMETER)));
+			return priceCriteria;
+		}, Map.of(IDS_PARAMETER, ids));
 	}
 
-	public TypedQuery<CertificateModel> obtainReadByNameQuery(EntityManager entityManager, String certificateName) {
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public TypedQuery<Long> obtainExistingIdsQuery(EntityManager entityManager, Collection<Long> ids) {
+		return queryPlanCache.obtainQuery(entityManager, READ_EXISTING_IDS_SHAPE, Long.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+			Root<CertificateModel> certificateRoot = idCriteria.from(CertificateModel.class);
+			idCriteria.select(certificateRoot.get(CertificateModel_.id));
+			idCriteria.where(
+					certificateRoot.get(CertificateModel_.id)
+							.in((Expression) criteriaBuilder.parameter(Collection.class, IDS_PARAMETER)),
+					criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted),
+							criteriaBuilder.parameter(Boolean.class, EntityConstant.IS_DELETED)));
+			return idCriteria;
+		}, Map.of(IDS_PARAMETER, ids, EntityConstant.IS_DELETED, false));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public TypedQuery<CertificateModel> obtainReadByNamesQuery(EntityManager entityManager,
+			Collection<String> certificateNames) {
+		return queryPlanCache.obtainQuery(entityManager, READ_BY_NAMES_SHAPE, CertificateModel.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<CertificateModel> certificateCriteria = criteriaBuilder.createQuery(CertificateModel.class);
+			Root<CertificateModel> certificateRoot = certificateCriteria.from(CertificateModel.class);
+			certificateCriteria.select(certificateRoot);
+			certificateCriteria.where(
+					criteriaBuilder.lower(certificateRoot.get(CertificateModel_.name))
+							.in((Expression) criteriaBuilder.parameter(Collection.class, NAMES_PARAMETER)),
+					criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted),
+							criteriaBuilder.parameter(Boolean.class, EntityConstant.IS_DELETED)));
+			return certificateCriteria;
+		}, Map.of(NAMES_PARAMETER, certificateNames, EntityConstant.IS_DELETED, false));
+	}
+
+	public TypedQuery<Long> obtainIdsByTagQuery(EntityManager entityManager, long tagId, long lastId) {
+		return queryPlanCache.obtainQuery(entityManager, READ_IDS_BY_TAG_SHAPE, Long.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+			Root<CertificateModel> certificateRoot = idCriteria.from(CertificateModel.class);
+			Join<CertificateModel, TagModel> tagJoin = certificateRoot.join(CertificateModel_.tags, JoinType.INNER);
+			idCriteria.select(certificateRoot.get(CertificateModel_.id));
+			idCriteria.where(
+					criteriaBuilder.equal(tagJoin.get(TagModel_.id),
+							criteriaBuilder.parameter(Long.class, TAG_ID_PARAMETER)),
+					criteriaBuilder.greaterThan(certificateRoot.get(CertificateModel_.id),
+							criteriaBuilder.parameter(Long.class, LAST_ID_PARAMETER)),
+					criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted),
+							criteriaBuilder.parameter(Boolean.class, EntityConstant.IS_DELETED)));
+			idCriteria.orderBy(criteriaBuilder.asc(certificateRoot.get(CertificateModel_.id)));
+			return idCriteria;
+		}, Map.of(TAG_ID_PARAMETER, tagId, LAST_ID_PARAMETER, lastId, EntityConstant.IS_DELETED, false));
+	}
+
+	public TypedQuery<CertificateModel> obtainReadByIdsWithTagsQuery(EntityManager entityManager, List<Long> ids) {
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 		CriteriaQuery<CertificateModel> certificateCriteria = criteriaBuilder.createQuery(CertificateModel.class);
 		Root<CertificateModel> certificateRoot = certificateCriteria.from(CertificateModel.class);
 		certificateCriteria.select(certificateRoot);
+		certificateCriteria.where(certificateRoot.get(CertificateModel_.id).in(ids));
+
+		TypedQuery<CertificateModel> certificateQuery = entityManager.createQuery(certificateCriteria);
+		certificateQuery.setHint(EntityConstant.FETCH_GRAPH_HINT,
+				entityManager.getEntityGraph(EntityConstant.CERTIFICATE_TAGS_GRAPH));
+		return certificateQuery;
+	}
 
-		Predicate isDeletedPredicate = criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted), false);
-		Predicate namePredicate = criteriaBuilder.equal(
-				criteriaBuilder.lower(certificateRoot.get(CertificateModel_.name)), certificateName.toLowerCase());
-		certificateCriteria.where(isDeletedPredicate, namePredicate);
+	/**
+	 * Obtains the query of the fields of the certificates with passed ids joined
+	 * with their tags, one row per tag. The rows are selected as tuples, so no
+	 * entity is put into the persistence context.
+	 * 
+	 * @param entityManager the entity manager for query creation
+	 * @param ids           the ids of the certificates to be read
+	 * @return query of the fields of certificates followed by the fields of their
+	 *         tags in the order of {@link #obtainReadSelections(From, Join)}
+	 */
+	public TypedQuery<Object[]> obtainReadRowsByIdsQuery(EntityManager entityManager, List<Long> ids) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object[]> rowCriteria = criteriaBuilder.createQuery(Object[].class);
+		Root<CertificateModel> certificateRoot = rowCriteria.from(CertificateModel.class);
+		Join<CertificateModel, TagModel> tagJoin = certificateRoot.join(CertificateModel_.tags, JoinType.LEFT);
+		rowCriteria.multiselect(obtainReadSelections(certificateRoot, tagJoin));
+		rowCriteria.where(certificateRoot.get(CertificateModel_.id).in(ids));
+		return entityManager.createQuery(rowCriteria);
+	}
 
-		return entityManager.createQuery(certificateCriteria);
+	/**
+	 * Obtains the selections of the read certificate and of its tag. There are
+	 * {@link #READ_COLUMNS_AMOUNT} selections: the id, name, description, price,
+	 * duration, creation and last update dates and deletion flag of the
+	 * certificate and the id, name and deletion flag of the tag.
+	 * 
+	 * @param certificateFrom the certificate root or join
+	 * @param tagJoin         the left join of the tags of the certificate
+	 * @return selections of the certificate and tag fields
+	 */
+	public static List<Selection<?>> obtainReadSelections(From<?, CertificateModel> certificateFrom,
+			Join<CertificateModel, TagModel> tagJoin) {
+		return Arrays.asList(certificateFrom.get(CertificateModel_.id), certificateFrom.get(CertificateModel_.name),
+				certificateFrom.get(CertificateModel_.description), certificateFrom.get(CertificateModel_.price),
+				certificateFrom.get(CertificateModel_.duration), certificateFrom.get(CertificateModel_.createDate),
+				certificateFrom.get(CertificateModel_.lastUpdateDate), certificateFrom.get(CertificateModel_.isDeleted),
+				tagJoin.get(TagModel_.id), tagJoin.get(TagModel_.name), tagJoin.get(TagModel_.isDeleted));
 	}
 
-	public Predicate[] obtainPredicates(MultiValueMap<String, String> params, CriteriaBuilder criteriaBuilder,
-			Root<CertificateModel> certificateRoot) {
-		List<Predicate> predicates = new ArrayList<>();
+	/**
+	 * Obtains the query of the certificates for the in-memory indexes joined with
+	 * their tags, one row per tag, ordered by id. Without the passed id all not
+	 * deleted certificates are read, otherwise the certificates with greater ids
+	 * and the certificates changed since the passed date are read together with
+	 * the deleted ones.
+	 * 
+	 * @param entityManager the entity manager for query creation
+	 * @param lastId        the greatest id covered by the indexes or {@code null}
+	 *                      to read all certificates
+	 * @param changedSince  the date since which the changed certificates are read
+	 * @return query of the id, name, description and deletion flag of
+	 *         certificates and of the id and name of their tags
+	 */
+	public TypedQuery<Object[]> obtainIndexedQuery(EntityManager entityManager, Long lastId,
+			LocalDateTime changedSince) {
+		boolean changed = lastId != null;
+		Map<String, Object> parameters = changed ? Map.of(LAST_ID_PARAMETER, lastId, CHANGED_SINCE_PARAMETER,
+				changedSince) : Map.of(EntityConstant.IS_DELETED, false);
+		return queryPlanCache.obtainQuery(entityManager, INDEXED_SHAPE + changed, Object[].class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<Object[]> indexedCriteria = criteriaBuilder.createQuery(Object[].class);
+			Root<CertificateModel> certificateRoot = indexedCriteria.from(CertificateModel.class);
+			Join<CertificateModel, TagModel> tagJoin = certificateRoot.join(CertificateModel_.tags, JoinType.LEFT);
+			indexedCriteria.multiselect(certificateRoot.get(CertificateModel_.id),
+					certificateRoot.get(CertificateModel_.name), certificateRoot.get(CertificateModel_.description),
+					certificateRoot.get(CertificateModel_.isDeleted), tagJoin.get(TagModel_.id),
+					tagJoin.get(TagModel_.name));
+			if (changed) {
+				indexedCriteria.where(criteriaBuilder.or(
+						criteriaBuilder.greaterThan(certificateRoot.get(CertificateModel_.id),
+								criteriaBuilder.parameter(Long.class, LAST_ID_PARAMETER)),
+						criteriaBuilder.greaterThanOrEqualTo(certificateRoot.get(CertificateModel_.lastUpdateDate),
+								criteriaBuilder.parameter(LocalDateTime.class, CHANGED_SINCE_PARAMETER))));
+			} else {
+				indexedCriteria.where(criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted),
+						criteriaBuilder.parameter(Boolean.class, EntityConstant.IS_DELETED)));
+			}
+			indexedCriteria.orderBy(criteriaBuilder.asc(certificateRoot.get(CertificateModel_.id)));
+			return indexedCriteria;
+		}, parameters);
+	}
+
+	/**
+	 * Obtains distinct lower-cased tag names from the tag filter of the passed
+	 * parameters.
+	 * 
+	 * @param params the parameters of certificates reading
+	 * @return distinct lower-cased tag names or empty set if there is no tag
+	 *         filter
+	 */
+	public Set<String> obtainTagNames(MultiValueMap<String, String> params) {
+		Set<String> tagNames = new HashSet<>();
 		List<String> tags = params.get(EntityConstant.TAG);
-		if (tags != null && !tags.isEmpty()) {
-			for (String tag : tags) {
-				Join<CertificateModel, TagModel> join = certificateRoot.join(CertificateModel_.tags, JoinType.INNER);
-				predicates
-						.add(criteriaBuilder.equal(criteriaBuilder.lower(join.get(TagModel_.name)), tag.toLowerCase()));
+		if (tags != null) {
+			tags.forEach(tag -> tagNames.add(tag.toLowerCase()));
+		}
+		return tagNames;
+	}
+
+	public TypedQuery<Long> obtainTagIdsByNamesQuery(EntityManager entityManager, Set<String> tagNames) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+		Root<TagModel> tagRoot = idCriteria.from(TagModel.class);
+		idCriteria.select(tagRoot.get(TagModel_.id));
+		idCriteria.where(criteriaBuilder.lower(tagRoot.get(TagModel_.name)).in(tagNames));
+
+		return entityManager.createQuery(idCriteria);
+	}
+
+	/**
+	 * Obtains the values of the named parameters of the predicates for
+	 * certificates reading. The set of the obtained names defines the shape of
+	 * the predicates.
+	 * 
+	 * @param params the parameters of certificates reading
+	 * @param tagIds the ids of the tags from the tag filter
+	 * @return values of the named parameters
+	 */
+	public Map<String, Object> obtainFilterParameters(MultiValueMap<String, String> params, List<Long> tagIds) {
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put(EntityConstant.IS_DELETED, false);
+		Set<String> tagNames = obtainTagNames(params);
+		if (!tagNames.isEmpty()) {
+			if (tagIds.size() < tagNames.size()) {
+				parameters.put(NOTHING_MATCHED, true);
+			} else {
+				parameters.put(TAG_IDS_PARAMETER, tagIds);
+				parameters.put(TAG_AMOUNT_PARAMETER, (long) tagIds.size());
 			}
 		}
 
 		List<String> searchPart = params.get(EntityConstant.SEARCH);
 		if (searchPart != null) {
-			String search = StringUtils.wrap(searchPart.get(0), PROCENT);
+			parameters.put(EntityConstant.SEARCH, StringUtils.wrap(searchPart.get(0), PROCENT).toLowerCase());
+		}
+		return parameters;
+	}
+
+	/**
+	 * Restricts the filter to the certificates with ids greater than the passed
+	 * one. The restriction is applied inside the tag semi-join too, so only the
+	 * tag links of these certificates are read.
+	 * 
+	 * @param parameters the values of the named parameters obtained by
+	 *                   {@link #obtainFilterParameters}
+	 * @param afterId    the id after which certificates are read
+	 * @return values of the named parameters of the restricted filter
+	 */
+	public Map<String, Object> obtainParametersAfterId(Map<String, Object> parameters, long afterId) {
+		Map<String, Object> restrictedParameters = new HashMap<>(parameters);
+		restrictedParameters.put(AFTER_ID_PARAMETER, afterId);
+		return restrictedParameters;
+	}
+
+	/**
+	 * Restricts the filter to the certificates with ids greater than the passed
+	 * one and to the certificates changed since the passed date.
+	 * 
+	 * @param parameters   the values of the named parameters obtained by
+	 *                     {@link #obtainFilterParameters}
+	 * @param afterId      the id after which certificates are read
+	 * @param changedSince the date since which the changed certificates are read
+	 * @return values of the named parameters of the restricted filter
+	 */
+	public Map<String, Object> obtainParametersChangedAfter(Map<String, Object> parameters, long afterId,
+			LocalDateTime changedSince) {
+		Map<String, Object> restrictedParameters = obtainParametersAfterId(parameters, afterId);
+		restrictedParameters.put(CHANGED_SINCE_PARAMETER, changedSince);
+		return restrictedParameters;
+	}
+
+	/**
+	 * Restricts the filter to the certificates with passed ids.
+	 * 
+	 * @param parameters   the values of the named parameters obtained by
+	 *                     {@link #obtainFilterParameters}
+	 * @param candidateIds the ids of the certificates to which the filter is
+	 *                     applied
+	 * @return values of the named parameters of the restricted filter
+	 */
+	public Map<String, Object> obtainParametersWithCandidates(Map<String, Object> parameters,
+			Collection<Long> candidateIds) {
+		Map<String, Object> restrictedParameters = new HashMap<>(parameters);
+		restrictedParameters.put(CANDIDATE_IDS_PARAMETER, candidateIds);
+		return restrictedParameters;
+	}
+
+	/**
+	 * Builds predicates for certificates reading with named parameters. Tag filter
+	 * is expressed as the single semi-join on the ids of the tags which were
+	 * resolved in advance: {@code id IN (SELECT certificate_id ... WHERE tag_id IN
+	 * (?) GROUP BY certificate_id HAVING COUNT(DISTINCT tag_id) = n)}. The
+	 * {@code LIKE} predicates are applied to the candidates of the search index
+	 * if they are passed.
+	 * 
+	 * @param parameters      the values of the named parameters obtained by
+	 *                        {@link #obtainFilterParameters}
+	 * @param criteriaBuilder the builder for predicates creation
+	 * @param criteria        the query for which predicates are built
+	 * @param certificateRoot the root of the query
+	 * @return predicates for certificates reading
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public Predicate[] obtainPredicates(Map<String, Object> parameters, CriteriaBuilder criteriaBuilder,
+			AbstractQuery<?> criteria, Root<CertificateModel> certificateRoot) {
+		List<Predicate> predicates = new ArrayList<>();
+		if (parameters.containsKey(NOTHING_MATCHED)) {
+			predicates.add(criteriaBuilder.disjunction());
+		}
+
+		if (parameters.containsKey(TAG_IDS_PARAMETER)) {
+			Subquery<Long> tagSubquery = criteria.subquery(Long.class);
+			Root<CertificateModel> taggedRoot = tagSubquery.from(CertificateModel.class);
+			Join<CertificateModel, TagModel> tagJoin = taggedRoot.join(CertificateModel_.tags, JoinType.INNER);
+			tagSubquery.select(taggedRoot.get(CertificateModel_.id));
+			Predicate tagPredicate = tagJoin.get(TagModel_.id)
+					.in((Expression) criteriaBuilder.parameter(Collection.class, TAG_IDS_PARAMETER));
+			boolean onlyAfterId = parameters.containsKey(AFTER_ID_PARAMETER)
+					&& !parameters.containsKey(CHANGED_SINCE_PARAMETER);
+			tagSubquery.where(onlyAfterId
+					? criteriaBuilder.and(tagPredicate,
+							criteriaBuilder.greaterThan(taggedRoot.get(CertificateModel_.id),
+									criteriaBuilder.parameter(Long.class, AFTER_ID_PARAMETER)))
+					: tagPredicate);
+			tagSubquery.groupBy(taggedRoot.get(CertificateModel_.id));
+			tagSubquery.having(criteriaBuilder.equal(criteriaBuilder.countDistinct(tagJoin.get(TagModel_.id)),
+					criteriaBuilder.parameter(Long.class, TAG_AMOUNT_PARAMETER)));
+			predicates.add(certificateRoot.get(CertificateModel_.id).in(tagSubquery));
+		}
+
+		if (parameters.containsKey(AFTER_ID_PARAMETER)) {
+			Predicate afterIdPredicate = criteriaBuilder.greaterThan(certificateRoot.get(CertificateModel_.id),
+					criteriaBuilder.parameter(Long.class, AFTER_ID_PARAMETER));
+			predicates.add(parameters.containsKey(CHANGED_SINCE_PARAMETER)
+					? criteriaBuilder.or(afterIdPredicate,
+							criteriaBuilder.greaterThanOrEqualTo(certificateRoot.get(CertificateModel_.lastUpdateDate),
+									criteriaBuilder.parameter(LocalDateTime.class, CHANGED_SINCE_PARAMETER)))
+					: afterIdPredicate);
+		}
+
+		if (parameters.containsKey(CANDIDATE_IDS_PARAMETER)) {
+			predicates.add(certificateRoot.get(CertificateModel_.id)
+					.in((Expression) criteriaBuilder.parameter(Collection.class, CANDIDATE_IDS_PARAMETER)));
+		}
+
+		if (parameters.containsKey(EntityConstant.SEARCH)) {
+			ParameterExpression<String> search = criteriaBuilder.parameter(String.class, EntityConstant.SEARCH);
 			Predicate nameSearchPredicate = criteriaBuilder
-					.like(criteriaBuilder.lower(certificateRoot.get(CertificateModel_.name)), search.toLowerCase());
-			Predicate descriptionSearchPredicate = criteriaBuilder.like(
-					criteriaBuilder.lower(certificateRoot.get(CertificateModel_.description)), search.toLowerCase());
+					.like(criteriaBuilder.lower(certificateRoot.get(CertificateModel_.name)), search);
+			Predicate descriptionSearchPredicate = criteriaBuilder
+					.like(criteriaBuilder.lower(certificateRoot.get(CertificateModel_.description)), search);
 			predicates.add(criteriaBuilder.or(nameSearchPredicate, descriptionSearchPredicate));
 		}
 
-		predicates.add(criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted), false));
-
-		Predicate[] result = new Predicate[predicates.size()];
+		predicates.add(criteriaBuilder.equal(certificateRoot.get(CertificateModel_.isDeleted),
+				criteriaBuilder.parameter(Boolean.class, EntityConstant.IS_DELETED)));
 		return predicates.toArray(new Predicate[0]);
 	}
 
+	/**
+	 * Obtains the query of the ids of certificates which meet the filter. The
+	 * query is taken from the query plan cache by its shape.
+	 * 
+	 * @param entityManager the entity manager for query creation
+	 * @param params        the parameters of certificates reading
+	 * @param parameters    the values of the named parameters obtained by
+	 *                      {@link #obtainFilterParameters}
+	 * @param ordered       whether ids are ordered by the sort parameters with id
+	 *                      as the last tie-breaker
+	 * @return query of the ids of certificates with bound parameters
+	 */
+	public TypedQuery<Long> obtainIdsQuery(EntityManager entityManager, MultiValueMap<String, String> params,
+			Map<String, Object> parameters, boolean ordered) {
+		List<String> sortConditions = ordered ? params.getOrDefault(EntityConstant.ORDER_BY, new ArrayList<>())
+				: null;
+		String shape = IDS_SHAPE + new TreeSet<>(parameters.keySet()) + sortConditions;
+		return queryPlanCache.obtainQuery(entityManager, shape, Long.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+			Root<CertificateModel> certificateRoot = idCriteria.from(CertificateModel.class);
+			idCriteria.select(certificateRoot.get(CertificateModel_.id));
+			idCriteria.where(obtainPredicates(parameters, criteriaBuilder, idCriteria, certificateRoot));
+			if (ordered) {
+				List<Order> orders = obtainOrders(params, criteriaBuilder, certificateRoot);
+				orders.add(criteriaBuilder.asc(certificateRoot.get(CertificateModel_.id)));
+				idCriteria.orderBy(orders);
+			}
+			return idCriteria;
+		}, parameters);
+	}
+
+	/**
+	 * Obtains the query of the amount of certificates which meet the filter. The
+	 * query is taken from the query plan cache by its shape.
+	 * 
+	 * @param entityManager the entity manager for query creation
+	 * @param parameters    the values of the named parameters obtained by
+	 *                      {@link #obtainFilterParameters}
+	 * @return query of the amount of certificates with bound parameters
+	 */
+	public TypedQuery<Long> obtainCountQuery(EntityManager entityManager, Map<String, Object> parameters) {
+		String shape = COUNT_SHAPE + new TreeSet<>(parameters.keySet());
+		return queryPlanCache.obtainQuery(entityManager, shape, Long.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<Long> counterCriteria = criteriaBuilder.createQuery(Long.class);
+			Root<CertificateModel> counterRoot = counterCriteria.from(CertificateModel.class);
+			counterCriteria.select(criteriaBuilder.count(counterRoot));
+			counterCriteria.where(obtainPredicates(parameters, criteriaBuilder, counterCriteria, counterRoot));
+			return counterCriteria;
+		}, parameters);
+	}
+
+	/**
+	 * Obtains the query of the certificates which meet the filter joined with
+	 * their tags, one row per tag. Rows are ordered by the sort parameters with id
+	 * as the last tie-breaker, so all rows of one certificate are adjacent. The
+	 * query is taken from the query plan cache by its shape.
+	 * 
+	 * @param entityManager the entity manager for query creation
+	 * @param params        the parameters of certificates reading
+	 * @param parameters    the values of the named parameters obtained by
+	 *                      {@link #obtainFilterParameters}
+	 * @return query of the fields of certificates and their tags with bound
+	 *         parameters
+	 */
+	public TypedQuery<Object[]> obtainExportQuery(EntityManager entityManager, MultiValueMap<String, String> params,
+			Map<String, Object> parameters) {
+		String shape = EXPORT_SHAPE + new TreeSet<>(parameters.keySet())
+				+ params.getOrDefault(EntityConstant.ORDER_BY, new ArrayList<>());
+		return queryPlanCache.obtainQuery(entityManager, shape, Object[].class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<Object[]> exportCriteria = criteriaBuilder.createQuery(Object[].class);
+			Root<CertificateModel> certificateRoot = exportCriteria.from(CertificateModel.class);
+			Join<CertificateModel, TagModel> tagJoin = certificateRoot.join(CertificateModel_.tags, JoinType.LEFT);
+			exportCriteria.multiselect(certificateRoot.get(CertificateModel_.id),
+					certificateRoot.get(CertificateModel_.name), certificateRoot.get(CertificateModel_.description),
+					certificateRoot.get(CertificateModel_.price), certificateRoot.get(CertificateModel_.duration),
+					certificateRoot.get(CertificateModel_.createDate),
+					certificateRoot.get(CertificateModel_.lastUpdateDate), tagJoin.get(TagModel_.id),
+					tagJoin.get(TagModel_.name));
+			exportCriteria.where(obtainPredicates(parameters, criteriaBuilder, exportCriteria, certificateRoot));
+			List<Order> orders = obtainOrders(params, criteriaBuilder, certificateRoot);
+			orders.add(criteriaBuilder.asc(certificateRoot.get(CertificateModel_.id)));
+			exportCriteria.orderBy(orders);
+			return exportCriteria;
+		}, parameters);
+	}
+
 	public List<Order> obtainOrders(MultiValueMap<String, String> params, CriteriaBuilder criteriaBuilder,
 			Root<CertificateModel> certificateRoot) {
 		List<Order> orderConditions = new ArrayList<>();
@@ -1,9 +1,34 @@
 package com.epam.esm.repository.query_builder;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+import org.hibernate.FlushMode;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import com.epam.esm.repository.model.KeysetCursor;
+
 public class QueryBuilderUtil {
+	private QueryBuilderUtil() {
+
+	}
+
 	/**
 	 * Calculates start index for read query.
-	 * 
+	 *
 	 * @param pageNumber the pageNumber for showing
 	 * @param offset     the limit of items on page
 	 * @return calculated start index for read query
@@ -12,8 +37,140 @@ public class QueryBuilderUtil {
 		return pageNumber * offset;
 	}
 
+	/**
+	 * Marks the query as cacheable in the passed query cache region. Cached
+	 * results are invalidated by Hibernate on every write to the tables of the
+	 * query.
+	 *
+	 * @param query  the query which results should be cached
+	 * @param region the name of the query cache region
+	 * @return cacheable query
+	 */
+	public static <T> TypedQuery<T> cacheResults(TypedQuery<T> query, String region) {
+		return query.setHint(QueryHints.CACHEABLE, true).setHint(QueryHints.CACHE_REGION, region);
+	}
+
+	/**
+	 * Marks the query as read-only: the read entities are loaded without the
+	 * snapshots for dirty checking and the persistence context is not flushed
+	 * before the query. The query must not depend on the pending changes of the
+	 * current transaction.
+	 *
+	 * @param query the query which results are not going to be modified
+	 * @return read-only query
+	 */
+	public static <T> TypedQuery<T> readOnly(TypedQuery<T> query) {
+		return query.setHint(QueryHints.READ_ONLY, true).setHint(QueryHints.FLUSH_MODE, FlushMode.MANUAL);
+	}
+
 	public static long retrievePageAmount(long totalEntriesAmount, int offset) {
 		long additionalPage = totalEntriesAmount % offset > 0 ? 1 : 0;
 		return totalEntriesAmount / offset + additionalPage;
 	}
+
+	/**
+	 * Builds the seek predicate which selects entities located after the passed
+	 * cursor according to the passed sort orders with id as the last tie-breaker.
+	 * It is the expanded form of the row value comparison
+	 * {@code (key1, ..., keyN, id) > (?, ..., ?, ?)} which takes into account the
+	 * direction of each sort key.
+	 *
+	 * @param criteriaBuilder the builder for predicates creation
+	 * @param sortOrders      the sort orders of the query without id tie-breaker
+	 * @param idPath          the path to the id of the entity
+	 * @param cursor          the cursor with the values of the boundary entity
+	 * @return the seek predicate
+	 * @throws IllegalArgumentException if the cursor does not correspond to the
+	 *                                  passed sort orders
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static Predicate obtainKeysetPredicate(CriteriaBuilder criteriaBuilder, List<Order> sortOrders,
+			Path<Long> idPath, KeysetCursor cursor) {
+		List<String> sortValues = cursor.getSortValues();
+		if (sortValues.size() != sortOrders.size()) {
+			throw new IllegalArgumentException("Cursor does not correspond to the sort parameters");
+		}
+
+		List<Predicate> alternatives = new ArrayList<>();
+		List<Predicate> equalities = new ArrayList<>();
+		for (int i = 0; i < sortOrders.size(); i++) {
+			Order sortOrder = sortOrders.get(i);
+			Expression<Comparable> sortKey = (Expression<Comparable>) sortOrder.getExpression();
+			Comparable sortValue = parseSortValue(sortKey.getJavaType(), sortValues.get(i));
+			boolean ascending = sortOrder.isAscending() != cursor.isBackward();
+
+			List<Predicate> alternative = new ArrayList<>(equalities);
+			alternative.add(ascending ? criteriaBuilder.greaterThan(sortKey, sortValue)
+					: criteriaBuilder.lessThan(sortKey, sortValue));
+			alternatives.add(criteriaBuilder.and(alternative.toArray(new Predicate[0])));
+			equalities.add(criteriaBuilder.equal(sortKey, sortValue));
+		}
+
+		List<Predicate> idAlternative = new ArrayList<>(equalities);
+		idAlternative.add(cursor.isBackward() ? criteriaBuilder.lessThan(idPath, cursor.getId())
+				: criteriaBuilder.greaterThan(idPath, cursor.getId()));
+		alternatives.add(criteriaBuilder.and(idAlternative.toArray(new Predicate[0])));
+
+		return criteriaBuilder.or(alternatives.toArray(new Predicate[0]));
+	}
+
+	/**
+	 * Builds the orders for the keyset query: passed sort orders followed by id
+	 * tie-breaker. All directions are inverted when the cursor points backward.
+	 *
+	 * @param criteriaBuilder the builder for orders creation
+	 * @param sortOrders      the sort orders of the query without id tie-breaker
+	 * @param idPath          the path to the id of the entity
+	 * @param cursor          the cursor of the page, may be {@code null} for the
+	 *                        first page
+	 * @return orders for the keyset query
+	 */
+	public static List<Order> obtainKeysetOrders(CriteriaBuilder criteriaBuilder, List<Order> sortOrders,
+			Path<Long> idPath, KeysetCursor cursor) {
+		boolean backward = cursor != null && cursor.isBackward();
+		List<Order> keysetOrders = new ArrayList<>(sortOrders.size() + 1);
+		for (Order sortOrder : sortOrders) {
+			keysetOrders.add(sortOrder.isAscending() != backward ? criteriaBuilder.asc(sortOrder.getExpression())
+					: criteriaBuilder.desc(sortOrder.getExpression()));
+		}
+		keysetOrders.add(backward ? criteriaBuilder.desc(idPath) : criteriaBuilder.asc(idPath));
+		return keysetOrders;
+	}
+
+	/**
+	 * Wraps result of the keyset query which was limited with {@code limit + 1}
+	 * rows into {@code Slice}. For backward cursor restores the natural order of
+	 * entities.
+	 *
+	 * @param entities the result of the keyset query
+	 * @param limit    the amount of entities on the page
+	 * @param cursor   the cursor of the page, may be {@code null} for the first
+	 *                 page
+	 * @return slice which has next element if there are more entities in the
+	 *         direction of reading
+	 */
+	public static <T> Slice<T> obtainKeysetSlice(List<T> entities, int limit, KeysetCursor cursor) {
+		boolean hasMore = entities.size() > limit;
+		List<T> content = new ArrayList<>(hasMore ? entities.subList(0, limit) : entities);
+		if (cursor != null && cursor.isBackward()) {
+			Collections.reverse(content);
+		}
+		return new SliceImpl<>(content, PageRequest.of(0, limit), hasMore);
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static Comparable parseSortValue(Class<?> type, String value) {
+		if (String.class.equals(type)) {
+			return value;
+		} else if (BigDecimal.class.equals(type)) {
+			return new BigDecimal(value);
+		} else if (LocalDateTime.class.equals(type)) {
+			return LocalDateTime.parse(value);
+		} else if (Long.class.equals(type) || long.class.equals(type)) {
+			return Long.valueOf(value);
+		} else if (Integer.class.equals(type) || int.class.equals(type)) {
+			return Integer.valueOf(value);
+		}
+		throw new IllegalArgumentException("Unsupported sort key type: " + type);
+	}
 }
@@ -0,0 +1,114 @@
+package com.epam.esm.repository.query_builder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Parameter;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
+
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ *
+ * Keeps the query strings rendered from the criteria queries by the shape of
+ * the request: which filters are present and which sort fields are used. All
+ * values of the request are bound as named parameters, so the query with the
+ * same shape is created from the kept query string without building and
+ * rendering of the criteria tree. Counts hits and misses which are published
+ * as {@code query.plan.cache} metric.
+ *
+ */
+@Component
+public class QueryPlanCache implements MeterBinder {
+	private static final int MAX_CACHED_QUERIES = 1000;
+	private static final String METRIC_NAME = "query.plan.cache";
+	private static final String RESULT_TAG = "result";
+	private static final String HIT = "hit";
+	private static final String MISS = "miss";
+	private static final Pattern PARAMETER_PATTERN = Pattern.compile(":(\\w+)");
+
+	private final Map<String, String> queryStrings = new ConcurrentHashMap<>();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public QueryPlanCache() {
+
+	}
+
+	/**
+	 * Obtains the query of the passed shape with bound parameters. The criteria
+	 * query is built only if the query of the passed shape was not obtained yet.
+	 * Its query string is kept only if all parameters of the rendered query are
+	 * the named parameters of the passed map, so literal values of one request
+	 * never leak into another one.
+	 *
+	 * @param entityManager    the entity manager for query creation
+	 * @param shape            the unique shape of the query
+	 * @param resultClass      the class of the query result
+	 * @param criteriaSupplier the builder of the criteria query of the passed
+	 *                         shape
+	 * @param parameters       the values of the named parameters of the query
+	 * @return query with bound parameters
+	 */
+	public <T> TypedQuery<T> obtainQuery(EntityManager entityManager, String shape, Class<T> resultClass,
+			Supplier<CriteriaQuery<T>> criteriaSupplier, Map<String, Object> parameters) {
+		TypedQuery<T> query;
+		String queryString = queryStrings.get(shape);
+		if (queryString != null) {
+			hits.incrementAndGet();
+			query = entityManager.createQuery(queryString, resultClass);
+		} else {
+			misses.incrementAndGet();
+			query = entityManager.createQuery(criteriaSupplier.get());
+			String renderedQueryString = query.unwrap(Query.class).getQueryString();
+			if (PARAMETER_PATTERN.matcher(renderedQueryString).results()
+					.allMatch(parameter -> parameters.containsKey(parameter.group(1)))) {
+				if (queryStrings.size() >= MAX_CACHED_QUERIES) {
+					queryStrings.clear();
+				}
+				queryStrings.put(shape, renderedQueryString);
+			}
+		}
+		return bindParameters(query, parameters);
+	}
+
+	/**
+	 * Binds values of the passed map to the named parameters of the query.
+	 *
+	 * @param query      the query with named parameters
+	 * @param parameters the values of the named parameters
+	 * @return query with bound parameters
+	 */
+	public static <T> TypedQuery<T> bindParameters(TypedQuery<T> query, Map<String, Object> parameters) {
+		for (Parameter<?> parameter : query.getParameters()) {
+			if (parameter.getName() != null && parameters.containsKey(parameter.getName())) {
+				query.setParameter(parameter.getName(), parameters.get(parameter.getName()));
+			}
+		}
+		return query;
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder(METRIC_NAME, hits, AtomicLong::get).tag(RESULT_TAG, HIT).register(registry);
+		FunctionCounter.builder(METRIC_NAME, misses, AtomicLong::get).tag(RESULT_TAG, MISS).register(registry);
+	}
+}
@@ -1,48 +1,84 @@
 package com.epam.esm.repository.query_builder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.epam.esm.repository.cache.CacheRegion;
 import com.epam.esm.repository.model.EntityConstant;
 import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.repository.model.TagModel_;
 
 @Component
 public class TagQueryBuilder {
+	private static final String READ_BY_ID_SHAPE = "TagModel.readById";
+	private static final String READ_BY_NAME_SHAPE = "TagModel.readByName";
+	private static final String READ_BY_NAMES_SHAPE = "TagModel.readByNames";
+	private static final String NAMES_PARAMETER = "names";
 
-	public TagQueryBuilder() {
+	private final QueryPlanCache queryPlanCache;
 
+	@Autowired
+	public TagQueryBuilder(QueryPlanCache queryPlanCache) {
+		this.queryPlanCache = queryPlanCache;
 	}
 
 	public TypedQuery<TagModel> obtainReadByIdQuery(EntityManager entityManager, long tagId) {
-		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-		CriteriaQuery<TagModel> tagCriteria = criteriaBuilder.createQuery(TagModel.class);
-		Root<TagModel> tagRoot = tagCriteria.from(TagModel.class);
-		tagCriteria.select(tagRoot);
-
-		Predicate isDeletedPredicate = criteriaBuilder.equal(tagRoot.get(TagModel_.isDeleted), false);
-		Predicate idPredicate = criteriaBuilder.equal(tagRoot.get(TagModel_.id), tagId);
-		tagCriteria.where(isDeletedPredicate, idPredicate);
+		Map<String, Object> parameters = Map.of(EntityConstant.ID, tagId, EntityConstant.IS_DELETED, false);
+		return queryPlanCache.obtainQuery(entityManager, READ_BY_ID_SHAPE, TagModel.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<TagModel> tagCriteria = criteriaBuilder.createQuery(TagModel.class);
+			Root<TagModel> tagRoot = tagCriteria.from(TagModel.class);
+			tagCriteria.select(tagRoot);
 
-		return entityManager.createQuery(tagCriteria);
+			Predicate isDeletedPredicate = criteriaBuilder.equal(tagRoot.get(TagModel_.isDeleted),
+					criteriaBuilder.parameter(Boolean.class, EntityConstant.IS_DELETED));
+			Predicate idPredicate = criteriaBuilder.equal(tagRoot.get(TagModel_.id),
+					criteriaBuilder.parameter(Long.class, EntityConstant.ID));
+			tagCriteria.where(isDeletedPredicate, idPredicate);
+			return tagCriteria;
+		}, parameters);
 	}
 
 	public TypedQuery<TagModel> obtainReadByNameQuery(EntityManager entityManager, String tagName) {
+		Map<String, Object> parameters = Map.of(EntityConstant.NAME, tagName.toLowerCase());
+		TypedQuery<TagModel> tagQuery = queryPlanCache.obtainQuery(entityManager, READ_BY_NAME_SHAPE, TagModel.class,
+				() -> obtainReadByNameCriteria(entityManager), parameters);
+		return QueryBuilderUtil.cacheResults(tagQuery, CacheRegion.TAG_BY_NAME);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public TypedQuery<TagModel> obtainReadByNamesQuery(EntityManager entityManager, Collection<String> tagNames) {
+		return queryPlanCache.obtainQuery(entityManager, READ_BY_NAMES_SHAPE, TagModel.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<TagModel> tagCriteria = criteriaBuilder.createQuery(TagModel.class);
+			Root<TagModel> tagRoot = tagCriteria.from(TagModel.class);
+			tagCriteria.select(tagRoot);
+			tagCriteria.where(criteriaBuilder.lower(tagRoot.get(TagModel_.name))
+					.in((Expression) criteriaBuilder.parameter(Collection.class, NAMES_PARAMETER)));
+			return tagCriteria;
+		}, Map.of(NAMES_PARAMETER, tagNames));
+	}
+
+	private static CriteriaQuery<TagModel> obtainReadByNameCriteria(EntityManager entityManager) {
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 		CriteriaQuery<TagModel> tagCriteria = criteriaBuilder.createQuery(TagModel.class);
 		Root<TagModel> tagRoot = tagCriteria.from(TagModel.class);
 		tagCriteria.select(tagRoot);
-		tagCriteria.where(
-				criteriaBuilder.equal(criteriaBuilder.lower(tagRoot.get(TagModel_.name)), tagName.toLowerCase()));
-		return entityManager.createQuery(tagCriteria);
+		tagCriteria.where(criteriaBuilder.equal(criteriaBuilder.lower(tagRoot.get(TagModel_.name)),
+				criteriaBuilder.parameter(String.class, EntityConstant.NAME)));
+		return tagCriteria;
 	}
 }
@@ -1,34 +1,81 @@
 package com.epam.esm.repository.query_builder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.epam.esm.repository.cache.CacheRegion;
+import com.epam.esm.repository.model.EntityConstant;
 import com.epam.esm.repository.model.UserModel_;
 import com.epam.esm.repository.model.UserModel;
 
 @Component
 public class UserQueryBuilder {
+	private static final String READ_BY_LOGIN_SHAPE = "UserModel.readByLogin";
+	private static final String READ_BY_LOGINS_SHAPE = "UserModel.readByLogins";
+	private static final String READ_EXISTING_IDS_SHAPE = "UserModel.readExistingIds";
+	private static final String IDS_PARAMETER = "ids";
+	private static final String LOGINS_PARAMETER = "logins";
 
-	public UserQueryBuilder() {
+	private final QueryPlanCache queryPlanCache;
 
+	@Autowired
+	public UserQueryBuilder(QueryPlanCache queryPlanCache) {
+		this.queryPlanCache = queryPlanCache;
 	}
 
 	public TypedQuery<UserModel> obtainReadByLoginQuery(EntityManager entityManager, String login) {
+		Map<String, Object> parameters = Map.of(EntityConstant.USER_LOGIN, login.toLowerCase());
+		TypedQuery<UserModel> userQuery = queryPlanCache.obtainQuery(entityManager, READ_BY_LOGIN_SHAPE,
+				UserModel.class, () -> obtainReadByLoginCriteria(entityManager), parameters);
+		return QueryBuilderUtil.cacheResults(userQuery, CacheRegion.USER_BY_LOGIN);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public TypedQuery<UserModel> obtainReadByLoginsQuery(EntityManager entityManager, Collection<String> logins) {
+		return queryPlanCache.obtainQuery(entityManager, READ_BY_LOGINS_SHAPE, UserModel.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<UserModel> userCriteria = criteriaBuilder.createQuery(UserModel.class);
+			Root<UserModel> userRoot = userCriteria.from(UserModel.class);
+			userCriteria.select(userRoot);
+			userCriteria.where(criteriaBuilder.lower(userRoot.get(UserModel_.login))
+					.in((Expression) criteriaBuilder.parameter(Collection.class, LOGINS_PARAMETER)));
+			return userCriteria;
+		}, Map.of(LOGINS_PARAMETER, logins));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public TypedQuery<Long> obtainExistingIdsQuery(EntityManager entityManager, Collection<Long> ids) {
+		return queryPlanCache.obtainQuery(entityManager, READ_EXISTING_IDS_SHAPE, Long.class, () -> {
+			CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<Long> idCriteria = criteriaBuilder.createQuery(Long.class);
+			Root<UserModel> userRoot = idCriteria.from(UserModel.class);
+			idCriteria.select(userRoot.get(UserModel_.id));
+			idCriteria.where(userRoot.get(UserModel_.id)
+					.in((Expression) criteriaBuilder.parameter(Collection.class, IDS_PARAMETER)));
+			return idCriteria;
+		}, Map.of(IDS_PARAMETER, ids));
+	}
+
+	private static CriteriaQuery<UserModel> obtainReadByLoginCriteria(EntityManager entityManager) {
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
 		CriteriaQuery<UserModel> userCriteria = criteriaBuilder.createQuery(UserModel.class);
 		Root<UserModel> userRoot = userCriteria.from(UserModel.class);
 		userCriteria.select(userRoot);
-		userCriteria.where(
-				criteriaBuilder.equal(criteriaBuilder.lower(userRoot.get(UserModel_.login)), login.toLowerCase()));
-		return entityManager.createQuery(userCriteria);
+		userCriteria.where(criteriaBuilder.equal(criteriaBuilder.lower(userRoot.get(UserModel_.login)),
+				criteriaBuilder.parameter(String.class, EntityConstant.USER_LOGIN)));
+		return userCriteria;
 	}
 }
@@ -0,0 +1,104 @@
+package com.epam.esm.repository.schema;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ * Checks at startup that the indexes created by the schema migrations for the
+ * predicates and sort keys of the repositories exist, and warns about every
+ * missing one. Without them name lookups, sorted pages and tag filters are
+ * served by full scans. The check is done only if it is enabled by
+ * {@code schema.index-check.enabled} property.
+ *
+ */
+@Component
+public class SchemaIndexChecker {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SchemaIndexChecker.class);
+	private static final String INDEX_NAME_COLUMN = "INDEX_NAME";
+	private static final Map<String, List<String>> EXPECTED_INDEXES = new LinkedHashMap<>();
+
+	static {
+		EXPECTED_INDEXES.put("gift_certificates",
+				List.of("ix_gift_certificates_lower_name", "uk_gift_certificates_active_name",
+						"ix_gift_certificates_deleted_id", "ix_gift_certificates_deleted_name",
+						"ix_gift_certificates_deleted_price", "ix_gift_certificates_deleted_create_date",
+						"ix_gift_certificates_last_update_date"));
+		EXPECTED_INDEXES.put("tags", List.of("ix_tags_lower_name", "ix_tags_deleted_id"));
+		EXPECTED_INDEXES.put("users", List.of("ix_users_lower_login"));
+		EXPECTED_INDEXES.put("roles", List.of("ix_roles_lower_name"));
+		EXPECTED_INDEXES.put("tags_certificates", List.of("ix_tags_certificates_tag_certificate"));
+		EXPECTED_INDEXES.put("orders", List.of("ix_orders_user_date"));
+	}
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${schema.index-check.enabled:false}")
+	private boolean enabled;
+
+	public SchemaIndexChecker() {
+
+	}
+
+	/**
+	 * Warns about every expected index which is missing in the database.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void check() {
+		if (!enabled) {
+			return;
+		}
+		findMissingIndexes().forEach(index -> LOGGER.warn(
+				"Index {} is missing, run the schema migrations to avoid full scans of the table", index));
+	}
+
+	/**
+	 * Finds expected indexes which are missing in the database.
+	 *
+	 * @return names of the missing indexes qualified by the table name
+	 */
+	public List<String> findMissingIndexes() {
+		return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			List<String> missingIndexes = new ArrayList<>();
+			for (Map.Entry<String, List<String>> tableIndexes : EXPECTED_INDEXES.entrySet()) {
+				Set<String> existingIndexes = new HashSet<>();
+				for (String table : List.of(tableIndexes.getKey(), tableIndexes.getKey().toUpperCase())) {
+					try (ResultSet indexInfo = metaData.getIndexInfo(connection.getCatalog(), null, table, false,
+							true)) {
+						while (indexInfo.next()) {
+							String indexName = indexInfo.getString(INDEX_NAME_COLUMN);
+							if (indexName != null) {
+								existingIndexes.add(indexName.toLowerCase());
+							}
+						}
+					}
+				}
+				for (String index : tableIndexes.getValue()) {
+					if (!existingIndexes.contains(index)) {
+						missingIndexes.add(tableIndexes.getKey() + "." + index);
+					}
+				}
+			}
+			return missingIndexes;
+		});
+	}
+}
@@ -0,0 +1,76 @@
+CREATE TABLE IF NOT EXISTS roles (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(25) NOT NULL,
+
+  CONSTRAINT pk_roles PRIMARY KEY (id),
+  CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  login VARCHAR(25) NOT NULL,
+  role_id BIGINT NOT NULL,
+
+  CONSTRAINT pk_users PRIMARY KEY (id),
+  CONSTRAINT uk_users_login UNIQUE (login),
+  CONSTRAINT fk_users_role_id FOREIGN KEY (role_id)
+        REFERENCES roles (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE TABLE IF NOT EXISTS gift_certificates (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(50) NOT NULL,
+  description VARCHAR(1000) NOT NULL,
+  price DECIMAL(7,2) NOT NULL,
+  duration INTEGER NOT NULL,
+  create_date DATETIME(6) NOT NULL,
+  last_update_date DATETIME(6) NOT NULL,
+  is_deleted BIT(1) NOT NULL DEFAULT 0,
+
+  CONSTRAINT pk_certificates PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tags (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(25) NOT NULL,
+  is_deleted BIT(1) NOT NULL DEFAULT 0,
+
+  CONSTRAINT pk_tags PRIMARY KEY (id),
+  CONSTRAINT uk_tags_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS tags_certificates (
+  certificate_id BIGINT NOT NULL,
+  tag_id BIGINT NOT NULL,
+
+  CONSTRAINT pk_tags_certificates PRIMARY KEY (certificate_id, tag_id),
+  CONSTRAINT fk_tags_certificates_tag_id FOREIGN KEY (tag_id)
+        REFERENCES tags (id) ON DELETE NO ACTION ON UPDATE NO ACTION,
+  CONSTRAINT fk_tags_certificates_certificate_id FOREIGN KEY (certificate_id)
+        REFERENCES gift_certificates (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  cost DECIMAL(19,2) NOT NULL,
+  date DATETIME(6) NOT NULL,
+  user_id BIGINT NOT NULL,
+
+  CONSTRAINT pk_orders PRIMARY KEY (id),
+  CONSTRAINT fk_orders_user_id FOREIGN KEY (user_id)
+        REFERENCES users (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+CREATE TABLE IF NOT EXISTS orders_certificates (
+  order_id BIGINT NOT NULL,
+  certificate_id BIGINT NOT NULL,
+  certificate_amount INTEGER,
+
+  CONSTRAINT pk_orders_certificates PRIMARY KEY (order_id, certificate_id),
+  CONSTRAINT fk_orders_certificates_order_id FOREIGN KEY (order_id)
+        REFERENCES orders (id) ON DELETE NO ACTION ON UPDATE NO ACTION,
+  CONSTRAINT fk_orders_certificates_certificate_id FOREIGN KEY (certificate_id)
+        REFERENCES gift_certificates (id) ON DELETE NO ACTION ON UPDATE NO ACTION
+);
+
+INSERT INTO roles (name) SELECT 'user' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM roles WHERE name = 'user');
@@ -0,0 +1,20 @@
+-- Name lookups compare lower-cased values, so only functional indexes on the
+-- same expressions can serve them (MySQL 8.0.13+).
+CREATE INDEX ix_gift_certificates_lower_name ON gift_certificates ((LOWER(name)));
+CREATE INDEX ix_tags_lower_name ON tags ((LOWER(name)));
+CREATE INDEX ix_users_lower_login ON users ((LOWER(login)));
+CREATE INDEX ix_roles_lower_name ON roles ((LOWER(name)));
+
+-- Every certificate read filters not deleted rows and is ordered by the sort
+-- key with id as the tie-breaker of the keyset pagination.
+CREATE INDEX ix_gift_certificates_deleted_id ON gift_certificates (is_deleted, id);
+CREATE INDEX ix_gift_certificates_deleted_name ON gift_certificates (is_deleted, name, id);
+CREATE INDEX ix_gift_certificates_deleted_price ON gift_certificates (is_deleted, price, id);
+CREATE INDEX ix_gift_certificates_deleted_create_date ON gift_certificates (is_deleted, create_date, id);
+CREATE INDEX ix_tags_deleted_id ON tags (is_deleted, id);
+
+-- Tag filter and tag membership are resolved from the tag side.
+CREATE INDEX ix_tags_certificates_tag_certificate ON tags_certificates (tag_id, certificate_id);
+
+-- Orders of the user are read page by page.
+CREATE INDEX ix_orders_user_date ON orders (user_id, date, id);
@@ -0,0 +1,37 @@
+-- Uniqueness of names and logins is enforced by the database, so the rows are
+-- inserted without reading them beforehand and the violations are reported as
+-- duplicates. The lookup indexes on the lower-cased values become unique, so
+-- the names which differ only in case collide regardless of the collation.
+DROP INDEX ix_tags_lower_name ON tags;
+CREATE UNIQUE INDEX ix_tags_lower_name ON tags ((LOWER(name)));
+DROP INDEX ix_users_lower_login ON users;
+CREATE UNIQUE INDEX ix_users_lower_login ON users ((LOWER(login)));
+
+-- Certificate names are unique only among not deleted certificates, so the
+-- names of the deleted ones may be reused. Not deleted certificates which
+-- already share the name keep it only for the oldest one, the others get
+-- their id appended. Every renamed certificate is recorded in
+-- certificate_name_renames with its previous name, so the renames can be
+-- reviewed and reverted by hand.
+CREATE TABLE certificate_name_renames (
+  certificate_id BIGINT NOT NULL,
+  old_name VARCHAR(50) NOT NULL,
+  new_name VARCHAR(50) NOT NULL,
+  renamed_at DATETIME(6) NOT NULL,
+
+  CONSTRAINT pk_certificate_name_renames PRIMARY KEY (certificate_id)
+);
+
+INSERT INTO certificate_name_renames (certificate_id, old_name, new_name, renamed_at)
+  SELECT c.id, c.name, CONCAT(LEFT(c.name, 49 - CHAR_LENGTH(c.id)), '#', c.id), NOW(6)
+  FROM gift_certificates c
+  JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY LOWER(name) ORDER BY id) AS name_rank
+        FROM gift_certificates WHERE is_deleted = 0) d ON d.id = c.id
+  WHERE d.name_rank > 1;
+
+UPDATE gift_certificates c
+  JOIN certificate_name_renames r ON r.certificate_id = c.id
+  SET c.name = r.new_name;
+
+CREATE UNIQUE INDEX uk_gift_certificates_active_name
+  ON gift_certificates ((CASE WHEN is_deleted = 0 THEN LOWER(name) END));
@@ -0,0 +1,8 @@
+-- The chunks of the generated data are committed together with their markers,
+-- so the interrupted generation resumes from the chunks which have no marker.
+CREATE TABLE IF NOT EXISTS generator_chunks (
+  stage VARCHAR(25) NOT NULL,
+  chunk_number INTEGER NOT NULL,
+
+  CONSTRAINT pk_generator_chunks PRIMARY KEY (stage, chunk_number)
+);
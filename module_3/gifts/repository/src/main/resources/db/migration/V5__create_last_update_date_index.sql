@@ -0,0 +1,4 @@
+-- The in-memory certificate indexes are refreshed from the certificates which
+-- were created after the indexed id or changed since the previous refresh.
+-- Soft deletes set the last update date too, so deletions are found the same way.
+CREATE INDEX ix_gift_certificates_last_update_date ON gift_certificates (last_update_date);
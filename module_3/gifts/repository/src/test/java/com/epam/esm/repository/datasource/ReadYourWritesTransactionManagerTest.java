@@ -0,0 +1,55 @@
+package com.epam.esm.repository.datasource;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadYourWritesTransactionManagerTest {
+	private static final String SESSION_KEY = "session";
+	private static final long STICKINESS_MILLIS = 60000;
+	private ReadYourWritesTracker readYourWritesTracker;
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	public void setUp() {
+		readYourWritesTracker = new ReadYourWritesTracker();
+		ReflectionTestUtils.setField(readYourWritesTracker, "stickinessMillis", STICKINESS_MILLIS);
+		readYourWritesTracker.bindSession(SESSION_KEY);
+		ReadYourWritesTransactionManager transactionManager = new ReadYourWritesTransactionManager(
+				readYourWritesTracker);
+		transactionManager
+				.setEntityManagerFactory(Mockito.mock(EntityManagerFactory.class, Mockito.RETURNS_DEEP_STUBS));
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		readYourWritesTracker.unbindSession();
+	}
+
+	@Test
+	void testCommittedWriteMarksSession() {
+		transactionTemplate.executeWithoutResult(status -> Assertions.assertFalse(readYourWritesTracker.isSticky()));
+		Assertions.assertTrue(readYourWritesTracker.isSticky());
+	}
+
+	@Test
+	void testReadOnlyDoesNotMarkSession() {
+		transactionTemplate.setReadOnly(true);
+		transactionTemplate.executeWithoutResult(status -> {
+		});
+		Assertions.assertFalse(readYourWritesTracker.isSticky());
+	}
+
+	@Test
+	void testRolledBackWriteDoesNotMarkSession() {
+		transactionTemplate.executeWithoutResult(status -> status.setRollbackOnly());
+		Assertions.assertFalse(readYourWritesTracker.isSticky());
+	}
+}
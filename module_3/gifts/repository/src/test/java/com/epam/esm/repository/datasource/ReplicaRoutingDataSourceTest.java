@@ -0,0 +1,92 @@
+package com.epam.esm.repository.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTest {
+	private static final String PRIMARY_URL = "jdbc:h2:mem:primary";
+	private static final String REPLICA_URL = "jdbc:h2:mem:replica";
+	private static final String LAG_QUERY = "SELECT 3 AS Seconds_Behind_Source";
+	private static final String LAG_COLUMN = "Seconds_Behind_Source";
+	private static final String SESSION_KEY = "session";
+	private static final long STICKINESS_MILLIS = 60000;
+	private static final long MAX_LAG_SECONDS = 5;
+	private static final long EXCEEDED_MAX_LAG_SECONDS = 1;
+	private ReadYourWritesTracker readYourWritesTracker;
+	private ReplicaRoutingDataSource routingDataSource;
+
+	@BeforeEach
+	public void setUp() {
+		readYourWritesTracker = new ReadYourWritesTracker();
+		ReflectionTestUtils.setField(readYourWritesTracker, "stickinessMillis", STICKINESS_MILLIS);
+		routingDataSource = new ReplicaRoutingDataSource(obtainDataSource(PRIMARY_URL),
+				List.of(obtainDataSource(REPLICA_URL)), readYourWritesTracker);
+		routingDataSource.setLagQuery(LAG_QUERY, LAG_COLUMN);
+		routingDataSource.setMaxLagSeconds(MAX_LAG_SECONDS);
+		routingDataSource.afterPropertiesSet();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		readYourWritesTracker.unbindSession();
+	}
+
+	@Test
+	void testWriteIsRoutedToPrimary() throws SQLException {
+		Assertions.assertEquals(PRIMARY_URL, obtainConnectionUrl());
+	}
+
+	@Test
+	void testReadOnlyIsRoutedToReplica() throws SQLException {
+		routingDataSource.checkReplicaLags();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		Assertions.assertEquals(REPLICA_URL, obtainConnectionUrl());
+	}
+
+	@Test
+	void testReadOnlyBeforeLagCheckIsRoutedToPrimary() throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		Assertions.assertEquals(PRIMARY_URL, obtainConnectionUrl());
+	}
+
+	@Test
+	void testReadOnlyAfterWriteIsRoutedToPrimary() throws SQLException {
+		routingDataSource.checkReplicaLags();
+		readYourWritesTracker.bindSession(SESSION_KEY);
+		readYourWritesTracker.markWritten();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		Assertions.assertEquals(PRIMARY_URL, obtainConnectionUrl());
+	}
+
+	@Test
+	void testReadOnlyWithLaggingReplicaIsRoutedToPrimary() throws SQLException {
+		routingDataSource.setMaxLagSeconds(EXCEEDED_MAX_LAG_SECONDS);
+		routingDataSource.checkReplicaLags();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		Assertions.assertEquals(PRIMARY_URL, obtainConnectionUrl());
+	}
+
+	private String obtainConnectionUrl() throws SQLException {
+		try (Connection connection = routingDataSource.getConnection()) {
+			return connection.getMetaData().getURL();
+		}
+	}
+
+	private static DataSource obtainDataSource(String url) {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL(url);
+		return dataSource;
+	}
+}
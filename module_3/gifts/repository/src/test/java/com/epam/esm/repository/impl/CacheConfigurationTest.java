@@ -0,0 +1,47 @@
+package com.epam.esm.repository.impl;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+
+import com.epam.esm.repository.cache.CacheRegion;
+
+@DataJpaTest
+@EntityScan("com.epam.esm")
+@ComponentScan("com.epam.esm")
+class CacheConfigurationTest {
+	private static final long CERTIFICATE_TAGS_HEAP_ENTRIES = 50000;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void testCacheRegionsAreConfiguredByEhcacheXml() {
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+		Assertions.assertTrue(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+		CacheManager cacheManager = ((JCacheRegionFactory) sessionFactory.getCache().getRegionFactory())
+				.getCacheManager();
+
+		for (String region : CacheRegion.ALL) {
+			Assertions.assertNotNull(cacheManager.getCache(region), region);
+		}
+		Cache<Object, Object> certificateTags = cacheManager.getCache(CacheRegion.CERTIFICATE_TAGS);
+		@SuppressWarnings("unchecked")
+		Eh107Configuration<Object, Object> configuration = certificateTags.getConfiguration(Eh107Configuration.class);
+		CacheRuntimeConfiguration<?, ?> runtimeConfiguration = configuration.unwrap(CacheRuntimeConfiguration.class);
+		Assertions.assertEquals(CERTIFICATE_TAGS_HEAP_ENTRIES,
+				runtimeConfiguration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize());
+	}
+}
@@ -1,10 +1,13 @@
 package com.epam.esm.repository.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -20,13 +23,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.repository.CertificateRepository;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
+import com.epam.esm.repository.index.CertificateIndexRefresher;
+import com.epam.esm.repository.index.CertificateRelevanceIndex;
+import com.epam.esm.repository.index.CertificateSearchIndex;
+import com.epam.esm.repository.index.TagCertificateIndex;
 import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.CertificatePriceModel;
 import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.repository.model.TagModel;
 
 @DataJpaTest
@@ -36,13 +48,23 @@ import com.epam.esm.repository.model.TagModel;
 class CertificateRepositoryImplTest {
 	private static final Long CERTIFICATE_ID_1 = 1L;
 	private static final int OFFSET = 0;
+	private static final int LIMIT_1 = 1;
 	private static final int LIMIT_2 = 2;
 	private static final int DELETED_CERTIFICATES_AMOUNT = 1;
 
 	private static final String CERTIFICATE_NAME = "certificate for Museum of Arts";
 	private static final String SEARCH_PATTERN = "museum";
 	private static final String TAG_NAME = "fAmILy";
+	private static final String SECOND_TAG_NAME = "Food";
+	private static final String NOT_EXISTENT_TAG_NAME = "sport";
+	private static final String INDEX_ENABLED_FIELD = "enabled";
+	private static final String RELEVANCE_SEARCH_PATTERN = "for";
 	private static final long TAG_ID_1 = 1;
+	private static final String DELETE_CHUNK_SIZE_FIELD = "deleteChunkSize";
+	private static final long NOT_EXISTENT_ID = 100L;
+	private static final String LAST_UPDATE_DATE_PARAMETER = "lastUpdateDate";
+	private static final String DELETE_BY_OTHER_NODE_QUERY = "UPDATE CertificateModel c SET c.isDeleted = true, "
+			+ "c.lastUpdateDate = :lastUpdateDate WHERE c.id = :id";
 
 	private CertificateModel certificate1;
 	private CertificateModel certificate2;
@@ -53,6 +75,18 @@ class CertificateRepositoryImplTest {
 	@Autowired
 	private CertificateRepository certificateRepository;
 
+	@Autowired
+	private TagCertificateIndex tagCertificateIndex;
+
+	@Autowired
+	private CertificateIndexRefresher certificateIndexRefresher;
+
+	@Autowired
+	private CertificateSearchIndex certificateSearchIndex;
+
+	@Autowired
+	private CertificateRelevanceIndex certificateRelevanceIndex;
+
 	@PersistenceContext
 	private EntityManager entityManager;
 
@@ -105,6 +139,25 @@ class CertificateRepositoryImplTest {
 		Assertions.assertEquals(certificate1, actual);
 	}
 
+	@Test
+	void testSaveWithDuplicatedName() {
+		certificateRepository.save(certificate2);
+		certificate1.setName(CERTIFICATE_NAME);
+		DuplicatedKeyException actual = Assertions.assertThrows(DuplicatedKeyException.class, () -> {
+			certificateRepository.save(certificate1);
+		});
+		Assertions.assertEquals(Arrays.asList(CERTIFICATE_NAME), actual.getDuplicatedKeys());
+	}
+
+	@Test
+	void testSaveWithNameOfDeletedCertificate() {
+		certificateRepository.save(certificate2);
+		certificateRepository.delete(certificate2.getId());
+		certificate1.setName(CERTIFICATE_NAME);
+		CertificateModel actual = certificateRepository.save(certificate1);
+		Assertions.assertNotNull(actual.getId());
+	}
+
 	@Test
 	void testSaveCertificates() {
 		List<CertificateModel> expected = new ArrayList<>();
@@ -114,6 +167,17 @@ class CertificateRepositoryImplTest {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	void testSaveCertificatesWithTagLinks() {
+		List<CertificateModel> certificates = new ArrayList<>();
+		certificates.add(certificate1);
+		certificates.add(certificate2);
+		certificateRepository.saveCertificates(certificates);
+		Assertions.assertNotNull(certificate1.getId());
+		Assertions.assertNotNull(certificate2.getId());
+		Assertions.assertEquals(certificates.size(), certificateRepository.readByTagId(tag2.getId()).size());
+	}
+
 	@Test
 	void testFindById() {
 		entityManager.persist(certificate1);
@@ -121,6 +185,16 @@ class CertificateRepositoryImplTest {
 		Assertions.assertEquals(Optional.of(certificate1), actual);
 	}
 
+	@Test
+	void testFindByIdIsNotManaged() {
+		entityManager.persist(certificate1);
+		entityManager.flush();
+		entityManager.clear();
+		CertificateModel actual = certificateRepository.findById(CERTIFICATE_ID_1).get();
+		Assertions.assertFalse(entityManager.contains(actual));
+		Assertions.assertEquals(certificate1.getTags().size(), actual.getTags().size());
+	}
+
 	@Test
 	void testFindByName() {
 		entityManager.persist(certificate2);
@@ -135,6 +209,46 @@ class CertificateRepositoryImplTest {
 		Assertions.assertTrue(actual);
 	}
 
+	@Test
+	void testCertificateExistsById() {
+		entityManager.persist(certificate1);
+		boolean actual = certificateRepository.certificateExistsById(CERTIFICATE_ID_1);
+		Assertions.assertTrue(actual);
+	}
+
+	@Test
+	void testFindExistingIds() {
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		certificateRepository.delete(certificate2.getId());
+		Set<Long> expected = Set.of(certificate1.getId());
+		Set<Long> actual = certificateRepository
+				.findExistingIds(Arrays.asList(certificate1.getId(), certificate2.getId(), NOT_EXISTENT_ID));
+		Assertions.assertEquals(expected, actual);
+	}
+
+	@Test
+	void testFindAllByIds() {
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		certificateRepository.delete(certificate2.getId());
+		Map<Long, CertificatePriceModel> actual = certificateRepository
+				.findAllByIds(Arrays.asList(certificate1.getId(), certificate2.getId(), NOT_EXISTENT_ID));
+		Assertions.assertEquals(LIMIT_2, actual.size());
+		Assertions.assertEquals(0, certificate1.getPrice().compareTo(actual.get(certificate1.getId()).getPrice()));
+		Assertions.assertTrue(actual.get(certificate2.getId()).isDeleted());
+	}
+
+	@Test
+	void testFindAllByIdsWithTags() {
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		Map<Long, CertificateModel> actual = certificateRepository
+				.findAllByIdsWithTags(Arrays.asList(certificate1.getId(), NOT_EXISTENT_ID));
+		Assertions.assertEquals(1, actual.size());
+		Assertions.assertEquals(certificate1.getTags().size(), actual.get(certificate1.getId()).getTags().size());
+	}
+
 	@Test
 	void testReadAllWithSearch() {
 		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
@@ -151,6 +265,69 @@ class CertificateRepositoryImplTest {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	void testReadAllWithSearchBySearchIndex() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		entityManager.flush();
+		ReflectionTestUtils.setField(certificateSearchIndex, INDEX_ENABLED_FIELD, true);
+		certificateIndexRefresher.rebuild();
+		params.add(EntityConstant.SEARCH, SEARCH_PATTERN);
+
+		Pageable pageable = PageRequest.of(OFFSET, LIMIT_2);
+		List<CertificateModel> expectedList = Arrays.asList(certificate2);
+		Page<CertificateModel> expected = new PageImpl<>(expectedList, pageable, expectedList.size());
+
+		Page<CertificateModel> actual = certificateRepository.findAll(params, OFFSET, LIMIT_2);
+
+		Assertions.assertTrue(certificateSearchIndex.isAvailable());
+		Assertions.assertEquals(expected, actual);
+	}
+
+	@Test
+	void testReadAllWithSearchBySearchIndexIncludesNotIndexedCertificates() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		entityManager.flush();
+		ReflectionTestUtils.setField(certificateSearchIndex, INDEX_ENABLED_FIELD, true);
+		certificateIndexRefresher.rebuild();
+		entityManager.persist(certificate2);
+		entityManager.flush();
+		params.add(EntityConstant.SEARCH, SEARCH_PATTERN);
+		params.add(EntityConstant.ORDER_BY, EntityConstant.NAME);
+
+		Pageable pageable = PageRequest.of(OFFSET, LIMIT_2);
+		List<CertificateModel> expectedList = Arrays.asList(certificate2);
+		Page<CertificateModel> expected = new PageImpl<>(expectedList, pageable, expectedList.size());
+
+		Page<CertificateModel> actual = certificateRepository.findAll(params, OFFSET, LIMIT_2);
+
+		Assertions.assertEquals(Optional.of(List.of()),
+				certificateSearchIndex.findCandidateIds(SEARCH_PATTERN, certificateSearchIndex.obtainIndexedId()));
+		Assertions.assertEquals(expected, actual);
+	}
+
+	@Test
+	void testReadAllByRelevance() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		entityManager.flush();
+		ReflectionTestUtils.setField(certificateRelevanceIndex, INDEX_ENABLED_FIELD, true);
+		certificateIndexRefresher.rebuild();
+		params.add(EntityConstant.SEARCH, RELEVANCE_SEARCH_PATTERN);
+		params.add(EntityConstant.ORDER_BY, EntityConstant.CERTIFICATE_RELEVANCE);
+
+		Pageable pageable = PageRequest.of(OFFSET, LIMIT_1);
+		List<CertificateModel> expectedList = Arrays.asList(certificate2);
+		Page<CertificateModel> expected = new PageImpl<>(expectedList, pageable, LIMIT_2);
+
+		Page<CertificateModel> actual = certificateRepository.findAll(params, OFFSET, LIMIT_1);
+
+		Assertions.assertEquals(expected, actual);
+	}
+
 	@Test
 	void testReadAllWithTag() {
 		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
@@ -167,6 +344,150 @@ class CertificateRepositoryImplTest {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	void testStreamAll() {
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+
+		List<CertificateModel> actual = new ArrayList<>();
+		long amount = certificateRepository.streamAll(new LinkedMultiValueMap<String, String>(), actual::add);
+
+		Assertions.assertEquals(2, amount);
+		Assertions.assertEquals(certificate1.getId(), actual.get(0).getId());
+		Assertions.assertEquals(certificate1.getName(), actual.get(0).getName());
+		Assertions.assertEquals(0, certificate1.getPrice().compareTo(actual.get(0).getPrice()));
+		Assertions.assertEquals(certificate1.getTags().size(), actual.get(0).getTags().size());
+		Assertions.assertEquals(certificate2.getId(), actual.get(1).getId());
+		Assertions.assertEquals(certificate2.getTags().size(), actual.get(1).getTags().size());
+	}
+
+	@Test
+	void testStreamAllWithTag() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		params.add(EntityConstant.TAG, SECOND_TAG_NAME);
+
+		List<CertificateModel> actual = new ArrayList<>();
+		long amount = certificateRepository.streamAll(params, actual::add);
+
+		Assertions.assertEquals(1, amount);
+		Assertions.assertEquals(certificate1.getId(), actual.get(0).getId());
+		Assertions.assertEquals(certificate1.getTags().size(), actual.get(0).getTags().size());
+	}
+
+	@Test
+	void testReadAllWithSeveralTags() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		params.add(EntityConstant.TAG, TAG_NAME);
+		params.add(EntityConstant.TAG, SECOND_TAG_NAME);
+
+		Pageable pageable = PageRequest.of(OFFSET, LIMIT_2);
+		List<CertificateModel> expectedList = Arrays.asList(certificate1);
+		Page<CertificateModel> expected = new PageImpl<>(expectedList, pageable, expectedList.size());
+
+		Page<CertificateModel> actual = certificateRepository.findAll(params, OFFSET, LIMIT_2);
+
+		Assertions.assertEquals(expected, actual);
+	}
+
+	@Test
+	void testReadAllWithSeveralTagsByTagIndex() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		entityManager.flush();
+		ReflectionTestUtils.setField(tagCertificateIndex, INDEX_ENABLED_FIELD, true);
+		certificateIndexRefresher.rebuild();
+		params.add(EntityConstant.TAG, TAG_NAME);
+		params.add(EntityConstant.TAG, SECOND_TAG_NAME);
+
+		Pageable pageable = PageRequest.of(OFFSET, LIMIT_2);
+		List<CertificateModel> expectedList = Arrays.asList(certificate1);
+		Page<CertificateModel> expected = new PageImpl<>(expectedList, pageable, expectedList.size());
+
+		Page<CertificateModel> actual = certificateRepository.findAll(params, OFFSET, LIMIT_2);
+
+		Assertions.assertTrue(tagCertificateIndex.isAvailable());
+		Assertions.assertEquals(expected, actual);
+	}
+
+	@Test
+	void testReadAllWithTagByTagIndexIncludesNotIndexedCertificates() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		entityManager.flush();
+		ReflectionTestUtils.setField(tagCertificateIndex, INDEX_ENABLED_FIELD, true);
+		certificateIndexRefresher.rebuild();
+		entityManager.persist(certificate2);
+		entityManager.flush();
+		params.add(EntityConstant.TAG, TAG_NAME);
+
+		Page<CertificateModel> firstPage = certificateRepository.findAll(params, OFFSET, LIMIT_1);
+		Page<CertificateModel> secondPage = certificateRepository.findAll(params, LIMIT_1, LIMIT_1);
+
+		Assertions.assertEquals(Arrays.asList(certificate1), firstPage.getContent());
+		Assertions.assertEquals(Arrays.asList(certificate2), secondPage.getContent());
+		Assertions.assertEquals(LIMIT_2, secondPage.getTotalElements());
+	}
+
+	@Test
+	void testRebuildLoadsIndexes() {
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		entityManager.flush();
+		ReflectionTestUtils.setField(tagCertificateIndex, INDEX_ENABLED_FIELD, true);
+		ReflectionTestUtils.setField(certificateSearchIndex, INDEX_ENABLED_FIELD, true);
+		ReflectionTestUtils.setField(certificateRelevanceIndex, INDEX_ENABLED_FIELD, true);
+
+		certificateIndexRefresher.rebuild();
+
+		Assertions.assertTrue(tagCertificateIndex.isAvailable());
+		Assertions.assertEquals(certificate2.getId(), tagCertificateIndex.obtainIndexedId());
+		Assertions.assertEquals(2, tagCertificateIndex.findCertificateIds(List.of(tag2.getId())).cardinality());
+		Assertions.assertEquals(Optional.of(List.of(certificate2.getId())),
+				certificateSearchIndex.findCandidateIds(SEARCH_PATTERN, certificateSearchIndex.obtainIndexedId()));
+		Assertions.assertEquals(List.of(certificate2.getId()), certificateRelevanceIndex
+				.findMostRelevantIds(List.of(certificate1.getId(), certificate2.getId()), SEARCH_PATTERN, 1));
+	}
+
+	@Test
+	void testRefreshRemovesCertificatesDeletedByOtherNode() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		entityManager.flush();
+		ReflectionTestUtils.setField(tagCertificateIndex, INDEX_ENABLED_FIELD, true);
+		certificateIndexRefresher.rebuild();
+		entityManager.createQuery(DELETE_BY_OTHER_NODE_QUERY).setParameter(EntityConstant.ID, certificate2.getId())
+				.setParameter(LAST_UPDATE_DATE_PARAMETER, LocalDateTime.now()).executeUpdate();
+		certificateIndexRefresher.refresh();
+		params.add(EntityConstant.TAG, TAG_NAME);
+
+		Page<CertificateModel> actual = certificateRepository.findAll(params, OFFSET, LIMIT_2);
+
+		Assertions.assertEquals(Arrays.asList(certificate1), actual.getContent());
+		Assertions.assertFalse(tagCertificateIndex.findCertificateIds(List.of(tag2.getId()))
+				.contains(certificate2.getId()));
+	}
+
+	@Test
+	void testReadAllWithNotExistentTag() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		params.add(EntityConstant.TAG, TAG_NAME);
+		params.add(EntityConstant.TAG, NOT_EXISTENT_TAG_NAME);
+
+		Pageable pageable = PageRequest.of(OFFSET, LIMIT_2);
+		Page<CertificateModel> expected = new PageImpl<>(new ArrayList<>(), pageable, 0);
+
+		Page<CertificateModel> actual = certificateRepository.findAll(params, OFFSET, LIMIT_2);
+
+		Assertions.assertEquals(expected, actual);
+	}
+
 	@Test
 	void testFindAll() {
 		entityManager.persist(certificate1);
@@ -181,6 +502,28 @@ class CertificateRepositoryImplTest {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	void testFindAllByCursor() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<String, String>();
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		params.add(EntityConstant.ORDER_BY, EntityConstant.CERTIFICATE_PRICE);
+
+		Slice<CertificateModel> firstPage = certificateRepository.findAll(params, null, LIMIT_1);
+		Assertions.assertEquals(Arrays.asList(certificate2), firstPage.getContent());
+		Assertions.assertTrue(firstPage.hasNext());
+
+		KeysetCursor nextCursor = new KeysetCursor(Arrays.asList("45.00"), certificate2.getId(), false);
+		Slice<CertificateModel> secondPage = certificateRepository.findAll(params, nextCursor, LIMIT_1);
+		Assertions.assertEquals(Arrays.asList(certificate1), secondPage.getContent());
+		Assertions.assertFalse(secondPage.hasNext());
+
+		KeysetCursor previousCursor = new KeysetCursor(Arrays.asList("50.00"), certificate1.getId(), true);
+		Slice<CertificateModel> previousPage = certificateRepository.findAll(params, previousCursor, LIMIT_1);
+		Assertions.assertEquals(Arrays.asList(certificate2), previousPage.getContent());
+		Assertions.assertFalse(previousPage.hasNext());
+	}
+
 	@Test
 	void testUpdateCertificate() {
 		entityManager.persist(certificate1);
@@ -202,4 +545,19 @@ class CertificateRepositoryImplTest {
 		int actual = certificateRepository.delete(CERTIFICATE_ID_1);
 		Assertions.assertEquals(DELETED_CERTIFICATES_AMOUNT, actual);
 	}
+
+	@Test
+	void testDeleteByTagIdInChunks() {
+		entityManager.persist(certificate1);
+		entityManager.persist(certificate2);
+		ReflectionTestUtils.setField(certificateRepository, DELETE_CHUNK_SIZE_FIELD, 1);
+
+		List<Long> firstChunk = certificateRepository.deleteByTagId(tag2.getId(), 0);
+		List<Long> secondChunk = certificateRepository.deleteByTagId(tag2.getId(), firstChunk.get(0));
+		Assertions.assertEquals(List.of(certificate1.getId()), firstChunk);
+		Assertions.assertEquals(List.of(certificate2.getId()), secondChunk);
+		Assertions.assertFalse(certificateRepository.certificateExistsById(certificate1.getId()));
+		Assertions.assertFalse(certificateRepository.certificateExistsById(certificate2.getId()));
+		Assertions.assertTrue(certificateRepository.deleteByTagId(tag2.getId(), 0).isEmpty());
+	}
 }
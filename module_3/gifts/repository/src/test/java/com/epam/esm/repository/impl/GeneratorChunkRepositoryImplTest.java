@@ -0,0 +1,42 @@
+package com.epam.esm.repository.impl;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.epam.esm.repository.GeneratorChunkRepository;
+
+@DataJpaTest
+@EntityScan("com.epam.esm")
+@ComponentScan("com.epam.esm")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class GeneratorChunkRepositoryImplTest {
+	private static final String USERS_STAGE = "USERS";
+	private static final String ORDERS_STAGE = "ORDERS";
+
+	@Autowired
+	private GeneratorChunkRepository generatorChunkRepository;
+
+	@Test
+	void testFindCompletedChunks() {
+		generatorChunkRepository.saveCompletedChunk(USERS_STAGE, 0);
+		generatorChunkRepository.saveCompletedChunk(USERS_STAGE, 2);
+		generatorChunkRepository.saveCompletedChunk(ORDERS_STAGE, 1);
+
+		Set<Integer> actual = generatorChunkRepository.findCompletedChunks(USERS_STAGE);
+
+		Assertions.assertEquals(Set.of(0, 2), actual);
+	}
+
+	@Test
+	void testFindCompletedChunksOfNewStage() {
+		Set<Integer> actual = generatorChunkRepository.findCompletedChunks(ORDERS_STAGE);
+		Assertions.assertTrue(actual.isEmpty());
+	}
+}
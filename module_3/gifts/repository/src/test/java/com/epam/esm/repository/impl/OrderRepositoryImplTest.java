@@ -1,6 +1,7 @@
 package com.epam.esm.repository.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.Optional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnitUtil;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,15 +19,14 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 
 import com.epam.esm.repository.OrderRepository;
 import com.epam.esm.repository.model.CertificateModel;
 import com.epam.esm.repository.model.OrderCertificateId;
 import com.epam.esm.repository.model.OrderCertificateModel;
+import com.epam.esm.repository.model.OrderDataModel;
 import com.epam.esm.repository.model.OrderModel;
 import com.epam.esm.repository.model.RoleModel;
 import com.epam.esm.repository.model.TagModel;
@@ -158,26 +159,77 @@ class OrderRepositoryImplTest {
 
 	}
 
+	@Test
+	void testSaveOrdersDoesNotReadReferences() {
+		entityManager.flush();
+		entityManager.clear();
+		UserModel user = new UserModel();
+		user.setId(userModel1.getId());
+		orderModel1.setUser(user);
+		CertificateModel certificate = new CertificateModel();
+		certificate.setId(certificateModel1.getId());
+		orderModel1.getCertificates().get(0).setCertificate(certificate);
+
+		OrderModel actual = orderRepository.saveOrders(Arrays.asList(orderModel1)).get(0);
+
+		PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+		Assertions.assertFalse(persistenceUnitUtil.isLoaded(actual.getUser()));
+		Assertions.assertFalse(persistenceUnitUtil.isLoaded(actual.getCertificates().get(0).getCertificate()));
+		Assertions.assertEquals(userModel1.getId(), actual.getUser().getId());
+		entityManager.clear();
+		Assertions.assertEquals(1, entityManager.find(OrderModel.class, actual.getId()).getCertificates().size());
+	}
+
+	@Test
+	void testSaveOrdersWithPresetDate() {
+		LocalDateTime date = LocalDateTime.of(2021, 1, 1, 10, 30);
+		orderModel1.setDate(date);
+		orderRepository.saveOrders(Arrays.asList(orderModel1));
+		entityManager.clear();
+		OrderModel actual = entityManager.find(OrderModel.class, orderModel1.getId());
+		Assertions.assertEquals(date, actual.getDate());
+	}
+
 	@Test
 	void testFindById() {
 		entityManager.persist(orderModel1);
 		entityManager.persist(orderModel2);
-		Optional<OrderModel> actual = orderRepository.findById(ORDER_ID_1);
-		Assertions.assertEquals(Optional.of(orderModel1), actual);
+		OrderModel actual = orderRepository.findById(ORDER_ID_1).get();
+		Assertions.assertFalse(entityManager.contains(actual));
+		Assertions.assertEquals(orderModel1.getId(), actual.getId());
+		Assertions.assertEquals(0, cost1.compareTo(actual.getCost()));
+		Assertions.assertEquals(userModel1.getLogin(), actual.getUser().getLogin());
+		Assertions.assertEquals(roleModel1.getName(), actual.getUser().getRole().getName());
+		Assertions.assertEquals(1, actual.getCertificates().size());
+		OrderCertificateModel actualCertificate = actual.getCertificates().get(0);
+		Assertions.assertEquals(1, actualCertificate.getCertificateAmount());
+		Assertions.assertEquals(certificateModel1.getName(), actualCertificate.getCertificate().getName());
+		Assertions.assertEquals(certificateModel1.getTags().size(),
+				actualCertificate.getCertificate().getTags().size());
 	}
 
 	@Test
-	void testFindAll() {
+	void testFindOrderDataById() {
 		entityManager.persist(orderModel1);
 		entityManager.persist(orderModel2);
+		Optional<OrderDataModel> actual = orderRepository.findOrderDataById(ORDER_ID_1);
+		Assertions.assertTrue(actual.isPresent());
+		Assertions.assertEquals(0, cost1.compareTo(actual.get().getCost()));
+		Assertions.assertEquals(USER_ID_1, actual.get().getUserId());
+	}
 
-		Pageable pageable = PageRequest.of(OFFSET_1, LIMIT_1);
-		List<OrderModel> expectedList = Arrays.asList(orderModel2);
-		Page<OrderModel> expected = new PageImpl<>(expectedList, pageable, expectedList.size());
+	@Test
+	void testFindAll() {
+		entityManager.persist(orderModel1);
+		entityManager.persist(orderModel2);
 
 		Page<OrderModel> actual = orderRepository.findAll(OFFSET_1, LIMIT_1);
 
-		Assertions.assertEquals(expected, actual);
+		Assertions.assertEquals(PageRequest.of(OFFSET_1, LIMIT_1), actual.getPageable());
+		Assertions.assertEquals(2, actual.getTotalElements());
+		Assertions.assertEquals(1, actual.getContent().size());
+		Assertions.assertEquals(orderModel2.getId(), actual.getContent().get(0).getId());
+		Assertions.assertEquals(userModel2.getId(), actual.getContent().get(0).getUser().getId());
 	}
 
 	@Test
@@ -185,11 +237,26 @@ class OrderRepositoryImplTest {
 		entityManager.persist(orderModel1);
 		entityManager.persist(orderModel2);
 
-		Pageable pageable = PageRequest.of(OFFSET_0, LIMIT_2);
-		List<OrderModel> expectedList = Arrays.asList(orderModel1);
-		Page<OrderModel> expected = new PageImpl<>(expectedList, pageable, expectedList.size());
-
 		Page<OrderModel> actual = orderRepository.readAllByUserId(USER_ID_1, OFFSET_0, LIMIT_2);
-		Assertions.assertEquals(expected, actual);
+
+		Assertions.assertEquals(1, actual.getTotalElements());
+		Assertions.assertEquals(orderModel1.getId(), actual.getContent().get(0).getId());
+		Assertions.assertEquals(certificateModel1.getId(),
+				actual.getContent().get(0).getCertificates().get(0).getCertificate().getId());
+	}
+
+	@Test
+	void testStreamAll() {
+		entityManager.persist(orderModel1);
+		entityManager.persist(orderModel2);
+
+		List<OrderModel> actual = new ArrayList<>();
+		long amount = orderRepository.streamAll(actual::add);
+
+		Assertions.assertEquals(2, amount);
+		Assertions.assertEquals(orderModel2.getId(), actual.get(1).getId());
+		Assertions.assertEquals(userModel2.getId(), actual.get(1).getUser().getId());
+		Assertions.assertEquals(certificateModel2.getId(),
+				actual.get(1).getCertificates().get(0).getCertificate().getId());
 	}
 }
@@ -0,0 +1,187 @@
+package com.epam.esm.repository.impl;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+
+import com.epam.esm.repository.CertificateRepository;
+import com.epam.esm.repository.OrderRepository;
+import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
+import com.epam.esm.repository.model.OrderCertificateId;
+import com.epam.esm.repository.model.OrderCertificateModel;
+import com.epam.esm.repository.model.OrderModel;
+import com.epam.esm.repository.model.RoleModel;
+import com.epam.esm.repository.model.TagModel;
+import com.epam.esm.repository.model.UserModel;
+import com.sun.management.ThreadMXBean;
+
+/**
+ *
+ * Measures the heap allocated by the read of one page of certificates and of
+ * orders through the managed entities and through the tuple projections of the
+ * repositories. Runs only with {@code -Pbenchmark=true}.
+ *
+ */
+@DataJpaTest
+@EntityScan("com.epam.esm")
+@ComponentScan("com.epam.esm")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReadAllocationBenchmarkTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReadAllocationBenchmarkTest.class);
+	private static final int PAGE_SIZE = 100;
+	private static final int TAGS_PER_CERTIFICATE = 5;
+	private static final int WARM_UP_ROUNDS = 20;
+	private static final int MEASURED_ROUNDS = 50;
+	private static final String CERTIFICATE_IDS_QUERY = "SELECT c.id FROM CertificateModel c "
+			+ "WHERE c.isDeleted = false ORDER BY c.id";
+	private static final String CERTIFICATES_QUERY = "SELECT c FROM CertificateModel c WHERE c.id IN :ids";
+	private static final String ORDERS_QUERY = "SELECT o FROM OrderModel o ORDER BY o.id";
+	private static final String IDS_PARAMETER = "ids";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private CertificateRepository certificateRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	void benchmarkCertificatePageRead() {
+		persistCertificates();
+
+		double entityBytes = measure(() -> {
+			List<Long> ids = entityManager.createQuery(CERTIFICATE_IDS_QUERY, Long.class)
+					.setMaxResults(PAGE_SIZE + 1).getResultList();
+			List<CertificateModel> certificates = entityManager
+					.createQuery(CERTIFICATES_QUERY, CertificateModel.class).setParameter(IDS_PARAMETER, ids)
+					.setHint(EntityConstant.FETCH_GRAPH_HINT,
+							entityManager.getEntityGraph(EntityConstant.CERTIFICATE_TAGS_GRAPH))
+					.getResultList();
+			entityManager.clear();
+			return certificates;
+		});
+		double projectionBytes = measure(() -> {
+			List<CertificateModel> certificates = certificateRepository.findAll((KeysetCursor) null, PAGE_SIZE)
+					.getContent();
+			entityManager.clear();
+			return certificates;
+		});
+		LOGGER.info("Page of {} certificates, bytes per request: entities {}, projections {}", PAGE_SIZE,
+				entityBytes, projectionBytes);
+		Assertions.assertTrue(projectionBytes > 0);
+	}
+
+	@Test
+	void benchmarkOrderPageRead() {
+		List<CertificateModel> certificates = persistCertificates();
+		persistOrders(certificates);
+
+		double entityBytes = measure(() -> {
+			List<OrderModel> orders = entityManager.createQuery(ORDERS_QUERY, OrderModel.class)
+					.setMaxResults(PAGE_SIZE + 1).getResultList();
+			initialize(orders);
+			entityManager.clear();
+			return orders;
+		});
+		double projectionBytes = measure(() -> {
+			List<OrderModel> orders = orderRepository.findAll((KeysetCursor) null, PAGE_SIZE).getContent();
+			initialize(orders);
+			entityManager.clear();
+			return orders;
+		});
+		LOGGER.info("Page of {} orders, bytes per request: entities {}, projections {}", PAGE_SIZE, entityBytes,
+				projectionBytes);
+		Assertions.assertTrue(projectionBytes > 0);
+	}
+
+	private static double measure(Supplier<List<?>> reader) {
+		ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		List<?> sink = null;
+		for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+			sink = reader.get();
+		}
+		long start = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			sink = reader.get();
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - start;
+		Assertions.assertFalse(sink.isEmpty());
+		return (double) allocated / MEASURED_ROUNDS;
+	}
+
+	private static void initialize(List<OrderModel> orders) {
+		for (OrderModel orderModel : orders) {
+			orderModel.getUser().getRole().getName();
+			orderModel.getCertificates().forEach(line -> line.getCertificate().getTags().size());
+		}
+	}
+
+	private List<CertificateModel> persistCertificates() {
+		List<TagModel> tags = new ArrayList<>(TAGS_PER_CERTIFICATE);
+		for (int i = 0; i < TAGS_PER_CERTIFICATE; i++) {
+			TagModel tagModel = new TagModel();
+			tagModel.setName("tag " + i);
+			entityManager.persist(tagModel);
+			tags.add(tagModel);
+		}
+		List<CertificateModel> certificates = new ArrayList<>(PAGE_SIZE + 1);
+		for (int i = 0; i < PAGE_SIZE + 1; i++) {
+			CertificateModel certificateModel = new CertificateModel();
+			certificateModel.setName("Certificate " + i);
+			certificateModel.setDescription("Description of the certificate " + i);
+			certificateModel.setPrice(BigDecimal.valueOf(i));
+			certificateModel.setDuration(30);
+			certificateModel.setTags(new ArrayList<>(tags));
+			entityManager.persist(certificateModel);
+			certificates.add(certificateModel);
+		}
+		entityManager.flush();
+		return certificates;
+	}
+
+	private void persistOrders(List<CertificateModel> certificates) {
+		RoleModel roleModel = new RoleModel();
+		roleModel.setName("user");
+		entityManager.persist(roleModel);
+		for (CertificateModel certificateModel : certificates) {
+			UserModel userModel = new UserModel();
+			userModel.setLogin("user" + certificateModel.getId());
+			userModel.setRole(roleModel);
+			entityManager.persist(userModel);
+
+			OrderModel orderModel = new OrderModel();
+			orderModel.setUser(userModel);
+			orderModel.setCost(certificateModel.getPrice());
+			OrderCertificateModel orderCertificateModel = new OrderCertificateModel();
+			orderCertificateModel.setOrderCertificateId(new OrderCertificateId());
+			orderCertificateModel.setCertificate(certificateModel);
+			orderCertificateModel.setCertificateAmount(1);
+			orderCertificateModel.setOrder(orderModel);
+			List<OrderCertificateModel> orderCertificates = new ArrayList<>();
+			orderCertificates.add(orderCertificateModel);
+			orderModel.setCertificates(orderCertificates);
+			entityManager.persist(orderModel);
+		}
+		entityManager.flush();
+	}
+}
@@ -3,7 +3,9 @@ package com.epam.esm.repository.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -22,11 +24,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
 
 import com.epam.esm.repository.TagRepository;
+import com.epam.esm.repository.bulk.BulkInserter;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.CountedPage;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.repository.model.TagModel_;
+import com.epam.esm.repository.query_builder.QueryPlanCache;
 
 @DataJpaTest
 @EntityScan("com.epam.esm")
@@ -34,6 +43,7 @@ import com.epam.esm.repository.model.TagModel_;
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class TagRepositoryImplTest {
 	private static final Long TAG_ID_1 = 1L;
+	private static final Long TAG_ID_2 = 2L;
 	private static final int OFFSET = 0;
 	private static final int LIMIT_1 = 1;
 	private static final int UPDATED_TAGS_AMOUNT = 1;
@@ -44,6 +54,10 @@ class TagRepositoryImplTest {
 
 	@Autowired
 	private TagRepository tagRepository;
+	@Autowired
+	private QueryPlanCache queryPlanCache;
+	@Autowired
+	private BulkInserter bulkInserter;
 	@PersistenceContext
 	private EntityManager entityManager;
 
@@ -65,6 +79,15 @@ class TagRepositoryImplTest {
 		Assertions.assertEquals(tag1, actual);
 	}
 
+	@Test
+	void testSaveWithDuplicatedName() {
+		tagRepository.save(tag1);
+		DuplicatedKeyException actual = Assertions.assertThrows(DuplicatedKeyException.class, () -> {
+			tagRepository.save(restoredTag1);
+		});
+		Assertions.assertEquals(Arrays.asList(restoredTag1.getName()), actual.getDuplicatedKeys());
+	}
+
 	@Test
 	void testSaveTags() {
 		List<TagModel> expected = new ArrayList<>();
@@ -81,6 +104,17 @@ class TagRepositoryImplTest {
 		Assertions.assertEquals(Optional.of(tag1), actual);
 	}
 
+	@Test
+	void testReadByIdWithCachedQueryPlan() {
+		entityManager.persist(tag1);
+		entityManager.persist(tag2);
+		tagRepository.findById(TAG_ID_1);
+		long hits = queryPlanCache.getHits();
+		Optional<TagModel> actual = tagRepository.findById(TAG_ID_2);
+		Assertions.assertEquals(Optional.of(tag2), actual);
+		Assertions.assertEquals(hits + 1, queryPlanCache.getHits());
+	}
+
 	@Test
 	void testTagExistsById() {
 		entityManager.persist(tag1);
@@ -102,6 +136,47 @@ class TagRepositoryImplTest {
 		Assertions.assertTrue(actual);
 	}
 
+	@Test
+	void testTagExistsByNameAfterBulkSave() {
+		Assertions.assertFalse(tagRepository.tagExistsByName(TAG_NAME));
+		tagRepository.saveTags(Arrays.asList(tag2));
+		boolean actual = tagRepository.tagExistsByName(TAG_NAME);
+		Assertions.assertTrue(actual);
+	}
+
+	@Test
+	void testSaveOrRestoreByNames() {
+		entityManager.persist(tag1);
+		tag2.setDeleted(true);
+		entityManager.persist(tag2);
+		entityManager.flush();
+
+		Map<String, Long> actual = tagRepository.saveOrRestoreByNames(Arrays.asList("Food", "family", "sport"));
+		entityManager.clear();
+
+		Assertions.assertEquals(Set.of("food", "family", "sport"), actual.keySet());
+		Assertions.assertEquals(tag1.getId(), actual.get("food"));
+		Assertions.assertEquals(tag2.getId(), actual.get("family"));
+		Assertions.assertTrue(tagRepository.tagExistsById(actual.get("family")));
+		Assertions.assertEquals(Optional.of(actual.get("sport")),
+				tagRepository.findByName("sport").map(TagModel::getId));
+	}
+
+	@Test
+	void testInsertIgnoringDuplicatesComparesNamesIgnoringCase() {
+		entityManager.persist(tag1);
+		entityManager.flush();
+
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[] { "FOOD", false });
+		rows.add(new Object[] { "sport", false });
+		bulkInserter.insertIgnoringDuplicates("tags", Arrays.asList("name", "is_deleted"), "name", rows);
+		entityManager.clear();
+
+		Assertions.assertEquals(Optional.of(tag1.getId()), tagRepository.findByName("FOOD").map(TagModel::getId));
+		Assertions.assertTrue(tagRepository.tagExistsByName("sport"));
+	}
+
 	@Test
 	void testReadAll() {
 		entityManager.persist(tag1);
@@ -116,6 +191,62 @@ class TagRepositoryImplTest {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	void testFindAllWithNoneCountStrategy() {
+		entityManager.persist(tag1);
+		entityManager.persist(tag2);
+
+		Page<TagModel> actual = tagRepository.findAll(OFFSET, LIMIT_1, CountStrategy.NONE);
+		Assertions.assertEquals(Arrays.asList(tag1), actual.getContent());
+		Assertions.assertTrue(actual.hasNext());
+		Assertions.assertEquals(CountStrategy.NONE, ((CountedPage<TagModel>) actual).getCountStrategy());
+	}
+
+	@Test
+	void testFindAllWithCachedCountStrategy() {
+		entityManager.persist(tag1);
+		entityManager.persist(tag2);
+		Page<TagModel> actual = tagRepository.findAll(OFFSET, LIMIT_1, CountStrategy.CACHED);
+		Assertions.assertEquals(2, actual.getTotalElements());
+
+		TagModel tag3 = new TagModel();
+		tag3.setName("sport");
+		tagRepository.save(tag3);
+
+		actual = tagRepository.findAll(OFFSET, LIMIT_1, CountStrategy.CACHED);
+		Assertions.assertEquals(3, actual.getTotalElements());
+		Assertions.assertEquals(CountStrategy.CACHED, ((CountedPage<TagModel>) actual).getCountStrategy());
+	}
+
+	@Test
+	void testFindAllWithEstimatedCountStrategy() {
+		entityManager.persist(tag1);
+		entityManager.persist(tag2);
+		TagModel deletedTag = new TagModel();
+		deletedTag.setName("sport");
+		entityManager.persist(deletedTag);
+		tagRepository.delete(deletedTag.getId());
+
+		Page<TagModel> actual = tagRepository.findAll(OFFSET, LIMIT_1, CountStrategy.ESTIMATED);
+		Assertions.assertEquals(2, actual.getTotalElements());
+		Assertions.assertEquals(CountStrategy.CACHED, ((CountedPage<TagModel>) actual).getCountStrategy());
+	}
+
+	@Test
+	void testReadAllByCursor() {
+		entityManager.persist(tag1);
+		entityManager.persist(tag2);
+
+		Slice<TagModel> firstPage = tagRepository.findAll(null, LIMIT_1);
+		Assertions.assertEquals(Arrays.asList(tag1), firstPage.getContent());
+		Assertions.assertTrue(firstPage.hasNext());
+
+		KeysetCursor nextCursor = new KeysetCursor(new ArrayList<>(), tag1.getId(), false);
+		Slice<TagModel> secondPage = tagRepository.findAll(nextCursor, LIMIT_1);
+		Assertions.assertEquals(Arrays.asList(tag2), secondPage.getContent());
+		Assertions.assertFalse(secondPage.hasNext());
+	}
+
 	@Test
 	void testDelete() {
 		entityManager.persist(tag1);
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -22,6 +23,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 
 import com.epam.esm.repository.UserRepository;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
 import com.epam.esm.repository.model.RoleModel;
 import com.epam.esm.repository.model.UserModel;
 
@@ -33,6 +35,7 @@ class UserRepositoryImplTest {
 	private static final int OFFSET_1 = 1;
 	private static final int LIMIT_1 = 1;
 	private static final Long USER_ID_1 = 1L;
+	private static final Long NOT_EXISTENT_ID = 100L;
 
 	private RoleModel roleModel1;
 	private UserModel userModel1;
@@ -75,6 +78,17 @@ class UserRepositoryImplTest {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	void testSaveUsersWithDuplicatedLogins() {
+		UserModel duplicatedUser = new UserModel();
+		duplicatedUser.setLogin(userModel1.getLogin());
+		duplicatedUser.setRole(roleModel1);
+		DuplicatedKeyException actual = Assertions.assertThrows(DuplicatedKeyException.class, () -> {
+			userRepository.saveUsers(Arrays.asList(userModel2, duplicatedUser));
+		});
+		Assertions.assertEquals(Arrays.asList(userModel1.getLogin()), actual.getDuplicatedKeys());
+	}
+
 	@Test
 	void testFindById() {
 		entityManager.persist(userModel1);
@@ -90,6 +104,13 @@ class UserRepositoryImplTest {
 		Assertions.assertTrue(actual);
 	}
 
+	@Test
+	void testFindExistingIds() {
+		entityManager.persist(userModel1);
+		Set<Long> actual = userRepository.findExistingIds(Arrays.asList(userModel1.getId(), NOT_EXISTENT_ID));
+		Assertions.assertEquals(Set.of(userModel1.getId()), actual);
+	}
+
 	@Test
 	void testFindByLogin() {
 		entityManager.persist(userModel1);
@@ -0,0 +1,60 @@
+package com.epam.esm.repository.index;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IdBitmapTest {
+	private static final long DENSE_AMOUNT = 10_000;
+	private static final long SPARSE_ID = 5_000_000_000L;
+
+	@Test
+	void testSelectDenseAndSparseIds() {
+		IdBitmap bitmap = new IdBitmap();
+		for (long id = 1; id <= DENSE_AMOUNT; id++) {
+			bitmap.add(id);
+		}
+		bitmap.add(SPARSE_ID);
+
+		Assertions.assertEquals(DENSE_AMOUNT + 1, bitmap.cardinality());
+		Assertions.assertEquals(DENSE_AMOUNT, bitmap.rank(SPARSE_ID - 1));
+		Assertions.assertEquals(List.of(DENSE_AMOUNT - 1, DENSE_AMOUNT, SPARSE_ID),
+				bitmap.select(DENSE_AMOUNT - 2, 3, SPARSE_ID));
+		Assertions.assertEquals(List.of(DENSE_AMOUNT), bitmap.select(DENSE_AMOUNT - 1, 3, SPARSE_ID - 1));
+	}
+
+	@Test
+	void testAndNot() {
+		IdBitmap bitmap = new IdBitmap();
+		IdBitmap removedIds = new IdBitmap();
+		for (long id = 1; id <= DENSE_AMOUNT; id++) {
+			bitmap.add(id);
+			if (id % 2 == 0) {
+				removedIds.add(id);
+			}
+		}
+
+		bitmap.andNot(removedIds);
+
+		Assertions.assertEquals(DENSE_AMOUNT / 2, bitmap.cardinality());
+		Assertions.assertTrue(bitmap.contains(1));
+		Assertions.assertFalse(bitmap.contains(2));
+		Assertions.assertEquals(List.of(1L, 3L), bitmap.select(0, 2, DENSE_AMOUNT));
+	}
+
+	@Test
+	void testAnd() {
+		IdBitmap bitmap = new IdBitmap();
+		IdBitmap other = new IdBitmap();
+		bitmap.add(1);
+		bitmap.add(SPARSE_ID);
+		other.add(SPARSE_ID);
+		other.add(2);
+
+		IdBitmap actual = bitmap.and(other);
+
+		Assertions.assertEquals(1, actual.cardinality());
+		Assertions.assertTrue(actual.contains(SPARSE_ID));
+	}
+}
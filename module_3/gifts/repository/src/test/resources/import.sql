@@ -0,0 +1,6 @@
+-- Executed by Hibernate after it creates the H2 test schema. Mirrors the
+-- partial unique index of the V3 migration, which JPA can not express: the
+-- generated column holds the lower-cased name of not deleted certificates
+-- only, so the names of the deleted ones may be reused.
+ALTER TABLE gift_certificates ADD COLUMN active_name VARCHAR(50) AS CASE WHEN is_deleted = FALSE THEN LOWER(name) END;
+CREATE UNIQUE INDEX uk_gift_certificates_active_name ON gift_certificates (active_name);
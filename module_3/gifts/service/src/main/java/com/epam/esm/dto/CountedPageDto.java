@@ -0,0 +1,28 @@
+package com.epam.esm.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 
+ * Page which contains the name of the strategy used for the calculation of its
+ * total amount of entities: {@code exact}, {@code cached}, {@code estimated} or
+ * {@code none}.
+ *
+ */
+public class CountedPageDto<T> extends PageImpl<T> {
+	private static final long serialVersionUID = 1L;
+
+	private final String countStrategy;
+
+	public CountedPageDto(List<T> content, Pageable pageable, long total, String countStrategy) {
+		super(content, pageable, total);
+		this.countStrategy = countStrategy;
+	}
+
+	public String getCountStrategy() {
+		return countStrategy;
+	}
+}
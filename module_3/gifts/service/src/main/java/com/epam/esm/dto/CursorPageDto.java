@@ -0,0 +1,13 @@
+package com.epam.esm.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CursorPageDto<T> {
+	private List<T> content;
+	private int size;
+	private String nextCursor;
+	private String previousCursor;
+}
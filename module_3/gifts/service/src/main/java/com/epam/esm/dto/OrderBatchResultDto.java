@@ -0,0 +1,16 @@
+package com.epam.esm.dto;
+
+import java.util.Map;
+
+import com.epam.esm.exception.ErrorCode;
+
+import lombok.Data;
+
+@Data
+public class OrderBatchResultDto {
+	private int index;
+	private Long orderId;
+	private ErrorCode generalErrorCode;
+	private String invalidResource;
+	private Map<ErrorCode, String> errors;
+}
@@ -0,0 +1,189 @@
+package com.epam.esm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.epam.esm.exception.NullEntityException;
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.service.ServiceConstant;
+import com.epam.esm.service.converter.ConverterUtil;
+import com.epam.esm.service.validation.ValidationUtil;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ *
+ * Contains the parameters of the read request parsed once when the request is
+ * received. The names and values of the parameters are in lower case without
+ * extra spaces, the sort parameters are converted to the field names and the
+ * pagination parameters are parsed to numbers. The object is immutable, so it
+ * is passed through validation and reading as is and may be used as a key.
+ *
+ * The pagination parameters which can not be parsed are replaced by their
+ * default values, so the query should be validated before reading.
+ *
+ */
+@Getter
+@EqualsAndHashCode(of = "params")
+@ToString(of = "params")
+public final class ReadQueryDto {
+	private static final String WORD_DELIMITER = "_";
+
+	/**
+	 * The normalized parameters of the request.
+	 */
+	private final MultiValueMap<String, String> params;
+
+	/**
+	 * The sort fields converted to the field names of the entity, the descending
+	 * sign is kept.
+	 */
+	private final List<String> sortFields;
+
+	/**
+	 * The normalized parameters with the sort fields instead of the sort
+	 * parameters, which are passed to the repository.
+	 */
+	private final MultiValueMap<String, String> filterParams;
+
+	private final int pageNumber;
+	private final int limit;
+	private final CountStrategy countStrategy;
+
+	private ReadQueryDto(MultiValueMap<String, String> params) {
+		this.params = CollectionUtils.unmodifiableMultiValueMap(params);
+		List<String> sortParams = params.get(EntityConstant.ORDER_BY);
+		if (sortParams == null) {
+			sortFields = List.of();
+			filterParams = this.params;
+		} else {
+			sortFields = convertToFieldNames(sortParams);
+			MultiValueMap<String, String> paramsWithFields = new LinkedMultiValueMap<>(params);
+			paramsWithFields.put(EntityConstant.ORDER_BY, sortFields);
+			filterParams = CollectionUtils.unmodifiableMultiValueMap(paramsWithFields);
+		}
+		pageNumber = parseInt(params.getFirst(ServiceConstant.OFFSET), ServiceConstant.DEFAULT_PAGE_NUMBER);
+		limit = parseInt(params.getFirst(ServiceConstant.LIMIT), ServiceConstant.DEFAULT_LIMIT);
+		countStrategy = parseCountStrategy(params.getFirst(ServiceConstant.COUNT));
+	}
+
+	/**
+	 * Creates query from the passed request parameters. Turns names and values of
+	 * the parameters to lower case and removes all extra spaces. The values of the
+	 * parameters with the same normalized name are joined.
+	 *
+	 * @param requestParams the parameters of the request
+	 * @return query with normalized parameters
+	 * @throws NullEntityException if passed params is {@code null}
+	 */
+	public static ReadQueryDto of(MultiValueMap<String, String> requestParams) {
+		ValidationUtil.checkNull(requestParams, ServiceConstant.PARAMS);
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>(requestParams.size());
+		for (Map.Entry<String, List<String>> entry : requestParams.entrySet()) {
+			String name = ConverterUtil.removeExtraSpaces(entry.getKey().toLowerCase());
+			List<String> values = params.computeIfAbsent(name, key -> new ArrayList<>(entry.getValue().size()));
+			for (String value : entry.getValue()) {
+				values.add(value == null ? null : ConverterUtil.removeExtraSpaces(value).toLowerCase());
+			}
+		}
+		return new ReadQueryDto(params);
+	}
+
+	/**
+	 * Checks whether the parameter with the passed normalized name is present.
+	 *
+	 * @param name the name of the parameter
+	 * @return {@code true} if the parameter is present
+	 */
+	public boolean containsParam(String name) {
+		return params.containsKey(name);
+	}
+
+	/**
+	 * Obtains the first value of the parameter with the passed normalized name.
+	 *
+	 * @param name the name of the parameter
+	 * @return the first value of the parameter or {@code null} if the parameter is
+	 *         absent
+	 */
+	public String getFirst(String name) {
+		return params.getFirst(name);
+	}
+
+	/**
+	 * Obtains the opaque cursor of the keyset page.
+	 *
+	 * @return the cursor or {@code null} if the first page is requested
+	 */
+	public String getCursor() {
+		return params.getFirst(ServiceConstant.CURSOR);
+	}
+
+	/**
+	 * Obtains the search term.
+	 *
+	 * @return the search term or {@code null} if it is absent
+	 */
+	public String getSearch() {
+		return params.getFirst(EntityConstant.SEARCH);
+	}
+
+	/**
+	 * Obtains the names of the tags which certificates should have.
+	 *
+	 * @return the names of the tags, empty list if they are absent
+	 */
+	public List<String> getTags() {
+		List<String> tags = params.get(EntityConstant.TAG);
+		return tags == null ? List.of() : tags;
+	}
+
+	private static int parseInt(String value, int defaultValue) {
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	private static CountStrategy parseCountStrategy(String value) {
+		if (value == null) {
+			return CountStrategy.EXACT;
+		}
+		try {
+			return CountStrategy.valueOf(value.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return CountStrategy.EXACT;
+		}
+	}
+
+	private static List<String> convertToFieldNames(List<String> sortParams) {
+		List<String> sortFields = new ArrayList<>(sortParams.size());
+		for (String sortParam : sortParams) {
+			StringBuilder fieldName = new StringBuilder();
+			String[] words = String.valueOf(sortParam).split(WORD_DELIMITER);
+			if (words.length >= 1) {
+				fieldName.append(words[0]);
+				for (int i = 1; i < words.length; i++) {
+					if (!words[i].isEmpty()) {
+						fieldName.append(Character.toUpperCase(words[i].charAt(0))).append(words[i], 1,
+								words[i].length());
+					}
+				}
+			}
+			sortFields.add(fieldName.toString());
+		}
+		return List.copyOf(sortFields);
+	}
+}
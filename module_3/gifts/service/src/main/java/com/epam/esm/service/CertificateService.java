@@ -1,11 +1,13 @@
 package com.epam.esm.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
-import org.springframework.util.MultiValueMap;
 
+import com.epam.esm.dto.CursorPageDto;
 import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.ReadQueryDto;
 
 /**
  * 
@@ -72,9 +74,32 @@ public interface CertificateService {
 	/**
 	 * Reads all certificates according to the passed parameters.
 	 * 
-	 * @param params the parameters which define the choice of certificates and
-	 *               their ordering
+	 * @param query the parameters which define the choice of certificates and
+	 *              their ordering
 	 * @return certificates which meet passed parameters
 	 */
-	Page<CertificateDto> readAll(MultiValueMap<String, String> params);
+	Page<CertificateDto> readAll(ReadQueryDto query);
+
+	/**
+	 * Reads certificates page by page using keyset pagination. The position of the
+	 * page is defined by the opaque cursor from the {@code cursor} parameter,
+	 * empty cursor means the first page.
+	 * 
+	 * @param query the parameters which define the choice of certificates and
+	 *              their ordering
+	 * @return page of certificates which meet passed parameters with cursors of the
+	 *         next and previous pages
+	 */
+	CursorPageDto<CertificateDto> readAllByCursor(ReadQueryDto query);
+
+	/**
+	 * Reads all certificates which meet the passed parameters and passes them to
+	 * the consumer one by one without pagination.
+	 * 
+	 * @param query    the parameters which define the choice of certificates and
+	 *                 their ordering
+	 * @param consumer the consumer of the read certificates
+	 * @return amount of the read certificates
+	 */
+	long exportAll(ReadQueryDto query, Consumer<CertificateDto> consumer);
 }
@@ -1,12 +1,15 @@
 package com.epam.esm.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
-import org.springframework.util.MultiValueMap;
 
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.OrderBatchResultDto;
 import com.epam.esm.dto.OrderDataDto;
 import com.epam.esm.dto.OrderDto;
+import com.epam.esm.dto.ReadQueryDto;
 
 /**
  * 
@@ -31,6 +34,16 @@ public interface OrderService {
 	 */
 	List<OrderDto> createOrders(List<OrderDto> orderDtos);
 
+	/**
+	 * Creates and saves the passed orders of any users. Invalid orders are
+	 * reported in the result and do not prevent other orders from being saved.
+	 * 
+	 * @param orderDtos the orders to be saved
+	 * @return the results of the passed orders in the same order, which contain
+	 *         either the id of the created order or the errors of the order
+	 */
+	List<OrderBatchResultDto> createOrderBatch(List<OrderDto> orderDtos);
+
 	/**
 	 * Reads order with passed id.
 	 * 
@@ -43,11 +56,23 @@ public interface OrderService {
 	 * Reads all orders for the specified user according to the passed parameters.
 	 * 
 	 * @param userId id of the user whose orders should be read
-	 * @param params the parameters which define the choice of orders and their
+	 * @param query  the parameters which define the choice of orders and their
 	 *               ordering
 	 * @return orders for specified user which meet the passed parameters
 	 */
-	Page<OrderDto> readAllByUserId(long userId, MultiValueMap<String, String> params);
+	Page<OrderDto> readAllByUserId(long userId, ReadQueryDto query);
+
+	/**
+	 * Reads orders for the specified user page by page using keyset pagination.
+	 * The position of the page is defined by the opaque cursor from the
+	 * {@code cursor} parameter, empty cursor means the first page.
+	 * 
+	 * @param userId id of the user whose orders should be read
+	 * @param query  the parameters which define the choice of orders
+	 * @return page of orders for specified user with cursors of the next and
+	 *         previous pages
+	 */
+	CursorPageDto<OrderDto> readAllByUserIdAndCursor(long userId, ReadQueryDto query);
 
 	/**
 	 * Reads information about the order with passed id for the specified user.
@@ -61,9 +86,30 @@ public interface OrderService {
 	/**
 	 * Reads all orders according to the passed parameters.
 	 * 
-	 * @param params the parameters which define the choice of orders and their
-	 *               ordering
+	 * @param query the parameters which define the choice of orders and their
+	 *              ordering
 	 * @return orders which meet passed parameters
 	 */
-	Page<OrderDto> readAll(MultiValueMap<String, String> params);
+	Page<OrderDto> readAll(ReadQueryDto query);
+
+	/**
+	 * Reads orders page by page using keyset pagination. The position of the
+	 * page is defined by the opaque cursor from the {@code cursor} parameter,
+	 * empty cursor means the first page.
+	 * 
+	 * @param query the parameters which define the choice of orders and their
+	 *              ordering
+	 * @return page of orders which meet passed parameters with cursors of the
+	 *         next and previous pages
+	 */
+	CursorPageDto<OrderDto> readAllByCursor(ReadQueryDto query);
+
+	/**
+	 * Reads all orders and passes them to the consumer one by one without
+	 * pagination. The users and certificates of the orders contain only ids.
+	 * 
+	 * @param consumer the consumer of the read orders
+	 * @return amount of the read orders
+	 */
+	long exportAll(Consumer<OrderDto> consumer);
 }
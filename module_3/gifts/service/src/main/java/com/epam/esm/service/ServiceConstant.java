@@ -16,13 +16,15 @@ public class ServiceConstant {
 	public static final String PARAMS = "params";
 	public static final String OFFSET = "page";
 	public static final String LIMIT = "size";
+	public static final String CURSOR = "cursor";
+	public static final String COUNT = "count";
 	public static final int DEFAULT_PAGE_NUMBER = 0;
 	public static final int DEFAULT_LIMIT = 10;
 	public static final int MIN_PAGE_NUMBER = 0;
 	public static final int MIN_LIMIT_NUMBER = 1;
 	public static final int MAX_LIMIT = 100;
 	public static final Set<String> GENERAL_POSSIBLE_READ_PARAMS = new HashSet<String>(
-			Arrays.asList(OFFSET, LIMIT));
+			Arrays.asList(OFFSET, LIMIT, CURSOR, COUNT));
 
 	// Certificate
 	public static final int CERTIFICATE_MIN_NAME_LENGTH = 5;
@@ -36,11 +38,11 @@ public class ServiceConstant {
 	public static final int CERTIFICATE_PRICE_SCALE = 2;
 	public static final Set<String> CERTIFICATE_POSSIBLE_READ_PARAMS = new HashSet<String>(
 			Arrays.asList(EntityConstant.SEARCH, EntityConstant.ORDER_BY, EntityConstant.TAG, ServiceConstant.OFFSET,
-					ServiceConstant.LIMIT));
+					ServiceConstant.LIMIT, ServiceConstant.CURSOR, ServiceConstant.COUNT));
 	public static final Set<String> CERTIFICATE_POSSIBLE_SORT_FIELD = new HashSet<String>(Arrays.asList(
 			EntityConstant.NAME, EntityConstant.CERTIFICATE_PRICE, EntityConstant.CERTIFICATE_CREATE_DATE,
 			EntityConstant.NAME + EntityConstant.DESC_SIGN, EntityConstant.CERTIFICATE_PRICE + EntityConstant.DESC_SIGN,
-			EntityConstant.CERTIFICATE_CREATE_DATE + EntityConstant.DESC_SIGN));
+			EntityConstant.CERTIFICATE_CREATE_DATE + EntityConstant.DESC_SIGN, EntityConstant.CERTIFICATE_RELEVANCE));
 
 	// Tag
 	public static final int TAG_MIN_NAME_LENGTH = 2;
@@ -58,6 +60,9 @@ public class ServiceConstant {
 	public static final int ORDER_UNIQUE_CERTIFICATE_MAX_AMOUNT = 100;
 	public static final int ORDER_CERTIFICATES_MAX_AMOUNT = 1000;
 	public static final int ORDER_CERTIFICATES_MIN_AMOUNT = 1;
+	public static final int ORDER_BATCH_MAX_SIZE = 10000;
+	public static final int ORDER_BATCH_CHUNK_SIZE = 500;
+	public static final String ORDER_BATCH = "orders";
 
 	private ServiceConstant() {
 
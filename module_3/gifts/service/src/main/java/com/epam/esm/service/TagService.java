@@ -3,8 +3,9 @@ package com.epam.esm.service;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
-import org.springframework.util.MultiValueMap;
 
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.TagDto;
 
 /**
@@ -40,17 +41,29 @@ public interface TagService {
 	/**
 	 * Reads all tags according to the passed parameters.
 	 * 
-	 * @param params the parameters which define the choice of tags and their
-	 *               ordering
+	 * @param query the parameters which define the choice of tags and their
+	 *              ordering
 	 * @return tags which meet passed parameters
 	 */
-	Page<TagDto> readAll(MultiValueMap<String, String> params);
+	Page<TagDto> readAll(ReadQueryDto query);
 
 	/**
-	 * Deletes tag with passed id.
+	 * Reads tags page by page using keyset pagination. The position of the
+	 * page is defined by the opaque cursor from the {@code cursor} parameter,
+	 * empty cursor means the first page.
+	 * 
+	 * @param query the parameters which define the choice of tags and their
+	 *              ordering
+	 * @return page of tags which meet passed parameters with cursors of the
+	 *         next and previous pages
+	 */
+	CursorPageDto<TagDto> readAllByCursor(ReadQueryDto query);
+
+	/**
+	 * Deletes tag with passed id together with its certificates.
 	 * 
 	 * @param tagId the id of the tag to be deleted
-	 * @return the number of deleted tags
+	 * @return the number of deleted certificates of the tag
 	 */
 	int delete(long tagId);
 
@@ -3,8 +3,9 @@ package com.epam.esm.service;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
-import org.springframework.util.MultiValueMap;
 
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.UserDto;
 
 /**
@@ -24,11 +25,23 @@ public interface UserService {
 	/**
 	 * Reads all users according to the passed parameters.
 	 * 
-	 * @param params the parameters which define the choice of users and their
-	 *               ordering
+	 * @param query the parameters which define the choice of users and their
+	 *              ordering
 	 * @return users which meet passed parameters
 	 */
-	Page<UserDto> readAll(MultiValueMap<String, String> params);
+	Page<UserDto> readAll(ReadQueryDto query);
+
+	/**
+	 * Reads users page by page using keyset pagination. The position of the
+	 * page is defined by the opaque cursor from the {@code cursor} parameter,
+	 * empty cursor means the first page.
+	 * 
+	 * @param query the parameters which define the choice of users and their
+	 *              ordering
+	 * @return page of users which meet passed parameters with cursors of the
+	 *         next and previous pages
+	 */
+	CursorPageDto<UserDto> readAllByCursor(ReadQueryDto query);
 
 	/**
 	 * Creates and saves the passed user.
@@ -0,0 +1,317 @@
+package com.epam.esm.service.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.TagDto;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ *
+ * Node-local cache of the read certificates by their ids. The cache keeps at
+ * most {@code certificate.read-cache.max-entries} certificates of the estimated
+ * weight up to {@code certificate.read-cache.max-weight-bytes} and expires them
+ * after {@code certificate.read-cache.ttl-ms}. When the cache is full the
+ * certificate is admitted only if it was read more often recently than the
+ * least recently read one which would be evicted for it.
+ *
+ * The certificates are cached and returned only outside of the read-write
+ * transactions, so the uncommitted changes are never cached. The invalidated
+ * certificates are evicted at once and once again after the completion of the
+ * current transaction, and the certificates which were loaded before the
+ * invalidation are not cached. The certificates are loaded from the replica
+ * which may lag behind the primary database up to
+ * {@code datasource.replica.max-lag-seconds}, so the certificates invalidated
+ * within this time are not cached either. The cache is used only if it is
+ * enabled by {@code certificate.read-cache.enabled} property. Hit ratio,
+ * eviction count, amount of entries and their weight are published as
+ * {@code cache.certificate.read.*} metrics.
+ *
+ */
+@Component
+public class CertificateReadCache implements MeterBinder {
+	private static final String HIT_RATIO_METRIC_NAME = "cache.certificate.read.hit.ratio";
+	private static final String EVICTIONS_METRIC_NAME = "cache.certificate.read.evictions";
+	private static final String SIZE_METRIC_NAME = "cache.certificate.read.size";
+	private static final String WEIGHT_METRIC_NAME = "cache.certificate.read.weight";
+	private static final String BYTES_UNIT = "bytes";
+	private static final long ENTRY_WEIGHT = 256;
+	private static final long TAG_WEIGHT = 64;
+	private static final long CHAR_WEIGHT = 2;
+
+	private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<Long, Long> invalidationTimes = new LinkedHashMap<>();
+	private FrequencySketch frequencySketch;
+	private long weight;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+
+	@Value("${certificate.read-cache.enabled:false}")
+	private boolean enabled;
+
+	@Value("${certificate.read-cache.max-entries:10000}")
+	private int maxEntries;
+
+	@Value("${certificate.read-cache.max-weight-bytes:16777216}")
+	private long maxWeight;
+
+	@Value("${certificate.read-cache.ttl-ms:60000}")
+	private long ttlMillis;
+
+	@Value("${datasource.replica.max-lag-seconds:5}")
+	private long replicaMaxLagSeconds;
+
+	public CertificateReadCache() {
+
+	}
+
+	/**
+	 * Reads the certificate with passed id from the cache or loads it by the
+	 * passed loader and caches it.
+	 *
+	 * @param certificateId the id of the certificate
+	 * @param loader        the loader of the certificate which is called if it is
+	 *                      not cached
+	 * @return the copy of the cached certificate or the loaded certificate
+	 */
+	public CertificateDto read(long certificateId, Supplier<CertificateDto> loader) {
+		if (!enabled || !isReadOnlyTransaction()) {
+			return loader.get();
+		}
+		long invalidationStamp;
+		synchronized (this) {
+			CertificateDto certificateDto = find(certificateId);
+			if (certificateDto != null) {
+				return certificateDto;
+			}
+			invalidationStamp = invalidations;
+		}
+		CertificateDto certificateDto = loader.get();
+		put(certificateId, certificateDto, invalidationStamp);
+		return certificateDto;
+	}
+
+	/**
+	 * Evicts the certificate with passed id at once and once again after the
+	 * completion of the current transaction.
+	 *
+	 * @param certificateId the id of the changed or deleted certificate
+	 */
+	public void invalidate(long certificateId) {
+		if (enabled) {
+			evict(certificateId);
+			runAfterCompletion(() -> evict(certificateId));
+		}
+	}
+
+	/**
+	 * Evicts the certificates with passed ids at once and once again after the
+	 * completion of the current transaction.
+	 *
+	 * @param certificateIds the ids of the changed or deleted certificates
+	 */
+	public void invalidateAll(Collection<Long> certificateIds) {
+		if (enabled && !certificateIds.isEmpty()) {
+			List<Long> invalidatedIds = List.copyOf(certificateIds);
+			evictAll(invalidatedIds);
+			runAfterCompletion(() -> evictAll(invalidatedIds));
+		}
+	}
+
+	public synchronized double obtainHitRatio() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	public synchronized long obtainEvictions() {
+		return evictions;
+	}
+
+	public synchronized int obtainSize() {
+		return entries.size();
+	}
+
+	public synchronized long obtainWeight() {
+		return weight;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder(HIT_RATIO_METRIC_NAME, this, CertificateReadCache::obtainHitRatio).register(registry);
+		FunctionCounter.builder(EVICTIONS_METRIC_NAME, this, CertificateReadCache::obtainEvictions)
+				.register(registry);
+		Gauge.builder(SIZE_METRIC_NAME, this, CertificateReadCache::obtainSize).register(registry);
+		Gauge.builder(WEIGHT_METRIC_NAME, this, CertificateReadCache::obtainWeight).baseUnit(BYTES_UNIT)
+				.register(registry);
+	}
+
+	private CertificateDto find(long certificateId) {
+		obtainFrequencySketch().increment(certificateId);
+		Entry entry = entries.get(certificateId);
+		if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+			remove(certificateId);
+			evictions++;
+			entry = null;
+		}
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return copy(entry.certificateDto);
+	}
+
+	private synchronized void put(long certificateId, CertificateDto certificateDto, long invalidationStamp) {
+		long entryWeight = estimateWeight(certificateDto);
+		long now = System.currentTimeMillis();
+		if (invalidationStamp != invalidations || entryWeight > maxWeight || maxEntries <= 0
+				|| isInvalidatedRecently(certificateId, now)) {
+			return;
+		}
+		remove(certificateId);
+		int candidateFrequency = obtainFrequencySketch().frequency(certificateId);
+		Iterator<Map.Entry<Long, Entry>> eldestEntries = entries.entrySet().iterator();
+		while (entries.size() >= maxEntries || weight + entryWeight > maxWeight) {
+			Map.Entry<Long, Entry> victim = eldestEntries.next();
+			if (victim.getValue().expiresAt >= now
+					&& frequencySketch.frequency(victim.getKey()) >= candidateFrequency) {
+				return;
+			}
+			weight -= victim.getValue().weight;
+			eldestEntries.remove();
+			evictions++;
+		}
+		entries.put(certificateId, new Entry(copy(certificateDto), entryWeight, now + ttlMillis));
+		weight += entryWeight;
+	}
+
+	private synchronized void evict(long certificateId) {
+		invalidations++;
+		remove(certificateId);
+		markInvalidated(certificateId);
+	}
+
+	private synchronized void evictAll(List<Long> certificateIds) {
+		invalidations++;
+		for (Long certificateId : certificateIds) {
+			remove(certificateId);
+			markInvalidated(certificateId);
+		}
+	}
+
+	private void markInvalidated(long certificateId) {
+		long now = System.currentTimeMillis();
+		invalidationTimes.remove(certificateId);
+		invalidationTimes.put(certificateId, now);
+		Iterator<Long> eldestTimes = invalidationTimes.values().iterator();
+		while (eldestTimes.hasNext() && !isWithinReplicaLag(eldestTimes.next(), now)) {
+			eldestTimes.remove();
+		}
+	}
+
+	private boolean isInvalidatedRecently(long certificateId, long now) {
+		Long invalidationTime = invalidationTimes.get(certificateId);
+		return invalidationTime != null && isWithinReplicaLag(invalidationTime, now);
+	}
+
+	private boolean isWithinReplicaLag(long invalidationTime, long now) {
+		return now - invalidationTime < TimeUnit.SECONDS.toMillis(replicaMaxLagSeconds);
+	}
+
+	private void remove(long certificateId) {
+		Entry entry = entries.remove(certificateId);
+		if (entry != null) {
+			weight -= entry.weight;
+		}
+	}
+
+	private FrequencySketch obtainFrequencySketch() {
+		if (frequencySketch == null) {
+			frequencySketch = new FrequencySketch(maxEntries);
+		}
+		return frequencySketch;
+	}
+
+	private static boolean isReadOnlyTransaction() {
+		return !TransactionSynchronizationManager.isActualTransactionActive()
+				|| TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	private static void runAfterCompletion(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					action.run();
+				}
+			});
+		}
+	}
+
+	private static long estimateWeight(CertificateDto certificateDto) {
+		long estimatedWeight = ENTRY_WEIGHT + CHAR_WEIGHT * (length(certificateDto.getName())
+				+ length(certificateDto.getDescription()));
+		if (certificateDto.getTags() != null) {
+			for (TagDto tagDto : certificateDto.getTags()) {
+				estimatedWeight += TAG_WEIGHT + CHAR_WEIGHT * length(tagDto.getName());
+			}
+		}
+		return estimatedWeight;
+	}
+
+	private static int length(String value) {
+		return value == null ? 0 : value.length();
+	}
+
+	private static CertificateDto copy(CertificateDto certificateDto) {
+		CertificateDto copy = new CertificateDto();
+		copy.setId(certificateDto.getId());
+		copy.setName(certificateDto.getName());
+		copy.setDescription(certificateDto.getDescription());
+		copy.setPrice(certificateDto.getPrice());
+		copy.setDuration(certificateDto.getDuration());
+		copy.setCreateDate(certificateDto.getCreateDate());
+		copy.setLastUpdateDate(certificateDto.getLastUpdateDate());
+		if (certificateDto.getTags() != null) {
+			List<TagDto> tags = new ArrayList<>(certificateDto.getTags().size());
+			for (TagDto tagDto : certificateDto.getTags()) {
+				TagDto tagCopy = new TagDto();
+				tagCopy.setId(tagDto.getId());
+				tagCopy.setName(tagDto.getName());
+				tags.add(tagCopy);
+			}
+			copy.setTags(tags);
+		}
+		return copy;
+	}
+
+	private static final class Entry {
+		private final CertificateDto certificateDto;
+		private final long weight;
+		private final long expiresAt;
+
+		private Entry(CertificateDto certificateDto, long weight, long expiresAt) {
+			this.certificateDto = certificateDto;
+			this.weight = weight;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
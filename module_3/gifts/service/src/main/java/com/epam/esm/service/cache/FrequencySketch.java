@@ -0,0 +1,65 @@
+package com.epam.esm.service.cache;
+
+/**
+ *
+ * Estimates how often the keys were accessed recently by the count-min sketch
+ * of small counters. The counters are halved after every amount of accesses
+ * ten times greater than the amount of expected entries, so the keys which
+ * were popular long ago lose their frequency.
+ *
+ */
+final class FrequencySketch {
+	private static final int DEPTH = 4;
+	private static final int MIN_WIDTH = 16;
+	private static final int MAX_FREQUENCY = 15;
+	private static final int RESET_MULTIPLIER = 10;
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+	private static final long[] SEEDS = { 0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL,
+			0xCBF29CE484222325L };
+
+	private final int[][] counters;
+	private final int mask;
+	private final int resetSize;
+	private int additions;
+
+	FrequencySketch(int expectedEntries) {
+		int width = Integer.highestOneBit(Math.max(expectedEntries, MIN_WIDTH) - 1) << 1;
+		counters = new int[DEPTH][width];
+		mask = width - 1;
+		resetSize = Math.max(expectedEntries, MIN_WIDTH) * RESET_MULTIPLIER;
+	}
+
+	void increment(long key) {
+		for (int row = 0; row < DEPTH; row++) {
+			int index = index(key, row);
+			if (counters[row][index] < MAX_FREQUENCY) {
+				counters[row][index]++;
+			}
+		}
+		if (++additions >= resetSize) {
+			halve();
+		}
+	}
+
+	int frequency(long key) {
+		int frequency = MAX_FREQUENCY;
+		for (int row = 0; row < DEPTH; row++) {
+			frequency = Math.min(frequency, counters[row][index(key, row)]);
+		}
+		return frequency;
+	}
+
+	private int index(long key, int row) {
+		long hash = (key ^ SEEDS[row]) * HASH_MULTIPLIER;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	private void halve() {
+		for (int[] row : counters) {
+			for (int i = 0; i < row.length; i++) {
+				row[i] >>>= 1;
+			}
+		}
+		additions /= 2;
+	}
+}
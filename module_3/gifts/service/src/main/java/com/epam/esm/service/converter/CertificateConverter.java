@@ -1,8 +1,6 @@
 package com.epam.esm.service.converter;
 
-import org.modelmapper.Converter;
-import org.modelmapper.AbstractConverter;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.dto.CertificateDto;
@@ -10,24 +8,42 @@ import com.epam.esm.repository.model.CertificateModel;
 
 @Component
 public class CertificateConverter {
-	private ModelMapper modelMapper;
-	private Converter<String, String> spaceRemover = new AbstractConverter<String, String>() {
-		protected String convert(String source) {
-			return source == null ? null : source.trim().replaceAll("\\s+", " ");
-		}
-	};
+	private final TagConverter tagConverter;
 
-	public CertificateConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.addConverter(spaceRemover);
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+	@Autowired
+	public CertificateConverter(TagConverter tagConverter) {
+		this.tagConverter = tagConverter;
 	}
 
 	public CertificateDto convertToDto(CertificateModel certificateModel) {
-		return modelMapper.map(certificateModel, CertificateDto.class);
+		if (certificateModel == null) {
+			return null;
+		}
+		CertificateDto certificateDto = new CertificateDto();
+		certificateDto.setId(certificateModel.getId());
+		certificateDto.setName(ConverterUtil.removeExtraSpaces(certificateModel.getName()));
+		certificateDto.setDescription(ConverterUtil.removeExtraSpaces(certificateModel.getDescription()));
+		certificateDto.setPrice(certificateModel.getPrice());
+		certificateDto.setDuration(certificateModel.getDuration());
+		certificateDto.setCreateDate(certificateModel.getCreateDate());
+		certificateDto.setLastUpdateDate(certificateModel.getLastUpdateDate());
+		certificateDto.setTags(ConverterUtil.convertList(certificateModel.getTags(), tagConverter::convertToDto));
+		return certificateDto;
 	}
 
 	public CertificateModel convertToModel(CertificateDto certificateDto) {
-		return modelMapper.map(certificateDto, CertificateModel.class);
+		if (certificateDto == null) {
+			return null;
+		}
+		CertificateModel certificateModel = new CertificateModel();
+		certificateModel.setId(certificateDto.getId());
+		certificateModel.setName(ConverterUtil.removeExtraSpaces(certificateDto.getName()));
+		certificateModel.setDescription(ConverterUtil.removeExtraSpaces(certificateDto.getDescription()));
+		certificateModel.setPrice(certificateDto.getPrice());
+		certificateModel.setDuration(certificateDto.getDuration());
+		certificateModel.setCreateDate(certificateDto.getCreateDate());
+		certificateModel.setLastUpdateDate(certificateDto.getLastUpdateDate());
+		certificateModel.setTags(ConverterUtil.convertList(certificateDto.getTags(), tagConverter::convertToModel));
+		return certificateModel;
 	}
 }
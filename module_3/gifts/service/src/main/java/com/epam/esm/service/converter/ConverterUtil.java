@@ -0,0 +1,74 @@
+package com.epam.esm.service.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class ConverterUtil {
+	private static final char SPACE = ' ';
+
+	private ConverterUtil() {
+
+	}
+
+	/**
+	 * Removes leading and trailing spaces of the passed string and replaces every
+	 * sequence of whitespace characters inside it by one space. The result is the
+	 * same as of {@code source.trim().replaceAll("\\s+", " ")}, but the string is
+	 * copied only if it contains spaces to be removed.
+	 *
+	 * @param source the string to be normalized
+	 * @return normalized string or {@code null} if passed string is {@code null}
+	 */
+	public static String removeExtraSpaces(String source) {
+		if (source == null) {
+			return null;
+		}
+		String trimmed = source.trim();
+		int length = trimmed.length();
+		StringBuilder result = null;
+		for (int i = 0; i < length; i++) {
+			char symbol = trimmed.charAt(i);
+			if (isWhitespace(symbol)) {
+				int end = i + 1;
+				while (end < length && isWhitespace(trimmed.charAt(end))) {
+					end++;
+				}
+				if (result == null && (symbol != SPACE || end - i > 1)) {
+					result = new StringBuilder(length).append(trimmed, 0, i);
+				}
+				if (result != null) {
+					result.append(SPACE);
+				}
+				i = end - 1;
+			} else if (result != null) {
+				result.append(symbol);
+			}
+		}
+		return result == null ? trimmed : result.toString();
+	}
+
+	/**
+	 * Converts every element of the passed list by the passed converter.
+	 *
+	 * @param source    the list to be converted
+	 * @param converter the converter of the list element
+	 * @return list of the converted elements or {@code null} if passed list is
+	 *         {@code null}
+	 */
+	public static <S, T> List<T> convertList(List<S> source, Function<S, T> converter) {
+		if (source == null) {
+			return null;
+		}
+		List<T> result = new ArrayList<>(source.size());
+		for (S element : source) {
+			result.add(converter.apply(element));
+		}
+		return result;
+	}
+
+	private static boolean isWhitespace(char symbol) {
+		return symbol == SPACE || symbol == '\t' || symbol == '\n' || symbol == '\u000B' || symbol == '\f'
+				|| symbol == '\r';
+	}
+}
@@ -0,0 +1,152 @@
+package com.epam.esm.service.converter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.exception.ErrorCode;
+import com.epam.esm.exception.ValidationException;
+import com.epam.esm.repository.model.KeysetCursor;
+import com.epam.esm.service.ServiceConstant;
+import com.epam.esm.service.validation.ValidationUtil;
+
+/**
+ * Converts keyset cursors to opaque tokens and back. Token is the hex
+ * representation of the direction, the sort parameters, the id and the sort
+ * key values of the boundary entity, so it survives the lower case conversion
+ * of the read parameters.
+ *
+ */
+@Component
+public class CursorConverter {
+	private static final String FORWARD = "f";
+	private static final String BACKWARD = "b";
+	private static final String DELIMITER = "\u001F";
+	private static final String SORT_DELIMITER = ",";
+	private static final int SORT_VALUES_START_INDEX = 3;
+	private static final int HEX_RADIX = 16;
+
+	public CursorConverter() {
+
+	}
+
+	/**
+	 * Converts passed token to the cursor.
+	 * 
+	 * @param token      the token to be converted
+	 * @param sortFields the sort parameters of the current request
+	 * @return cursor or {@code null} if passed token is empty which means the
+	 *         first page
+	 * @throws ValidationException if passed token is malformed or was issued for
+	 *                             other sort parameters
+	 */
+	public KeysetCursor convertToModel(String token, List<String> sortFields) {
+		if (token == null || token.isEmpty()) {
+			return null;
+		}
+		try {
+			String[] parts = decode(token).split(DELIMITER, -1);
+			String direction = parts[0];
+			if ((!FORWARD.equals(direction) && !BACKWARD.equals(direction))
+					|| !String.join(SORT_DELIMITER, sortFields).equals(parts[1])
+					|| parts.length - SORT_VALUES_START_INDEX != sortFields.size()) {
+				throw new IllegalArgumentException();
+			}
+			long id = Long.parseLong(parts[2]);
+			List<String> sortValues = new ArrayList<>(
+					Arrays.asList(parts).subList(SORT_VALUES_START_INDEX, parts.length));
+			return new KeysetCursor(sortValues, id, BACKWARD.equals(direction));
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			throw new ValidationException(ServiceConstant.CURSOR + ValidationUtil.ERROR_RESOURCE_DELIMITER + token,
+					ErrorCode.INVALID_CURSOR);
+		}
+	}
+
+	/**
+	 * Converts passed cursor to the token.
+	 * 
+	 * @param cursor     the cursor to be converted
+	 * @param sortFields the sort parameters of the current request
+	 * @return token for the passed cursor
+	 */
+	public String convertToToken(KeysetCursor cursor, List<String> sortFields) {
+		List<String> parts = new ArrayList<>();
+		parts.add(cursor.isBackward() ? BACKWARD : FORWARD);
+		parts.add(String.join(SORT_DELIMITER, sortFields));
+		parts.add(String.valueOf(cursor.getId()));
+		parts.addAll(cursor.getSortValues());
+		return encode(String.join(DELIMITER, parts));
+	}
+
+	/**
+	 * Creates the page of the keyset pagination with the tokens for the next and
+	 * previous pages.
+	 * 
+	 * @param sliceModel   the slice of entities read from repository
+	 * @param cursor       the cursor of the current page, {@code null} for the
+	 *                     first page
+	 * @param entities     the converted entities of the current page
+	 * @param sortFields   the sort parameters of the current request
+	 * @param keyExtractor retrieves sort key values from the entity, the id of
+	 *                     the entity must be the last value
+	 * @return page of the keyset pagination
+	 */
+	public <T, Y> CursorPageDto<T> convertToDto(Slice<Y> sliceModel, KeysetCursor cursor, List<T> entities,
+			List<String> sortFields, Function<Y, List<Object>> keyExtractor) {
+		CursorPageDto<T> cursorPage = new CursorPageDto<>();
+		cursorPage.setContent(entities);
+		cursorPage.setSize(sliceModel.getSize());
+
+		List<Y> models = sliceModel.getContent();
+		if (!models.isEmpty()) {
+			boolean backward = cursor != null && cursor.isBackward();
+			boolean hasNext = backward || sliceModel.hasNext();
+			boolean hasPrevious = backward ? sliceModel.hasNext() : cursor != null;
+			if (hasNext) {
+				cursorPage.setNextCursor(
+						convertToToken(obtainCursor(keyExtractor.apply(models.get(models.size() - 1)), false),
+								sortFields));
+			}
+			if (hasPrevious) {
+				cursorPage.setPreviousCursor(
+						convertToToken(obtainCursor(keyExtractor.apply(models.get(0)), true), sortFields));
+			}
+		}
+		return cursorPage;
+	}
+
+	private KeysetCursor obtainCursor(List<Object> keys, boolean backward) {
+		List<String> sortValues = new ArrayList<>(keys.size() - 1);
+		for (Object key : keys.subList(0, keys.size() - 1)) {
+			sortValues.add(key instanceof BigDecimal ? ((BigDecimal) key).toPlainString() : String.valueOf(key));
+		}
+		long id = ((Number) keys.get(keys.size() - 1)).longValue();
+		return new KeysetCursor(sortValues, id, backward);
+	}
+
+	private static String encode(String source) {
+		StringBuilder token = new StringBuilder();
+		for (byte symbol : source.getBytes(StandardCharsets.UTF_8)) {
+			token.append(String.format("%02x", symbol));
+		}
+		return token.toString();
+	}
+
+	private static String decode(String token) {
+		if (token.length() % 2 != 0) {
+			throw new IllegalArgumentException();
+		}
+		byte[] bytes = new byte[token.length() / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) Integer.parseInt(token.substring(i * 2, i * 2 + 2), HEX_RADIX);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -1,25 +1,52 @@
 package com.epam.esm.service.converter;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.dto.OrderCertificateDto;
+import com.epam.esm.repository.model.OrderCertificateId;
 import com.epam.esm.repository.model.OrderCertificateModel;
 
 @Component
 public class OrderCertificateConverter {
-	private ModelMapper modelMapper;
+	private final CertificateConverter certificateConverter;
 
-	public OrderCertificateConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+	@Autowired
+	public OrderCertificateConverter(CertificateConverter certificateConverter) {
+		this.certificateConverter = certificateConverter;
 	}
 
 	public OrderCertificateDto convertToDto(OrderCertificateModel orderCertificateModel) {
-		return modelMapper.map(orderCertificateModel, OrderCertificateDto.class);
+		if (orderCertificateModel == null) {
+			return null;
+		}
+		OrderCertificateDto orderCertificateDto = new OrderCertificateDto();
+		orderCertificateDto.setCertificate(certificateConverter.convertToDto(orderCertificateModel.getCertificate()));
+		orderCertificateDto.setCertificateAmount(orderCertificateModel.getCertificateAmount());
+		return orderCertificateDto;
 	}
 
 	public OrderCertificateModel convertToModel(OrderCertificateDto orderCertificateDto) {
-		return modelMapper.map(orderCertificateDto, OrderCertificateModel.class);
+		if (orderCertificateDto == null) {
+			return null;
+		}
+		OrderCertificateModel orderCertificateModel = new OrderCertificateModel();
+		orderCertificateModel.setOrderCertificateId(obtainOrderCertificateId(orderCertificateDto));
+		orderCertificateModel
+				.setCertificate(certificateConverter.convertToModel(orderCertificateDto.getCertificate()));
+		orderCertificateModel.setCertificateAmount(orderCertificateDto.getCertificateAmount());
+		return orderCertificateModel;
+	}
+
+	/**
+	 * Creates the id of the order line. Only the id of the certificate is known
+	 * here, the id of the order is set by the order converter.
+	 */
+	private static OrderCertificateId obtainOrderCertificateId(OrderCertificateDto orderCertificateDto) {
+		OrderCertificateId orderCertificateId = new OrderCertificateId();
+		if (orderCertificateDto.getCertificate() != null) {
+			orderCertificateId.setCertificateId(orderCertificateDto.getCertificate().getId());
+		}
+		return orderCertificateId;
 	}
 }
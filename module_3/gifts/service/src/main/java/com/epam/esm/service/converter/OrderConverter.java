@@ -1,25 +1,55 @@
 package com.epam.esm.service.converter;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.dto.OrderDto;
+import com.epam.esm.repository.model.OrderCertificateModel;
 import com.epam.esm.repository.model.OrderModel;
 
 @Component
 public class OrderConverter {
-	private final ModelMapper modelMapper;
+	private final UserConverter userConverter;
+	private final OrderCertificateConverter orderCertificateConverter;
 
-	public OrderConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+	@Autowired
+	public OrderConverter(UserConverter userConverter, OrderCertificateConverter orderCertificateConverter) {
+		this.userConverter = userConverter;
+		this.orderCertificateConverter = orderCertificateConverter;
 	}
 
 	public OrderDto convertToDto(OrderModel orderModel) {
-		return modelMapper.map(orderModel, OrderDto.class);
+		if (orderModel == null) {
+			return null;
+		}
+		OrderDto orderDto = new OrderDto();
+		orderDto.setId(orderModel.getId());
+		orderDto.setCost(orderModel.getCost());
+		orderDto.setDate(orderModel.getDate());
+		orderDto.setUser(userConverter.convertToDto(orderModel.getUser()));
+		orderDto.setCertificates(
+				ConverterUtil.convertList(orderModel.getCertificates(), orderCertificateConverter::convertToDto));
+		return orderDto;
 	}
 
 	public OrderModel convertToModel(OrderDto orderDto) {
-		return modelMapper.map(orderDto, OrderModel.class);
+		if (orderDto == null) {
+			return null;
+		}
+		OrderModel orderModel = new OrderModel();
+		orderModel.setId(orderDto.getId());
+		orderModel.setCost(orderDto.getCost());
+		orderModel.setDate(orderDto.getDate());
+		orderModel.setUser(userConverter.convertToModel(orderDto.getUser()));
+		orderModel.setCertificates(
+				ConverterUtil.convertList(orderDto.getCertificates(), orderCertificateConverter::convertToModel));
+		if (orderModel.getCertificates() != null) {
+			for (OrderCertificateModel orderCertificate : orderModel.getCertificates()) {
+				if (orderCertificate != null) {
+					orderCertificate.getOrderCertificateId().setOrderId(orderDto.getId());
+				}
+			}
+		}
+		return orderModel;
 	}
 }
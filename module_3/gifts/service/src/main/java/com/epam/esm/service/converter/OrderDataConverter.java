@@ -1,25 +1,44 @@
 package com.epam.esm.service.converter;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.dto.OrderDataDto;
+import com.epam.esm.repository.model.OrderDataModel;
 import com.epam.esm.repository.model.OrderModel;
 
 @Component
 public class OrderDataConverter {
-	private final ModelMapper modelMapper;
-
 	public OrderDataConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+
 	}
 
 	public OrderDataDto convertToDto(OrderModel orderModel) {
-		return modelMapper.map(orderModel, OrderDataDto.class);
+		if (orderModel == null) {
+			return null;
+		}
+		OrderDataDto orderDataDto = new OrderDataDto();
+		orderDataDto.setCost(orderModel.getCost());
+		orderDataDto.setDate(orderModel.getDate());
+		return orderDataDto;
+	}
+
+	public OrderDataDto convertToDto(OrderDataModel orderDataModel) {
+		if (orderDataModel == null) {
+			return null;
+		}
+		OrderDataDto orderDataDto = new OrderDataDto();
+		orderDataDto.setCost(orderDataModel.getCost());
+		orderDataDto.setDate(orderDataModel.getDate());
+		return orderDataDto;
 	}
 
 	public OrderModel convertToModel(OrderDataDto orderDataDto) {
-		return modelMapper.map(orderDataDto, OrderModel.class);
+		if (orderDataDto == null) {
+			return null;
+		}
+		OrderModel orderModel = new OrderModel();
+		orderModel.setCost(orderDataDto.getCost());
+		orderModel.setDate(orderDataDto.getDate());
+		return orderModel;
 	}
 }
@@ -3,9 +3,12 @@ package com.epam.esm.service.converter;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 
+import com.epam.esm.dto.CountedPageDto;
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.CountedPage;
+
 @Component
 public class PageConverter<T, Y> {
 	public PageConverter() {
@@ -13,6 +16,11 @@ public class PageConverter<T, Y> {
 	}
 
 	public Page<T> convertToDto(Page<Y> pageModel, List<T> entities) {
-		return new PageImpl<>(entities, pageModel.getPageable(), pageModel.getTotalElements());
+		CountStrategy countStrategy = CountStrategy.EXACT;
+		if (pageModel instanceof CountedPage) {
+			countStrategy = ((CountedPage<Y>) pageModel).getCountStrategy();
+		}
+		return new CountedPageDto<>(entities, pageModel.getPageable(), pageModel.getTotalElements(),
+				countStrategy.name().toLowerCase());
 	}
 }
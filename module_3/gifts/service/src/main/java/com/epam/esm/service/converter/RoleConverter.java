@@ -1,8 +1,5 @@
 package com.epam.esm.service.converter;
 
-import org.modelmapper.AbstractConverter;
-import org.modelmapper.Converter;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.dto.RoleDto;
@@ -10,24 +7,27 @@ import com.epam.esm.repository.model.RoleModel;
 
 @Component
 public class RoleConverter {
-	private final ModelMapper modelMapper;
-	private Converter<String, String> spaceRemover = new AbstractConverter<String, String>() {
-		protected String convert(String source) {
-			return source == null ? null : source.trim().replaceAll("\\s+", " ");
-		}
-	};
-
 	public RoleConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.addConverter(spaceRemover);
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+
 	}
 
 	public RoleDto convertToDto(RoleModel roleModel) {
-		return modelMapper.map(roleModel, RoleDto.class);
+		if (roleModel == null) {
+			return null;
+		}
+		RoleDto roleDto = new RoleDto();
+		roleDto.setId(roleModel.getId());
+		roleDto.setName(ConverterUtil.removeExtraSpaces(roleModel.getName()));
+		return roleDto;
 	}
 
 	public RoleModel convertToModel(RoleDto roleDto) {
-		return modelMapper.map(roleDto, RoleModel.class);
+		if (roleDto == null) {
+			return null;
+		}
+		RoleModel roleModel = new RoleModel();
+		roleModel.setId(roleDto.getId());
+		roleModel.setName(ConverterUtil.removeExtraSpaces(roleDto.getName()));
+		return roleModel;
 	}
 }
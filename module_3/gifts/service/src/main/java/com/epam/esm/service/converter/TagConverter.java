@@ -1,8 +1,5 @@
 package com.epam.esm.service.converter;
 
-import org.modelmapper.AbstractConverter;
-import org.modelmapper.Converter;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.dto.TagDto;
@@ -10,24 +7,27 @@ import com.epam.esm.repository.model.TagModel;
 
 @Component
 public class TagConverter {
-	private final ModelMapper modelMapper;
-	private Converter<String, String> spaceRemover = new AbstractConverter<String, String>() {
-		protected String convert(String source) {
-			return source == null ? null : source.trim().replaceAll("\\s+", " ");
-		}
-	};
-
 	public TagConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.addConverter(spaceRemover);
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+
 	}
 
 	public TagDto convertToDto(TagModel tagModel) {
-		return modelMapper.map(tagModel, TagDto.class);
+		if (tagModel == null) {
+			return null;
+		}
+		TagDto tagDto = new TagDto();
+		tagDto.setId(tagModel.getId());
+		tagDto.setName(ConverterUtil.removeExtraSpaces(tagModel.getName()));
+		return tagDto;
 	}
 
 	public TagModel convertToModel(TagDto tagDto) {
-		return modelMapper.map(tagDto, TagModel.class);
+		if (tagDto == null) {
+			return null;
+		}
+		TagModel tagModel = new TagModel();
+		tagModel.setId(tagDto.getId());
+		tagModel.setName(ConverterUtil.removeExtraSpaces(tagDto.getName()));
+		return tagModel;
 	}
 }
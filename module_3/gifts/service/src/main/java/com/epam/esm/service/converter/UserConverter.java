@@ -1,8 +1,6 @@
 package com.epam.esm.service.converter;
 
-import org.modelmapper.AbstractConverter;
-import org.modelmapper.Converter;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.epam.esm.dto.UserDto;
@@ -10,24 +8,32 @@ import com.epam.esm.repository.model.UserModel;
 
 @Component
 public class UserConverter {
-	private final ModelMapper modelMapper;
-	private Converter<String, String> spaceRemover = new AbstractConverter<String, String>() {
-		protected String convert(String source) {
-			return source == null ? null : source.trim().replaceAll("\\s+", " ");
-		}
-	};
+	private final RoleConverter roleConverter;
 
-	public UserConverter() {
-		this.modelMapper = new ModelMapper();
-		modelMapper.addConverter(spaceRemover);
-		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+	@Autowired
+	public UserConverter(RoleConverter roleConverter) {
+		this.roleConverter = roleConverter;
 	}
 
 	public UserDto convertToDto(UserModel userModel) {
-		return modelMapper.map(userModel, UserDto.class);
+		if (userModel == null) {
+			return null;
+		}
+		UserDto userDto = new UserDto();
+		userDto.setId(userModel.getId());
+		userDto.setLogin(ConverterUtil.removeExtraSpaces(userModel.getLogin()));
+		userDto.setRole(roleConverter.convertToDto(userModel.getRole()));
+		return userDto;
 	}
 
 	public UserModel convertToModel(UserDto userDto) {
-		return modelMapper.map(userDto, UserModel.class);
+		if (userDto == null) {
+			return null;
+		}
+		UserModel userModel = new UserModel();
+		userModel.setId(userDto.getId());
+		userModel.setLogin(ConverterUtil.removeExtraSpaces(userDto.getLogin()));
+		userModel.setRole(roleConverter.convertToModel(userDto.getRole()));
+		return userModel;
 	}
 }
@@ -1,33 +1,43 @@
 package com.epam.esm.service.impl;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.TagDto;
 import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.exception.NotFoundException;
 import com.epam.esm.exception.ValidationException;
 import com.epam.esm.repository.CertificateRepository;
 import com.epam.esm.repository.TagRepository;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
 import com.epam.esm.repository.model.CertificateModel;
 import com.epam.esm.repository.model.EntityConstant;
-import com.epam.esm.repository.model.TagModel;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.service.CertificateService;
-import com.epam.esm.service.ServiceConstant;
+import com.epam.esm.service.cache.CertificateReadCache;
 import com.epam.esm.service.converter.CertificateConverter;
+import com.epam.esm.service.converter.CursorConverter;
 import com.epam.esm.service.converter.PageConverter;
-import com.epam.esm.service.converter.TagConverter;
 import com.epam.esm.service.validation.CertificateValidation;
 import com.epam.esm.service.validation.TagValidation;
 import com.epam.esm.service.validation.ValidationUtil;
@@ -39,26 +49,32 @@ import com.epam.esm.service.validation.ValidationUtil;
  */
 @Service
 public class CertificateServiceImpl implements CertificateService {
+	private static final Map<String, Function<CertificateModel, Object>> SORT_KEY_EXTRACTORS = Map.of(
+			EntityConstant.NAME, CertificateModel::getName, EntityConstant.CERTIFICATE_PRICE,
+			CertificateModel::getPrice, EntityConstant.CERTIFICATE_CREATE_DATE_FIELD, CertificateModel::getCreateDate);
+
 	private final CertificateRepository certificateRepository;
 	private final TagRepository tagRepository;
 	private final CertificateValidation certificateValidation;
 	private final TagValidation tagValidation;
 	private final CertificateConverter certificateConverter;
-	private final TagConverter tagConverter;
 	private final PageConverter<CertificateDto, CertificateModel> pageConverter;
+	private final CursorConverter cursorConverter;
+	private final CertificateReadCache certificateReadCache;
 
 	@Autowired
 	public CertificateServiceImpl(CertificateRepository certificateRepository, TagRepository tagRepository,
 			CertificateValidation certificateValidation, TagValidation tagValidation,
-			CertificateConverter certificateConverter, TagConverter tagConverter,
-			PageConverter<CertificateDto, CertificateModel> pageConverter) {
+			CertificateConverter certificateConverter, PageConverter<CertificateDto, CertificateModel> pageConverter,
+			CursorConverter cursorConverter, CertificateReadCache certificateReadCache) {
 		this.certificateRepository = certificateRepository;
 		this.tagRepository = tagRepository;
 		this.certificateValidation = certificateValidation;
 		this.tagValidation = tagValidation;
 		this.certificateConverter = certificateConverter;
-		this.tagConverter = tagConverter;
 		this.pageConverter = pageConverter;
+		this.cursorConverter = cursorConverter;
+		this.certificateReadCache = certificateReadCache;
 	}
 
 	/**
@@ -67,13 +83,21 @@ public class CertificateServiceImpl implements CertificateService {
 	 * 
 	 * @param certificateDto the certificate to be saved
 	 * @return saved certificate
-	 * @throws ValidationException if passed certificate contains invalid fields
+	 * @throws ValidationException if passed certificate contains invalid fields or
+	 *                             its name is already taken
 	 */
 	@Override
 	@Transactional
 	public CertificateDto create(CertificateDto certificateDto) {
+		validateCertificateToSave(certificateDto);
+		obtainCertificateTags(Collections.singletonList(certificateDto));
 		CertificateModel certificateModel = obtainCertificateModelToSave(certificateDto);
-		CertificateModel createdCertificateModel = certificateRepository.save(certificateModel);
+		CertificateModel createdCertificateModel;
+		try {
+			createdCertificateModel = certificateRepository.save(certificateModel);
+		} catch (DuplicatedKeyException e) {
+			throw obtainDuplicatedNameException(e);
+		}
 		CertificateDto createdCertificate = certificateConverter.convertToDto(createdCertificateModel);
 		return createdCertificate;
 	}
@@ -85,7 +109,8 @@ public class CertificateServiceImpl implements CertificateService {
 	 * @param certificateDtos the certificates to be saved
 	 * @return saved certificates
 	 * @throws ValidationException if any of passed certificates contains invalid
-	 *                             fields
+	 *                             fields or the names of the certificates are
+	 *                             already taken or repeated
 	 */
 	@Override
 	@Transactional
@@ -94,11 +119,17 @@ public class CertificateServiceImpl implements CertificateService {
 		if (certificateDtos != null) {
 			List<CertificateModel> certificatesToSave = new ArrayList<>(certificateDtos.size());
 
+			certificateDtos.forEach(this::validateCertificateToSave);
+			obtainCertificateTags(certificateDtos);
 			certificateDtos
 					.forEach(certificateDto -> certificatesToSave.add(obtainCertificateModelToSave(certificateDto)));
 
-			List<CertificateModel> createdCertificateModels = certificateRepository
-					.saveCertificates(certificatesToSave);
+			List<CertificateModel> createdCertificateModels;
+			try {
+				createdCertificateModels = certificateRepository.saveCertificates(certificatesToSave);
+			} catch (DuplicatedKeyException e) {
+				throw obtainDuplicatedNameException(e);
+			}
 
 			createdCertificateModels.forEach(
 					certificateModel -> createdCertificates.add(certificateConverter.convertToDto(certificateModel)));
@@ -106,19 +137,26 @@ public class CertificateServiceImpl implements CertificateService {
 		return createdCertificates;
 	}
 
-	private CertificateModel obtainCertificateModelToSave(CertificateDto certificateDto) {
+	private void validateCertificateToSave(CertificateDto certificateDto) {
 		Map<ErrorCode, String> errors = certificateValidation.validateAllCertificateUpdatableFields(certificateDto);
-		if (certificateRepository.certificateExistsByName(ValidationUtil.removeExtraSpaces(certificateDto.getName()))) {
-			errors.put(ErrorCode.DUPLICATED_CERTIFICATE_NAME,
-					EntityConstant.NAME + ValidationUtil.ERROR_RESOURCE_DELIMITER + certificateDto.getName());
-		}
-
 		if (!errors.isEmpty()) {
 			throw new ValidationException(errors, ErrorCode.INVALID_CERTIFICATE);
 		}
-		certificateDto.setTags(obtainCertificateTags(certificateDto.getTags()));
+	}
+
+	private CertificateModel obtainCertificateModelToSave(CertificateDto certificateDto) {
 		certificateDto.setId(null);
-		return certificateConverter.convertToModel(certificateDto);
+		CertificateModel certificateModel = certificateConverter.convertToModel(certificateDto);
+		certificateModel.setCreateDate(null);
+		certificateModel.setLastUpdateDate(null);
+		return certificateModel;
+	}
+
+	private static ValidationException obtainDuplicatedNameException(DuplicatedKeyException exception) {
+		Map<ErrorCode, String> errors = new HashMap<>();
+		errors.put(ErrorCode.DUPLICATED_CERTIFICATE_NAME, EntityConstant.NAME + ValidationUtil.ERROR_RESOURCE_DELIMITER
+				+ String.join(ValidationUtil.ERROR_RESOURCES_LIST_DELIMITER, exception.getDuplicatedKeys()));
+		return new ValidationException(errors, ErrorCode.INVALID_CERTIFICATE);
 	}
 
 	/**
@@ -130,82 +168,123 @@ public class CertificateServiceImpl implements CertificateService {
 	 * @throws NotFoundException   if certificate with passed id does not exist
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public CertificateDto readById(long certificateId) {
 		if (!ValidationUtil.isPositive(certificateId)) {
 			throw new ValidationException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + certificateId,
 					ErrorCode.INVALID_CERTIFICATE_ID);
 		}
 
-		CertificateModel certificateModel = certificateRepository.findById(certificateId)
-				.orElseThrow(() -> new NotFoundException(
-						EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + certificateId,
-						ErrorCode.NO_CERTIFICATE_FOUND));
-
-		return certificateConverter.convertToDto(certificateModel);
+		return certificateReadCache.read(certificateId, () -> {
+			CertificateModel certificateModel = certificateRepository.findById(certificateId)
+					.orElseThrow(() -> new NotFoundException(
+							EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + certificateId,
+							ErrorCode.NO_CERTIFICATE_FOUND));
+			return certificateConverter.convertToDto(certificateModel);
+		});
 	}
 
 	/**
 	 * Reads all certificates according to the passed parameters.
 	 * 
-	 * @param params the parameters which define the choice of certificates and
-	 *               their ordering
+	 * @param query the parameters which define the choice of certificates and
+	 *              their ordering
 	 * @return certificates which meet passed parameters
 	 * @throws ValidationException if passed parameters are invalid
 	 */
 	@Override
-	public Page<CertificateDto> readAll(MultiValueMap<String, String> params) {
-		MultiValueMap<String, String> paramsInLowerCase = ValidationUtil.mapToLowerCase(params);
-
-		Map<ErrorCode, String> errors = certificateValidation.validateReadParams(paramsInLowerCase);
+	@Transactional(readOnly = true)
+	public Page<CertificateDto> readAll(ReadQueryDto query) {
+		Map<ErrorCode, String> errors = certificateValidation.validateReadParams(query);
 		if (!errors.isEmpty()) {
 			throw new ValidationException(errors, ErrorCode.INVALID_CERTIFICATE_REQUEST_PARAMS);
 		}
 
-		if (paramsInLowerCase.containsKey(EntityConstant.ORDER_BY)) {
-			paramsInLowerCase.put(EntityConstant.ORDER_BY,
-					convertToFieldNames(paramsInLowerCase.get(EntityConstant.ORDER_BY)));
+		Page<CertificateModel> pageModel = certificateRepository.findAll(query.getFilterParams(),
+				query.getPageNumber(), query.getLimit(), query.getCountStrategy());
+		List<CertificateModel> certificateModels = pageModel.getContent();
+		List<CertificateDto> certificateDtos = new ArrayList<>(query.getLimit());
+		if (certificateModels != null) {
+			certificateModels.forEach(
+					certificateModel -> certificateDtos.add(certificateConverter.convertToDto(certificateModel)));
 		}
 
-		int pageNumber = ServiceConstant.DEFAULT_PAGE_NUMBER;
-		int limit = ServiceConstant.DEFAULT_LIMIT;
+		return pageConverter.convertToDto(pageModel, certificateDtos);
+	}
 
-		if (paramsInLowerCase.containsKey(ServiceConstant.OFFSET)) {
-			pageNumber = Integer.parseInt(paramsInLowerCase.get(ServiceConstant.OFFSET).get(0));
+	/**
+	 * Reads certificates page by page using keyset pagination. The position of the
+	 * page is defined by the opaque cursor from the {@code cursor} parameter,
+	 * empty cursor means the first page.
+	 * 
+	 * @param query the parameters which define the choice of certificates and
+	 *              their ordering
+	 * @return page of certificates which meet passed parameters with cursors of the
+	 *         next and previous pages
+	 * @throws ValidationException if passed parameters or cursor are invalid
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageDto<CertificateDto> readAllByCursor(ReadQueryDto query) {
+		Map<ErrorCode, String> errors = certificateValidation.validateReadParams(query);
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors, ErrorCode.INVALID_CERTIFICATE_REQUEST_PARAMS);
 		}
 
-		if (paramsInLowerCase.containsKey(ServiceConstant.LIMIT)) {
-			limit = Integer.parseInt(paramsInLowerCase.get(ServiceConstant.LIMIT).get(0));
+		List<String> sortFields = query.getSortFields();
+		KeysetCursor cursor = cursorConverter.convertToModel(query.getCursor(), sortFields);
+		Slice<CertificateModel> sliceModel = certificateRepository.findAll(query.getFilterParams(), cursor,
+				query.getLimit());
+		List<CertificateDto> certificateDtos = new ArrayList<>(query.getLimit());
+		sliceModel.getContent()
+				.forEach(certificateModel -> certificateDtos.add(certificateConverter.convertToDto(certificateModel)));
+
+		return cursorConverter.convertToDto(sliceModel, cursor, certificateDtos, sortFields,
+				certificateModel -> obtainSortKeys(certificateModel, sortFields));
+	}
+
+	/**
+	 * Reads all certificates which meet the passed parameters and passes them to
+	 * the consumer one by one without pagination. Pagination parameters are
+	 * ignored, sorting by relevance is replaced by sorting by id.
+	 * 
+	 * @param query    the parameters which define the choice of certificates and
+	 *                 their ordering
+	 * @param consumer the consumer of the read certificates
+	 * @return amount of the read certificates
+	 * @throws ValidationException if passed parameters are invalid
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long exportAll(ReadQueryDto query, Consumer<CertificateDto> consumer) {
+		Map<ErrorCode, String> errors = certificateValidation.validateReadParams(query);
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors, ErrorCode.INVALID_CERTIFICATE_REQUEST_PARAMS);
 		}
 
-		Page<CertificateModel> pageModel = certificateRepository.findAll(paramsInLowerCase, pageNumber, limit);
-		List<CertificateModel> certificateModels = pageModel.getContent();
-		List<CertificateDto> certificateDtos = new ArrayList<>(limit);
-		if (certificateModels != null) {
-			certificateModels.forEach(
-					certificateModel -> certificateDtos.add(certificateConverter.convertToDto(certificateModel)));
+		MultiValueMap<String, String> params = query.getFilterParams();
+		if (query.getSortFields().contains(EntityConstant.CERTIFICATE_RELEVANCE)) {
+			List<String> sortFields = new ArrayList<>(query.getSortFields());
+			sortFields.remove(EntityConstant.CERTIFICATE_RELEVANCE);
+			params = new LinkedMultiValueMap<>(params);
+			params.put(EntityConstant.ORDER_BY, sortFields);
 		}
 
-		return pageConverter.convertToDto(pageModel, certificateDtos);
+		return certificateRepository.streamAll(params,
+				certificateModel -> consumer.accept(certificateConverter.convertToDto(certificateModel)));
 	}
 
-	private static List<String> convertToFieldNames(List<String> sortParams) {
-		List<String> sortFields = new ArrayList<String>(sortParams.size());
-		for (String sortParam : sortParams) {
-			StringBuilder fieldName = new StringBuilder();
-			String[] words = sortParam.split("_");
-			if (words.length >= 1) {
-				fieldName.append(words[0].toLowerCase());
-				for (int i = 1; i < words.length; i++) {
-					fieldName.append(words[i].substring(0, 1).toUpperCase());
-					if (words[i].length() > 1) {
-						fieldName.append(words[i].substring(1).toLowerCase());
-					}
-				}
-			}
-			sortFields.add(fieldName.toString());
+	private static List<Object> obtainSortKeys(CertificateModel certificateModel, List<String> sortFields) {
+		List<Object> sortKeys = new ArrayList<>(sortFields.size() + 1);
+		for (String sortField : sortFields) {
+			int lastCharIndex = sortField.length() - 1;
+			String fieldName = sortField.charAt(lastCharIndex) == EntityConstant.DESC_SIGN
+					? sortField.substring(0, lastCharIndex)
+					: sortField;
+			sortKeys.add(SORT_KEY_EXTRACTORS.get(fieldName).apply(certificateModel));
 		}
-
-		return sortFields;
+		sortKeys.add(certificateModel.getId());
+		return sortKeys;
 	}
 
 	/**
@@ -219,7 +298,9 @@ public class CertificateServiceImpl implements CertificateService {
 	@Override
 	public int delete(long certificateId) {
 		checkCertificateExistenceById(certificateId);
-		return certificateRepository.delete(certificateId);
+		int deletedAmount = certificateRepository.delete(certificateId);
+		certificateReadCache.invalidate(certificateId);
+		return deletedAmount;
 	}
 
 	/**
@@ -252,7 +333,8 @@ public class CertificateServiceImpl implements CertificateService {
 		}
 
 		certificateDto.setId(certificateId);
-		certificateDto.setTags(obtainCertificateTags(certificateDto.getTags()));
+		obtainCertificateTags(Collections.singletonList(certificateDto));
+		certificateReadCache.invalidate(certificateId);
 		certificateRepository.updateCertificate(certificateConverter.convertToModel(certificateDto));
 
 		return readById(certificateId);
@@ -287,7 +369,8 @@ public class CertificateServiceImpl implements CertificateService {
 		}
 
 		certificateDto.setId(certificateId);
-		certificateDto.setTags(obtainCertificateTags(certificateDto.getTags()));
+		obtainCertificateTags(Collections.singletonList(certificateDto));
+		certificateReadCache.invalidate(certificateId);
 		certificateRepository.updateCertificate(certificateConverter.convertToModel(certificateDto));
 
 		return readById(certificateId);
@@ -305,37 +388,40 @@ public class CertificateServiceImpl implements CertificateService {
 		}
 	}
 
-	private List<TagDto> obtainCertificateTags(List<TagDto> initialTagDtos) {
-		if (initialTagDtos == null) {
-			return new ArrayList<>();
-		}
-		Set<TagDto> tagDtos = new HashSet<>(initialTagDtos);
-		List<TagModel> tagModels = new ArrayList<>(tagDtos.size());
-		List<TagDto> obtainedCertificateTagDtos = new ArrayList<>(tagDtos.size());
-
-		for (TagDto tagDto : tagDtos) {
-			tagDto.setId(null);
-			TagModel tagModelToSave = null;
-			Optional<TagModel> tagModel = tagRepository.findByName(ValidationUtil.removeExtraSpaces(tagDto.getName()));
-			if (tagModel.isEmpty()) {
-				Map<ErrorCode, String> errors = tagValidation.validateAllTagFields(tagDto);
-				if (!errors.isEmpty()) {
-					throw new ValidationException(errors, ErrorCode.INVALID_TAG);
-				}
-				tagModelToSave = tagRepository.save(tagConverter.convertToModel(tagDto));
-			} else {
-				tagModelToSave = tagModel.get();
-				if (tagModelToSave.isDeleted()) {
-					tagRepository.restore(tagModelToSave.getId());
+	private void obtainCertificateTags(List<CertificateDto> certificateDtos) {
+		Set<String> tagNames = new LinkedHashSet<>();
+		for (CertificateDto certificateDto : certificateDtos) {
+			if (certificateDto.getTags() != null) {
+				for (TagDto tagDto : certificateDto.getTags()) {
+					Map<ErrorCode, String> errors = tagValidation.validateAllTagFields(tagDto);
+					if (!errors.isEmpty()) {
+						throw new ValidationException(errors, ErrorCode.INVALID_TAG);
+					}
+					tagNames.add(ValidationUtil.removeExtraSpaces(tagDto.getName()));
 				}
 			}
-			tagModels.add(tagModelToSave);
-			obtainedCertificateTagDtos.add(tagConverter.convertToDto(tagModelToSave));
 		}
 
-		return obtainedCertificateTagDtos;
+		Map<String, Long> tagIds = tagRepository.saveOrRestoreByNames(tagNames);
+		for (CertificateDto certificateDto : certificateDtos) {
+			Map<String, TagDto> certificateTags = new LinkedHashMap<>();
+			if (certificateDto.getTags() != null) {
+				for (TagDto tagDto : certificateDto.getTags()) {
+					String tagName = ValidationUtil.removeExtraSpaces(tagDto.getName());
+					String tagKey = tagName.toLowerCase();
+					if (!certificateTags.containsKey(tagKey)) {
+						TagDto certificateTag = new TagDto();
+						certificateTag.setId(tagIds.get(tagKey));
+						certificateTag.setName(tagName);
+						certificateTags.put(tagKey, certificateTag);
+					}
+				}
+			}
+			certificateDto.setTags(new ArrayList<>(certificateTags.values()));
+		}
 	}
 
+
 	private boolean isCertificateNameUniqueForUpdate(Long certificateId, CertificateDto certificateDto) {
 		String name = certificateDto.getName();
 		if (name == null) {
@@ -2,35 +2,50 @@ package com.epam.esm.service.impl;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.MultiValueMap;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.epam.esm.dto.CursorPageDto;
 import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.OrderBatchResultDto;
 import com.epam.esm.dto.OrderCertificateDto;
 import com.epam.esm.dto.OrderDataDto;
 import com.epam.esm.dto.OrderDto;
+import com.epam.esm.dto.ReadQueryDto;
+import com.epam.esm.dto.UserDto;
 import com.epam.esm.exception.ErrorCode;
+import com.epam.esm.exception.GeneralException;
 import com.epam.esm.exception.NotFoundException;
 import com.epam.esm.exception.ValidationException;
 import com.epam.esm.repository.CertificateRepository;
 import com.epam.esm.repository.OrderRepository;
 import com.epam.esm.repository.UserRepository;
 import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.CertificatePriceModel;
+import com.epam.esm.repository.model.OrderDataModel;
 import com.epam.esm.repository.model.OrderModel;
 import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.repository.model.UserModel;
 import com.epam.esm.service.OrderService;
 import com.epam.esm.service.ServiceConstant;
 import com.epam.esm.service.converter.OrderConverter;
 import com.epam.esm.service.converter.OrderDataConverter;
+import com.epam.esm.service.converter.CursorConverter;
 import com.epam.esm.service.converter.PageConverter;
 import com.epam.esm.service.validation.OrderValidation;
 import com.epam.esm.service.validation.ValidationUtil;
@@ -49,12 +64,15 @@ public class OrderServiceImpl implements OrderService {
 	private final OrderDataConverter orderDataConverter;
 	private final PageConverter<OrderDto, OrderModel> pageConverter;
 	private final OrderValidation orderValidation;
+	private final CursorConverter cursorConverter;
+	private final TransactionTemplate transactionTemplate;
 
 	@Autowired
 	public OrderServiceImpl(OrderRepository orderRepository, UserRepository userRepository,
 			CertificateRepository certificateRepository, OrderConverter orderConverter,
 			OrderDataConverter orderDataConverter, OrderValidation orderValidation,
-			PageConverter<OrderDto, OrderModel> pageConverter) {
+			PageConverter<OrderDto, OrderModel> pageConverter, CursorConverter cursorConverter,
+			TransactionTemplate transactionTemplate) {
 		this.orderRepository = orderRepository;
 		this.userRepository = userRepository;
 		this.certificateRepository = certificateRepository;
@@ -62,6 +80,8 @@ public class OrderServiceImpl implements OrderService {
 		this.orderDataConverter = orderDataConverter;
 		this.pageConverter = pageConverter;
 		this.orderValidation = orderValidation;
+		this.cursorConverter = cursorConverter;
+		this.transactionTemplate = transactionTemplate;
 	}
 
 	/**
@@ -73,6 +93,7 @@ public class OrderServiceImpl implements OrderService {
 	 * @throws NotFoundException   if the order with passed id does not exist
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public OrderDto readById(long orderId) {
 		if (!ValidationUtil.isPositive(orderId)) {
 			throw new ValidationException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + orderId,
@@ -91,7 +112,7 @@ public class OrderServiceImpl implements OrderService {
 	 * Reads all orders for the specified user according to the passed parameters.
 	 * 
 	 * @param userId id of the user whose orders should be read
-	 * @param params the parameters which define the choice of orders and their
+	 * @param query  the parameters which define the choice of orders and their
 	 *               ordering
 	 * 
 	 * @return orders for specified user which meet the passed parameters
@@ -99,8 +120,8 @@ public class OrderServiceImpl implements OrderService {
 	 * @throws ValidationException if passed user id or read parameters are invalid
 	 */
 	@Override
-	public Page<OrderDto> readAllByUserId(long userId, MultiValueMap<String, String> params) {
-		MultiValueMap<String, String> paramsInLowerCase = ValidationUtil.mapToLowerCase(params);
+	@Transactional(readOnly = true)
+	public Page<OrderDto> readAllByUserId(long userId, ReadQueryDto query) {
 		if (!ValidationUtil.isPositive(userId)) {
 			throw new ValidationException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + userId,
 					ErrorCode.INVALID_USER_ID);
@@ -109,24 +130,15 @@ public class OrderServiceImpl implements OrderService {
 			throw new NotFoundException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + userId,
 					ErrorCode.NO_USER_FOUND);
 		}
-		Map<ErrorCode, String> errors = orderValidation.validateReadParams(paramsInLowerCase);
+		Map<ErrorCode, String> errors = orderValidation.validateReadParams(query);
 
 		if (!errors.isEmpty()) {
 			throw new ValidationException(errors, ErrorCode.INVALID_ORDER_REQUEST_PARAMS);
 		}
 
-		int offset = ServiceConstant.DEFAULT_PAGE_NUMBER;
-		int limit = ServiceConstant.DEFAULT_LIMIT;
-
-		if (params.containsKey(ServiceConstant.OFFSET)) {
-			offset = Integer.parseInt(params.get(ServiceConstant.OFFSET).get(0));
-		}
-
-		if (params.containsKey(ServiceConstant.LIMIT)) {
-			limit = Integer.parseInt(params.get(ServiceConstant.LIMIT).get(0));
-		}
-
-		Page<OrderModel> pageModel = orderRepository.readAllByUserId(userId, offset, limit);
+		int limit = query.getLimit();
+		Page<OrderModel> pageModel = orderRepository.readAllByUserId(userId, query.getPageNumber(), limit,
+				query.getCountStrategy());
 		List<OrderModel> orderModels = pageModel.getContent();
 		List<OrderDto> orderDtos = new ArrayList<>(limit);
 		if (orderModels != null) {
@@ -137,7 +149,49 @@ public class OrderServiceImpl implements OrderService {
 	}
 
 	/**
-	 * Creates and saves the passed order for the specified user.
+	 * Reads orders for the specified user page by page using keyset pagination.
+	 * The position of the page is defined by the opaque cursor from the
+	 * {@code cursor} parameter, empty cursor means the first page.
+	 * 
+	 * @param userId id of the user whose orders should be read
+	 * @param query  the parameters which define the choice of orders
+	 * @return page of orders for specified user with cursors of the next and
+	 *         previous pages
+	 * @throws NotFoundException   if user with passed id does not exist
+	 * @throws ValidationException if passed user id, read parameters or cursor are
+	 *                             invalid
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageDto<OrderDto> readAllByUserIdAndCursor(long userId, ReadQueryDto query) {
+		if (!ValidationUtil.isPositive(userId)) {
+			throw new ValidationException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + userId,
+					ErrorCode.INVALID_USER_ID);
+		}
+		if (!userRepository.userExistsById(userId)) {
+			throw new NotFoundException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + userId,
+					ErrorCode.NO_USER_FOUND);
+		}
+		Map<ErrorCode, String> errors = orderValidation.validateReadParams(query);
+
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors, ErrorCode.INVALID_ORDER_REQUEST_PARAMS);
+		}
+
+		int limit = query.getLimit();
+		KeysetCursor cursor = cursorConverter.convertToModel(query.getCursor(), new ArrayList<>());
+		Slice<OrderModel> sliceModel = orderRepository.readAllByUserId(userId, cursor, limit);
+		List<OrderDto> orderDtos = new ArrayList<>(limit);
+		sliceModel.getContent().forEach(orderModel -> orderDtos.add(orderConverter.convertToDto(orderModel)));
+
+		return cursorConverter.convertToDto(sliceModel, cursor, orderDtos, new ArrayList<>(),
+				orderModel -> List.of(orderModel.getId()));
+	}
+
+	/**
+	 * Creates and saves the passed order for the specified user. The ordered
+	 * certificates are read with their tags by one query, which provides both the
+	 * prices for the cost and the content of the returned order.
 	 * 
 	 * @param orderDto the order to be saved
 	 * @param userId   the id of the user whose order will be saved
@@ -148,12 +202,24 @@ public class OrderServiceImpl implements OrderService {
 	 */
 	@Override
 	public OrderDto create(long userId, OrderDto orderDto) {
-		OrderModel savedOrder = orderRepository.save(obtainOrderModelToSave(userId, orderDto));
+		Map<Long, CertificateModel> certificates = certificateRepository
+				.findAllByIdsWithTags(obtainCertificateIds(Collections.singletonList(orderDto)));
+		OrderModel savedOrder = orderRepository
+				.save(obtainOrderModelToSave(userId, orderDto, obtainCertificatePrices(certificates)));
 		return orderConverter.convertToDto(savedOrder);
 	}
 
+	private static Map<Long, CertificatePriceModel> obtainCertificatePrices(Map<Long, CertificateModel> certificates) {
+		Map<Long, CertificatePriceModel> certificatePrices = new HashMap<>();
+		certificates.forEach((certificateId, certificate) -> certificatePrices.put(certificateId,
+				new CertificatePriceModel(certificateId, certificate.getPrice(), certificate.isDeleted())));
+		return certificatePrices;
+	}
+
 	/**
-	 * Creates and saves the passed orders.
+	 * Creates and saves the passed orders. The ordered certificates are read with
+	 * their tags by one query and stay loaded, so the saved orders are returned
+	 * without reading their certificates again.
 	 * 
 	 * @param orderDtos the orders to be saved
 	 * @return saved orders
@@ -169,9 +235,11 @@ public class OrderServiceImpl implements OrderService {
 		List<OrderDto> createdOrders = new ArrayList<>();
 		if (orderDtos != null) {
 			List<OrderModel> ordersToSave = new ArrayList<>(orderDtos.size());
+			Map<Long, CertificatePriceModel> certificates = obtainCertificatePrices(
+					certificateRepository.findAllByIdsWithTags(obtainCertificateIds(orderDtos)));
 
-			orderDtos.forEach(
-					orderDto -> ordersToSave.add(obtainOrderModelToSave(orderDto.getUser().getId(), orderDto)));
+			orderDtos.forEach(orderDto -> ordersToSave
+					.add(obtainOrderModelToSave(orderDto.getUser().getId(), orderDto, certificates)));
 
 			List<OrderModel> createdOrderModels = orderRepository.saveOrders(ordersToSave);
 
@@ -180,11 +248,101 @@ public class OrderServiceImpl implements OrderService {
 		return createdOrders;
 	}
 
-	private OrderModel obtainOrderModelToSave(long userId, OrderDto orderDto) {
+	/**
+	 * Creates and saves the passed orders of any users. The users and the
+	 * certificates of all orders are checked by one query each. An invalid order
+	 * is reported in its result and does not prevent other orders from being
+	 * saved. Valid orders are saved and committed by chunks, so the failure of a
+	 * chunk is reported for its orders only.
+	 * 
+	 * @param orderDtos the orders to be saved
+	 * @return the results of the passed orders in the same order
+	 * @throws ValidationException if the amount of passed orders is out of range
+	 */
+	@Override
+	public List<OrderBatchResultDto> createOrderBatch(List<OrderDto> orderDtos) {
+		int batchSize = orderDtos != null ? orderDtos.size() : 0;
+		if (batchSize == 0 || batchSize > ServiceConstant.ORDER_BATCH_MAX_SIZE) {
+			throw new ValidationException(
+					ServiceConstant.ORDER_BATCH + ValidationUtil.ERROR_RESOURCE_DELIMITER + batchSize,
+					ErrorCode.INVALID_ORDER_BATCH_SIZE);
+		}
+		Set<Long> existingUserIds = userRepository.findExistingIds(obtainUserIds(orderDtos));
+		Map<Long, CertificatePriceModel> certificates = certificateRepository
+				.findAllByIds(obtainCertificateIds(orderDtos));
+
+		List<OrderBatchResultDto> results = new ArrayList<>(batchSize);
+		List<OrderModel> ordersToSave = new ArrayList<>();
+		List<OrderBatchResultDto> resultsToSave = new ArrayList<>();
+		for (int i = 0; i < batchSize; i++) {
+			OrderBatchResultDto result = new OrderBatchResultDto();
+			result.setIndex(i);
+			results.add(result);
+			try {
+				ordersToSave.add(obtainOrderModelToSave(orderDtos.get(i), existingUserIds, certificates));
+				resultsToSave.add(result);
+			} catch (GeneralException e) {
+				result.setGeneralErrorCode(e.getGeneralErrorCode());
+				result.setInvalidResource(e.getInvalidResource());
+				result.setErrors(e.getErrors());
+			}
+		}
+
+		for (int from = 0; from < ordersToSave.size(); from += ServiceConstant.ORDER_BATCH_CHUNK_SIZE) {
+			int to = Math.min(from + ServiceConstant.ORDER_BATCH_CHUNK_SIZE, ordersToSave.size());
+			List<OrderModel> chunk = new ArrayList<>(ordersToSave.subList(from, to));
+			List<OrderBatchResultDto> chunkResults = resultsToSave.subList(from, to);
+			try {
+				List<OrderModel> savedOrders = transactionTemplate.execute(status -> orderRepository.saveOrders(chunk));
+				for (int i = 0; i < chunkResults.size(); i++) {
+					chunkResults.get(i).setOrderId(savedOrders.get(i).getId());
+				}
+			} catch (DataAccessException | TransactionException e) {
+				chunkResults.forEach(result -> result.setGeneralErrorCode(ErrorCode.INTERNAL_ERROR));
+			}
+		}
+		return results;
+	}
+
+	private Set<Long> obtainUserIds(List<OrderDto> orderDtos) {
+		Set<Long> userIds = new HashSet<>();
+		for (OrderDto orderDto : orderDtos) {
+			UserDto userDto = orderDto != null ? orderDto.getUser() : null;
+			if (userDto != null && ValidationUtil.isPositive(userDto.getId())) {
+				userIds.add(userDto.getId());
+			}
+		}
+		return userIds;
+	}
+
+	private OrderModel obtainOrderModelToSave(OrderDto orderDto, Set<Long> existingUserIds,
+			Map<Long, CertificatePriceModel> certificates) {
+		ValidationUtil.checkNull(orderDto, EntityConstant.ORDER);
+		ValidationUtil.checkNull(orderDto.getUser(), EntityConstant.USER);
+		Long userId = orderDto.getUser().getId();
+		if (!ValidationUtil.isPositive(userId)) {
+			throw new ValidationException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + userId,
+					ErrorCode.INVALID_USER_ID);
+		}
+		if (!existingUserIds.contains(userId)) {
+			throw new NotFoundException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + userId,
+					ErrorCode.NO_USER_FOUND);
+		}
+		UserModel userModel = new UserModel();
+		userModel.setId(userId);
+		return obtainOrderModelToSave(userModel, orderDto, certificates);
+	}
+
+	private OrderModel obtainOrderModelToSave(long userId, OrderDto orderDto,
+			Map<Long, CertificatePriceModel> certificates) {
 		UserModel userModel = userRepository.findById(userId).orElseThrow(() -> new NotFoundException(
 				EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + userId, ErrorCode.NO_USER_FOUND));
+		return obtainOrderModelToSave(userModel, orderDto, certificates);
+	}
 
-		Map<ErrorCode, String> errors = checkOrderContentExistance(orderDto);
+	private OrderModel obtainOrderModelToSave(UserModel userModel, OrderDto orderDto,
+			Map<Long, CertificatePriceModel> certificates) {
+		Map<ErrorCode, String> errors = checkOrderContentExistance(orderDto, certificates);
 		if (!errors.isEmpty()) {
 			throw new ValidationException(errors, ErrorCode.INVALID_CERTIFICATE);
 		}
@@ -199,17 +357,17 @@ public class OrderServiceImpl implements OrderService {
 
 		for (OrderCertificateDto orderCertificate : orderCertificates) {
 			Long certificateId = orderCertificate.getCertificate().getId();
-			Optional<CertificateModel> certificateModelOptional = certificateRepository.findById(certificateId);
-			CertificateModel certificateModel = certificateModelOptional.get();
+			CertificatePriceModel certificate = certificates.get(certificateId);
 
 			int certificateAmount = orderCertificate.getCertificateAmount();
 
-			cost = cost.add(certificateModel.getPrice().multiply(new BigDecimal(certificateAmount)));
+			cost = cost.add(certificate.getPrice().multiply(new BigDecimal(certificateAmount)));
 		}
 
 		orderDto.setId(null);
 		orderDto.setCertificates(orderCertificates);
 		OrderModel orderToSave = orderConverter.convertToModel(orderDto);
+		orderToSave.setDate(null);
 		orderToSave.setCost(cost);
 		orderToSave.setUser(userModel);
 		return orderToSave;
@@ -217,6 +375,8 @@ public class OrderServiceImpl implements OrderService {
 
 	/**
 	 * Reads information about the order with passed id for the specified user.
+	 * Only the cost, the date and the owner of the order are read, the order
+	 * entity is not loaded.
 	 * 
 	 * @param userId  id of the user whose order should be read
 	 * @param orderId id of the order to be read
@@ -225,18 +385,19 @@ public class OrderServiceImpl implements OrderService {
 	 * @throws ValidationException if passed order or user id is invalid
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public OrderDataDto readOrderDataByUserId(long userId, long orderId) {
 		if (!ValidationUtil.isPositive(orderId)) {
 			throw new ValidationException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + orderId,
 					ErrorCode.INVALID_ORDER_ID);
 		}
 
-		OrderModel orderModel = orderRepository.findById(orderId)
+		OrderDataModel orderDataModel = orderRepository.findOrderDataById(orderId)
 				.orElseThrow(() -> new NotFoundException(
 						EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + orderId,
 						ErrorCode.NO_ORDER_FOUND));
 
-		if (orderModel.getUser().getId() != userId) {
+		if (orderDataModel.getUserId() != userId) {
 			StringBuilder errorMessage = new StringBuilder();
 			errorMessage.append(EntityConstant.USER_ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + userId);
 			errorMessage.append(ValidationUtil.ERROR_RESOURCES_LIST_DELIMITER);
@@ -244,38 +405,28 @@ public class OrderServiceImpl implements OrderService {
 			throw new ValidationException(errorMessage.toString(), ErrorCode.USER_ID_MISMATCH);
 		}
 
-		return orderDataConverter.convertToDto(orderModel);
+		return orderDataConverter.convertToDto(orderDataModel);
 	}
 
 	/**
 	 * Reads all orders according to the passed parameters.
 	 * 
-	 * @param params the parameters which define the choice of orders and their
-	 *               ordering
+	 * @param query the parameters which define the choice of orders and their
+	 *              ordering
 	 * @return orders which meet passed parameters
 	 * @throws ValidationException if passed parameters are invalid
 	 */
 	@Override
-	public Page<OrderDto> readAll(MultiValueMap<String, String> params) {
-		MultiValueMap<String, String> paramsInLowerCase = ValidationUtil.mapToLowerCase(params);
-		Map<ErrorCode, String> errors = orderValidation.validateReadParams(paramsInLowerCase);
+	@Transactional(readOnly = true)
+	public Page<OrderDto> readAll(ReadQueryDto query) {
+		Map<ErrorCode, String> errors = orderValidation.validateReadParams(query);
 
 		if (!errors.isEmpty()) {
 			throw new ValidationException(errors, ErrorCode.INVALID_ORDER_REQUEST_PARAMS);
 		}
 
-		int offset = ServiceConstant.DEFAULT_PAGE_NUMBER;
-		int limit = ServiceConstant.DEFAULT_LIMIT;
-
-		if (params.containsKey(ServiceConstant.OFFSET)) {
-			offset = Integer.parseInt(params.get(ServiceConstant.OFFSET).get(0));
-		}
-
-		if (params.containsKey(ServiceConstant.LIMIT)) {
-			limit = Integer.parseInt(params.get(ServiceConstant.LIMIT).get(0));
-		}
-
-		Page<OrderModel> pageModel = orderRepository.findAll(offset, limit);
+		int limit = query.getLimit();
+		Page<OrderModel> pageModel = orderRepository.findAll(query.getPageNumber(), limit, query.getCountStrategy());
 		List<OrderModel> orderModels = pageModel.getContent();
 		List<OrderDto> orderDtos = new ArrayList<>(limit);
 		if (orderModels != null) {
@@ -285,6 +436,48 @@ public class OrderServiceImpl implements OrderService {
 		return pageConverter.convertToDto(pageModel, orderDtos);
 	}
 
+	/**
+	 * Reads orders page by page using keyset pagination. The position of the
+	 * page is defined by the opaque cursor from the {@code cursor} parameter,
+	 * empty cursor means the first page.
+	 * 
+	 * @param query the parameters which define the choice of orders
+	 * @return page of orders which meet passed parameters with cursors of the
+	 *         next and previous pages
+	 * @throws ValidationException if passed parameters or cursor are invalid
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageDto<OrderDto> readAllByCursor(ReadQueryDto query) {
+		Map<ErrorCode, String> errors = orderValidation.validateReadParams(query);
+
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors, ErrorCode.INVALID_ORDER_REQUEST_PARAMS);
+		}
+
+		int limit = query.getLimit();
+		KeysetCursor cursor = cursorConverter.convertToModel(query.getCursor(), new ArrayList<>());
+		Slice<OrderModel> sliceModel = orderRepository.findAll(cursor, limit);
+		List<OrderDto> orderDtos = new ArrayList<>(limit);
+		sliceModel.getContent().forEach(orderModel -> orderDtos.add(orderConverter.convertToDto(orderModel)));
+
+		return cursorConverter.convertToDto(sliceModel, cursor, orderDtos, new ArrayList<>(),
+				orderModel -> List.of(orderModel.getId()));
+	}
+
+	/**
+	 * Reads all orders and passes them to the consumer one by one without
+	 * pagination. The users and certificates of the orders contain only ids.
+	 * 
+	 * @param consumer the consumer of the read orders
+	 * @return amount of the read orders
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long exportAll(Consumer<OrderDto> consumer) {
+		return orderRepository.streamAll(orderModel -> consumer.accept(orderConverter.convertToDto(orderModel)));
+	}
+
 	private List<OrderCertificateDto> obtainUniqueOrderCertificates(
 			List<OrderCertificateDto> initialOrderCertificates) {
 		Map<CertificateDto, Integer> orderCertificates = new HashMap<>();
@@ -307,7 +500,23 @@ public class OrderServiceImpl implements OrderService {
 		return resultOrderCertificates;
 	}
 
-	private Map<ErrorCode, String> checkOrderContentExistance(OrderDto orderDto) {
+	private Set<Long> obtainCertificateIds(List<OrderDto> orderDtos) {
+		Set<Long> certificateIds = new HashSet<>();
+		for (OrderDto orderDto : orderDtos) {
+			if (orderDto != null && orderDto.getCertificates() != null) {
+				for (OrderCertificateDto orderCertificate : orderDto.getCertificates()) {
+					CertificateDto certificateDto = orderCertificate != null ? orderCertificate.getCertificate() : null;
+					if (certificateDto != null && ValidationUtil.isPositive(certificateDto.getId())) {
+						certificateIds.add(certificateDto.getId());
+					}
+				}
+			}
+		}
+		return certificateIds;
+	}
+
+	private Map<ErrorCode, String> checkOrderContentExistance(OrderDto orderDto,
+			Map<Long, CertificatePriceModel> certificates) {
 		ValidationUtil.checkNull(orderDto, EntityConstant.ORDER);
 		Map<ErrorCode, String> errors = new HashMap<>();
 		List<OrderCertificateDto> orderCertificates = orderDto.getCertificates();
@@ -316,16 +525,24 @@ public class OrderServiceImpl implements OrderService {
 					EntityConstant.ORDER_CERTIFICATES + ValidationUtil.ERROR_RESOURCE_DELIMITER + orderCertificates);
 		} else {
 			for (OrderCertificateDto orderCertificate : orderCertificates) {
+				ValidationUtil.checkNull(orderCertificate, EntityConstant.ORDER_CERTIFICATES);
 				CertificateDto certificateDto = orderCertificate.getCertificate();
 				ValidationUtil.checkNull(certificateDto, EntityConstant.CERTIFICATE);
 				Long certificateId = certificateDto.getId();
 				if (!ValidationUtil.isPositive(certificateId)) {
 					errors.put(ErrorCode.INVALID_CERTIFICATE_ID,
 							EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + certificateId);
-				} else if (!certificateRepository.certificateExistsById(certificateId)) {
+				} else if (!certificates.containsKey(certificateId) || certificates.get(certificateId).isDeleted()) {
 					errors.put(ErrorCode.NO_CERTIFICATE_FOUND,
 							EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + certificateId);
 				}
+				Integer certificateAmount = orderCertificate.getCertificateAmount();
+				if (certificateAmount == null) {
+					errors.put(ErrorCode.INVALID_ORDER_CERTIFICATE_AMOUNT,
+							EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + certificateId
+									+ ValidationUtil.ERROR_RESOURCES_LIST_DELIMITER + EntityConstant.CERTIFICATE_AMOUNT
+									+ ValidationUtil.ERROR_RESOURCE_DELIMITER + certificateAmount);
+				}
 			}
 		}
 		return errors;
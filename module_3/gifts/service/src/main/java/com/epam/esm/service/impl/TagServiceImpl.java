@@ -1,26 +1,34 @@
 package com.epam.esm.service.impl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.MultiValueMap;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.TagDto;
 import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.exception.NotFoundException;
 import com.epam.esm.exception.ValidationException;
 import com.epam.esm.repository.CertificateRepository;
 import com.epam.esm.repository.TagRepository;
-import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
 import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.service.ServiceConstant;
 import com.epam.esm.service.TagService;
+import com.epam.esm.service.cache.CertificateReadCache;
+import com.epam.esm.service.converter.CursorConverter;
 import com.epam.esm.service.converter.PageConverter;
 import com.epam.esm.service.converter.TagConverter;
 import com.epam.esm.service.validation.TagValidation;
@@ -38,15 +46,25 @@ public class TagServiceImpl implements TagService {
 	private final TagConverter tagConverter;
 	private final PageConverter<TagDto, TagModel> pageConverter;
 	private final TagValidation tagValidation;
+	private final CursorConverter cursorConverter;
+	private final CertificateReadCache certificateReadCache;
+	private final TransactionTemplate transactionTemplate;
 
 	@Autowired
 	public TagServiceImpl(CertificateRepository certificateRepository, TagRepository tagRepository,
-			TagConverter tagConverter, TagValidation tagValidation, PageConverter<TagDto, TagModel> pageConverter) {
+			TagConverter tagConverter, TagValidation tagValidation, PageConverter<TagDto, TagModel> pageConverter,
+			CursorConverter cursorConverter, CertificateReadCache certificateReadCache,
+			TransactionTemplate transactionTemplate) {
 		this.certificateRepository = certificateRepository;
 		this.tagRepository = tagRepository;
 		this.tagConverter = tagConverter;
 		this.pageConverter = pageConverter;
 		this.tagValidation = tagValidation;
+		this.cursorConverter = cursorConverter;
+		this.certificateReadCache = certificateReadCache;
+		this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager(),
+				transactionTemplate);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
 	}
 
 	/**
@@ -54,11 +72,17 @@ public class TagServiceImpl implements TagService {
 	 * 
 	 * @param tagDto the tag to be saved
 	 * @return saved tag
-	 * @throws ValidationException if passed tag fields are invalid
+	 * @throws ValidationException if passed tag fields are invalid or its name is
+	 *                             already taken
 	 */
 	@Override
 	public TagDto create(TagDto tagDto) {
-		TagModel createdTagModel = tagRepository.save(obtainTagModelToSave(tagDto));
+		TagModel createdTagModel;
+		try {
+			createdTagModel = tagRepository.save(obtainTagModelToSave(tagDto));
+		} catch (DuplicatedKeyException e) {
+			throw obtainDuplicatedNameException(e);
+		}
 		TagDto createdTag = tagConverter.convertToDto(createdTagModel);
 		return createdTag;
 	}
@@ -68,7 +92,9 @@ public class TagServiceImpl implements TagService {
 	 * 
 	 * @param tagDtos the tags to be saved
 	 * @return saved tags
-	 * @throws ValidationException if any of passed tags contains invalid fields
+	 * @throws ValidationException if any of passed tags contains invalid fields or
+	 *                             the names of the tags are already taken or
+	 *                             repeated
 	 */
 	@Override
 	@Transactional
@@ -77,7 +103,12 @@ public class TagServiceImpl implements TagService {
 		if (tagDtos != null) {
 			List<TagModel> tagsToSave = new ArrayList<>(tagDtos.size());
 			tagDtos.forEach(tagDto -> tagsToSave.add(obtainTagModelToSave(tagDto)));
-			List<TagModel> createdTagModels = tagRepository.saveTags(tagsToSave);
+			List<TagModel> createdTagModels;
+			try {
+				createdTagModels = tagRepository.saveTags(tagsToSave);
+			} catch (DuplicatedKeyException e) {
+				throw obtainDuplicatedNameException(e);
+			}
 			createdTagModels.forEach(tagModel -> createdTags.add(tagConverter.convertToDto(tagModel)));
 		}
 		return createdTags;
@@ -85,10 +116,6 @@ public class TagServiceImpl implements TagService {
 
 	private TagModel obtainTagModelToSave(TagDto tagDto) {
 		Map<ErrorCode, String> errors = tagValidation.validateAllTagFields(tagDto);
-		if (tagRepository.tagExistsByName(ValidationUtil.removeExtraSpaces(tagDto.getName()))) {
-			errors.put(ErrorCode.DUPLICATED_TAG_NAME,
-					EntityConstant.NAME + ValidationUtil.ERROR_RESOURCE_DELIMITER + tagDto.getName());
-		}
 		if (!errors.isEmpty()) {
 			throw new ValidationException(errors, ErrorCode.INVALID_TAG);
 		}
@@ -96,6 +123,13 @@ public class TagServiceImpl implements TagService {
 		return tagConverter.convertToModel(tagDto);
 	}
 
+	private static ValidationException obtainDuplicatedNameException(DuplicatedKeyException exception) {
+		Map<ErrorCode, String> errors = new HashMap<>();
+		errors.put(ErrorCode.DUPLICATED_TAG_NAME, EntityConstant.NAME + ValidationUtil.ERROR_RESOURCE_DELIMITER
+				+ String.join(ValidationUtil.ERROR_RESOURCES_LIST_DELIMITER, exception.getDuplicatedKeys()));
+		return new ValidationException(errors, ErrorCode.INVALID_TAG);
+	}
+
 	/**
 	 * Reads tag with passed id.
 	 * 
@@ -105,6 +139,7 @@ public class TagServiceImpl implements TagService {
 	 * @throws NotFoundException   if tag with passed id does not exist
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public TagDto readById(long tagId) {
 		if (!ValidationUtil.isPositive(tagId)) {
 			throw new ValidationException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + tagId,
@@ -120,32 +155,22 @@ public class TagServiceImpl implements TagService {
 	/**
 	 * Reads all tags according to the passed parameters.
 	 * 
-	 * @param params the parameters which define the choice of tags and their
-	 *               ordering
+	 * @param query the parameters which define the choice of tags and their
+	 *              ordering
 	 * @return tags which meet passed parameters
 	 * @throws ValidationException if passed parameters are invalid
 	 */
 	@Override
-	public Page<TagDto> readAll(MultiValueMap<String, String> params) {
-		MultiValueMap<String, String> paramsInLowerCase = ValidationUtil.mapToLowerCase(params);
-		Map<ErrorCode, String> errors = tagValidation.validateReadParams(paramsInLowerCase);
+	@Transactional(readOnly = true)
+	public Page<TagDto> readAll(ReadQueryDto query) {
+		Map<ErrorCode, String> errors = tagValidation.validateReadParams(query);
 
 		if (!errors.isEmpty()) {
 			throw new ValidationException(errors, ErrorCode.INVALID_TAG_REQUEST_PARAMS);
 		}
 
-		int offset = ServiceConstant.DEFAULT_PAGE_NUMBER;
-		int limit = ServiceConstant.DEFAULT_LIMIT;
-
-		if (params.containsKey(ServiceConstant.OFFSET)) {
-			offset = Integer.parseInt(params.get(ServiceConstant.OFFSET).get(0));
-		}
-
-		if (params.containsKey(ServiceConstant.LIMIT)) {
-			limit = Integer.parseInt(params.get(ServiceConstant.LIMIT).get(0));
-		}
-
-		Page<TagModel> pageModel = tagRepository.findAll(offset, limit);
+		int limit = query.getLimit();
+		Page<TagModel> pageModel = tagRepository.findAll(query.getPageNumber(), limit, query.getCountStrategy());
 		List<TagModel> tagModels = pageModel.getContent();
 		List<TagDto> tagDtos = new ArrayList<>(limit);
 		if (tagModels != null) {
@@ -156,15 +181,47 @@ public class TagServiceImpl implements TagService {
 	}
 
 	/**
-	 * Deletes tag with passed id.
+	 * Reads tags page by page using keyset pagination. The position of the
+	 * page is defined by the opaque cursor from the {@code cursor} parameter,
+	 * empty cursor means the first page.
+	 * 
+	 * @param query the parameters which define the choice of tags
+	 * @return page of tags which meet passed parameters with cursors of the
+	 *         next and previous pages
+	 * @throws ValidationException if passed parameters or cursor are invalid
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageDto<TagDto> readAllByCursor(ReadQueryDto query) {
+		Map<ErrorCode, String> errors = tagValidation.validateReadParams(query);
+
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors, ErrorCode.INVALID_TAG_REQUEST_PARAMS);
+		}
+
+		int limit = query.getLimit();
+		KeysetCursor cursor = cursorConverter.convertToModel(query.getCursor(), new ArrayList<>());
+		Slice<TagModel> sliceModel = tagRepository.findAll(cursor, limit);
+		List<TagDto> tagDtos = new ArrayList<>(limit);
+		sliceModel.getContent().forEach(tagModel -> tagDtos.add(tagConverter.convertToDto(tagModel)));
+
+		return cursorConverter.convertToDto(sliceModel, cursor, tagDtos, new ArrayList<>(),
+				tagModel -> List.of(tagModel.getId()));
+	}
+
+	/**
+	 * Deletes tag with passed id together with its certificates. The
+	 * certificates are deleted by chunks and every chunk is committed in its own
+	 * transaction, so the locks of the rows are held only for the time of the
+	 * chunk. The tag is deleted after all its certificates in its own
+	 * transaction.
 	 * 
 	 * @param tagId the id of the tag to be deleted
-	 * @return the number of deleted tags
+	 * @return the number of deleted certificates
 	 * @throws ValidationException if passed tag id is invalid
 	 * @throws NotFoundException   if tag with passed id does not exist
 	 */
 	@Override
-	@Transactional
 	public int delete(long tagId) {
 		if (!ValidationUtil.isPositive(tagId)) {
 			throw new ValidationException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + tagId,
@@ -175,12 +232,23 @@ public class TagServiceImpl implements TagService {
 					ErrorCode.NO_TAG_FOUND);
 		}
 
-		List<CertificateModel> certificates = certificateRepository.readByTagId(tagId);
-		int deletedTagsAmount = tagRepository.delete(tagId);
-		if (certificates != null) {
-			certificates.forEach(certificate -> certificateRepository.delete(certificate.getId()));
-		}
-		return deletedTagsAmount;
+		int deletedCertificatesAmount = 0;
+		long lastId = 0;
+		List<Long> deletedIds;
+		do {
+			long afterId = lastId;
+			deletedIds = transactionTemplate.execute(status -> {
+				List<Long> chunkIds = certificateRepository.deleteByTagId(tagId, afterId);
+				certificateReadCache.invalidateAll(chunkIds);
+				return chunkIds;
+			});
+			if (!deletedIds.isEmpty()) {
+				deletedCertificatesAmount += deletedIds.size();
+				lastId = deletedIds.get(deletedIds.size() - 1);
+			}
+		} while (!deletedIds.isEmpty());
+		transactionTemplate.executeWithoutResult(status -> tagRepository.delete(tagId));
+		return deletedCertificatesAmount;
 	}
 
 	/**
@@ -191,6 +259,7 @@ public class TagServiceImpl implements TagService {
 	 * @throws NotFoundException if requested tag does not exist
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public TagDto readPopularTagByMostProfitableUser() {
 		TagModel popularTag = tagRepository.findPopularTagByMostProfitableUser().orElseThrow(
 				() -> new NotFoundException(ServiceConstant.NO_POPULAR_TAG_FOUND_MESSAGE, ErrorCode.NO_TAG_FOUND));
@@ -1,26 +1,32 @@
 package com.epam.esm.service.impl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.util.MultiValueMap;
 
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.UserDto;
 import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.exception.NotFoundException;
 import com.epam.esm.exception.ValidationException;
 import com.epam.esm.repository.RoleRepository;
 import com.epam.esm.repository.UserRepository;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
 import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.repository.model.RoleModel;
 import com.epam.esm.repository.model.UserModel;
 import com.epam.esm.service.ServiceConstant;
 import com.epam.esm.service.UserService;
+import com.epam.esm.service.converter.CursorConverter;
 import com.epam.esm.service.converter.PageConverter;
 import com.epam.esm.service.converter.UserConverter;
 import com.epam.esm.service.validation.UserValidation;
@@ -38,15 +44,18 @@ public class UserServiceImpl implements UserService {
 	private final UserConverter userConverter;
 	private final PageConverter<UserDto, UserModel> pageConverter;
 	private final UserValidation userValidation;
+	private final CursorConverter cursorConverter;
 
 	@Autowired
 	public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, UserConverter userConverter,
-			UserValidation userValidation, PageConverter<UserDto, UserModel> pageConverter) {
+			UserValidation userValidation, PageConverter<UserDto, UserModel> pageConverter,
+			CursorConverter cursorConverter) {
 		this.userRepository = userRepository;
 		this.roleRepository = roleRepository;
 		this.userConverter = userConverter;
 		this.pageConverter = pageConverter;
 		this.userValidation = userValidation;
+		this.cursorConverter = cursorConverter;
 	}
 
 	/**
@@ -58,6 +67,7 @@ public class UserServiceImpl implements UserService {
 	 * @throws NotFoundException   if user with passed id does not exist
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public UserDto readById(long userId) {
 		if (!ValidationUtil.isPositive(userId)) {
 			throw new ValidationException(EntityConstant.ID + ValidationUtil.ERROR_RESOURCE_DELIMITER + userId,
@@ -73,32 +83,22 @@ public class UserServiceImpl implements UserService {
 	/**
 	 * Reads all users according to the passed parameters.
 	 * 
-	 * @param params the parameters which define the choice of users and their
-	 *               ordering
+	 * @param query the parameters which define the choice of users and their
+	 *              ordering
 	 * @return users which meet passed parameters
 	 * @throws ValidationException if passed parameters are invalid
 	 */
 	@Override
-	public Page<UserDto> readAll(MultiValueMap<String, String> params) {
-		MultiValueMap<String, String> paramsInLowerCase = ValidationUtil.mapToLowerCase(params);
-		Map<ErrorCode, String> errors = userValidation.validateReadParams(paramsInLowerCase);
+	@Transactional(readOnly = true)
+	public Page<UserDto> readAll(ReadQueryDto query) {
+		Map<ErrorCode, String> errors = userValidation.validateReadParams(query);
 
 		if (!errors.isEmpty()) {
 			throw new ValidationException(errors, ErrorCode.INVALID_USER_REQUEST_PARAMS);
 		}
 
-		int offset = ServiceConstant.DEFAULT_PAGE_NUMBER;
-		int limit = ServiceConstant.DEFAULT_LIMIT;
-
-		if (params.containsKey(ServiceConstant.OFFSET)) {
-			offset = Integer.parseInt(params.get(ServiceConstant.OFFSET).get(0));
-		}
-
-		if (params.containsKey(ServiceConstant.LIMIT)) {
-			limit = Integer.parseInt(params.get(ServiceConstant.LIMIT).get(0));
-		}
-
-		Page<UserModel> pageModel = userRepository.findAll(offset, limit);
+		int limit = query.getLimit();
+		Page<UserModel> pageModel = userRepository.findAll(query.getPageNumber(), limit, query.getCountStrategy());
 		List<UserModel> userModels = pageModel.getContent();
 		List<UserDto> userDtos = new ArrayList<>(limit);
 		if (userModels != null) {
@@ -108,18 +108,53 @@ public class UserServiceImpl implements UserService {
 		return pageConverter.convertToDto(pageModel, userDtos);
 	}
 
+	/**
+	 * Reads users page by page using keyset pagination. The position of the
+	 * page is defined by the opaque cursor from the {@code cursor} parameter,
+	 * empty cursor means the first page.
+	 * 
+	 * @param query the parameters which define the choice of users
+	 * @return page of users which meet passed parameters with cursors of the
+	 *         next and previous pages
+	 * @throws ValidationException if passed parameters or cursor are invalid
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageDto<UserDto> readAllByCursor(ReadQueryDto query) {
+		Map<ErrorCode, String> errors = userValidation.validateReadParams(query);
+
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors, ErrorCode.INVALID_USER_REQUEST_PARAMS);
+		}
+
+		int limit = query.getLimit();
+		KeysetCursor cursor = cursorConverter.convertToModel(query.getCursor(), new ArrayList<>());
+		Slice<UserModel> sliceModel = userRepository.findAll(cursor, limit);
+		List<UserDto> userDtos = new ArrayList<>(limit);
+		sliceModel.getContent().forEach(userModel -> userDtos.add(userConverter.convertToDto(userModel)));
+
+		return cursorConverter.convertToDto(sliceModel, cursor, userDtos, new ArrayList<>(),
+				userModel -> List.of(userModel.getId()));
+	}
+
 	/**
 	 * Creates and saves the passed user.
 	 * 
 	 * @param userDto the user to be saved
 	 * @return saved user
-	 * @throws ValidationException if passed user fields are invalid
+	 * @throws ValidationException if passed user fields are invalid or its login
+	 *                             is already taken
 	 */
 	@Override
 	@Transactional
 	public UserDto create(UserDto userDto) {
-		UserModel userModelToSave = obtainUserModelToSave(userDto);
-		UserModel createdUserModel = userRepository.save(userModelToSave);
+		UserModel userModelToSave = obtainUserModelToSave(userDto, obtainDefaultRole());
+		UserModel createdUserModel;
+		try {
+			createdUserModel = userRepository.save(userModelToSave);
+		} catch (DuplicatedKeyException e) {
+			throw obtainDuplicatedLoginException(e);
+		}
 		UserDto createdUser = userConverter.convertToDto(createdUserModel);
 		return createdUser;
 	}
@@ -130,6 +165,8 @@ public class UserServiceImpl implements UserService {
 	 * @param userDtos the users to be saved
 	 * @return saved users
 	 * @throws ValidationException if any of passed users contains invalid fields
+	 *                             or the logins of the users are already taken or
+	 *                             repeated
 	 */
 	@Override
 	@Transactional
@@ -137,21 +174,26 @@ public class UserServiceImpl implements UserService {
 		List<UserDto> createdUsers = new ArrayList<>();
 		if (userDtos != null) {
 			List<UserModel> usersToSave = new ArrayList<>(userDtos.size());
-			userDtos.forEach(userDto -> usersToSave.add(obtainUserModelToSave(userDto)));
-
-			List<UserModel> createdUserModels = userRepository.saveUsers(usersToSave);
+			RoleModel roleModel = obtainDefaultRole();
+			userDtos.forEach(userDto -> usersToSave.add(obtainUserModelToSave(userDto, roleModel)));
+
+			List<UserModel> createdUserModels;
+			try {
+				createdUserModels = userRepository.saveUsers(usersToSave);
+			} catch (DuplicatedKeyException e) {
+				throw obtainDuplicatedLoginException(e);
+			}
 			createdUserModels.forEach(userModel -> createdUsers.add(userConverter.convertToDto(userModel)));
 		}
 		return createdUsers;
 	}
 
-	private UserModel obtainUserModelToSave(UserDto userDto) {
-		RoleModel roleModel = roleRepository.findByName(ServiceConstant.DEFAULT_ROLE_NAME).get();
+	private RoleModel obtainDefaultRole() {
+		return roleRepository.findByName(ServiceConstant.DEFAULT_ROLE_NAME).get();
+	}
+
+	private UserModel obtainUserModelToSave(UserDto userDto, RoleModel roleModel) {
 		Map<ErrorCode, String> errors = userValidation.validateAllUserFields(userDto);
-		if (userRepository.userExistsByLogin(ValidationUtil.removeExtraSpaces(userDto.getLogin()))) {
-			errors.put(ErrorCode.DUPLICATED_USER_NAME,
-					EntityConstant.NAME + ValidationUtil.ERROR_RESOURCE_DELIMITER + userDto.getLogin());
-		}
 		if (!errors.isEmpty()) {
 			throw new ValidationException(errors, ErrorCode.INVALID_USER);
 		}
@@ -160,4 +202,11 @@ public class UserServiceImpl implements UserService {
 		userModelToSave.setRole(roleModel);
 		return userModelToSave;
 	}
+
+	private static ValidationException obtainDuplicatedLoginException(DuplicatedKeyException exception) {
+		Map<ErrorCode, String> errors = new HashMap<>();
+		errors.put(ErrorCode.DUPLICATED_USER_NAME, EntityConstant.NAME + ValidationUtil.ERROR_RESOURCE_DELIMITER
+				+ String.join(ValidationUtil.ERROR_RESOURCES_LIST_DELIMITER, exception.getDuplicatedKeys()));
+		return new ValidationException(errors, ErrorCode.INVALID_USER);
+	}
 }
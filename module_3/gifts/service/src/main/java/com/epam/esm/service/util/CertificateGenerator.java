@@ -1,79 +1,94 @@
 package com.epam.esm.service.util;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
-import com.epam.esm.dto.CertificateDto;
-import com.epam.esm.dto.TagDto;
-import com.epam.esm.exception.GeneratorException;
-import com.epam.esm.service.CertificateService;
+import com.epam.esm.repository.CertificateRepository;
+import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.CertificatePriceModel;
+import com.epam.esm.repository.model.KeysetCursor;
+import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.service.ServiceConstant;
 
 @Component
 public class CertificateGenerator {
-	private final CertificateService certificateService;
+	private static final long MIN_PRICE_UNITS = ServiceConstant.CERTIFICATE_MIN_PRICE
+			.movePointRight(ServiceConstant.CERTIFICATE_PRICE_SCALE).longValueExact();
+	private static final long MAX_PRICE_UNITS = ServiceConstant.CERTIFICATE_MAX_PRICE
+			.movePointRight(ServiceConstant.CERTIFICATE_PRICE_SCALE).longValueExact();
+
+	private final CertificateRepository certificateRepository;
 
 	@Autowired
-	public CertificateGenerator(CertificateService certificateService) {
-		this.certificateService = certificateService;
+	public CertificateGenerator(CertificateRepository certificateRepository) {
+		this.certificateRepository = certificateRepository;
+	}
+
+	public int generateCertificates(SourceLines names, SourceLines descriptions, int fromOrdinal, int toOrdinal,
+			List<TagModel> existedTags, ZipfDistribution tagPopularity, int certificateTagsMinAmount,
+			int certificateTagsMaxAmount, DatasetProfile profile) {
+		List<CertificateModel> certificateModelsToCreate = new ArrayList<>(toOrdinal - fromOrdinal);
+		List<CertificateModel> certificateModelsToDelete = new ArrayList<>();
+		for (int ordinal = fromOrdinal; ordinal < toOrdinal; ordinal++) {
+			SplittableRandom random = profile.obtainRandom(GeneratorStage.CERTIFICATES, ordinal);
+			CertificateModel certificateModel = new CertificateModel();
+			certificateModel.setName(names.obtainName(ordinal, ServiceConstant.CERTIFICATE_MAX_NAME_LENGTH));
+			certificateModel.setDescription(descriptions.obtainLine(ordinal));
+			certificateModel.setDuration(random.nextInt(ServiceConstant.CERTIFICATE_MIN_DURATION,
+					ServiceConstant.CERTIFICATE_MAX_DURATION + 1));
+			certificateModel.setPrice(BigDecimal.valueOf(random.nextLong(MIN_PRICE_UNITS, MAX_PRICE_UNITS + 1),
+					ServiceConstant.CERTIFICATE_PRICE_SCALE));
+			LocalDateTime createDate = profile.getStartDate()
+					.plusSeconds(random.nextLong(GeneratorConstant.DATE_RANGE_SECONDS));
+			certificateModel.setCreateDate(createDate);
+			certificateModel
+					.setLastUpdateDate(createDate.plusSeconds(random.nextLong(GeneratorConstant.DATE_RANGE_SECONDS)));
+			int tagsAmount = Math.min(random.nextInt(certificateTagsMinAmount, certificateTagsMaxAmount + 1),
+					existedTags.size());
+			List<TagModel> certificateTags = new ArrayList<>(tagsAmount);
+			for (int tagIndex : DataGenerator.obtainDistinctIndexes(tagsAmount, () -> tagPopularity.sample(random))) {
+				certificateTags.add(existedTags.get(tagIndex));
+			}
+			certificateModel.setTags(certificateTags);
+			certificateModelsToCreate.add(certificateModel);
+			if (random.nextDouble() < profile.getDeletedShare()) {
+				certificateModelsToDelete.add(certificateModel);
+			}
+		}
+		certificateRepository.saveCertificates(certificateModelsToCreate);
+		certificateModelsToDelete.forEach(certificateModel -> certificateRepository.delete(certificateModel.getId()));
+		return certificateModelsToCreate.size();
 	}
 
-	public List<CertificateDto> generateCertificates(int certificatesAmount, List<TagDto> existedtags,
-			int certificateTagsMinAmount, int certificateTagsMaxAmount) {
-		List<CertificateDto> certificateDtosToCreate = new ArrayList<>(certificatesAmount);
-		ClassPathResource certificatesNameResource = new ClassPathResource(
-				GeneratorConstant.CERTIFICATE_NAME_FILE_PATH);
-		ClassPathResource certificatesDescriptionResource = new ClassPathResource(
-				GeneratorConstant.CERTIFICATE_DESCRIPTION_FILE_PATH);
-		int lineCounter = 0;
-		try (BufferedReader certificateNameReader = new BufferedReader(
-				new InputStreamReader(certificatesNameResource.getInputStream()));
-				BufferedReader certificateDescriptionReader = new BufferedReader(
-						new InputStreamReader(certificatesDescriptionResource.getInputStream()))) {
-			String name;
-			String description;
-			while ((name = certificateNameReader.readLine()) != null
-					&& (description = certificateDescriptionReader.readLine()) != null
-					&& lineCounter < certificatesAmount) {
-				CertificateDto certificateDto = new CertificateDto();
-				certificateDto.setName(name);
-				certificateDto.setDescription(description);
-				int duration = DataGenerator.getRandomNumber(ServiceConstant.CERTIFICATE_MIN_DURATION,
-						ServiceConstant.CERTIFICATE_MAX_DURATION + 1);
-				certificateDto.setDuration(duration);
-				BigDecimal price = ServiceConstant.CERTIFICATE_MIN_PRICE.add(new BigDecimal(Math.random()).multiply(
-						ServiceConstant.CERTIFICATE_MAX_PRICE.subtract(ServiceConstant.CERTIFICATE_MIN_PRICE)));
-				certificateDto.setPrice(price.setScale(ServiceConstant.CERTIFICATE_PRICE_SCALE, RoundingMode.CEILING));
-				int tagsAmount = DataGenerator.getRandomNumber(certificateTagsMinAmount, certificateTagsMaxAmount + 1);
-				List<TagDto> certificateTags = new ArrayList<>(tagsAmount);
-				for (int i = certificateTagsMinAmount; i <= tagsAmount; i++) {
-					List<Integer> usedTagIndeces = new ArrayList<>(tagsAmount);
-					int tagIndex = DataGenerator.getRandomNumber(0, existedtags.size());
-					while (usedTagIndeces.contains(tagIndex)) {
-						tagIndex = DataGenerator.getRandomNumber(0, existedtags.size());
-					}
-					certificateTags.add(existedtags.get(tagIndex));
-					usedTagIndeces.add(tagIndex);
-				}
-				certificateDto.setTags(certificateTags);
-				certificateDtosToCreate.add(certificateDto);
-				++lineCounter;
+	public List<CertificatePriceModel> loadCertificatePrices(SourceLines names, int amount) {
+		Map<String, CertificateModel> certificateModelsByName = new HashMap<>();
+		KeysetCursor cursor = null;
+		Slice<CertificateModel> page;
+		do {
+			page = certificateRepository.findAll(cursor, GeneratorConstant.LOAD_PAGE_SIZE);
+			for (CertificateModel certificateModel : page) {
+				certificateModelsByName.put(certificateModel.getName(), certificateModel);
+				cursor = new KeysetCursor(new ArrayList<>(), certificateModel.getId(), false);
 			}
-			if (lineCounter != certificatesAmount) {
-				throw new GeneratorException(GeneratorConstant.NOT_ENOUGH_DATA_EXCEPTION);
+		} while (page.hasNext());
+		List<CertificatePriceModel> certificatePrices = new ArrayList<>();
+		for (int ordinal = 0; ordinal < amount; ordinal++) {
+			CertificateModel certificateModel = certificateModelsByName
+					.get(names.obtainName(ordinal, ServiceConstant.CERTIFICATE_MAX_NAME_LENGTH));
+			if (certificateModel != null) {
+				certificatePrices.add(
+						new CertificatePriceModel(certificateModel.getId(), certificateModel.getPrice(), false));
 			}
-		} catch (IOException e) {
-			throw new GeneratorException(e.getMessage());
 		}
-		return certificateService.createCertificates(certificateDtosToCreate);
+		return certificatePrices;
 	}
 }
@@ -0,0 +1,100 @@
+package com.epam.esm.service.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.esm.exception.GeneratorException;
+import com.epam.esm.repository.GeneratorChunkRepository;
+
+/**
+ *
+ * Writes the chunks of generated data by the worker threads. Every chunk is
+ * written in its own transaction together with the mark of its completion
+ * under the stage qualified by the name of the profile, so after the crash the
+ * generation of the same profile is resumed from the chunks which are not
+ * marked. Only limited amount of chunks wait for the free worker, so the reader
+ * of the source data does not run ahead of the writers.
+ *
+ */
+class ChunkRunner {
+	private final ExecutorService executor;
+	private final DatasetProfile profile;
+	private final TransactionTemplate transactionTemplate;
+	private final GeneratorChunkRepository generatorChunkRepository;
+	private final GeneratorProgress generatorProgress;
+	private final Semaphore permits;
+	private final int maxPermits;
+	private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+	ChunkRunner(ExecutorService executor, int maxPendingChunks, DatasetProfile profile,
+			TransactionTemplate transactionTemplate, GeneratorChunkRepository generatorChunkRepository,
+			GeneratorProgress generatorProgress) {
+		this.executor = executor;
+		this.profile = profile;
+		this.transactionTemplate = transactionTemplate;
+		this.generatorChunkRepository = generatorChunkRepository;
+		this.generatorProgress = generatorProgress;
+		this.permits = new Semaphore(maxPendingChunks);
+		this.maxPermits = maxPendingChunks;
+	}
+
+	/**
+	 * Submits the chunk to be written by the worker. Blocks while the maximum
+	 * amount of chunks is pending.
+	 *
+	 * @param stage       the stage of the chunk
+	 * @param chunkNumber the number of the chunk within its stage
+	 * @param chunkWriter the writer of the chunk which returns amount of saved
+	 *                    rows
+	 * @throws GeneratorException if any of the submitted chunks failed
+	 */
+	void submit(GeneratorStage stage, int chunkNumber, IntSupplier chunkWriter) {
+		checkFailure();
+		acquire(1);
+		executor.execute(() -> {
+			try {
+				Integer savedRows = transactionTemplate.execute(status -> {
+					int rows = chunkWriter.getAsInt();
+					generatorChunkRepository.saveCompletedChunk(profile.obtainChunkStage(stage), chunkNumber);
+					return rows;
+				});
+				generatorProgress.completeChunk(stage, savedRows);
+			} catch (RuntimeException e) {
+				failure.compareAndSet(null, e);
+			} finally {
+				permits.release();
+			}
+		});
+	}
+
+	/**
+	 * Waits until all the submitted chunks are written.
+	 *
+	 * @throws GeneratorException if any of the submitted chunks failed
+	 */
+	void awaitCompletion() {
+		acquire(maxPermits);
+		permits.release(maxPermits);
+		checkFailure();
+	}
+
+	private void acquire(int amount) {
+		try {
+			permits.acquire(amount);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeneratorException(e.getMessage(), e);
+		}
+	}
+
+	private void checkFailure() {
+		RuntimeException exception = failure.get();
+		if (exception != null) {
+			throw new GeneratorException(exception.getMessage(), exception);
+		}
+	}
+}
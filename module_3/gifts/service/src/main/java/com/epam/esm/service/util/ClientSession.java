@@ -0,0 +1,30 @@
+package com.epam.esm.service.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.epam.esm.repository.datasource.ReadYourWritesTracker;
+
+/**
+ *
+ * Binds the client session which is served by the current thread, so reads
+ * after the writes of the same session are routed to the primary database.
+ *
+ */
+@Component
+public class ClientSession {
+	private final ReadYourWritesTracker readYourWritesTracker;
+
+	@Autowired
+	public ClientSession(ReadYourWritesTracker readYourWritesTracker) {
+		this.readYourWritesTracker = readYourWritesTracker;
+	}
+
+	public void bind(String sessionKey) {
+		readYourWritesTracker.bindSession(sessionKey);
+	}
+
+	public void unbind() {
+		readYourWritesTracker.unbindSession();
+	}
+}
@@ -1,70 +1,229 @@
 package com.epam.esm.service.util;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntSupplier;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.epam.esm.dto.CertificateDto;
-import com.epam.esm.dto.TagDto;
-import com.epam.esm.dto.UserDto;
+import com.epam.esm.exception.GeneratorException;
+import com.epam.esm.repository.GeneratorChunkRepository;
+import com.epam.esm.repository.model.CertificatePriceModel;
+import com.epam.esm.repository.model.TagModel;
 
+/**
+ *
+ * Generates the users, the tags, the certificates and the orders off the
+ * startup path. The dataset is defined by the profile selected by
+ * {@code generator.profile} property, the base amounts of the entities are
+ * multiplied by its scale factor. The rows are generated by chunks of
+ * {@code generator.chunk-size} rows which are written in parallel by
+ * {@code generator.threads} workers through the bulk insert path of the
+ * repositories. The rows refer to each other by their ordinal numbers and
+ * natural keys, so their content does not depend on the order in which the
+ * chunks are committed. The ids are assigned by the database in the commit
+ * order, so the profiles with a seed are always generated by one worker and
+ * produce the identical dataset in the empty database. Only the profiles
+ * without a seed, which get a random one, are written in parallel. Every chunk
+ * is committed in its own transaction together with the mark of its
+ * completion, so the restarted generation skips the already committed chunks.
+ * The progress is exposed by {@code generator} actuator endpoint.
+ *
+ */
 @Service
 @PropertySource("classpath:generator.properties")
 public class DataGenerator {
+	private static final Logger LOGGER = LoggerFactory.getLogger(DataGenerator.class);
+	private static final int PENDING_CHUNKS_PER_THREAD = 2;
+
 	private final UserGenerator userGenerator;
 	private final Environment environment;
 	private final TagGenerator tagGenerator;
 	private final CertificateGenerator certificateGenerator;
 	private final OrderGenerator orderGenerator;
+	private final GeneratorChunkRepository generatorChunkRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final GeneratorProgress generatorProgress;
+	private final AtomicBoolean started = new AtomicBoolean();
 
 	@Autowired
 	public DataGenerator(UserGenerator userGenerator, Environment environment, TagGenerator tagGenerator,
-			CertificateGenerator certificateGenerator, OrderGenerator orderGenerator) {
+			CertificateGenerator certificateGenerator, OrderGenerator orderGenerator,
+			GeneratorChunkRepository generatorChunkRepository, TransactionTemplate transactionTemplate,
+			GeneratorProgress generatorProgress) {
 		super();
 		this.userGenerator = userGenerator;
 		this.environment = environment;
 		this.tagGenerator = tagGenerator;
 		this.certificateGenerator = certificateGenerator;
 		this.orderGenerator = orderGenerator;
+		this.generatorChunkRepository = generatorChunkRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.generatorProgress = generatorProgress;
 	}
 
-	@Transactional
+	/**
+	 * Starts the generation in the background thread if it is enabled by
+	 * {@code generate} property. The generation is started only once.
+	 */
+	public void startGeneration() {
+		if (Boolean.parseBoolean(environment.getProperty(GeneratorConstant.GENERATE))
+				&& started.compareAndSet(false, true)) {
+			Thread generatorThread = new Thread(this::generateData, GeneratorConstant.GENERATOR_THREAD_NAME);
+			generatorThread.setDaemon(true);
+			generatorThread.start();
+		}
+	}
+
+	/**
+	 * Generates the data in the calling thread. The failure of the generation is
+	 * logged and reported by the progress.
+	 */
 	public void generateData() {
-		String generate = environment.getProperty(GeneratorConstant.GENERATE);
-		if (generate != null && Boolean.parseBoolean(generate)) {
-			int usersAmount = Integer.parseInt(environment.getProperty(GeneratorConstant.USERS_AMOUNT));
-			int tagsAmount = Integer.parseInt(environment.getProperty(GeneratorConstant.TAGS_AMOUNT));
-			int certificatesAmount = Integer.parseInt(environment.getProperty(GeneratorConstant.CERTIFICATES_AMOUNT));
-			int ordersAmount = Integer.parseInt(environment.getProperty(GeneratorConstant.ORDERS_AMOUNT));
-			int certificateTagsMinAmount = Integer
-					.parseInt(environment.getProperty(GeneratorConstant.CERTIFICATE_TAGS_MIN_AMOUNT));
-			int certificateTagsMaxAmount = Integer
-					.parseInt(environment.getProperty(GeneratorConstant.CERTIFICATE_TAGS_MAX_AMOUNT));
-			int orderCertificatesMinAmount = Integer
-					.parseInt(environment.getProperty(GeneratorConstant.ORDER_CERTIFICATES_MIN_AMOUNT));
-			int orderCertificatesMaxAmount = Integer
-					.parseInt(environment.getProperty(GeneratorConstant.ORDER_CERTIFICATES_MAX_AMOUNT));
-			int orderUniqueCertificatesMinAmount = Integer
-					.parseInt(environment.getProperty(GeneratorConstant.ORDER_UNIQUE_CERTIFICATES_MIN_AMOUNT));
-			int orderUniqueCertificatesMaxAmount = Integer
-					.parseInt(environment.getProperty(GeneratorConstant.ORDER_UNIQUE_CERTIFICATES_MAX_AMOUNT));
+		int chunkSize = environment.getProperty(GeneratorConstant.CHUNK_SIZE, Integer.class,
+				GeneratorConstant.DEFAULT_CHUNK_SIZE);
+		int threads = environment.getProperty(GeneratorConstant.THREADS, Integer.class,
+				GeneratorConstant.DEFAULT_THREADS);
+		String profileName = environment.getProperty(GeneratorConstant.PROFILE, GeneratorConstant.DEFAULT_PROFILE);
+		generatorProgress.start(profileName);
+		ExecutorService executor = null;
+		try {
+			DatasetProfile profile = obtainProfile(profileName);
+			int workers = profile.isSeeded() ? 1 : threads;
+			if (workers < threads) {
+				LOGGER.info("Profile {} is seeded, it is generated by one worker instead of {}", profileName,
+						threads);
+			}
+			executor = Executors.newFixedThreadPool(workers, obtainWorkerThreadFactory());
+			ChunkRunner chunkRunner = new ChunkRunner(executor, workers * PENDING_CHUNKS_PER_THREAD, profile,
+					transactionTemplate, generatorChunkRepository, generatorProgress);
+			generateData(chunkRunner, profile, chunkSize);
+			generatorProgress.complete();
+		} catch (RuntimeException e) {
+			LOGGER.error("Data generation failed", e);
+			generatorProgress.fail(e.getMessage());
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Obtains distinct indexes from the passed supplier.
+	 *
+	 * @param amount        the amount of the indexes, it should not be greater than
+	 *                      the amount of the indexes the supplier can return
+	 * @param indexSupplier the supplier of the random indexes
+	 * @return distinct indexes in the order they were supplied
+	 */
+	public static int[] obtainDistinctIndexes(int amount, IntSupplier indexSupplier) {
+		Set<Integer> indexes = new LinkedHashSet<>(amount);
+		while (indexes.size() < amount) {
+			indexes.add(indexSupplier.getAsInt());
+		}
+		return indexes.stream().mapToInt(Integer::intValue).toArray();
+	}
 
-			List<UserDto> users = userGenerator.generateUsers(usersAmount);
-			List<TagDto> tags = tagGenerator.generateTags(tagsAmount);
-			List<CertificateDto> certificates = certificateGenerator.generateCertificates(certificatesAmount, tags,
-					certificateTagsMinAmount, certificateTagsMaxAmount);
-			orderGenerator.generateOrders(ordersAmount, certificates, users, orderCertificatesMinAmount,
-					orderCertificatesMaxAmount, orderUniqueCertificatesMinAmount, orderUniqueCertificatesMaxAmount);
+	private void generateData(ChunkRunner chunkRunner, DatasetProfile profile, int chunkSize) {
+		int usersAmount = profile.scale(obtainIntProperty(GeneratorConstant.USERS_AMOUNT));
+		int tagsAmount = profile.scale(obtainIntProperty(GeneratorConstant.TAGS_AMOUNT));
+		int certificatesAmount = profile.scale(obtainIntProperty(GeneratorConstant.CERTIFICATES_AMOUNT));
+		int ordersAmount = profile.scale(obtainIntProperty(GeneratorConstant.ORDERS_AMOUNT));
+		int certificateTagsMinAmount = obtainIntProperty(GeneratorConstant.CERTIFICATE_TAGS_MIN_AMOUNT);
+		int certificateTagsMaxAmount = obtainIntProperty(GeneratorConstant.CERTIFICATE_TAGS_MAX_AMOUNT);
+		int orderCertificatesMinAmount = obtainIntProperty(GeneratorConstant.ORDER_CERTIFICATES_MIN_AMOUNT);
+		int orderCertificatesMaxAmount = obtainIntProperty(GeneratorConstant.ORDER_CERTIFICATES_MAX_AMOUNT);
+		int orderUniqueCertificatesMinAmount = obtainIntProperty(
+				GeneratorConstant.ORDER_UNIQUE_CERTIFICATES_MIN_AMOUNT);
+		int orderUniqueCertificatesMaxAmount = obtainIntProperty(
+				GeneratorConstant.ORDER_UNIQUE_CERTIFICATES_MAX_AMOUNT);
+		SourceLines logins = SourceLines.read(GeneratorConstant.USER_LOGIN_FILE_PATH);
+		SourceLines tagNames = SourceLines.read(GeneratorConstant.TAG_NAME_FILE_PATH);
+		SourceLines certificateNames = SourceLines.read(GeneratorConstant.CERTIFICATE_NAME_FILE_PATH);
+		SourceLines certificateDescriptions = SourceLines.read(GeneratorConstant.CERTIFICATE_DESCRIPTION_FILE_PATH);
+
+		runStage(chunkRunner, profile, GeneratorStage.USERS, usersAmount, chunkSize,
+				(fromOrdinal, toOrdinal) -> userGenerator.generateUsers(logins, fromOrdinal, toOrdinal));
+		runStage(chunkRunner, profile, GeneratorStage.TAGS, tagsAmount, chunkSize,
+				(fromOrdinal, toOrdinal) -> tagGenerator.generateTags(tagNames, fromOrdinal, toOrdinal, profile));
+		List<TagModel> tags = tagGenerator.loadTags(tagNames, tagsAmount);
+		ZipfDistribution tagPopularity = new ZipfDistribution(tags.size(), profile.getTagZipfExponent());
+		runStage(chunkRunner, profile, GeneratorStage.CERTIFICATES, certificatesAmount, chunkSize,
+				(fromOrdinal, toOrdinal) -> certificateGenerator.generateCertificates(certificateNames,
+						certificateDescriptions, fromOrdinal, toOrdinal, tags, tagPopularity, certificateTagsMinAmount,
+						certificateTagsMaxAmount, profile));
+		long[] userIds = userGenerator.loadUserIds(logins, usersAmount);
+		List<CertificatePriceModel> certificatePrices = certificateGenerator.loadCertificatePrices(certificateNames,
+				certificatesAmount);
+		runStage(chunkRunner, profile, GeneratorStage.ORDERS, ordersAmount, chunkSize,
+				(fromOrdinal, toOrdinal) -> orderGenerator.generateOrders(fromOrdinal, toOrdinal, certificatePrices,
+						userIds, orderCertificatesMinAmount, orderCertificatesMaxAmount,
+						orderUniqueCertificatesMinAmount, orderUniqueCertificatesMaxAmount, profile));
+	}
+
+	private void runStage(ChunkRunner chunkRunner, DatasetProfile profile, GeneratorStage stage, int amount,
+			int chunkSize, IntBinaryOperator chunkWriter) {
+		int totalChunks = (amount + chunkSize - 1) / chunkSize;
+		Set<Integer> completedChunks = generatorChunkRepository.findCompletedChunks(profile.obtainChunkStage(stage));
+		completedChunks.removeIf(chunkNumber -> chunkNumber >= totalChunks);
+		generatorProgress.startStage(stage, totalChunks, completedChunks.size());
+		for (int chunkNumber = 0; chunkNumber < totalChunks; chunkNumber++) {
+			if (!completedChunks.contains(chunkNumber)) {
+				int fromOrdinal = chunkNumber * chunkSize;
+				int toOrdinal = Math.min(fromOrdinal + chunkSize, amount);
+				chunkRunner.submit(stage, chunkNumber, () -> chunkWriter.applyAsInt(fromOrdinal, toOrdinal));
+			}
 		}
+		chunkRunner.awaitCompletion();
+	}
+
+	private DatasetProfile obtainProfile(String name) {
+		String prefix = GeneratorConstant.PROFILES + name + GeneratorConstant.PROFILE_PROPERTY_DELIMITER;
+		if (name.length() > GeneratorConstant.MAX_PROFILE_NAME_LENGTH
+				|| !environment.containsProperty(prefix + GeneratorConstant.SCALE_FACTOR)) {
+			throw new GeneratorException(GeneratorConstant.UNKNOWN_PROFILE_EXCEPTION + name);
+		}
+		Long seed = environment.getProperty(prefix + GeneratorConstant.SEED, Long.class);
+		if (seed == null) {
+			seed = new SplittableRandom().nextLong();
+			LOGGER.info("Profile {} has no seed, it is generated with the random seed {}", name, seed);
+		}
+		return new DatasetProfile(name,
+				environment.getRequiredProperty(prefix + GeneratorConstant.SCALE_FACTOR, Integer.class), seed,
+				environment.containsProperty(prefix + GeneratorConstant.SEED),
+				environment.getProperty(prefix + GeneratorConstant.TAG_ZIPF_EXPONENT, Double.class, 0d),
+				environment.getProperty(prefix + GeneratorConstant.HEAVY_USER_SHARE, Double.class, 0d),
+				environment.getProperty(prefix + GeneratorConstant.HEAVY_USER_ORDER_SHARE, Double.class, 0d),
+				environment.getProperty(prefix + GeneratorConstant.DELETED_SHARE, Double.class, 0d),
+				LocalDateTime.parse(environment.getRequiredProperty(prefix + GeneratorConstant.START_DATE)));
+	}
+
+	private int obtainIntProperty(String name) {
+		return environment.getRequiredProperty(name, Integer.class);
 	}
 
-	public static int getRandomNumber(int min, int max) {
-		Random random = new Random();
-		return random.nextInt(max - min) + min;
+	private static ThreadFactory obtainWorkerThreadFactory() {
+		AtomicInteger threadNumber = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, GeneratorConstant.WORKER_THREAD_NAME + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
 	}
 }
@@ -0,0 +1,95 @@
+package com.epam.esm.service.util;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ *
+ * Contains the parameters of the generated dataset configured by
+ * {@code generator.profiles.<name>.*} properties. The amounts of the entities
+ * are multiplied by the scale factor. All the random values of the row are
+ * obtained from the generator seeded by the seed of the profile, the stage and
+ * the ordinal number of the row, so the same profile produces the same rows
+ * regardless of the chunk size, the amount of threads and the database. The
+ * profile without a configured seed gets a random one.
+ *
+ */
+@Getter
+@AllArgsConstructor
+public class DatasetProfile {
+	private static final long STAGE_MULTIPLIER = 0x9E3779B97F4A7C15L;
+	private static final String STAGE_DELIMITER = ".";
+
+	private final String name;
+	private final int scaleFactor;
+	private final long seed;
+
+	/**
+	 * Whether the seed is configured for the profile, so the dataset must be
+	 * reproducible.
+	 */
+	private final boolean seeded;
+
+	/**
+	 * The exponent of the Zipfian distribution of the tag popularity, zero means
+	 * uniform distribution.
+	 */
+	private final double tagZipfExponent;
+
+	/**
+	 * The share of the users which are heavy hitters.
+	 */
+	private final double heavyUserShare;
+
+	/**
+	 * The share of the orders which belong to heavy hitters.
+	 */
+	private final double heavyUserOrderShare;
+
+	/**
+	 * The share of the soft-deleted tags and certificates.
+	 */
+	private final double deletedShare;
+
+	/**
+	 * The earliest date of the generated certificates and orders.
+	 */
+	private final LocalDateTime startDate;
+
+	/**
+	 * Scales the amount of the entities.
+	 *
+	 * @param amount the amount of the entities for the scale factor 1
+	 * @return the amount of the entities for the scale factor of the profile
+	 * @throws ArithmeticException if the scaled amount overflows an int
+	 */
+	public int scale(int amount) {
+		return Math.multiplyExact(amount, scaleFactor);
+	}
+
+	/**
+	 * Obtains the random generator of the row.
+	 *
+	 * @param stage   the stage which generates the row
+	 * @param ordinal the ordinal number of the row within the stage
+	 * @return the random generator which returns the same values for the same
+	 *         profile, stage and row
+	 */
+	public SplittableRandom obtainRandom(GeneratorStage stage, long ordinal) {
+		return new SplittableRandom((seed + (stage.ordinal() + 1) * STAGE_MULTIPLIER) * STAGE_MULTIPLIER + ordinal);
+	}
+
+	/**
+	 * Obtains the name under which the committed chunks of the stage are marked,
+	 * so the chunks of the other profiles are not resumed.
+	 *
+	 * @param stage the stage of the chunks
+	 * @return the name of the stage qualified by the name of the profile
+	 */
+	public String obtainChunkStage(GeneratorStage stage) {
+		return name + STAGE_DELIMITER + stage.name();
+	}
+}
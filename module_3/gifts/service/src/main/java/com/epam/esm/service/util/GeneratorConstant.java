@@ -2,6 +2,9 @@ package com.epam.esm.service.util;
 
 public class GeneratorConstant {
 	public static final String NOT_ENOUGH_DATA_EXCEPTION = "The file contains not enough data for information generation";
+	public static final String MISSING_DATA_EXCEPTION = "The generated entity is missing: ";
+	public static final String TOO_LONG_NAME_EXCEPTION = "The generated name is too long: ";
+	public static final String UNKNOWN_PROFILE_EXCEPTION = "Unknown dataset profile: ";
 	public static final String USER_LOGIN_FILE_PATH = "user_login.txt";
 	public static final String TAG_NAME_FILE_PATH = "tag_name.txt";
 	public static final String CERTIFICATE_NAME_FILE_PATH = "certificate_name.txt";
@@ -18,6 +21,27 @@ public class GeneratorConstant {
 	public static final String ORDER_CERTIFICATES_MAX_AMOUNT = "order.certificates.max_amount";
 	public static final String ORDER_UNIQUE_CERTIFICATES_MIN_AMOUNT = "order.certificates.unique.min_amount";
 	public static final String ORDER_UNIQUE_CERTIFICATES_MAX_AMOUNT = "order.certificates.unique.max_amount";
+	public static final String CHUNK_SIZE = "generator.chunk-size";
+	public static final String THREADS = "generator.threads";
+	public static final String PROFILE = "generator.profile";
+	public static final String PROFILES = "generator.profiles.";
+	public static final String PROFILE_PROPERTY_DELIMITER = ".";
+	public static final String SCALE_FACTOR = "scale-factor";
+	public static final String SEED = "seed";
+	public static final String TAG_ZIPF_EXPONENT = "tag-zipf-exponent";
+	public static final String HEAVY_USER_SHARE = "heavy-user-share";
+	public static final String HEAVY_USER_ORDER_SHARE = "heavy-user-order-share";
+	public static final String DELETED_SHARE = "deleted-share";
+	public static final String START_DATE = "start-date";
+	public static final String DEFAULT_PROFILE = "sf1";
+
+	public static final int DEFAULT_CHUNK_SIZE = 1000;
+	public static final int DEFAULT_THREADS = 4;
+	public static final int LOAD_PAGE_SIZE = 1000;
+	public static final int MAX_PROFILE_NAME_LENGTH = 12;
+	public static final long DATE_RANGE_SECONDS = 365L * 24 * 60 * 60;
+	public static final String GENERATOR_THREAD_NAME = "data-generator";
+	public static final String WORKER_THREAD_NAME = "data-generator-worker-";
 
 	private GeneratorConstant() {
 
@@ -0,0 +1,30 @@
+package com.epam.esm.service.util;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ * Exposes the progress of the background data generation as
+ * {@code generator} actuator endpoint.
+ *
+ */
+@Component
+@Endpoint(id = "generator")
+public class GeneratorEndpoint {
+	private final GeneratorProgress generatorProgress;
+
+	@Autowired
+	public GeneratorEndpoint(GeneratorProgress generatorProgress) {
+		this.generatorProgress = generatorProgress;
+	}
+
+	@ReadOperation
+	public Map<String, Object> progress() {
+		return generatorProgress.obtainSnapshot();
+	}
+}
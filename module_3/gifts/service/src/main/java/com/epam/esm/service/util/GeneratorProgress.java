@@ -0,0 +1,121 @@
+package com.epam.esm.service.util;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ * Tracks the progress of the background data generation: the generated
+ * profile, the state of the whole generation and the amount of committed chunks and saved rows of every
+ * stage. The chunks committed by the interrupted generation are counted as
+ * resumed.
+ *
+ */
+@Component
+public class GeneratorProgress {
+	private static final String PROFILE = "profile";
+	private static final String STATE = "state";
+	private static final String STARTED_AT = "startedAt";
+	private static final String FINISHED_AT = "finishedAt";
+	private static final String FAILURE = "failure";
+	private static final String STAGES = "stages";
+	private static final String TOTAL_CHUNKS = "totalChunks";
+	private static final String COMPLETED_CHUNKS = "completedChunks";
+	private static final String RESUMED_CHUNKS = "resumedChunks";
+	private static final String SAVED_ROWS = "savedRows";
+
+	public enum State {
+		IDLE, RUNNING, COMPLETED, FAILED
+	}
+
+	private final Map<GeneratorStage, StageProgress> stages = new EnumMap<>(GeneratorStage.class);
+	private volatile String profile;
+	private volatile State state = State.IDLE;
+	private volatile LocalDateTime startedAt;
+	private volatile LocalDateTime finishedAt;
+	private volatile String failure;
+
+	public GeneratorProgress() {
+
+	}
+
+	public synchronized void start(String profile) {
+		stages.clear();
+		this.profile = profile;
+		state = State.RUNNING;
+		startedAt = LocalDateTime.now();
+		finishedAt = null;
+		failure = null;
+	}
+
+	public synchronized void startStage(GeneratorStage stage, int totalChunks, int resumedChunks) {
+		stages.put(stage, new StageProgress(totalChunks, resumedChunks));
+	}
+
+	public void completeChunk(GeneratorStage stage, int savedRows) {
+		StageProgress stageProgress;
+		synchronized (this) {
+			stageProgress = stages.get(stage);
+		}
+		stageProgress.completedChunks.incrementAndGet();
+		stageProgress.savedRows.addAndGet(savedRows);
+	}
+
+	public synchronized void complete() {
+		state = State.COMPLETED;
+		finishedAt = LocalDateTime.now();
+	}
+
+	public synchronized void fail(String message) {
+		state = State.FAILED;
+		finishedAt = LocalDateTime.now();
+		failure = message;
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * Obtains the current progress of the generation.
+	 *
+	 * @return the state of the generation and the progress of its started stages
+	 */
+	public synchronized Map<String, Object> obtainSnapshot() {
+		Map<String, Object> snapshot = new LinkedHashMap<>();
+		snapshot.put(PROFILE, profile);
+		snapshot.put(STATE, state);
+		snapshot.put(STARTED_AT, startedAt);
+		snapshot.put(FINISHED_AT, finishedAt);
+		snapshot.put(FAILURE, failure);
+		Map<GeneratorStage, Map<String, Object>> stageSnapshots = new EnumMap<>(GeneratorStage.class);
+		stages.forEach((stage, stageProgress) -> {
+			Map<String, Object> stageSnapshot = new LinkedHashMap<>();
+			stageSnapshot.put(TOTAL_CHUNKS, stageProgress.totalChunks);
+			stageSnapshot.put(COMPLETED_CHUNKS, stageProgress.resumedChunks + stageProgress.completedChunks.get());
+			stageSnapshot.put(RESUMED_CHUNKS, stageProgress.resumedChunks);
+			stageSnapshot.put(SAVED_ROWS, stageProgress.savedRows.get());
+			stageSnapshots.put(stage, stageSnapshot);
+		});
+		snapshot.put(STAGES, stageSnapshots);
+		return snapshot;
+	}
+
+	private static final class StageProgress {
+		private final int totalChunks;
+		private final int resumedChunks;
+		private final AtomicInteger completedChunks = new AtomicInteger();
+		private final AtomicLong savedRows = new AtomicLong();
+
+		private StageProgress(int totalChunks, int resumedChunks) {
+			this.totalChunks = totalChunks;
+			this.resumedChunks = resumedChunks;
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package com.epam.esm.service.util;
+
+/**
+ *
+ * The stages of the data generation in the order of their execution. Every
+ * stage references only the data of the previous ones.
+ *
+ */
+public enum GeneratorStage {
+	USERS, TAGS, CERTIFICATES, ORDERS
+}
@@ -1,52 +1,74 @@
 package com.epam.esm.service.util;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import com.epam.esm.dto.CertificateDto;
-import com.epam.esm.dto.OrderCertificateDto;
-import com.epam.esm.dto.OrderDto;
-import com.epam.esm.dto.UserDto;
-import com.epam.esm.service.OrderService;
+import com.epam.esm.repository.OrderRepository;
+import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.CertificatePriceModel;
+import com.epam.esm.repository.model.OrderCertificateModel;
+import com.epam.esm.repository.model.OrderModel;
+import com.epam.esm.repository.model.UserModel;
 
 @Component
 public class OrderGenerator {
-	private final OrderService orderService;
+	private final OrderRepository orderRepository;
 
 	@Autowired
-	public OrderGenerator(OrderService orderService) {
-		this.orderService = orderService;
+	public OrderGenerator(OrderRepository orderRepository) {
+		this.orderRepository = orderRepository;
 	}
 
-	public List<OrderDto> generateOrders(int ordersAmount, List<CertificateDto> existedCertificates,
-			List<UserDto> existedUsers, int orderCertificatesMinAmount, int orderCertificatesMaxAmount,
-			int orderCertificatesUniqueMinAmount, int orderCertificatesUniqueMaxAmount) {
-		List<OrderDto> orderDtosToCreate = new ArrayList<>(ordersAmount);
-		for (int i = 0; i < ordersAmount; i++) {
-			OrderDto orderDto = new OrderDto();
-			int orderCertificatesAmount = DataGenerator.getRandomNumber(orderCertificatesUniqueMinAmount,
-					orderCertificatesUniqueMaxAmount + 1);
-			List<OrderCertificateDto> orderCertificateDtos = new ArrayList<>(orderCertificatesAmount);
-			for (int j = orderCertificatesUniqueMinAmount; j <= orderCertificatesAmount; j++) {
-				List<Integer> usedCertificateIndeces = new ArrayList<>(orderCertificatesAmount);
-				int certificateIndex = DataGenerator.getRandomNumber(0, existedCertificates.size());
-				while (usedCertificateIndeces.contains(certificateIndex)) {
-					certificateIndex = DataGenerator.getRandomNumber(0, existedCertificates.size());
-				}
-				OrderCertificateDto orderCertificateDto = new OrderCertificateDto();
-				orderCertificateDto.setCertificate(existedCertificates.get(certificateIndex));
-				orderCertificateDto.setCertificateAmount(
-						DataGenerator.getRandomNumber(orderCertificatesMinAmount, orderCertificatesMaxAmount + 1));
-				orderCertificateDtos.add(orderCertificateDto);
-				usedCertificateIndeces.add(certificateIndex);
+	public int generateOrders(int fromOrdinal, int toOrdinal, List<CertificatePriceModel> existedCertificates,
+			long[] existedUserIds, int orderCertificatesMinAmount, int orderCertificatesMaxAmount,
+			int orderCertificatesUniqueMinAmount, int orderCertificatesUniqueMaxAmount, DatasetProfile profile) {
+		int heavyUsersAmount = (int) Math.ceil(existedUserIds.length * profile.getHeavyUserShare());
+		List<OrderModel> orderModelsToCreate = new ArrayList<>(toOrdinal - fromOrdinal);
+		for (int ordinal = fromOrdinal; ordinal < toOrdinal; ordinal++) {
+			SplittableRandom random = profile.obtainRandom(GeneratorStage.ORDERS, ordinal);
+			OrderModel orderModel = new OrderModel();
+			int orderCertificatesAmount = Math.min(
+					random.nextInt(orderCertificatesUniqueMinAmount, orderCertificatesUniqueMaxAmount + 1),
+					existedCertificates.size());
+			List<OrderCertificateModel> orderCertificateModels = new ArrayList<>(orderCertificatesAmount);
+			BigDecimal cost = BigDecimal.ZERO;
+			for (int certificateIndex : DataGenerator.obtainDistinctIndexes(orderCertificatesAmount,
+					() -> random.nextInt(existedCertificates.size()))) {
+				CertificatePriceModel certificatePrice = existedCertificates.get(certificateIndex);
+				CertificateModel certificateModel = new CertificateModel();
+				certificateModel.setId(certificatePrice.getId());
+				OrderCertificateModel orderCertificateModel = new OrderCertificateModel();
+				orderCertificateModel.setCertificate(certificateModel);
+				orderCertificateModel.setCertificateAmount(
+						random.nextInt(orderCertificatesMinAmount, orderCertificatesMaxAmount + 1));
+				orderCertificateModels.add(orderCertificateModel);
+				cost = cost.add(certificatePrice.getPrice()
+						.multiply(BigDecimal.valueOf(orderCertificateModel.getCertificateAmount())));
 			}
-			orderDto.setUser(existedUsers.get(DataGenerator.getRandomNumber(0, existedUsers.size())));
-			orderDto.setCertificates(orderCertificateDtos);
-			orderDtosToCreate.add(orderDto);
+			UserModel userModel = new UserModel();
+			userModel.setId(existedUserIds[obtainUserIndex(random, existedUserIds.length, heavyUsersAmount,
+					profile.getHeavyUserOrderShare())]);
+			orderModel.setUser(userModel);
+			orderModel.setCertificates(orderCertificateModels);
+			orderModel.setCost(cost);
+			orderModel.setDate(
+					profile.getStartDate().plusSeconds(random.nextLong(GeneratorConstant.DATE_RANGE_SECONDS)));
+			orderModelsToCreate.add(orderModel);
 		}
-		return orderService.createOrders(orderDtosToCreate);
+		return orderRepository.saveOrders(orderModelsToCreate).size();
+	}
+
+	private static int obtainUserIndex(SplittableRandom random, int usersAmount, int heavyUsersAmount,
+			double heavyUserOrderShare) {
+		if (heavyUsersAmount == 0 || heavyUsersAmount >= usersAmount) {
+			return random.nextInt(usersAmount);
+		}
+		return random.nextDouble() < heavyUserOrderShare ? random.nextInt(heavyUsersAmount)
+				: random.nextInt(heavyUsersAmount, usersAmount);
 	}
 }
@@ -0,0 +1,59 @@
+package com.epam.esm.service.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.ClassPathResource;
+
+import com.epam.esm.exception.GeneratorException;
+
+/**
+ *
+ * Contains the lines of the resource file which are cycled to generate any
+ * amount of entities. The names of the repeated rounds get the number of the
+ * round as suffix, so they stay unique.
+ *
+ */
+final class SourceLines {
+	private static final String ROUND_DELIMITER = "-";
+
+	private final List<String> lines;
+
+	private SourceLines(List<String> lines) {
+		this.lines = lines;
+	}
+
+	static SourceLines read(String filePath) {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new ClassPathResource(filePath).getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+		} catch (IOException e) {
+			throw new GeneratorException(e.getMessage(), e);
+		}
+		if (lines.isEmpty()) {
+			throw new GeneratorException(GeneratorConstant.NOT_ENOUGH_DATA_EXCEPTION);
+		}
+		return new SourceLines(lines);
+	}
+
+	String obtainLine(long ordinal) {
+		return lines.get((int) (ordinal % lines.size()));
+	}
+
+	String obtainName(long ordinal, int maxLength) {
+		long round = ordinal / lines.size();
+		String name = round == 0 ? obtainLine(ordinal) : obtainLine(ordinal) + ROUND_DELIMITER + round;
+		if (name.length() > maxLength) {
+			throw new GeneratorException(GeneratorConstant.TOO_LONG_NAME_EXCEPTION + name);
+		}
+		return name;
+	}
+}
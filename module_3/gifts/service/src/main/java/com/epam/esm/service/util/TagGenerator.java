@@ -1,46 +1,62 @@
 package com.epam.esm.service.util;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
-import com.epam.esm.dto.TagDto;
-import com.epam.esm.exception.GeneratorException;
-import com.epam.esm.service.TagService;
+import com.epam.esm.repository.TagRepository;
+import com.epam.esm.repository.model.KeysetCursor;
+import com.epam.esm.repository.model.TagModel;
+import com.epam.esm.service.ServiceConstant;
 
 @Component
 public class TagGenerator {
-	private final TagService tagService;
+	private final TagRepository tagRepository;
 
 	@Autowired
-	public TagGenerator(TagService tagService) {
-		this.tagService = tagService;
+	public TagGenerator(TagRepository tagRepository) {
+		this.tagRepository = tagRepository;
 	}
 
-	public List<TagDto> generateTags(int amount) {
-		List<TagDto> tagDtosToCreate = new ArrayList<>(amount);
-		ClassPathResource res = new ClassPathResource(GeneratorConstant.TAG_NAME_FILE_PATH);
-		int lineCounter = 0;
-		try (BufferedReader reader = new BufferedReader(new InputStreamReader(res.getInputStream()))) {
-			String name;
-			while ((name = reader.readLine()) != null && lineCounter < amount) {
-				TagDto tagDto = new TagDto();
-				tagDto.setName(name);
-				tagDtosToCreate.add(tagDto);
-				++lineCounter;
+	public int generateTags(SourceLines names, int fromOrdinal, int toOrdinal, DatasetProfile profile) {
+		List<TagModel> tagModelsToCreate = new ArrayList<>(toOrdinal - fromOrdinal);
+		for (int ordinal = fromOrdinal; ordinal < toOrdinal; ordinal++) {
+			TagModel tagModel = new TagModel();
+			tagModel.setName(names.obtainName(ordinal, ServiceConstant.TAG_MAX_NAME_LENGTH));
+			tagModelsToCreate.add(tagModel);
+		}
+		tagRepository.saveTags(tagModelsToCreate);
+		for (int ordinal = fromOrdinal; ordinal < toOrdinal; ordinal++) {
+			if (profile.obtainRandom(GeneratorStage.TAGS, ordinal).nextDouble() < profile.getDeletedShare()) {
+				tagRepository.delete(tagModelsToCreate.get(ordinal - fromOrdinal).getId());
+			}
+		}
+		return tagModelsToCreate.size();
+	}
+
+	public List<TagModel> loadTags(SourceLines names, int amount) {
+		Map<String, TagModel> tagModelsByName = new HashMap<>();
+		KeysetCursor cursor = null;
+		Slice<TagModel> page;
+		do {
+			page = tagRepository.findAll(cursor, GeneratorConstant.LOAD_PAGE_SIZE);
+			for (TagModel tagModel : page) {
+				tagModelsByName.put(tagModel.getName(), tagModel);
+				cursor = new KeysetCursor(new ArrayList<>(), tagModel.getId(), false);
 			}
-			if (lineCounter != amount) {
-				throw new GeneratorException(GeneratorConstant.NOT_ENOUGH_DATA_EXCEPTION);
+		} while (page.hasNext());
+		List<TagModel> tagModels = new ArrayList<>();
+		for (int ordinal = 0; ordinal < amount; ordinal++) {
+			TagModel tagModel = tagModelsByName.get(names.obtainName(ordinal, ServiceConstant.TAG_MAX_NAME_LENGTH));
+			if (tagModel != null) {
+				tagModels.add(tagModel);
 			}
-		} catch (IOException e) {
-			throw new GeneratorException(e.getMessage());
 		}
-		return tagService.createTags(tagDtosToCreate);
+		return tagModels;
 	}
 }
@@ -1,46 +1,65 @@
 package com.epam.esm.service.util;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
-import com.epam.esm.dto.UserDto;
 import com.epam.esm.exception.GeneratorException;
-import com.epam.esm.service.UserService;
+import com.epam.esm.repository.RoleRepository;
+import com.epam.esm.repository.UserRepository;
+import com.epam.esm.repository.model.KeysetCursor;
+import com.epam.esm.repository.model.RoleModel;
+import com.epam.esm.repository.model.UserModel;
+import com.epam.esm.service.ServiceConstant;
 
 @Component
 public class UserGenerator {
-	private final UserService userService;
+	private final UserRepository userRepository;
+	private final RoleRepository roleRepository;
 
 	@Autowired
-	public UserGenerator(UserService userService) {
-		this.userService = userService;
+	public UserGenerator(UserRepository userRepository, RoleRepository roleRepository) {
+		this.userRepository = userRepository;
+		this.roleRepository = roleRepository;
 	}
 
-	public List<UserDto> generateUsers(int amount) {
-		List<UserDto> userDtosToCreate = new ArrayList<>(amount);
-		ClassPathResource res = new ClassPathResource(GeneratorConstant.USER_LOGIN_FILE_PATH);
-		int lineCounter = 0;
-		try (BufferedReader reader = new BufferedReader(new InputStreamReader(res.getInputStream()))) {
-			String name;
-			while ((name = reader.readLine()) != null && lineCounter < amount) {
-				UserDto userDto = new UserDto();
-				userDto.setLogin(name);
-				userDtosToCreate.add(userDto);
-				++lineCounter;
+	public int generateUsers(SourceLines logins, int fromOrdinal, int toOrdinal) {
+		RoleModel roleModel = roleRepository.findByName(ServiceConstant.DEFAULT_ROLE_NAME).get();
+		List<UserModel> userModelsToCreate = new ArrayList<>(toOrdinal - fromOrdinal);
+		for (int ordinal = fromOrdinal; ordinal < toOrdinal; ordinal++) {
+			UserModel userModel = new UserModel();
+			userModel.setLogin(logins.obtainName(ordinal, ServiceConstant.USER_MAX_NAME_LENGTH));
+			userModel.setRole(roleModel);
+			userModelsToCreate.add(userModel);
+		}
+		return userRepository.saveUsers(userModelsToCreate).size();
+	}
+
+	public long[] loadUserIds(SourceLines logins, int amount) {
+		Map<String, Long> userIdsByLogin = new HashMap<>();
+		KeysetCursor cursor = null;
+		Slice<UserModel> userModels;
+		do {
+			userModels = userRepository.findAll(cursor, GeneratorConstant.LOAD_PAGE_SIZE);
+			for (UserModel userModel : userModels) {
+				userIdsByLogin.put(userModel.getLogin(), userModel.getId());
+				cursor = new KeysetCursor(new ArrayList<>(), userModel.getId(), false);
 			}
-			if (lineCounter != amount) {
-				throw new GeneratorException(GeneratorConstant.NOT_ENOUGH_DATA_EXCEPTION);
+		} while (userModels.hasNext());
+		long[] userIds = new long[amount];
+		for (int ordinal = 0; ordinal < amount; ordinal++) {
+			String login = logins.obtainName(ordinal, ServiceConstant.USER_MAX_NAME_LENGTH);
+			Long userId = userIdsByLogin.get(login);
+			if (userId == null) {
+				throw new GeneratorException(GeneratorConstant.MISSING_DATA_EXCEPTION + login);
 			}
-		} catch (IOException e) {
-			throw new GeneratorException(e.getMessage());
+			userIds[ordinal] = userId;
 		}
-		return userService.createUsers(userDtosToCreate);
+		return userIds;
 	}
 }
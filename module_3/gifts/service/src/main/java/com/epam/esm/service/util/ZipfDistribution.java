@@ -0,0 +1,41 @@
+package com.epam.esm.service.util;
+
+import java.util.SplittableRandom;
+
+/**
+ *
+ * Samples the indexes of the ranked items with the probability inversely
+ * proportional to the power of their rank.
+ *
+ */
+final class ZipfDistribution {
+	private final double[] cumulativeWeights;
+
+	ZipfDistribution(int size, double exponent) {
+		cumulativeWeights = new double[size];
+		double total = 0;
+		for (int i = 0; i < size; i++) {
+			total += 1 / Math.pow(i + 1, exponent);
+			cumulativeWeights[i] = total;
+		}
+	}
+
+	int size() {
+		return cumulativeWeights.length;
+	}
+
+	int sample(SplittableRandom random) {
+		double weight = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+		int low = 0;
+		int high = cumulativeWeights.length - 1;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (cumulativeWeights[middle] <= weight) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
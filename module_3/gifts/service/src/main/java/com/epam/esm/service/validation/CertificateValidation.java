@@ -2,12 +2,14 @@ package com.epam.esm.service.validation;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.repository.model.EntityConstant;
 import com.epam.esm.service.ServiceConstant;
@@ -133,34 +135,31 @@ public class CertificateValidation {
 	/**
 	 * Validates parameters for certificates reading.
 	 * 
-	 * @param params the parameters for certificates reading
+	 * @param query the parameters for certificates reading
 	 * @return {@code Map} of {@code ErrorCode} as key and invalid resource as a
 	 *         value for invalid parameters. If all parameters are valid returns
 	 *         empty map
 	 */
-	public Map<ErrorCode, String> validateReadParams(MultiValueMap<String, String> params) {
-		ValidationUtil.checkNull(params, ServiceConstant.PARAMS);
-		MultiValueMap<String, String> paramsInLowerCase = ValidationUtil.mapToLowerCase(params);
+	public Map<ErrorCode, String> validateReadParams(ReadQueryDto query) {
+		ValidationUtil.checkNull(query, ServiceConstant.PARAMS);
+		MultiValueMap<String, String> params = query.getParams();
 		Map<ErrorCode, String> errors = new HashMap<>();
-		if (!ServiceConstant.CERTIFICATE_POSSIBLE_READ_PARAMS.containsAll(paramsInLowerCase.keySet())) {
+		if (!ServiceConstant.CERTIFICATE_POSSIBLE_READ_PARAMS.containsAll(params.keySet())) {
 			errors.put(ErrorCode.INVALID_CERTIFICATE_READ_PARAM,
-					ServiceConstant.PARAMS + ValidationUtil.ERROR_RESOURCE_DELIMITER + paramsInLowerCase);
+					ServiceConstant.PARAMS + ValidationUtil.ERROR_RESOURCE_DELIMITER + params);
 		}
 
-		if (paramsInLowerCase.containsKey(EntityConstant.ORDER_BY)) {
-			if (!ServiceConstant.CERTIFICATE_POSSIBLE_SORT_FIELD
-					.containsAll(paramsInLowerCase.get(EntityConstant.ORDER_BY))) {
+		if (params.containsKey(EntityConstant.ORDER_BY)) {
+			List<String> sortParams = params.get(EntityConstant.ORDER_BY);
+			if (!ServiceConstant.CERTIFICATE_POSSIBLE_SORT_FIELD.containsAll(sortParams)
+					|| sortParams.contains(EntityConstant.CERTIFICATE_RELEVANCE) && (sortParams.size() > 1
+							|| !params.containsKey(EntityConstant.SEARCH)
+							|| params.containsKey(ServiceConstant.CURSOR))) {
 				errors.put(ErrorCode.INVALID_CERTIFICATE_SORT_PARAM,
-						ServiceConstant.PARAMS + ValidationUtil.ERROR_RESOURCE_DELIMITER + paramsInLowerCase);
+						ServiceConstant.PARAMS + ValidationUtil.ERROR_RESOURCE_DELIMITER + params);
 			}
 		}
-		if (paramsInLowerCase.containsKey(ServiceConstant.OFFSET)) {
-			errors.putAll(PaginationValidation.validateOffset(paramsInLowerCase.get(ServiceConstant.OFFSET).get(0)));
-		}
-
-		if (paramsInLowerCase.containsKey(ServiceConstant.LIMIT)) {
-			errors.putAll(PaginationValidation.validateLimit(paramsInLowerCase.get(ServiceConstant.LIMIT).get(0)));
-		}
+		errors.putAll(PaginationValidation.validatePaginationParams(query));
 		return errors;
 	}
 }
@@ -1,6 +1,7 @@
 package com.epam.esm.service.validation;
 
 import com.epam.esm.dto.OrderCertificateDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.repository.model.EntityConstant;
 import com.epam.esm.service.ServiceConstant;
@@ -10,7 +11,6 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.stereotype.Component;
-import org.springframework.util.MultiValueMap;
 
 /**
  * Contains methods for order validation.
@@ -26,30 +26,19 @@ public class OrderValidation {
 	/**
 	 * Validates parameters for orders reading.
 	 * 
-	 * @param paramsInLowerCase the parameters for orders reading
+	 * @param query the parameters for orders reading
 	 * @return {@code Map} of {@code ErrorCode} as key and invalid resource as a
 	 *         value for invalid parameters. If all parameters are valid returns
 	 *         empty map
 	 */
-	public Map<ErrorCode, String> validateReadParams(MultiValueMap<String, String> params) {
-		ValidationUtil.checkNull(params, ServiceConstant.PARAMS);
-
-		MultiValueMap<String, String> paramsInLowerCase = ValidationUtil.mapToLowerCase(params);
+	public Map<ErrorCode, String> validateReadParams(ReadQueryDto query) {
+		ValidationUtil.checkNull(query, ServiceConstant.PARAMS);
 		Map<ErrorCode, String> errors = new HashMap<>();
-
-		if (!ServiceConstant.GENERAL_POSSIBLE_READ_PARAMS.containsAll(paramsInLowerCase.keySet())) {
+		if (!ServiceConstant.GENERAL_POSSIBLE_READ_PARAMS.containsAll(query.getParams().keySet())) {
 			errors.put(ErrorCode.INVALID_ORDER_READ_PARAM,
-					ServiceConstant.PARAMS + ValidationUtil.ERROR_RESOURCE_DELIMITER + params);
-		}
-
-		if (paramsInLowerCase.containsKey(ServiceConstant.OFFSET)) {
-			errors.putAll(PaginationValidation.validateOffset(paramsInLowerCase.get(ServiceConstant.OFFSET).get(0)));
+					ServiceConstant.PARAMS + ValidationUtil.ERROR_RESOURCE_DELIMITER + query.getParams());
 		}
-
-		if (paramsInLowerCase.containsKey(ServiceConstant.LIMIT)) {
-			errors.putAll(PaginationValidation.validateLimit(paramsInLowerCase.get(ServiceConstant.LIMIT).get(0)));
-		}
-
+		errors.putAll(PaginationValidation.validatePaginationParams(query));
 		return errors;
 	}
 
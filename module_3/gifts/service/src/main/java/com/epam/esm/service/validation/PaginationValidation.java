@@ -3,7 +3,9 @@ package com.epam.esm.service.validation;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.exception.ErrorCode;
+import com.epam.esm.repository.model.CountStrategy;
 import com.epam.esm.service.ServiceConstant;
 
 /**
@@ -15,6 +17,29 @@ public class PaginationValidation {
 
 	}
 
+	/**
+	 * Validates offset, limit and count strategy parameters of the passed query
+	 * if they are present.
+	 * 
+	 * @param query the query which pagination parameters should be validated
+	 * @return {@code Map} of {@code ErrorCode} as key and invalid parameter as a
+	 *         value for invalid pagination parameters. If they are valid returns
+	 *         empty map
+	 */
+	public static Map<ErrorCode, String> validatePaginationParams(ReadQueryDto query) {
+		Map<ErrorCode, String> errors = new HashMap<>();
+		if (query.containsParam(ServiceConstant.OFFSET)) {
+			errors.putAll(validateOffset(query.getFirst(ServiceConstant.OFFSET)));
+		}
+		if (query.containsParam(ServiceConstant.LIMIT)) {
+			errors.putAll(validateLimit(query.getFirst(ServiceConstant.LIMIT)));
+		}
+		if (query.containsParam(ServiceConstant.COUNT)) {
+			errors.putAll(validateCountStrategy(query.getFirst(ServiceConstant.COUNT)));
+		}
+		return errors;
+	}
+
 	/**
 	 * Validates limit pagination parameter.
 	 * 
@@ -64,4 +89,23 @@ public class PaginationValidation {
 		}
 		return errors;
 	}
+
+	/**
+	 * Validates count strategy pagination parameter.
+	 * 
+	 * @param initialCountStrategy the count strategy for validation
+	 * @return {@code Map} of {@code ErrorCode} as key and invalid parameter as a
+	 *         value for invalid count strategy. If count strategy is valid returns
+	 *         empty map
+	 */
+	public static Map<ErrorCode, String> validateCountStrategy(String initialCountStrategy) {
+		Map<ErrorCode, String> errors = new HashMap<>();
+		try {
+			CountStrategy.valueOf(String.valueOf(initialCountStrategy).toUpperCase());
+		} catch (IllegalArgumentException e) {
+			errors.put(ErrorCode.INVALID_COUNT_STRATEGY,
+					ServiceConstant.COUNT + ValidationUtil.ERROR_RESOURCE_DELIMITER + initialCountStrategy);
+		}
+		return errors;
+	}
 }
@@ -1,5 +1,6 @@
 package com.epam.esm.service.validation;
 
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.TagDto;
 import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.repository.model.EntityConstant;
@@ -9,7 +10,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.stereotype.Component;
-import org.springframework.util.MultiValueMap;
 
 /**
  * Contains methods for tag validation.
@@ -44,28 +44,19 @@ public class TagValidation {
 	/**
 	 * Validates parameters for tags reading.
 	 * 
-	 * @param paramsInLowerCase the parameters for tags reading
+	 * @param query the parameters for tags reading
 	 * @return {@code Map} of {@code ErrorCode} as key and invalid resource as a
 	 *         value for invalid parameters. If all parameters are valid returns
 	 *         empty map
 	 */
-	public Map<ErrorCode, String> validateReadParams(MultiValueMap<String, String> params) {
-		ValidationUtil.checkNull(params, ServiceConstant.PARAMS);
-		MultiValueMap<String, String> paramsInLowerCase = ValidationUtil.mapToLowerCase(params);
+	public Map<ErrorCode, String> validateReadParams(ReadQueryDto query) {
+		ValidationUtil.checkNull(query, ServiceConstant.PARAMS);
 		Map<ErrorCode, String> errors = new HashMap<>();
-		if (!ServiceConstant.GENERAL_POSSIBLE_READ_PARAMS.containsAll(paramsInLowerCase.keySet())) {
+		if (!ServiceConstant.GENERAL_POSSIBLE_READ_PARAMS.containsAll(query.getParams().keySet())) {
 			errors.put(ErrorCode.INVALID_TAG_READ_PARAM,
-					ServiceConstant.PARAMS + ValidationUtil.ERROR_RESOURCE_DELIMITER + params);
+					ServiceConstant.PARAMS + ValidationUtil.ERROR_RESOURCE_DELIMITER + query.getParams());
 		}
-
-		if (paramsInLowerCase.containsKey(ServiceConstant.OFFSET)) {
-			errors.putAll(PaginationValidation.validateOffset(paramsInLowerCase.get(ServiceConstant.OFFSET).get(0)));
-		}
-
-		if (paramsInLowerCase.containsKey(ServiceConstant.LIMIT)) {
-			errors.putAll(PaginationValidation.validateLimit(paramsInLowerCase.get(ServiceConstant.LIMIT).get(0)));
-		}
-
+		errors.putAll(PaginationValidation.validatePaginationParams(query));
 		return errors;
 	}
 }
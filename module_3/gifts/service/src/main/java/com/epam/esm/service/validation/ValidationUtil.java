@@ -1,12 +1,5 @@
 package com.epam.esm.service.validation;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
 import com.epam.esm.exception.ErrorCode;
@@ -51,33 +44,6 @@ public class ValidationUtil {
 		return source;
 	}
 
-	/**
-	 * Turns keys and values of the passed map to lower case and removes all extra
-	 * spaces.
-	 * 
-	 * @param params the map which should be in lower case
-	 * @return passed map with all keys and values in lower case
-	 * @throws NullEntityException if passed params is {@code null}
-	 * @see #removeExtraSpaces(String)
-	 */
-	public static MultiValueMap<String, String> mapToLowerCase(MultiValueMap<String, String> params) {
-		checkNull(params, ServiceConstant.PARAMS);
-		MultiValueMap<String, String> paramsInLowerCase = new LinkedMultiValueMap<>();
-		for (Map.Entry<String, List<String>> entry : params.entrySet()) {
-			String key = removeExtraSpaces(entry.getKey().toLowerCase());
-			List<String> value = entry.getValue();
-			List<String> valueWithoutExtraSpaces = new ArrayList<>(value.size());
-			value.stream().forEach(element -> valueWithoutExtraSpaces.add(removeExtraSpaces(element)));
-			if (paramsInLowerCase.containsKey(key)) {
-				paramsInLowerCase.get(key).addAll(valueWithoutExtraSpaces);
-			} else {
-				paramsInLowerCase.put(key, (valueWithoutExtraSpaces.stream().map(String::toLowerCase)
-						.collect(Collectors.toCollection(ArrayList::new))));
-			}
-		}
-		return paramsInLowerCase;
-	}
-
 	/**
 	 * Checks the length requirements to the passed string. Before the check it
 	 * removes extra spaces.
@@ -0,0 +1,91 @@
+package com.epam.esm.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.epam.esm.exception.NullEntityException;
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.service.ServiceConstant;
+
+class ReadQueryDtoTest {
+
+	@Test
+	void testOfNormalizesParams() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(" Tag ", Arrays.asList(" Family  Dinner "));
+		params.put("tag", Arrays.asList("FOOD"));
+
+		ReadQueryDto actual = ReadQueryDto.of(params);
+
+		Assertions.assertEquals(Arrays.asList("family dinner", "food"), actual.getTags());
+		Assertions.assertEquals(1, actual.getParams().size());
+	}
+
+	@Test
+	void testOfConvertsSortParams() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(EntityConstant.ORDER_BY, Arrays.asList("Create_Date", "-name"));
+
+		ReadQueryDto actual = ReadQueryDto.of(params);
+
+		List<String> expected = Arrays.asList("createDate", "-name");
+		Assertions.assertEquals(expected, actual.getSortFields());
+		Assertions.assertEquals(expected, actual.getFilterParams().get(EntityConstant.ORDER_BY));
+		Assertions.assertEquals(Arrays.asList("create_date", "-name"), actual.getParams().get(EntityConstant.ORDER_BY));
+	}
+
+	@Test
+	void testOfParsesPagination() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(ServiceConstant.OFFSET, Arrays.asList("2"));
+		params.put(ServiceConstant.LIMIT, Arrays.asList("5"));
+		params.put(ServiceConstant.COUNT, Arrays.asList("None"));
+
+		ReadQueryDto actual = ReadQueryDto.of(params);
+
+		Assertions.assertEquals(2, actual.getPageNumber());
+		Assertions.assertEquals(5, actual.getLimit());
+		Assertions.assertEquals(CountStrategy.NONE, actual.getCountStrategy());
+	}
+
+	@Test
+	void testOfWithDefaultPagination() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(ServiceConstant.LIMIT, Arrays.asList("five"));
+
+		ReadQueryDto actual = ReadQueryDto.of(params);
+
+		Assertions.assertEquals(ServiceConstant.DEFAULT_PAGE_NUMBER, actual.getPageNumber());
+		Assertions.assertEquals(ServiceConstant.DEFAULT_LIMIT, actual.getLimit());
+		Assertions.assertEquals(CountStrategy.EXACT, actual.getCountStrategy());
+		Assertions.assertNull(actual.getCursor());
+	}
+
+	@Test
+	void testQueryIsImmutable() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(EntityConstant.SEARCH, new ArrayList<>(List.of("dinner")));
+
+		ReadQueryDto actual = ReadQueryDto.of(params);
+		params.add(EntityConstant.SEARCH, "food");
+
+		Assertions.assertEquals(Arrays.asList("dinner"), actual.getParams().get(EntityConstant.SEARCH));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> {
+			actual.getParams().add(EntityConstant.SEARCH, "food");
+		});
+	}
+
+	@Test
+	void testOfWithNullParams() {
+		Assertions.assertThrows(NullEntityException.class, () -> {
+			ReadQueryDto.of(null);
+		});
+	}
+}
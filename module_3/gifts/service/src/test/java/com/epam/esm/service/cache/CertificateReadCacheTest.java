@@ -0,0 +1,159 @@
+package com.epam.esm.service.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.TagDto;
+
+class CertificateReadCacheTest {
+	private static final long CERTIFICATE_ID_1 = 1L;
+	private static final long CERTIFICATE_ID_2 = 2L;
+	private static final String ENABLED_FIELD = "enabled";
+	private static final String MAX_ENTRIES_FIELD = "maxEntries";
+	private static final String MAX_WEIGHT_FIELD = "maxWeight";
+	private static final String TTL_MILLIS_FIELD = "ttlMillis";
+	private static final String REPLICA_MAX_LAG_SECONDS_FIELD = "replicaMaxLagSeconds";
+
+	private CertificateReadCache certificateReadCache;
+	private List<Long> loadedIds;
+
+	@BeforeEach
+	public void setUp() {
+		certificateReadCache = new CertificateReadCache();
+		ReflectionTestUtils.setField(certificateReadCache, ENABLED_FIELD, true);
+		ReflectionTestUtils.setField(certificateReadCache, MAX_ENTRIES_FIELD, 10);
+		ReflectionTestUtils.setField(certificateReadCache, MAX_WEIGHT_FIELD, 1_000_000L);
+		ReflectionTestUtils.setField(certificateReadCache, TTL_MILLIS_FIELD, 60_000L);
+		loadedIds = new ArrayList<>();
+	}
+
+	@Test
+	void testReadCachesCertificate() {
+		CertificateDto expected = obtainCertificate(CERTIFICATE_ID_1);
+
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		CertificateDto actual = certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+
+		Assertions.assertEquals(expected, actual);
+		Assertions.assertEquals(List.of(CERTIFICATE_ID_1), loadedIds);
+		Assertions.assertEquals(0.5, certificateReadCache.obtainHitRatio());
+		Assertions.assertTrue(certificateReadCache.obtainWeight() > 0);
+	}
+
+	@Test
+	void testReadReturnsCopy() {
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1)).getTags().clear();
+
+		CertificateDto actual = certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+
+		Assertions.assertEquals(1, actual.getTags().size());
+	}
+
+	@Test
+	void testInvalidate() {
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		certificateReadCache.invalidate(CERTIFICATE_ID_1);
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+
+		Assertions.assertEquals(List.of(CERTIFICATE_ID_1, CERTIFICATE_ID_1), loadedIds);
+		Assertions.assertEquals(1, certificateReadCache.obtainSize());
+	}
+
+	@Test
+	void testInvalidateAll() {
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		certificateReadCache.read(CERTIFICATE_ID_2, obtainLoader(CERTIFICATE_ID_2));
+		certificateReadCache.invalidateAll(List.of(CERTIFICATE_ID_1));
+		certificateReadCache.read(CERTIFICATE_ID_2, obtainLoader(CERTIFICATE_ID_2));
+
+		Assertions.assertEquals(List.of(CERTIFICATE_ID_1, CERTIFICATE_ID_2), loadedIds);
+		Assertions.assertEquals(1, certificateReadCache.obtainSize());
+	}
+
+	@Test
+	void testReadCertificateInvalidatedWithinReplicaLag() {
+		ReflectionTestUtils.setField(certificateReadCache, REPLICA_MAX_LAG_SECONDS_FIELD, 5L);
+		certificateReadCache.invalidate(CERTIFICATE_ID_1);
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+
+		Assertions.assertEquals(List.of(CERTIFICATE_ID_1, CERTIFICATE_ID_1), loadedIds);
+		Assertions.assertEquals(0, certificateReadCache.obtainSize());
+	}
+
+	@Test
+	void testInvalidateDuringLoad() {
+		certificateReadCache.read(CERTIFICATE_ID_1, () -> {
+			certificateReadCache.invalidate(CERTIFICATE_ID_1);
+			return obtainCertificate(CERTIFICATE_ID_1);
+		});
+
+		Assertions.assertEquals(0, certificateReadCache.obtainSize());
+	}
+
+	@Test
+	void testReadAdmitsFrequentCertificate() {
+		ReflectionTestUtils.setField(certificateReadCache, MAX_ENTRIES_FIELD, 1);
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		certificateReadCache.read(CERTIFICATE_ID_2, obtainLoader(CERTIFICATE_ID_2));
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		Assertions.assertEquals(List.of(CERTIFICATE_ID_1, CERTIFICATE_ID_2), loadedIds);
+
+		certificateReadCache.read(CERTIFICATE_ID_2, obtainLoader(CERTIFICATE_ID_2));
+		certificateReadCache.read(CERTIFICATE_ID_2, obtainLoader(CERTIFICATE_ID_2));
+		certificateReadCache.read(CERTIFICATE_ID_2, obtainLoader(CERTIFICATE_ID_2));
+
+		Assertions.assertEquals(1, certificateReadCache.obtainSize());
+		Assertions.assertEquals(1, certificateReadCache.obtainEvictions());
+	}
+
+	@Test
+	void testReadExpiredCertificate() {
+		ReflectionTestUtils.setField(certificateReadCache, TTL_MILLIS_FIELD, -1L);
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+
+		Assertions.assertEquals(List.of(CERTIFICATE_ID_1, CERTIFICATE_ID_1), loadedIds);
+		Assertions.assertEquals(1, certificateReadCache.obtainEvictions());
+	}
+
+	@Test
+	void testReadWithDisabledCache() {
+		ReflectionTestUtils.setField(certificateReadCache, ENABLED_FIELD, false);
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+		certificateReadCache.read(CERTIFICATE_ID_1, obtainLoader(CERTIFICATE_ID_1));
+
+		Assertions.assertEquals(List.of(CERTIFICATE_ID_1, CERTIFICATE_ID_1), loadedIds);
+		Assertions.assertEquals(0, certificateReadCache.obtainSize());
+	}
+
+	private Supplier<CertificateDto> obtainLoader(long certificateId) {
+		return () -> {
+			loadedIds.add(certificateId);
+			return obtainCertificate(certificateId);
+		};
+	}
+
+	private static CertificateDto obtainCertificate(long certificateId) {
+		TagDto tagDto = new TagDto();
+		tagDto.setId(1L);
+		tagDto.setName("food");
+		List<TagDto> tags = new ArrayList<>();
+		tags.add(tagDto);
+		CertificateDto certificateDto = new CertificateDto();
+		certificateDto.setId(certificateId);
+		certificateDto.setName("Dinner at the restaurant");
+		certificateDto.setDescription("Great present for those who loves pizza");
+		certificateDto.setTags(tags);
+		return certificateDto;
+	}
+}
@@ -0,0 +1,132 @@
+package com.epam.esm.service.converter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.OrderDto;
+import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.OrderCertificateModel;
+import com.epam.esm.repository.model.OrderModel;
+import com.epam.esm.repository.model.RoleModel;
+import com.epam.esm.repository.model.TagModel;
+import com.epam.esm.repository.model.UserModel;
+
+/**
+ *
+ * Measures the cost of the conversion of one entity by ModelMapper and by the
+ * hand-written converters. Runs only with {@code -Pbenchmark=true}.
+ *
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ConverterBenchmarkTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ConverterBenchmarkTest.class);
+	private static final int PAGE_SIZE = 1000;
+	private static final int TAGS_PER_CERTIFICATE = 5;
+	private static final int WARM_UP_ROUNDS = 20;
+	private static final int MEASURED_ROUNDS = 50;
+
+	@Test
+	void benchmarkCertificateConversion() {
+		List<CertificateModel> certificates = new ArrayList<>(PAGE_SIZE);
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			certificates.add(obtainCertificate(i));
+		}
+		ModelMapper modelMapper = ConverterEquivalenceTest.obtainModelMapper(true);
+		CertificateConverter certificateConverter = new CertificateConverter(new TagConverter());
+
+		double modelMapperCost = measure(certificates, model -> modelMapper.map(model, CertificateDto.class));
+		double converterCost = measure(certificates, certificateConverter::convertToDto);
+		LOGGER.info("Certificate to DTO, ns per object: ModelMapper {}, converter {}", modelMapperCost,
+				converterCost);
+		Assertions.assertTrue(converterCost > 0);
+	}
+
+	@Test
+	void benchmarkOrderConversion() {
+		List<OrderModel> orders = new ArrayList<>(PAGE_SIZE);
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			orders.add(obtainOrder(i));
+		}
+		ModelMapper modelMapper = ConverterEquivalenceTest.obtainModelMapper(true);
+		OrderConverter orderConverter = new OrderConverter(new UserConverter(new RoleConverter()),
+				new OrderCertificateConverter(new CertificateConverter(new TagConverter())));
+
+		double modelMapperCost = measure(orders, model -> modelMapper.map(model, OrderDto.class));
+		double converterCost = measure(orders, orderConverter::convertToDto);
+		LOGGER.info("Order to DTO, ns per object: ModelMapper {}, converter {}", modelMapperCost, converterCost);
+		Assertions.assertTrue(converterCost > 0);
+	}
+
+	private static <T> double measure(List<T> models, Function<T, Object> converter) {
+		Object sink = null;
+		for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+			for (T model : models) {
+				sink = converter.apply(model);
+			}
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			for (T model : models) {
+				sink = converter.apply(model);
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		Assertions.assertNotNull(sink);
+		return (double) elapsed / ((long) MEASURED_ROUNDS * models.size());
+	}
+
+	private static CertificateModel obtainCertificate(long id) {
+		CertificateModel certificateModel = new CertificateModel();
+		certificateModel.setId(id);
+		certificateModel.setName("Certificate  " + id);
+		certificateModel.setDescription("Description of the certificate " + id);
+		certificateModel.setPrice(BigDecimal.valueOf(id));
+		certificateModel.setDuration(30);
+		certificateModel.setCreateDate(LocalDateTime.now());
+		certificateModel.setLastUpdateDate(LocalDateTime.now());
+		List<TagModel> tags = new ArrayList<>(TAGS_PER_CERTIFICATE);
+		for (long i = 0; i < TAGS_PER_CERTIFICATE; i++) {
+			TagModel tagModel = new TagModel();
+			tagModel.setId(i);
+			tagModel.setName("tag " + i);
+			tags.add(tagModel);
+		}
+		certificateModel.setTags(tags);
+		return certificateModel;
+	}
+
+	private static OrderModel obtainOrder(long id) {
+		RoleModel roleModel = new RoleModel();
+		roleModel.setId(1L);
+		roleModel.setName("USER");
+		UserModel userModel = new UserModel();
+		userModel.setId(id);
+		userModel.setLogin("user" + id);
+		userModel.setRole(roleModel);
+
+		OrderCertificateModel orderCertificateModel = new OrderCertificateModel();
+		orderCertificateModel.setCertificate(obtainCertificate(id));
+		orderCertificateModel.setCertificateAmount(1);
+		List<OrderCertificateModel> orderCertificates = new ArrayList<>();
+		orderCertificates.add(orderCertificateModel);
+
+		OrderModel orderModel = new OrderModel();
+		orderModel.setId(id);
+		orderModel.setCost(BigDecimal.valueOf(id));
+		orderModel.setDate(LocalDateTime.now());
+		orderModel.setUser(userModel);
+		orderModel.setCertificates(orderCertificates);
+		return orderModel;
+	}
+}
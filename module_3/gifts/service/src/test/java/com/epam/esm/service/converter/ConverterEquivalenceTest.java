@@ -0,0 +1,204 @@
+package com.epam.esm.service.converter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.ModelMapper;
+
+import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.OrderCertificateDto;
+import com.epam.esm.dto.OrderDataDto;
+import com.epam.esm.dto.OrderDto;
+import com.epam.esm.dto.RoleDto;
+import com.epam.esm.dto.TagDto;
+import com.epam.esm.dto.UserDto;
+import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.OrderCertificateId;
+import com.epam.esm.repository.model.OrderCertificateModel;
+import com.epam.esm.repository.model.OrderDataModel;
+import com.epam.esm.repository.model.OrderModel;
+import com.epam.esm.repository.model.RoleModel;
+import com.epam.esm.repository.model.TagModel;
+import com.epam.esm.repository.model.UserModel;
+
+class ConverterEquivalenceTest {
+	private static final Long ID_1 = 1L;
+	private static final Long ID_2 = 2L;
+	private static final List<String> SPACED_STRINGS = Arrays.asList("", " ", "food", " food ", "family  food",
+			"family\tfood", " \t family \r\n food \f", "family \u000B food", "\u0001 family", "family food",
+			"a b c", "a  b c");
+
+	private ModelMapper spaceRemovingMapper;
+	private ModelMapper plainMapper;
+	private TagModel tagModel;
+	private RoleModel roleModel;
+	private UserModel userModel;
+	private CertificateModel certificateModel;
+	private OrderModel orderModel;
+
+	@BeforeEach
+	public void setUp() {
+		spaceRemovingMapper = obtainModelMapper(true);
+		plainMapper = obtainModelMapper(false);
+
+		tagModel = new TagModel();
+		tagModel.setId(ID_1);
+		tagModel.setName("  family \t day ");
+
+		TagModel secondTagModel = new TagModel();
+		secondTagModel.setId(ID_2);
+		secondTagModel.setName("food");
+
+		roleModel = new RoleModel();
+		roleModel.setId(ID_1);
+		roleModel.setName(" ADMIN  ");
+
+		userModel = new UserModel();
+		userModel.setId(ID_1);
+		userModel.setLogin("user\n\n 1");
+		userModel.setRole(roleModel);
+
+		certificateModel = new CertificateModel();
+		certificateModel.setId(ID_1);
+		certificateModel.setName("  Dinner   at the\trestaurant ");
+		certificateModel.setDescription("Great\r\npresent for those who loves pizza");
+		certificateModel.setPrice(new BigDecimal("50.00"));
+		certificateModel.setDuration(30);
+		certificateModel.setCreateDate(LocalDateTime.of(2021, 12, 1, 10, 15));
+		certificateModel.setLastUpdateDate(LocalDateTime.of(2021, 12, 2, 11, 30));
+		certificateModel.setTags(new ArrayList<>(Arrays.asList(tagModel, secondTagModel)));
+
+		OrderCertificateId orderCertificateId = new OrderCertificateId();
+		orderCertificateId.setOrderId(ID_1);
+		orderCertificateId.setCertificateId(ID_1);
+		OrderCertificateModel orderCertificateModel = new OrderCertificateModel();
+		orderCertificateModel.setOrderCertificateId(orderCertificateId);
+		orderCertificateModel.setCertificate(certificateModel);
+		orderCertificateModel.setCertificateAmount(2);
+
+		orderModel = new OrderModel();
+		orderModel.setId(ID_1);
+		orderModel.setCost(new BigDecimal("100.00"));
+		orderModel.setDate(LocalDateTime.of(2021, 12, 3, 12, 45));
+		orderModel.setUser(userModel);
+		orderModel.setCertificates(new ArrayList<>(Arrays.asList(orderCertificateModel)));
+	}
+
+	@Test
+	void testRemoveExtraSpaces() {
+		for (String source : SPACED_STRINGS) {
+			Assertions.assertEquals(source.trim().replaceAll("\\s+", " "), ConverterUtil.removeExtraSpaces(source));
+		}
+		Assertions.assertNull(ConverterUtil.removeExtraSpaces(null));
+	}
+
+	@Test
+	void testTagConverter() {
+		TagConverter tagConverter = new TagConverter();
+		TagDto tagDto = spaceRemovingMapper.map(tagModel, TagDto.class);
+		Assertions.assertEquals(tagDto, tagConverter.convertToDto(tagModel));
+
+		tagDto.setName(tagModel.getName());
+		Assertions.assertEquals(spaceRemovingMapper.map(tagDto, TagModel.class), tagConverter.convertToModel(tagDto));
+	}
+
+	@Test
+	void testRoleConverter() {
+		RoleConverter roleConverter = new RoleConverter();
+		RoleDto roleDto = spaceRemovingMapper.map(roleModel, RoleDto.class);
+		Assertions.assertEquals(roleDto, roleConverter.convertToDto(roleModel));
+
+		roleDto.setName(roleModel.getName());
+		Assertions.assertEquals(spaceRemovingMapper.map(roleDto, RoleModel.class),
+				roleConverter.convertToModel(roleDto));
+	}
+
+	@Test
+	void testUserConverter() {
+		UserConverter userConverter = new UserConverter(new RoleConverter());
+		UserDto userDto = spaceRemovingMapper.map(userModel, UserDto.class);
+		Assertions.assertEquals(userDto, userConverter.convertToDto(userModel));
+
+		userDto.setLogin(userModel.getLogin());
+		Assertions.assertEquals(spaceRemovingMapper.map(userDto, UserModel.class),
+				userConverter.convertToModel(userDto));
+	}
+
+	@Test
+	void testCertificateConverter() {
+		CertificateConverter certificateConverter = new CertificateConverter(new TagConverter());
+		CertificateDto certificateDto = spaceRemovingMapper.map(certificateModel, CertificateDto.class);
+		Assertions.assertEquals(certificateDto, certificateConverter.convertToDto(certificateModel));
+
+		certificateDto.setName(certificateModel.getName());
+		certificateDto.getTags().get(0).setName(tagModel.getName());
+		Assertions.assertEquals(spaceRemovingMapper.map(certificateDto, CertificateModel.class),
+				certificateConverter.convertToModel(certificateDto));
+	}
+
+	@Test
+	void testCertificateConverterWithoutTags() {
+		CertificateConverter certificateConverter = new CertificateConverter(new TagConverter());
+		certificateModel.setTags(null);
+		Assertions.assertEquals(spaceRemovingMapper.map(certificateModel, CertificateDto.class),
+				certificateConverter.convertToDto(certificateModel));
+	}
+
+	@Test
+	void testOrderCertificateConverter() {
+		OrderCertificateConverter orderCertificateConverter = new OrderCertificateConverter(
+				new CertificateConverter(new TagConverter()));
+		OrderCertificateModel orderCertificateModel = orderModel.getCertificates().get(0);
+		OrderCertificateDto orderCertificateDto = spaceRemovingMapper.map(orderCertificateModel,
+				OrderCertificateDto.class);
+		Assertions.assertEquals(orderCertificateDto, orderCertificateConverter.convertToDto(orderCertificateModel));
+
+		OrderCertificateModel expected = spaceRemovingMapper.map(orderCertificateDto, OrderCertificateModel.class);
+		// a single line does not know its order, the order id is set by the order converter
+		expected.getOrderCertificateId().setOrderId(null);
+		Assertions.assertEquals(expected, orderCertificateConverter.convertToModel(orderCertificateDto));
+	}
+
+	@Test
+	void testOrderConverter() {
+		OrderConverter orderConverter = new OrderConverter(new UserConverter(new RoleConverter()),
+				new OrderCertificateConverter(new CertificateConverter(new TagConverter())));
+		OrderDto orderDto = spaceRemovingMapper.map(orderModel, OrderDto.class);
+		Assertions.assertEquals(orderDto, orderConverter.convertToDto(orderModel));
+		Assertions.assertEquals(spaceRemovingMapper.map(orderDto, OrderModel.class),
+				orderConverter.convertToModel(orderDto));
+	}
+
+	@Test
+	void testOrderDataConverter() {
+		OrderDataConverter orderDataConverter = new OrderDataConverter();
+		OrderDataDto orderDataDto = plainMapper.map(orderModel, OrderDataDto.class);
+		Assertions.assertEquals(orderDataDto, orderDataConverter.convertToDto(orderModel));
+		Assertions.assertEquals(plainMapper.map(orderDataDto, OrderModel.class),
+				orderDataConverter.convertToModel(orderDataDto));
+
+		OrderDataModel orderDataModel = new OrderDataModel(ID_1, orderModel.getCost(), orderModel.getDate(), ID_2);
+		Assertions.assertEquals(plainMapper.map(orderDataModel, OrderDataDto.class),
+				orderDataConverter.convertToDto(orderDataModel));
+	}
+
+	static ModelMapper obtainModelMapper(boolean removeSpaces) {
+		ModelMapper modelMapper = new ModelMapper();
+		if (removeSpaces) {
+			modelMapper.addConverter(new AbstractConverter<String, String>() {
+				protected String convert(String source) {
+					return source == null ? null : source.trim().replaceAll("\\s+", " ");
+				}
+			});
+		}
+		modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+		return modelMapper;
+	}
+}
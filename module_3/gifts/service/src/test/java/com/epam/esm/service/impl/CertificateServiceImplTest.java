@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
@@ -16,21 +17,30 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.TagDto;
+import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.exception.NullEntityException;
 import com.epam.esm.exception.ValidationException;
 import com.epam.esm.repository.CertificateRepository;
 import com.epam.esm.repository.TagRepository;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
 import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.CountStrategy;
 import com.epam.esm.repository.model.EntityConstant;
+import com.epam.esm.repository.model.KeysetCursor;
 import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.service.CertificateService;
 import com.epam.esm.service.ServiceConstant;
+import com.epam.esm.service.cache.CertificateReadCache;
 import com.epam.esm.service.converter.CertificateConverter;
+import com.epam.esm.service.converter.CursorConverter;
 import com.epam.esm.service.converter.PageConverter;
 import com.epam.esm.service.converter.TagConverter;
 import com.epam.esm.service.validation.CertificateValidation;
@@ -54,8 +64,8 @@ class CertificateServiceImplTest {
 	private static CertificateValidation certificateValidation;
 	private static TagValidation tagValidation;
 	private static CertificateConverter certificateConverter;
-	private static TagConverter tagConverter;
 	private static PageConverter<CertificateDto, CertificateModel> pageConverter;
+	private static CursorConverter cursorConverter;
 	private static LocalDateTime localDateTime;
 
 	private CertificateService certificateServiceImpl;
@@ -64,9 +74,9 @@ class CertificateServiceImplTest {
 	public static void init() {
 		certificateValidation = new CertificateValidation();
 		tagValidation = new TagValidation();
-		certificateConverter = new CertificateConverter();
-		tagConverter = new TagConverter();
+		certificateConverter = new CertificateConverter(new TagConverter());
 		pageConverter = new PageConverter<>();
+		cursorConverter = new CursorConverter();
 		localDateTime = LocalDateTime.now();
 	}
 
@@ -76,7 +86,7 @@ class CertificateServiceImplTest {
 		tagRepository = Mockito.mock(TagRepository.class);
 
 		certificateServiceImpl = new CertificateServiceImpl(certificateRepository, tagRepository, certificateValidation,
-				tagValidation, certificateConverter, tagConverter, pageConverter);
+				tagValidation, certificateConverter, pageConverter, cursorConverter, new CertificateReadCache());
 
 		certificateModel1 = new CertificateModel();
 		certificateModel1.setName("Dinner at the restaurant with unlimited pizzas");
@@ -121,16 +131,27 @@ class CertificateServiceImplTest {
 		CertificateDto expected = certificateDto1;
 
 		Mockito.when(certificateRepository.save(Mockito.any())).thenReturn(certificateModel1);
-		Mockito.when(certificateRepository.certificateExistsByName(Mockito.any())).thenReturn(false);
-		Mockito.when(tagRepository.save(Mockito.any())).thenReturn(tagModel1);
-		Mockito.when(tagRepository.findByName(Mockito.any())).thenReturn(Optional.ofNullable(null));
+		Mockito.when(tagRepository.saveOrRestoreByNames(Mockito.any())).thenReturn(Map.of("food", TAG_ID_1));
 
 		CertificateDto actual = certificateServiceImpl.create(expected);
 
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(certificateRepository).save(Mockito.any());
-		Mockito.verify(certificateRepository).certificateExistsByName(Mockito.any());
+		Mockito.verify(certificateRepository, Mockito.never()).certificateExistsByName(Mockito.any());
+	}
+
+	@Test
+	void testCreateWithDuplicatedName() {
+		Mockito.when(certificateRepository.save(Mockito.any()))
+				.thenThrow(new DuplicatedKeyException(Arrays.asList(certificateDto1.getName()), null));
+		Mockito.when(tagRepository.saveOrRestoreByNames(Mockito.any())).thenReturn(Map.of("food", TAG_ID_1));
+
+		ValidationException actual = Assertions.assertThrows(ValidationException.class, () -> {
+			certificateServiceImpl.create(certificateDto1);
+		});
+
+		Assertions.assertTrue(actual.getErrors().containsKey(ErrorCode.DUPLICATED_CERTIFICATE_NAME));
 	}
 
 	@Test
@@ -148,16 +169,36 @@ class CertificateServiceImplTest {
 
 		Mockito.when(certificateRepository.saveCertificates(Mockito.any()))
 				.thenReturn(Arrays.asList(certificateModel1));
-		Mockito.when(certificateRepository.certificateExistsByName(Mockito.any())).thenReturn(false);
-		Mockito.when(tagRepository.save(Mockito.any())).thenReturn(tagModel1);
-		Mockito.when(tagRepository.findByName(Mockito.any())).thenReturn(Optional.ofNullable(null));
+		Mockito.when(tagRepository.saveOrRestoreByNames(Mockito.any())).thenReturn(Map.of("food", TAG_ID_1));
 
 		List<CertificateDto> actual = certificateServiceImpl.createCertificates(expected);
 
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(certificateRepository).saveCertificates(Mockito.any());
-		Mockito.verify(certificateRepository).certificateExistsByName(Mockito.any());
+		Mockito.verify(certificateRepository, Mockito.never()).certificateExistsByName(Mockito.any());
+	}
+
+	@Test
+	void testCreateCertificatesResolvesTagsOnce() {
+		CertificateDto certificateDto2 = new CertificateDto();
+		certificateDto2.setName("Dinner at the restaurant");
+		certificateDto2.setDescription("Great present for those who loves pizza");
+		certificateDto2.setPrice(new BigDecimal("50.00"));
+		certificateDto2.setDuration(30);
+		TagDto tagDto2 = new TagDto();
+		tagDto2.setName(" Food ");
+		certificateDto2.setTags(Arrays.asList(tagDto2, tagDto1));
+
+		Mockito.when(certificateRepository.saveCertificates(Mockito.any()))
+				.thenReturn(Arrays.asList(certificateModel1, certificateModel1));
+		Mockito.when(tagRepository.saveOrRestoreByNames(Mockito.any())).thenReturn(Map.of("food", TAG_ID_1));
+
+		certificateServiceImpl.createCertificates(Arrays.asList(certificateDto1, certificateDto2));
+
+		Mockito.verify(tagRepository).saveOrRestoreByNames(Mockito.any());
+		Assertions.assertEquals(1, certificateDto2.getTags().size());
+		Assertions.assertEquals(TAG_ID_1, certificateDto2.getTags().get(0).getId());
 	}
 
 	@Test
@@ -186,12 +227,12 @@ class CertificateServiceImplTest {
 		Page<CertificateDto> expected = certificateDtosPage;
 
 		Mockito.when(certificateRepository.findAll(params, ServiceConstant.DEFAULT_PAGE_NUMBER,
-				ServiceConstant.DEFAULT_LIMIT)).thenReturn(certificateModelsPage);
-		Page<CertificateDto> actual = certificateServiceImpl.readAll(params);
+				ServiceConstant.DEFAULT_LIMIT, CountStrategy.EXACT)).thenReturn(certificateModelsPage);
+		Page<CertificateDto> actual = certificateServiceImpl.readAll(ReadQueryDto.of(params));
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(certificateRepository).findAll(params, ServiceConstant.DEFAULT_PAGE_NUMBER,
-				ServiceConstant.DEFAULT_LIMIT);
+				ServiceConstant.DEFAULT_LIMIT, CountStrategy.EXACT);
 	}
 
 	@Test
@@ -202,12 +243,59 @@ class CertificateServiceImplTest {
 		Page<CertificateDto> expected = certificateDtosPage;
 
 		Mockito.when(certificateRepository.findAll(Mockito.any(), Mockito.eq(ServiceConstant.DEFAULT_PAGE_NUMBER),
-				Mockito.eq(ServiceConstant.DEFAULT_LIMIT))).thenReturn(certificateModelsPage);
-		Page<CertificateDto> actual = certificateServiceImpl.readAll(params);
+				Mockito.eq(ServiceConstant.DEFAULT_LIMIT), Mockito.eq(CountStrategy.EXACT)))
+				.thenReturn(certificateModelsPage);
+		Page<CertificateDto> actual = certificateServiceImpl.readAll(ReadQueryDto.of(params));
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(certificateRepository).findAll(Mockito.any(), Mockito.eq(ServiceConstant.DEFAULT_PAGE_NUMBER),
-				Mockito.eq(ServiceConstant.DEFAULT_LIMIT));
+				Mockito.eq(ServiceConstant.DEFAULT_LIMIT), Mockito.eq(CountStrategy.EXACT));
+	}
+
+	@Test
+	void testReadAllWithRelevanceSortWithoutSearch() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(EntityConstant.ORDER_BY, Arrays.asList(EntityConstant.CERTIFICATE_RELEVANCE));
+
+		Assertions.assertThrows(ValidationException.class, () -> {
+			certificateServiceImpl.readAll(ReadQueryDto.of(params));
+		});
+	}
+
+	@Test
+	void testReadAllByCursor() {
+		certificateModel1.setId(CERTIFICATE_ID_1);
+		certificateDto1.setId(CERTIFICATE_ID_1);
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(EntityConstant.ORDER_BY, Arrays.asList(EntityConstant.CERTIFICATE_PRICE));
+		params.put(ServiceConstant.LIMIT, Arrays.asList("1"));
+		params.put(ServiceConstant.CURSOR, Arrays.asList(""));
+
+		Mockito.when(certificateRepository.findAll(Mockito.any(), Mockito.<KeysetCursor>isNull(), Mockito.eq(1)))
+				.thenReturn(new SliceImpl<>(Arrays.asList(certificateModel1), PageRequest.of(0, 1), true));
+		CursorPageDto<CertificateDto> actual = certificateServiceImpl.readAllByCursor(ReadQueryDto.of(params));
+
+		Assertions.assertEquals(Arrays.asList(certificateDto1), actual.getContent());
+		Assertions.assertNull(actual.getPreviousCursor());
+		Assertions.assertNotNull(actual.getNextCursor());
+
+		params.put(ServiceConstant.CURSOR, Arrays.asList(actual.getNextCursor()));
+		KeysetCursor expectedCursor = new KeysetCursor(Arrays.asList("50.00"), CERTIFICATE_ID_1, false);
+		Mockito.when(certificateRepository.findAll(Mockito.any(), Mockito.eq(expectedCursor), Mockito.eq(1)))
+				.thenReturn(new SliceImpl<>(new ArrayList<>(), PageRequest.of(0, 1), false));
+		certificateServiceImpl.readAllByCursor(ReadQueryDto.of(params));
+
+		Mockito.verify(certificateRepository).findAll(Mockito.any(), Mockito.eq(expectedCursor), Mockito.eq(1));
+	}
+
+	@Test
+	void testReadAllByCursorWithInvalidCursor() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(ServiceConstant.CURSOR, Arrays.asList("invalid"));
+
+		Assertions.assertThrows(ValidationException.class, () -> {
+			certificateServiceImpl.readAllByCursor(ReadQueryDto.of(params));
+		});
 	}
 
 	@Test
@@ -241,8 +329,7 @@ class CertificateServiceImplTest {
 		Mockito.when(certificateRepository.findByName(Mockito.any())).thenReturn(Optional.of(certificateModel1));
 		Mockito.when(certificateRepository.findById(CERTIFICATE_ID_1)).thenReturn(Optional.of(certificateModel1));
 		Mockito.when(certificateRepository.certificateExistsById(CERTIFICATE_ID_1)).thenReturn(true);
-		Mockito.when(tagRepository.save(Mockito.any())).thenReturn(tagModel1);
-		Mockito.when(tagRepository.findByName(Mockito.any())).thenReturn(Optional.ofNullable(null));
+		Mockito.when(tagRepository.saveOrRestoreByNames(Mockito.any())).thenReturn(Map.of("food", TAG_ID_1));
 
 		CertificateDto actual = certificateServiceImpl.updateCertificateFields(CERTIFICATE_ID_1, expected);
 
@@ -251,7 +338,7 @@ class CertificateServiceImplTest {
 		Mockito.verify(certificateRepository).updateCertificate(certificateModel1);
 		Mockito.verify(certificateRepository).findByName(Mockito.any());
 		Mockito.verify(certificateRepository).certificateExistsById(CERTIFICATE_ID_1);
-		Mockito.verify(tagRepository).findByName(Mockito.any());
+		Mockito.verify(tagRepository).saveOrRestoreByNames(Mockito.any());
 	}
 
 	@Test
@@ -262,8 +349,7 @@ class CertificateServiceImplTest {
 		Mockito.when(certificateRepository.updateCertificate(Mockito.any())).thenReturn(certificateModel1);
 		Mockito.when(certificateRepository.findByName(Mockito.any())).thenReturn(Optional.of(certificateModel1));
 		Mockito.when(certificateRepository.certificateExistsById(CERTIFICATE_ID_1)).thenReturn(true);
-		Mockito.when(tagRepository.save(Mockito.any())).thenReturn(tagModel1);
-		Mockito.when(tagRepository.findByName(Mockito.any())).thenReturn(Optional.ofNullable(null));
+		Mockito.when(tagRepository.saveOrRestoreByNames(Mockito.any())).thenReturn(Map.of("food", TAG_ID_1));
 
 		CertificateDto actual = certificateServiceImpl.updateEntireCertificate(CERTIFICATE_ID_1, expected);
 
@@ -272,6 +358,6 @@ class CertificateServiceImplTest {
 		Mockito.verify(certificateRepository).updateCertificate(certificateModel1);
 		Mockito.verify(certificateRepository).findByName(Mockito.any());
 		Mockito.verify(certificateRepository).certificateExistsById(CERTIFICATE_ID_1);
-		Mockito.verify(tagRepository).findByName(Mockito.any());
+		Mockito.verify(tagRepository).saveOrRestoreByNames(Mockito.any());
 	}
 }
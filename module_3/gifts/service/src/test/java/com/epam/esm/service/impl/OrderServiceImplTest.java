@@ -4,7 +4,10 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -15,15 +18,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import com.epam.esm.dto.CertificateDto;
+import com.epam.esm.dto.OrderBatchResultDto;
 import com.epam.esm.dto.OrderCertificateDto;
 import com.epam.esm.dto.OrderDataDto;
 import com.epam.esm.dto.OrderDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.TagDto;
 import com.epam.esm.dto.UserDto;
+import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.exception.NotFoundException;
 import com.epam.esm.exception.ValidationException;
 import com.epam.esm.repository.CertificateRepository;
@@ -32,15 +40,24 @@ import com.epam.esm.repository.UserRepository;
 import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.repository.model.UserModel;
 import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.model.CertificatePriceModel;
+import com.epam.esm.repository.model.CountStrategy;
 import com.epam.esm.repository.model.OrderCertificateId;
 import com.epam.esm.repository.model.OrderCertificateModel;
+import com.epam.esm.repository.model.OrderDataModel;
 import com.epam.esm.repository.model.OrderModel;
 import com.epam.esm.repository.model.EntityConstant;
 import com.epam.esm.service.OrderService;
 import com.epam.esm.service.ServiceConstant;
+import com.epam.esm.service.converter.CertificateConverter;
+import com.epam.esm.service.converter.OrderCertificateConverter;
 import com.epam.esm.service.converter.OrderConverter;
 import com.epam.esm.service.converter.OrderDataConverter;
+import com.epam.esm.service.converter.CursorConverter;
 import com.epam.esm.service.converter.PageConverter;
+import com.epam.esm.service.converter.RoleConverter;
+import com.epam.esm.service.converter.TagConverter;
+import com.epam.esm.service.converter.UserConverter;
 import com.epam.esm.service.validation.OrderValidation;
 
 class OrderServiceImplTest {
@@ -57,6 +74,7 @@ class OrderServiceImplTest {
 	private static OrderConverter orderConverter;
 	private static OrderDataConverter orderDataConverter;
 	private static PageConverter<OrderDto, OrderModel> pageConverter;
+	private static CursorConverter cursorConverter;
 	private static OrderValidation orderValidation;
 	private static OrderService orderService;
 	private TagModel tagModel1;
@@ -74,10 +92,12 @@ class OrderServiceImplTest {
 
 	@BeforeAll
 	public static void init() {
-		orderConverter = new OrderConverter();
+		orderConverter = new OrderConverter(new UserConverter(new RoleConverter()),
+				new OrderCertificateConverter(new CertificateConverter(new TagConverter())));
 		orderDataConverter = new OrderDataConverter();
 		orderValidation = new OrderValidation();
 		pageConverter = new PageConverter<>();
+		cursorConverter = new CursorConverter();
 	}
 
 	@BeforeEach
@@ -86,7 +106,8 @@ class OrderServiceImplTest {
 		orderRepository = Mockito.mock(OrderRepository.class);
 		userRepository = Mockito.mock(UserRepository.class);
 		orderService = new OrderServiceImpl(orderRepository, userRepository, certificateRepository, orderConverter,
-				orderDataConverter, orderValidation, pageConverter);
+				orderDataConverter, orderValidation, pageConverter, cursorConverter,
+				new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)));
 
 		cost = new BigDecimal("20");
 
@@ -186,6 +207,20 @@ class OrderServiceImplTest {
 		});
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void testExportAll() {
+		Mockito.when(orderRepository.streamAll(Mockito.any())).thenAnswer(invocation -> {
+			invocation.getArgument(0, Consumer.class).accept(orderModel1);
+			return 1L;
+		});
+
+		List<OrderDto> actual = new ArrayList<>();
+		long amount = orderService.exportAll(actual::add);
+		Assertions.assertEquals(1, amount);
+		Assertions.assertEquals(Arrays.asList(orderDto1), actual);
+	}
+
 	@Test
 	void testReadAllByUserId() {
 		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
@@ -195,13 +230,14 @@ class OrderServiceImplTest {
 		Page<OrderDto> expected = orderDtosPage;
 
 		Mockito.when(userRepository.userExistsById(USER_ID_1)).thenReturn(true);
-		Mockito.when(orderRepository.readAllByUserId(USER_ID_1, PAGE_NUMBER, LIMIT)).thenReturn(orderModelsPage);
+		Mockito.when(orderRepository.readAllByUserId(USER_ID_1, PAGE_NUMBER, LIMIT, CountStrategy.EXACT))
+				.thenReturn(orderModelsPage);
 
-		Page<OrderDto> actual = orderService.readAllByUserId(USER_ID_1, params);
+		Page<OrderDto> actual = orderService.readAllByUserId(USER_ID_1, ReadQueryDto.of(params));
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(userRepository).userExistsById(USER_ID_1);
-		Mockito.verify(orderRepository).readAllByUserId(USER_ID_1, PAGE_NUMBER, LIMIT);
+		Mockito.verify(orderRepository).readAllByUserId(USER_ID_1, PAGE_NUMBER, LIMIT, CountStrategy.EXACT);
 	}
 
 	@Test
@@ -211,7 +247,7 @@ class OrderServiceImplTest {
 		Mockito.when(userRepository.userExistsById(USER_ID_1)).thenReturn(false);
 
 		Assertions.assertThrows(NotFoundException.class, () -> {
-			orderService.readAllByUserId(USER_ID_1, params);
+			orderService.readAllByUserId(USER_ID_1, ReadQueryDto.of(params));
 		});
 	}
 
@@ -220,7 +256,7 @@ class OrderServiceImplTest {
 		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
 
 		Assertions.assertThrows(ValidationException.class, () -> {
-			orderService.readAllByUserId(-100, params);
+			orderService.readAllByUserId(-100, ReadQueryDto.of(params));
 		});
 	}
 
@@ -229,8 +265,8 @@ class OrderServiceImplTest {
 		OrderDto expected = orderDto1;
 
 		Mockito.when(userRepository.findById(USER_ID_1)).thenReturn(Optional.of(userModel1));
-		Mockito.when(certificateRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(certificateModel1));
-		Mockito.when(certificateRepository.certificateExistsById(Mockito.anyLong())).thenReturn(true);
+		Mockito.when(certificateRepository.findAllByIdsWithTags(Mockito.any()))
+				.thenReturn(Map.of(CERTIFICATE_ID_1, certificateModel1));
 		Mockito.when(orderRepository.save(Mockito.any())).thenReturn(orderModel1);
 
 		OrderDto actual = orderService.create(USER_ID_1, orderDto1);
@@ -238,8 +274,8 @@ class OrderServiceImplTest {
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(userRepository).findById(USER_ID_1);
-		Mockito.verify(certificateRepository).findById(Mockito.anyLong());
-		Mockito.verify(certificateRepository).certificateExistsById(Mockito.anyLong());
+		Mockito.verify(certificateRepository).findAllByIdsWithTags(Mockito.any());
+		Mockito.verify(certificateRepository, Mockito.never()).findAllByIds(Mockito.any());
 		Mockito.verify(orderRepository).save(Mockito.any());
 	}
 
@@ -262,8 +298,8 @@ class OrderServiceImplTest {
 		userModel1.setId(USER_ID_1);
 
 		Mockito.when(userRepository.findById(USER_ID_1)).thenReturn(Optional.of(userModel1));
-		Mockito.when(certificateRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(certificateModel1));
-		Mockito.when(certificateRepository.certificateExistsById(Mockito.anyLong())).thenReturn(true);
+		Mockito.when(certificateRepository.findAllByIdsWithTags(Mockito.any()))
+				.thenReturn(Map.of(CERTIFICATE_ID_1, certificateModel1));
 		Mockito.when(orderRepository.saveOrders(Mockito.any())).thenReturn(Arrays.asList(orderModel1));
 
 		List<OrderDto> actual = orderService.createOrders(expected);
@@ -271,17 +307,93 @@ class OrderServiceImplTest {
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(userRepository).findById(USER_ID_1);
-		Mockito.verify(certificateRepository).findById(Mockito.anyLong());
-		Mockito.verify(certificateRepository).certificateExistsById(Mockito.anyLong());
+		Mockito.verify(certificateRepository).findAllByIdsWithTags(Mockito.any());
 		Mockito.verify(orderRepository).saveOrders(Mockito.any());
 	}
 
+	@Test
+	void testCreateOrderBatch() {
+		orderDto1.getUser().setId(USER_ID_1);
+		OrderDto orderWithNotExistentUser = new OrderDto();
+		orderWithNotExistentUser.setUser(new UserDto());
+		orderWithNotExistentUser.getUser().setId(USER_ID_2);
+		orderWithNotExistentUser.setCertificates(orderDto1.getCertificates());
+		orderModel1.setId(ORDER_ID_1);
+
+		Mockito.when(userRepository.findExistingIds(Mockito.any())).thenReturn(Set.of(USER_ID_1));
+		Mockito.when(certificateRepository.findAllByIds(Mockito.any())).thenReturn(Map.of(CERTIFICATE_ID_1,
+				new CertificatePriceModel(CERTIFICATE_ID_1, certificateModel1.getPrice(), false)));
+		Mockito.when(orderRepository.saveOrders(Mockito.any())).thenReturn(Arrays.asList(orderModel1));
+
+		List<OrderBatchResultDto> actual = orderService
+				.createOrderBatch(Arrays.asList(orderWithNotExistentUser, orderDto1));
+
+		Assertions.assertEquals(ErrorCode.NO_USER_FOUND, actual.get(0).getGeneralErrorCode());
+		Assertions.assertNull(actual.get(0).getOrderId());
+		Assertions.assertEquals(ORDER_ID_1, actual.get(1).getOrderId());
+		Assertions.assertNull(actual.get(1).getGeneralErrorCode());
+
+		Mockito.verify(userRepository).findExistingIds(Mockito.any());
+		Mockito.verify(userRepository, Mockito.never()).findById(Mockito.anyLong());
+		Mockito.verify(orderRepository).saveOrders(Mockito.argThat(orders -> orders.size() == 1));
+	}
+
+	@Test
+	void testCreateOrderBatchWithNullLines() {
+		orderDto1.getUser().setId(USER_ID_1);
+		OrderDto orderWithNullLine = new OrderDto();
+		orderWithNullLine.setUser(orderDto1.getUser());
+		orderWithNullLine.setCertificates(Arrays.asList((OrderCertificateDto) null));
+		OrderDto orderWithNullAmount = new OrderDto();
+		orderWithNullAmount.setUser(orderDto1.getUser());
+		OrderCertificateDto lineWithNullAmount = new OrderCertificateDto();
+		lineWithNullAmount.setCertificate(orderDto1.getCertificates().get(0).getCertificate());
+		orderWithNullAmount.setCertificates(Arrays.asList(lineWithNullAmount));
+		orderModel1.setId(ORDER_ID_1);
+
+		Mockito.when(userRepository.findExistingIds(Mockito.any())).thenReturn(Set.of(USER_ID_1));
+		Mockito.when(certificateRepository.findAllByIds(Mockito.any())).thenReturn(Map.of(CERTIFICATE_ID_1,
+				new CertificatePriceModel(CERTIFICATE_ID_1, certificateModel1.getPrice(), false)));
+		Mockito.when(orderRepository.saveOrders(Mockito.any())).thenReturn(Arrays.asList(orderModel1));
+
+		List<OrderBatchResultDto> actual = orderService
+				.createOrderBatch(Arrays.asList(orderWithNullLine, orderWithNullAmount, orderDto1));
+
+		Assertions.assertEquals(ErrorCode.NULL_PASSED_PARAMETER, actual.get(0).getGeneralErrorCode());
+		Assertions.assertEquals(ErrorCode.INVALID_CERTIFICATE, actual.get(1).getGeneralErrorCode());
+		Assertions.assertTrue(actual.get(1).getErrors().containsKey(ErrorCode.INVALID_ORDER_CERTIFICATE_AMOUNT));
+		Assertions.assertEquals(ORDER_ID_1, actual.get(2).getOrderId());
+
+		Mockito.verify(orderRepository).saveOrders(Mockito.argThat(orders -> orders.size() == 1));
+	}
+
+	@Test
+	void testCreateOrderBatchWithEmptyList() {
+		Assertions.assertThrows(ValidationException.class, () -> {
+			orderService.createOrderBatch(new ArrayList<>());
+		});
+	}
+
 	@Test
 	void testCreateWithInvalidCertificateAmount() {
 		orderDto1.getCertificates().get(0).setCertificateAmount(-2);
 
 		Mockito.when(userRepository.findById(USER_ID_1)).thenReturn(Optional.of(userModel1));
-		Mockito.when(certificateRepository.certificateExistsById(Mockito.anyLong())).thenReturn(true);
+		Mockito.when(certificateRepository.findAllByIdsWithTags(Mockito.any()))
+				.thenReturn(Map.of(CERTIFICATE_ID_1, certificateModel1));
+
+		Assertions.assertThrows(ValidationException.class, () -> {
+			orderService.create(USER_ID_1, orderDto1);
+		});
+	}
+
+	@Test
+	void testCreateWithDeletedCertificate() {
+		certificateModel1.setDeleted(true);
+
+		Mockito.when(userRepository.findById(USER_ID_1)).thenReturn(Optional.of(userModel1));
+		Mockito.when(certificateRepository.findAllByIdsWithTags(Mockito.any()))
+				.thenReturn(Map.of(CERTIFICATE_ID_1, certificateModel1));
 
 		Assertions.assertThrows(ValidationException.class, () -> {
 			orderService.create(USER_ID_1, orderDto1);
@@ -290,20 +402,20 @@ class OrderServiceImplTest {
 
 	@Test
 	void testReadOrderDataByUserId() {
-		userModel1.setId(USER_ID_1);
 		OrderDataDto expected = orderDataDto1;
-		Mockito.when(orderRepository.findById(ORDER_ID_1)).thenReturn(Optional.of(orderModel1));
+		Mockito.when(orderRepository.findOrderDataById(ORDER_ID_1))
+				.thenReturn(Optional.of(new OrderDataModel(ORDER_ID_1, cost, null, USER_ID_1)));
 
 		OrderDataDto actual = orderService.readOrderDataByUserId(USER_ID_1, ORDER_ID_1);
 		Assertions.assertEquals(expected, actual);
 
-		Mockito.verify(orderRepository).findById(ORDER_ID_1);
+		Mockito.verify(orderRepository).findOrderDataById(ORDER_ID_1);
 	}
 
 	@Test
 	void testReadOrderDataByUserIdWithInvalidId() {
-		userModel1.setId(USER_ID_1);
-		Mockito.when(orderRepository.findById(ORDER_ID_1)).thenReturn(Optional.of(orderModel1));
+		Mockito.when(orderRepository.findOrderDataById(ORDER_ID_1))
+				.thenReturn(Optional.of(new OrderDataModel(ORDER_ID_1, cost, null, USER_ID_1)));
 
 		Assertions.assertThrows(ValidationException.class, () -> {
 			orderService.readOrderDataByUserId(USER_ID_2, ORDER_ID_1);
@@ -318,12 +430,12 @@ class OrderServiceImplTest {
 
 		Page<OrderDto> expected = orderDtosPage;
 
-		Mockito.when(orderRepository.findAll(PAGE_NUMBER, LIMIT)).thenReturn(orderModelsPage);
+		Mockito.when(orderRepository.findAll(PAGE_NUMBER, LIMIT, CountStrategy.EXACT)).thenReturn(orderModelsPage);
 
-		Page<OrderDto> actual = orderService.readAll(params);
+		Page<OrderDto> actual = orderService.readAll(ReadQueryDto.of(params));
 		Assertions.assertEquals(expected, actual);
 
-		Mockito.verify(orderRepository).findAll(PAGE_NUMBER, LIMIT);
+		Mockito.verify(orderRepository).findAll(PAGE_NUMBER, LIMIT, CountStrategy.EXACT);
 	}
 
 	@Test
@@ -332,7 +444,7 @@ class OrderServiceImplTest {
 		params.put(EntityConstant.SEARCH, Arrays.asList("dinner"));
 
 		Assertions.assertThrows(ValidationException.class, () -> {
-			orderService.readAll(params);
+			orderService.readAll(ReadQueryDto.of(params));
 		});
 	}
 }
@@ -9,35 +9,47 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import com.epam.esm.dto.CountedPageDto;
+import com.epam.esm.dto.CursorPageDto;
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.TagDto;
+import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.exception.ValidationException;
 import com.epam.esm.repository.CertificateRepository;
 import com.epam.esm.repository.TagRepository;
-import com.epam.esm.repository.model.CertificateModel;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
+import com.epam.esm.repository.model.CountStrategy;
+import com.epam.esm.repository.model.CountedPage;
 import com.epam.esm.repository.model.EntityConstant;
 import com.epam.esm.repository.model.TagModel;
 import com.epam.esm.service.ServiceConstant;
+import com.epam.esm.service.cache.CertificateReadCache;
 import com.epam.esm.service.TagService;
+import com.epam.esm.service.converter.CursorConverter;
 import com.epam.esm.service.converter.PageConverter;
 import com.epam.esm.service.converter.TagConverter;
 import com.epam.esm.service.validation.TagValidation;
 
 class TagServiceImplTest {
 	private static final Long TAG_ID_1 = 1L;
-	private static final Long CERTIFIATE_ID_1 = 1L;
 	private static final Long INVALID_ID = -1L;
 
 	private static TagValidation tagValidation;
 	private static TagConverter tagConverter;
 	private static PageConverter<TagDto, TagModel> pageConverter;
+	private static CursorConverter cursorConverter;
 	private static TagService tagService;
 	private TagRepository tagRepository;
 	private CertificateRepository certificateRepository;
@@ -52,6 +64,7 @@ class TagServiceImplTest {
 		tagValidation = new TagValidation();
 		tagConverter = new TagConverter();
 		pageConverter = new PageConverter<>();
+		cursorConverter = new CursorConverter();
 	}
 
 	@BeforeEach
@@ -59,7 +72,8 @@ class TagServiceImplTest {
 		certificateRepository = Mockito.mock(CertificateRepository.class);
 		tagRepository = Mockito.mock(TagRepository.class);
 		tagService = new TagServiceImpl(certificateRepository, tagRepository, tagConverter, tagValidation,
-				pageConverter);
+				pageConverter, cursorConverter, new CertificateReadCache(),
+				new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)));
 
 		tagModel1 = new TagModel();
 		tagModel1.setName("food");
@@ -84,22 +98,23 @@ class TagServiceImplTest {
 		TagDto expected = tagDto1;
 
 		Mockito.when(tagRepository.save(Mockito.any())).thenReturn(tagModel1);
-		Mockito.when(tagRepository.tagExistsByName(Mockito.any())).thenReturn(false);
 
 		TagDto actual = tagService.create(expected);
 
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(tagRepository).save(Mockito.any());
-		Mockito.verify(tagRepository).tagExistsByName(Mockito.any());
+		Mockito.verify(tagRepository, Mockito.never()).tagExistsByName(Mockito.any());
 	}
 
 	@Test
 	void testCreateWithDublicatedName() {
-		Mockito.when(tagRepository.tagExistsByName(Mockito.any())).thenReturn(true);
-		Assertions.assertThrows(ValidationException.class, () -> {
+		Mockito.when(tagRepository.save(Mockito.any()))
+				.thenThrow(new DuplicatedKeyException(Arrays.asList(tagDto1.getName()), null));
+		ValidationException actual = Assertions.assertThrows(ValidationException.class, () -> {
 			tagService.create(tagDto1);
 		});
+		Assertions.assertTrue(actual.getErrors().containsKey(ErrorCode.DUPLICATED_TAG_NAME));
 	}
 
 	@Test
@@ -108,14 +123,13 @@ class TagServiceImplTest {
 		expected.add(tagDto1);
 
 		Mockito.when(tagRepository.saveTags(Mockito.any())).thenReturn(Arrays.asList(tagModel1));
-		Mockito.when(tagRepository.tagExistsByName(Mockito.any())).thenReturn(false);
 
 		List<TagDto> actual = tagService.createTags(expected);
 
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(tagRepository).saveTags(Mockito.any());
-		Mockito.verify(tagRepository).tagExistsByName(Mockito.any());
+		Mockito.verify(tagRepository, Mockito.never()).tagExistsByName(Mockito.any());
 	}
 
 	@Test
@@ -143,13 +157,60 @@ class TagServiceImplTest {
 
 		Page<TagDto> expected = tagDtosPage;
 
-		Mockito.when(tagRepository.findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT))
-				.thenReturn(tagModelsPage);
+		Mockito.when(tagRepository.findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT,
+				CountStrategy.EXACT)).thenReturn(tagModelsPage);
 
-		Page<TagDto> actual = tagService.readAll(params);
+		Page<TagDto> actual = tagService.readAll(ReadQueryDto.of(params));
 		Assertions.assertEquals(expected, actual);
 
-		Mockito.verify(tagRepository).findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT);
+		Mockito.verify(tagRepository).findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT,
+				CountStrategy.EXACT);
+	}
+
+	@Test
+	void testReadAllWithCountStrategy() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(ServiceConstant.COUNT, Arrays.asList("None"));
+		Pageable pageable = PageRequest.of(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT);
+
+		Mockito.when(tagRepository.findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT,
+				CountStrategy.NONE))
+				.thenReturn(new CountedPage<>(Arrays.asList(tagModel1), pageable, 1, CountStrategy.NONE));
+
+		Page<TagDto> actual = tagService.readAll(ReadQueryDto.of(params));
+		Assertions.assertEquals(tagDtosPage, actual);
+		Assertions.assertEquals("none", ((CountedPageDto<TagDto>) actual).getCountStrategy());
+
+		Mockito.verify(tagRepository).findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT,
+				CountStrategy.NONE);
+	}
+
+	@Test
+	void testReadAllWithInvalidCountStrategy() {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(ServiceConstant.COUNT, Arrays.asList("approximate"));
+
+		Assertions.assertThrows(ValidationException.class, () -> {
+			tagService.readAll(ReadQueryDto.of(params));
+		});
+	}
+
+	@Test
+	void testReadAllByCursor() {
+		tagModel1.setId(TAG_ID_1);
+		tagDto1.setId(TAG_ID_1);
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put(ServiceConstant.CURSOR, Arrays.asList(""));
+
+		Mockito.when(tagRepository.findAll(null, ServiceConstant.DEFAULT_LIMIT)).thenReturn(
+				new SliceImpl<>(Arrays.asList(tagModel1), PageRequest.of(0, ServiceConstant.DEFAULT_LIMIT), false));
+
+		CursorPageDto<TagDto> actual = tagService.readAllByCursor(ReadQueryDto.of(params));
+		Assertions.assertEquals(Arrays.asList(tagDto1), actual.getContent());
+		Assertions.assertNull(actual.getNextCursor());
+		Assertions.assertNull(actual.getPreviousCursor());
+
+		Mockito.verify(tagRepository).findAll(null, ServiceConstant.DEFAULT_LIMIT);
 	}
 
 	@Test
@@ -158,25 +219,27 @@ class TagServiceImplTest {
 		params.put(EntityConstant.SEARCH, Arrays.asList("family"));
 
 		Assertions.assertThrows(ValidationException.class, () -> {
-			tagService.readAll(params);
+			tagService.readAll(ReadQueryDto.of(params));
 		});
 	}
 
 	@Test
 	void testDelete() {
-		CertificateModel certificateModel = new CertificateModel();
-		certificateModel.setId(CERTIFIATE_ID_1);
-		List<CertificateModel> certificateModels = Arrays.asList(certificateModel);
-
-		Mockito.when(certificateRepository.readByTagId(TAG_ID_1)).thenReturn(certificateModels);
+		Mockito.when(certificateRepository.deleteByTagId(TAG_ID_1, 0)).thenReturn(Arrays.asList(1L, 2L));
+		Mockito.when(certificateRepository.deleteByTagId(TAG_ID_1, 2)).thenReturn(Arrays.asList(3L));
+		Mockito.when(certificateRepository.deleteByTagId(TAG_ID_1, 3)).thenReturn(new ArrayList<>());
 		Mockito.when(tagRepository.delete(TAG_ID_1)).thenReturn(1);
 		Mockito.when(tagRepository.tagExistsById(TAG_ID_1)).thenReturn(true);
 
-		tagService.delete(TAG_ID_1);
+		int actual = tagService.delete(TAG_ID_1);
 
-		Mockito.verify(tagRepository).delete(TAG_ID_1);
-		Mockito.verify(certificateRepository).delete(TAG_ID_1);
-		Mockito.verify(certificateRepository).readByTagId(TAG_ID_1);
+		Assertions.assertEquals(3, actual);
+		InOrder inOrder = Mockito.inOrder(certificateRepository, tagRepository);
+		inOrder.verify(certificateRepository).deleteByTagId(TAG_ID_1, 0);
+		inOrder.verify(certificateRepository).deleteByTagId(TAG_ID_1, 2);
+		inOrder.verify(certificateRepository).deleteByTagId(TAG_ID_1, 3);
+		inOrder.verify(tagRepository).delete(TAG_ID_1);
+		Mockito.verify(certificateRepository, Mockito.never()).readByTagId(TAG_ID_1);
 	}
 
 	@Test
@@ -17,17 +17,23 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import com.epam.esm.dto.ReadQueryDto;
 import com.epam.esm.dto.RoleDto;
 import com.epam.esm.dto.UserDto;
+import com.epam.esm.exception.ErrorCode;
 import com.epam.esm.exception.ValidationException;
 import com.epam.esm.repository.RoleRepository;
 import com.epam.esm.repository.UserRepository;
+import com.epam.esm.repository.exception.DuplicatedKeyException;
+import com.epam.esm.repository.model.CountStrategy;
 import com.epam.esm.repository.model.EntityConstant;
 import com.epam.esm.repository.model.RoleModel;
 import com.epam.esm.repository.model.UserModel;
 import com.epam.esm.service.ServiceConstant;
 import com.epam.esm.service.UserService;
+import com.epam.esm.service.converter.CursorConverter;
 import com.epam.esm.service.converter.PageConverter;
+import com.epam.esm.service.converter.RoleConverter;
 import com.epam.esm.service.converter.UserConverter;
 import com.epam.esm.service.validation.UserValidation;
 
@@ -37,6 +43,7 @@ class UserServiceImplTest {
 	private static UserValidation userValidation;
 	private static UserConverter userConverter;
 	private static PageConverter<UserDto, UserModel> pageConverter;
+	private static CursorConverter cursorConverter;
 	private UserRepository userRepository;
 	private RoleRepository roleRepository;
 	private UserModel userModel1;
@@ -50,15 +57,17 @@ class UserServiceImplTest {
 	@BeforeAll
 	public static void init() {
 		userValidation = new UserValidation();
-		userConverter = new UserConverter();
+		userConverter = new UserConverter(new RoleConverter());
 		pageConverter = new PageConverter<>();
+		cursorConverter = new CursorConverter();
 	}
 
 	@BeforeEach
 	public void setUp() {
 		userRepository = Mockito.mock(UserRepository.class);
 		roleRepository = Mockito.mock(RoleRepository.class);
-		userService = new UserServiceImpl(userRepository, roleRepository, userConverter, userValidation, pageConverter);
+		userService = new UserServiceImpl(userRepository, roleRepository, userConverter, userValidation, pageConverter,
+				cursorConverter);
 
 		roleModel1 = new RoleModel();
 		roleModel1.setName("user");
@@ -103,13 +112,14 @@ class UserServiceImplTest {
 
 		Page<UserDto> expected = userDtosPage;
 
-		Mockito.when(userRepository.findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT))
-				.thenReturn(userModelsPage);
+		Mockito.when(userRepository.findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT,
+				CountStrategy.EXACT)).thenReturn(userModelsPage);
 
-		Page<UserDto> actual = userService.readAll(params);
+		Page<UserDto> actual = userService.readAll(ReadQueryDto.of(params));
 		Assertions.assertEquals(expected, actual);
 
-		Mockito.verify(userRepository).findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT);
+		Mockito.verify(userRepository).findAll(ServiceConstant.DEFAULT_PAGE_NUMBER, ServiceConstant.DEFAULT_LIMIT,
+				CountStrategy.EXACT);
 	}
 
 	@Test
@@ -118,7 +128,7 @@ class UserServiceImplTest {
 		params.put(EntityConstant.SEARCH, Arrays.asList("admin"));
 
 		Assertions.assertThrows(ValidationException.class, () -> {
-			userService.readAll(params);
+			userService.readAll(ReadQueryDto.of(params));
 		});
 	}
 
@@ -128,7 +138,7 @@ class UserServiceImplTest {
 		params.put(ServiceConstant.OFFSET, Arrays.asList("one"));
 
 		Assertions.assertThrows(ValidationException.class, () -> {
-			userService.readAll(params);
+			userService.readAll(ReadQueryDto.of(params));
 		});
 	}
 
@@ -137,7 +147,6 @@ class UserServiceImplTest {
 		UserDto expected = userDto1;
 
 		Mockito.when(userRepository.save(Mockito.any())).thenReturn(userModel1);
-		Mockito.when(userRepository.userExistsByLogin(Mockito.any())).thenReturn(false);
 		Mockito.when(roleRepository.findByName(ServiceConstant.DEFAULT_ROLE_NAME)).thenReturn(Optional.of(roleModel1));
 
 		UserDto actual = userService.create(expected);
@@ -145,7 +154,21 @@ class UserServiceImplTest {
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(userRepository).save(Mockito.any());
-		Mockito.verify(userRepository).userExistsByLogin(Mockito.any());
+		Mockito.verify(userRepository, Mockito.never()).userExistsByLogin(Mockito.any());
+	}
+
+	@Test
+	void testCreateUsersWithDuplicatedLogins() {
+		Mockito.when(userRepository.saveUsers(Mockito.any()))
+				.thenThrow(new DuplicatedKeyException(Arrays.asList(userDto1.getLogin()), null));
+		Mockito.when(roleRepository.findByName(ServiceConstant.DEFAULT_ROLE_NAME)).thenReturn(Optional.of(roleModel1));
+
+		ValidationException actual = Assertions.assertThrows(ValidationException.class, () -> {
+			userService.createUsers(Arrays.asList(userDto1));
+		});
+
+		Assertions.assertTrue(actual.getErrors().containsKey(ErrorCode.DUPLICATED_USER_NAME));
+		Mockito.verify(roleRepository).findByName(ServiceConstant.DEFAULT_ROLE_NAME);
 	}
 
 	@Test
@@ -154,7 +177,6 @@ class UserServiceImplTest {
 		expected.add(userDto1);
 
 		Mockito.when(userRepository.saveUsers(Mockito.any())).thenReturn(Arrays.asList(userModel1));
-		Mockito.when(userRepository.userExistsByLogin(Mockito.any())).thenReturn(false);
 		Mockito.when(roleRepository.findByName(ServiceConstant.DEFAULT_ROLE_NAME)).thenReturn(Optional.of(roleModel1));
 
 		List<UserDto> actual = userService.createUsers(expected);
@@ -162,6 +184,6 @@ class UserServiceImplTest {
 		Assertions.assertEquals(expected, actual);
 
 		Mockito.verify(userRepository).saveUsers(Mockito.any());
-		Mockito.verify(userRepository).userExistsByLogin(Mockito.any());
+		Mockito.verify(userRepository, Mockito.never()).userExistsByLogin(Mockito.any());
 	}
 }